@@ -2,8 +2,12 @@ package com.viewnext.kidaprojects.agenciaviajes;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.jdbc.JdbcRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC se configura en R2dbcConfig, sin registrar un ConnectionFactory que desactivaría el DataSource de JPA.
+// No hay repositorios de Spring Data JDBC, y sin excluirlo reclamaría los repositorios reactivos y fallaría.
+@SpringBootApplication(exclude = { R2dbcAutoConfiguration.class, JdbcRepositoriesAutoConfiguration.class })
 public class AgenciaViajesApplication {
 	
 	public static void main(String[] args) {
@@ -0,0 +1,116 @@
+package com.viewnext.kidaprojects.agenciaviajes.config;
+
+import java.time.Duration;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.CacheStoreMode;
+
+/**
+ * La clase {@code DataSourceConfig} configura una réplica de lectura de la base de datos.
+ *
+ * <p>
+ * Solo se activa si se indica {@code agenciaviajes.datasource.replica.url}; en otro caso la aplicación
+ * usa el DataSource de {@code spring.datasource} como hasta ahora. Cuando está activa, define un pool
+ * para la base de datos principal (configurado con {@code spring.datasource}), otro para la réplica
+ * (configurado con {@code agenciaviajes.datasource.replica}) y un {@code EnrutadorDataSource} que reparte
+ * las conexiones entre ambos, que es el DataSource que usa JPA.
+ * </p>
+ *
+ * <p>
+ * El enrutador se envuelve en un {@code LazyConnectionDataSourceProxy}, que retrasa la obtención de la
+ * conexión real hasta la primera sentencia. Así, al elegir el pool ya se sabe si la transacción es de solo
+ * lectura, y las transacciones que se resuelven sin consultar la base de datos (por ejemplo, con la caché)
+ * no ocupan ninguna conexión.
+ * </p>
+ *
+ * <p>
+ * También registra el {@code FiltroLecturasReplica}, que guarda en una cookie la última escritura de cada
+ * cliente para que el enrutador envíe sus lecturas a la principal durante la ventana de escritura
+ * ({@code agenciaviajes.datasource.replica.ventana-escritura}).
+ * </p>
+ *
+ * <p>
+ * Con réplica, las entidades leídas no se guardan en la caché de segundo nivel de Hibernate, que se llena
+ * solo con las escrituras: una entidad leída de una réplica retrasada se serviría desde la caché a todos
+ * los clientes.
+ * </p>
+ *
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Configuration
+@ConditionalOnProperty(name = "agenciaviajes.datasource.replica.url")
+public class DataSourceConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	HikariDataSource dataSourcePrimaria(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+
+		dataSource.setPoolName("primaria");
+
+		return dataSource;
+	}
+
+	@Bean
+	@ConfigurationProperties("agenciaviajes.datasource.replica.hikari")
+	HikariDataSource dataSourceReplica(DataSourceProperties properties,
+			@Value("${agenciaviajes.datasource.replica.url}") String url,
+			@Value("${agenciaviajes.datasource.replica.username:${spring.datasource.username:}}") String username,
+			@Value("${agenciaviajes.datasource.replica.password:${spring.datasource.password:}}") String password) {
+		HikariDataSource dataSource = new HikariDataSource();
+
+		dataSource.setJdbcUrl(url);
+		dataSource.setUsername(username);
+		dataSource.setPassword(password);
+		dataSource.setDriverClassName(properties.determineDriverClassName());
+		dataSource.setReadOnly(true);
+		dataSource.setPoolName("replica");
+
+		return dataSource;
+	}
+
+	@Bean
+	@Primary
+	DataSource dataSource(HikariDataSource dataSourcePrimaria, HikariDataSource dataSourceReplica,
+			@Value("${agenciaviajes.datasource.replica.ventana-escritura:2s}") Duration ventanaEscritura) {
+		EnrutadorDataSource enrutador = new EnrutadorDataSource(ventanaEscritura);
+
+		enrutador.setTargetDataSources(Map.of(EnrutadorDataSource.PRIMARIA, dataSourcePrimaria,
+				EnrutadorDataSource.REPLICA, dataSourceReplica));
+		enrutador.setDefaultTargetDataSource(dataSourcePrimaria);
+		enrutador.afterPropertiesSet();
+
+		return new LazyConnectionDataSourceProxy(enrutador);
+	}
+
+	@Bean
+	FiltroLecturasReplica filtroLecturasReplica(
+			@Value("${agenciaviajes.datasource.replica.ventana-escritura:2s}") Duration ventanaEscritura) {
+		return new FiltroLecturasReplica(ventanaEscritura);
+	}
+
+	@Bean
+	HibernatePropertiesCustomizer cacheSegundoNivelSoloEscrituras() {
+		// Hibernate consulta primero la propiedad antigua de javax, que tiene valor por defecto
+		return propiedades -> {
+			propiedades.put(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+			propiedades.put("javax.persistence.cache.storeMode", CacheStoreMode.BYPASS);
+		};
+	}
+}
@@ -0,0 +1,237 @@
+package com.viewnext.kidaprojects.agenciaviajes.config;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a la réplica y el resto a la base de datos
+ * principal.
+ *
+ * <p>
+ * La clase {@code EnrutadorDataSource} decide el destino de cada conexión según la transacción en curso:
+ * las marcadas con {@code @Transactional(readOnly = true)} van a la réplica y las demás, así como el
+ * acceso sin transacción, a la principal. Para que la marca de solo lectura ya esté disponible al pedir la
+ * conexión, este DataSource debe usarse detrás de un {@code LazyConnectionDataSourceProxy}.
+ * </p>
+ *
+ * <p>
+ * Para que cada cliente vea siempre lo que acaba de escribir, aunque la réplica vaya con retraso, durante
+ * la ventana indicada tras su última escritura sus lecturas se envían también a la principal. La última
+ * escritura se guarda por sesión: en las peticiones HTTP la abre el {@code FiltroLecturasReplica} con la
+ * que indica la cookie del cliente; en el resto de hilos cada hilo tiene la suya. Las escrituras de un
+ * cliente no desvían a la principal las lecturas de los demás.
+ * </p>
+ *
+ * <p>
+ * El trabajo que un cliente delega en otro hilo (por ejemplo, las llamadas de los gateways locales, que se
+ * ejecutan en {@code planificadorGateway}) debe envolverse con {@link #enSesionActual(Callable)}: así usa
+ * la sesión del cliente, y sus escrituras le llegan, en lugar de la que hubiera quedado en el hilo.
+ * </p>
+ *
+ * <p>
+ * Las lecturas que alimentan cachés e índices compartidos deben hacerse con {@link #leerDePrimaria}: lo
+ * que se lee de una réplica retrasada se quedaría en ellos después de la ventana.
+ * </p>
+ *
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class EnrutadorDataSource extends AbstractRoutingDataSource {
+
+	public static final String PRIMARIA = "primaria";
+	public static final String REPLICA = "replica";
+
+	private static final ThreadLocal<Sesion> SESION = new ThreadLocal<>();
+
+	// Lecturas forzadas a la principal en curso en el hilo; no se comparten con otros hilos de la sesión
+	private static final ThreadLocal<Integer> LECTURAS_PRIMARIA = ThreadLocal.withInitial(() -> 0);
+
+	private final long ventanaEscrituraMillis;
+
+	/**
+	 * @param ventanaEscritura El tiempo durante el que las lecturas de un cliente van a la principal tras
+	 *                         una escritura suya.
+	 */
+	public EnrutadorDataSource(Duration ventanaEscritura) {
+		this.ventanaEscrituraMillis = ventanaEscritura.toMillis();
+	}
+
+	/**
+	 * Abre en el hilo actual la sesión de un cliente, que dura hasta {@link #cerrarSesion()}.
+	 *
+	 * @param ultimaEscritura El instante, en milisegundos desde 1970, de la última escritura del cliente, o
+	 *                        0 si no se conoce.
+	 * @param alEscribir      Recibe el instante de cada escritura del cliente al terminar su transacción.
+	 */
+	public static void abrirSesion(long ultimaEscritura, LongConsumer alEscribir) {
+		SESION.set(new Sesion(ultimaEscritura, alEscribir));
+	}
+
+	/**
+	 * Cierra la sesión abierta en el hilo actual.
+	 */
+	public static void cerrarSesion() {
+		SESION.remove();
+	}
+
+	/**
+	 * Prepara una llamada para ejecutarla en otro hilo con la sesión actual, que se instala durante la
+	 * llamada y se retira al terminar. Si el hilo actual no tiene sesión, se le abre una sin escrituras.
+	 *
+	 * @param llamada La llamada.
+	 * @return La llamada envuelta.
+	 */
+	public static <T> Callable<T> enSesionActual(Callable<T> llamada) {
+		Sesion sesion = sesionActual();
+
+		return () -> {
+			Sesion anterior = instalar(sesion);
+			try {
+				return llamada.call();
+			} finally {
+				restaurar(anterior);
+			}
+		};
+	}
+
+	/**
+	 * Prepara una tarea para ejecutarla en otro hilo con la sesión actual.
+	 *
+	 * @param tarea La tarea.
+	 * @return La tarea envuelta.
+	 * @see #enSesionActual(Callable)
+	 */
+	public static Runnable enSesionActual(Runnable tarea) {
+		Sesion sesion = sesionActual();
+
+		return () -> {
+			Sesion anterior = instalar(sesion);
+			try {
+				tarea.run();
+			} finally {
+				restaurar(anterior);
+			}
+		};
+	}
+
+	/**
+	 * Ejecuta una lectura en la base de datos principal aunque su transacción sea de solo lectura. Solo
+	 * afecta a las conexiones que se obtengan durante la lectura: si la transacción ya tenía una conexión
+	 * de la réplica, la sigue usando.
+	 *
+	 * @param lectura La lectura.
+	 * @return El resultado de la lectura.
+	 */
+	public static <T> T leerDePrimaria(Supplier<T> lectura) {
+		int anteriores = LECTURAS_PRIMARIA.get();
+
+		LECTURAS_PRIMARIA.set(anteriores + 1);
+		try {
+			return lectura.get();
+		} finally {
+			if (anteriores > 0) {
+				LECTURAS_PRIMARIA.set(anteriores);
+			} else {
+				LECTURAS_PRIMARIA.remove();
+			}
+		}
+	}
+
+	/**
+	 * Ejecuta una lectura en la base de datos principal aunque su transacción sea de solo lectura.
+	 *
+	 * @param lectura La lectura.
+	 * @see #leerDePrimaria(Supplier)
+	 */
+	public static void leerDePrimaria(Runnable lectura) {
+		leerDePrimaria(() -> {
+			lectura.run();
+			return null;
+		});
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		Sesion sesion = sesionActual();
+
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (LECTURAS_PRIMARIA.get() > 0) {
+				return PRIMARIA;
+			}
+			return System.currentTimeMillis() - sesion.ultimaEscritura > ventanaEscrituraMillis ? REPLICA : PRIMARIA;
+		}
+
+		// La ventana empieza al pedir la conexión y vuelve a empezar al terminar la transacción, que es
+		// cuando los cambios empiezan a replicarse
+		sesion.ultimaEscritura = System.currentTimeMillis();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					sesion.escrituraTerminada();
+				}
+			});
+		} else {
+			sesion.escrituraTerminada();
+		}
+
+		return PRIMARIA;
+	}
+
+	private static Sesion instalar(Sesion sesion) {
+		Sesion anterior = SESION.get();
+
+		SESION.set(sesion);
+		return anterior;
+	}
+
+	private static void restaurar(Sesion anterior) {
+		if (anterior != null) {
+			SESION.set(anterior);
+		} else {
+			SESION.remove();
+		}
+	}
+
+	private static Sesion sesionActual() {
+		Sesion sesion = SESION.get();
+
+		if (sesion == null) {
+			sesion = new Sesion(0, null);
+			SESION.set(sesion);
+		}
+
+		return sesion;
+	}
+
+	/**
+	 * La última escritura de un cliente. Las llamadas que el cliente delega en otros hilos comparten su
+	 * sesión, por lo que puede usarse desde varios hilos a la vez.
+	 */
+	private static final class Sesion {
+
+		private final LongConsumer alEscribir;
+		private volatile long ultimaEscritura;
+
+		private Sesion(long ultimaEscritura, LongConsumer alEscribir) {
+			this.ultimaEscritura = ultimaEscritura;
+			this.alEscribir = alEscribir;
+		}
+
+		private synchronized void escrituraTerminada() {
+			ultimaEscritura = System.currentTimeMillis();
+			if (alEscribir != null) {
+				alEscribir.accept(ultimaEscritura);
+			}
+		}
+	}
+}
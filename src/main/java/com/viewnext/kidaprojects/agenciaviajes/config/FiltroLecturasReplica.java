@@ -0,0 +1,85 @@
+package com.viewnext.kidaprojects.agenciaviajes.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que abre, para cada petición, la sesión del cliente en el {@code EnrutadorDataSource}.
+ *
+ * <p>
+ * La clase {@code FiltroLecturasReplica} guarda en una cookie el instante de la última escritura de cada
+ * cliente, de modo que sus lecturas van a la base de datos principal durante la ventana de escritura
+ * aunque lleguen en otra petición, a otro hilo o a otra instancia de la aplicación. La cookie caduca con
+ * la ventana; a partir de ahí las lecturas del cliente vuelven a la réplica.
+ * </p>
+ *
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class FiltroLecturasReplica extends OncePerRequestFilter {
+
+	public static final String COOKIE = "agenciaviajes-ultima-escritura";
+
+	private final int segundosCookie;
+
+	/**
+	 * @param ventanaEscritura El tiempo durante el que las lecturas de un cliente van a la principal tras
+	 *                         una escritura suya.
+	 */
+	public FiltroLecturasReplica(Duration ventanaEscritura) {
+		// La cookie dura al menos la ventana; el enrutador compara además el instante exacto
+		this.segundosCookie = (int) Math.max(1, (ventanaEscritura.toMillis() + 999) / 1000);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		EnrutadorDataSource.abrirSesion(leerUltimaEscritura(request), instante -> {
+			// Las escrituras terminan antes de enviar la respuesta, salvo que se haya enviado ya en parte. Las
+			// de los gateways locales llegan desde el hilo del planificador, con la sesión del cliente
+			if (!response.isCommitted()) {
+				Cookie cookie = new Cookie(COOKIE, Long.toString(instante));
+
+				cookie.setPath("/");
+				cookie.setHttpOnly(true);
+				cookie.setMaxAge(segundosCookie);
+				response.addCookie(cookie);
+			}
+		});
+
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			EnrutadorDataSource.cerrarSesion();
+		}
+	}
+
+	private static long leerUltimaEscritura(HttpServletRequest request) {
+		Cookie[] cookies = request.getCookies();
+
+		if (cookies != null) {
+			for (Cookie cookie : cookies) {
+				if (COOKIE.equals(cookie.getName())) {
+					try {
+						// Un instante futuro no alarga la ventana más allá de la escritura actual
+						return Math.min(Long.parseLong(cookie.getValue()), System.currentTimeMillis());
+					} catch (NumberFormatException e) {
+						return 0;
+					}
+				}
+			}
+		}
+
+		return 0;
+	}
+}
@@ -0,0 +1,55 @@
+package com.viewnext.kidaprojects.agenciaviajes.config;
+
+import java.util.concurrent.ExecutorService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * La clase {@code GatewayConfig} configura los hilos en los que se ejecutan las llamadas de los gateways
+ * locales.
+ *
+ * <p>
+ * Los servicios acceden a la base de datos de forma bloqueante. Para que las vistas puedan devolver un
+ * {@code Mono} y liberar el hilo de Tomcat mientras esperan, los gateways locales ejecutan cada llamada en
+ * el planificador {@code planificadorGateway}, con un número limitado de hilos
+ * ({@code agenciaviajes.gateway.local.hilos}) y una cola para las llamadas que esperan
+ * ({@code agenciaviajes.gateway.local.cola}). Como casi todas las llamadas usan una conexión, el número de
+ * hilos es por defecto el tamaño del pool de conexiones ({@code spring.datasource.hikari.maximum-pool-size}).
+ * </p>
+ *
+ * <p>
+ * Con {@code agenciaviajes.hilos-virtuales=true} el planificador usa el ejecutor de hilos virtuales de
+ * {@code HilosVirtualesConfig} y las dos propiedades anteriores se ignoran: cada llamada tiene su propio
+ * hilo virtual y las que no consiguen conexión esperan en el pool de conexiones.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Configuration
+@ConditionalOnProperty(name = "agenciaviajes.gateway.modo", havingValue = "local", matchIfMissing = true)
+public class GatewayConfig {
+
+	@Bean(destroyMethod = "dispose")
+	Scheduler planificadorGateway(@Value("${agenciaviajes.gateway.local.hilos:${spring.datasource.hikari.maximum-pool-size:10}}") int hilos,
+			@Value("${agenciaviajes.gateway.local.cola:100000}") int cola,
+			@Qualifier("ejecutorHilosVirtuales") ObjectProvider<ExecutorService> ejecutorHilosVirtuales) {
+		ExecutorService ejecutor = ejecutorHilosVirtuales.getIfAvailable();
+
+		if (ejecutor != null) {
+			return Schedulers.fromExecutorService(ejecutor, "gateway");
+		}
+
+		return Schedulers.newBoundedElastic(hilos, cola, "gateway");
+	}
+}
@@ -0,0 +1,62 @@
+package com.viewnext.kidaprojects.agenciaviajes.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * La clase {@code HilosVirtualesConfig} activa el modo de ejecución con hilos virtuales.
+ *
+ * <p>
+ * Solo se activa con {@code agenciaviajes.hilos-virtuales=true}. Tomcat atiende entonces cada petición en
+ * un hilo virtual nuevo en lugar de en su pool de hilos ({@code server.tomcat.threads.max} deja de
+ * aplicarse), y los gateways locales ejecutan las llamadas a los servicios en el mismo ejecutor (ver
+ * {@code GatewayConfig}). Un hilo virtual que espera a la base de datos o a otro servicio libera su hilo
+ * portador, por lo que el número de peticiones en curso ya no lo limitan los hilos sino el pool de
+ * conexiones ({@code spring.datasource.hikari.maximum-pool-size}).
+ * </p>
+ *
+ * <p>
+ * Sin los hilos de Tomcat, nada limita las peticiones que esperan una conexión: el tamaño del pool debe
+ * fijarse según lo que admita la base de datos y no según el número de hilos, y la espera
+ * ({@code spring.datasource.hikari.connection-timeout}) debe ser corta para que, con el pool agotado, las
+ * peticiones fallen en lugar de acumularse.
+ * </p>
+ *
+ * <p>
+ * Los hilos virtuales necesitan Java 21 o superior. El proyecto se sigue compilando para Java 17, por lo
+ * que el ejecutor se obtiene por reflexión; si la aplicación se ejecuta con una versión anterior y el modo
+ * está activado, el arranque falla con un mensaje que lo indica.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Configuration
+@ConditionalOnProperty(name = "agenciaviajes.hilos-virtuales", havingValue = "true")
+public class HilosVirtualesConfig {
+
+	@Bean(destroyMethod = "shutdown")
+	ExecutorService ejecutorHilosVirtuales() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException("agenciaviajes.hilos-virtuales necesita Java 21 o superior (versión actual: "
+					+ Runtime.version() + ")", e);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("No se ha podido crear el ejecutor de hilos virtuales", e);
+		}
+	}
+
+	@Bean
+	TomcatProtocolHandlerCustomizer<?> tomcatHilosVirtuales(ExecutorService ejecutorHilosVirtuales) {
+		return protocolHandler -> protocolHandler.setExecutor(ejecutorHilosVirtuales);
+	}
+}
@@ -0,0 +1,83 @@
+package com.viewnext.kidaprojects.agenciaviajes.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import com.viewnext.kidaprojects.agenciaviajes.repository.VueloRepositoryReactivo;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * La clase {@code R2dbcConfig} configura el acceso reactivo a la base de datos con R2DBC.
+ *
+ * <p>
+ * Los repositorios reactivos ({@code VueloRepositoryReactivo}, {@code PasajeroRepositoryReactivo} y
+ * {@code ReservaRepositoryReactivo}) leen las mismas tablas que JPA a través de un pool de conexiones
+ * R2DBC propio, configurado con {@code agenciaviajes.r2dbc.url}, {@code agenciaviajes.r2dbc.username},
+ * {@code agenciaviajes.r2dbc.password} y {@code agenciaviajes.r2dbc.conexiones}.
+ * </p>
+ *
+ * <p>
+ * El pool no se registra como bean: Spring Boot deja de configurar el DataSource de JPA en cuanto existe
+ * un bean {@code ConnectionFactory}, y añadiría un segundo gestor de transacciones que haría ambiguas las
+ * anotaciones {@code @Transactional} de los servicios. Por eso la autoconfiguración de R2DBC está excluida
+ * en {@code AgenciaViajesApplication} y los repositorios usan la plantilla {@code plantillaR2dbc}. Las
+ * consultas reactivas se ejecutan sin transacción, cada una con su propia conexión.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Configuration
+@EnableR2dbcRepositories(basePackageClasses = VueloRepositoryReactivo.class, entityOperationsRef = "plantillaR2dbc")
+public class R2dbcConfig implements DisposableBean {
+
+	@Value("${agenciaviajes.r2dbc.url}")
+	private String url;
+
+	@Value("${agenciaviajes.r2dbc.username:}")
+	private String usuario;
+
+	@Value("${agenciaviajes.r2dbc.password:}")
+	private String contrasena;
+
+	@Value("${agenciaviajes.r2dbc.conexiones:20}")
+	private int conexiones;
+
+	private ConnectionPool pool;
+
+	@Bean
+	R2dbcEntityTemplate plantillaR2dbc() {
+		ConnectionFactoryOptions.Builder opciones = ConnectionFactoryOptions.parse(url).mutate();
+
+		if (!usuario.isEmpty()) {
+			opciones.option(ConnectionFactoryOptions.USER, usuario);
+		}
+		if (!contrasena.isEmpty()) {
+			opciones.option(ConnectionFactoryOptions.PASSWORD, contrasena);
+		}
+
+		pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opciones.build()))
+				.initialSize(0)
+				.maxSize(conexiones)
+				.build());
+
+		return new R2dbcEntityTemplate(pool);
+	}
+
+	@Override
+	public void destroy() {
+		if (pool != null) {
+			pool.dispose();
+		}
+	}
+}
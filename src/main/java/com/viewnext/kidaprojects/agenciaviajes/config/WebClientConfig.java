@@ -1,8 +1,13 @@
 package com.viewnext.kidaprojects.agenciaviajes.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 /**
  * La clase {@code WebClientConfig} configura los clientes WebClient para interactuar con
@@ -15,7 +20,19 @@ import org.springframework.web.reactive.function.client.WebClient;
  * 
  * <p>
  * Los clientes WebClient se utilizan para realizar solicitudes HTTP a las API de servicios web externos.
- * La configuración incluye la URL base del servicio web al que se va a acceder.
+ * La configuración incluye la URL base del servicio web al que se va a acceder, que se toma de
+ * {@code agenciaviajes.gateway.url}.
+ * </p>
+ * 
+ * <p>
+ * Los clientes solo se crean en el modo remoto de los gateways ({@code agenciaviajes.gateway.modo=remoto});
+ * en el modo local las vistas llaman a los servicios sin pasar por HTTP.
+ * </p>
+ * 
+ * <p>
+ * Los tres clientes comparten un pool de conexiones. Como las vistas ya no bloquean un hilo por petición,
+ * el número de llamadas simultáneas lo limita este pool ({@code agenciaviajes.gateway.remoto.conexiones})
+ * y la cola de llamadas que esperan una conexión ({@code agenciaviajes.gateway.remoto.pendientes}).
  * </p>
  * 
  * <p>
@@ -26,25 +43,48 @@ import org.springframework.web.reactive.function.client.WebClient;
  * @since 19 de septiembre de 2023
  */
 @Configuration
+@ConditionalOnProperty(name = "agenciaviajes.gateway.modo", havingValue = "remoto")
 public class WebClientConfig {
 	
-	private static final String BASE_URL = "http://localhost:8080";
+	@Value("${agenciaviajes.gateway.url:http://localhost:8080}")
+	private String baseUrl;
+
+	@Value("${agenciaviajes.gateway.remoto.conexiones:500}")
+	private int conexiones;
+
+	@Value("${agenciaviajes.gateway.remoto.pendientes:2000}")
+	private int pendientes;
+
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider proveedorConexionesGateway() {
+        return ConnectionProvider.builder("gateway")
+                .maxConnections(conexiones)
+                .pendingAcquireMaxCount(pendientes)
+                .build();
+    }
 
     @Bean
-    WebClient pasajeroWebClient() {
-        String apiUrl = BASE_URL + "/api/pasajero/";
-        return WebClient.create(apiUrl);
+    WebClient pasajeroWebClient(ConnectionProvider proveedorConexionesGateway) {
+        String apiUrl = baseUrl + "/api/pasajero/";
+        return crearWebClient(apiUrl, proveedorConexionesGateway);
     }
 
     @Bean
-    WebClient vueloWebClient() {
-        String apiUrl = BASE_URL + "/api/vuelo/";
-        return WebClient.create(apiUrl);
+    WebClient vueloWebClient(ConnectionProvider proveedorConexionesGateway) {
+        String apiUrl = baseUrl + "/api/vuelo/";
+        return crearWebClient(apiUrl, proveedorConexionesGateway);
     }
 
     @Bean
-    WebClient reservaWebClient() {
-        String apiUrl = BASE_URL + "/api/reserva/";
-        return WebClient.create(apiUrl);
+    WebClient reservaWebClient(ConnectionProvider proveedorConexionesGateway) {
+        String apiUrl = baseUrl + "/api/reserva/";
+        return crearWebClient(apiUrl, proveedorConexionesGateway);
+    }
+
+    private static WebClient crearWebClient(String apiUrl, ConnectionProvider proveedor) {
+        return WebClient.builder()
+                .baseUrl(apiUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(proveedor)))
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+import java.util.List;
+
+/**
+ * La clase {@code AsientosVueloDTO} representa la disponibilidad de asientos de un vuelo.
+ * 
+ * <p>
+ * Un objeto {@code AsientosVueloDTO} contiene los siguientes atributos:
+ * - {@code idVueloDTO}: El identificador único del vuelo.
+ * - {@code capacidad}: El número total de asientos del vuelo.
+ * - {@code ocupados}: El número de asientos reservados.
+ * - {@code libres}: El número de asientos disponibles.
+ * - {@code asientosLibres}: Los códigos de los asientos disponibles (por ejemplo, {@code A1}).
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class AsientosVueloDTO {
+
+	private String idVueloDTO;
+	private int capacidad;
+	private int ocupados;
+	private int libres;
+	private List<String> asientosLibres;
+
+	public AsientosVueloDTO(String idVueloDTO, int capacidad, int ocupados, List<String> asientosLibres) {
+		this.idVueloDTO = idVueloDTO;
+		this.capacidad = capacidad;
+		this.ocupados = ocupados;
+		this.libres = capacidad - ocupados;
+		this.asientosLibres = asientosLibres;
+	}
+
+	public AsientosVueloDTO() {
+
+	}
+
+	public String getIdVueloDTO() {
+		return idVueloDTO;
+	}
+
+	public void setIdVueloDTO(String idVueloDTO) {
+		this.idVueloDTO = idVueloDTO;
+	}
+
+	public int getCapacidad() {
+		return capacidad;
+	}
+
+	public void setCapacidad(int capacidad) {
+		this.capacidad = capacidad;
+	}
+
+	public int getOcupados() {
+		return ocupados;
+	}
+
+	public void setOcupados(int ocupados) {
+		this.ocupados = ocupados;
+	}
+
+	public int getLibres() {
+		return libres;
+	}
+
+	public void setLibres(int libres) {
+		this.libres = libres;
+	}
+
+	public List<String> getAsientosLibres() {
+		return asientosLibres;
+	}
+
+	public void setAsientosLibres(List<String> asientosLibres) {
+		this.asientosLibres = asientosLibres;
+	}
+}
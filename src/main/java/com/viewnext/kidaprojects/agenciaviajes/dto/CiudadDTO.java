@@ -0,0 +1,48 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+/**
+ * La clase {@code CiudadDTO} representa una ciudad sugerida por el autocompletado de ciudades.
+ *
+ * <p>
+ * Un objeto {@code CiudadDTO} contiene los siguientes atributos:
+ * - {@code nombre}: El nombre de la ciudad, tal y como aparece en los vuelos.
+ * - {@code numeroVuelos}: El número de vuelos con origen o destino en la ciudad.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class CiudadDTO {
+
+	private String nombre;
+	private int numeroVuelos;
+
+	public CiudadDTO(String nombre, int numeroVuelos) {
+		this.nombre = nombre;
+		this.numeroVuelos = numeroVuelos;
+	}
+
+	public CiudadDTO() {
+
+	}
+
+	public String getNombre() {
+		return nombre;
+	}
+
+	public void setNombre(String nombre) {
+		this.nombre = nombre;
+	}
+
+	public int getNumeroVuelos() {
+		return numeroVuelos;
+	}
+
+	public void setNumeroVuelos(int numeroVuelos) {
+		this.numeroVuelos = numeroVuelos;
+	}
+}
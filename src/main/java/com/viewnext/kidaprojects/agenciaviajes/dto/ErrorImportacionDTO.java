@@ -0,0 +1,48 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+/**
+ * La clase {@code ErrorImportacionDTO} describe una fila de un fichero CSV que no se ha podido importar.
+ * 
+ * <p>
+ * Un objeto {@code ErrorImportacionDTO} contiene los siguientes atributos:
+ * - {@code linea}: La línea del fichero en la que empieza la fila rechazada.
+ * - {@code mensaje}: El motivo por el que se ha rechazado la fila.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class ErrorImportacionDTO {
+
+	private long linea;
+	private String mensaje;
+
+	public ErrorImportacionDTO(long linea, String mensaje) {
+		this.linea = linea;
+		this.mensaje = mensaje;
+	}
+
+	public ErrorImportacionDTO() {
+
+	}
+
+	public long getLinea() {
+		return linea;
+	}
+
+	public void setLinea(long linea) {
+		this.linea = linea;
+	}
+
+	public String getMensaje() {
+		return mensaje;
+	}
+
+	public void setMensaje(String mensaje) {
+		this.mensaje = mensaje;
+	}
+}
@@ -0,0 +1,93 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+/**
+ * La clase {@code EstadisticasCacheDTO} representa las estadísticas de una región de la caché de segundo
+ * nivel de Hibernate.
+ * 
+ * <p>
+ * Un objeto {@code EstadisticasCacheDTO} contiene los siguientes atributos:
+ * - {@code region}: El nombre de la región.
+ * - {@code aciertos}: El número de lecturas resueltas desde la caché.
+ * - {@code fallos}: El número de lecturas que no encontraron la entrada en la caché.
+ * - {@code escrituras}: El número de entradas guardadas en la caché.
+ * - {@code elementos}: El número de entradas que hay actualmente en la caché, o -1 si no se conoce.
+ * - {@code tasaAciertos}: La proporción de aciertos sobre el total de lecturas, entre 0 y 1.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class EstadisticasCacheDTO {
+
+	private String region;
+	private long aciertos;
+	private long fallos;
+	private long escrituras;
+	private long elementos;
+	private double tasaAciertos;
+
+	public EstadisticasCacheDTO(String region, long aciertos, long fallos, long escrituras, long elementos) {
+		this.region = region;
+		this.aciertos = aciertos;
+		this.fallos = fallos;
+		this.escrituras = escrituras;
+		this.elementos = elementos;
+		this.tasaAciertos = aciertos + fallos == 0 ? 0 : (double) aciertos / (aciertos + fallos);
+	}
+
+	public EstadisticasCacheDTO() {
+
+	}
+
+	public String getRegion() {
+		return region;
+	}
+
+	public void setRegion(String region) {
+		this.region = region;
+	}
+
+	public long getAciertos() {
+		return aciertos;
+	}
+
+	public void setAciertos(long aciertos) {
+		this.aciertos = aciertos;
+	}
+
+	public long getFallos() {
+		return fallos;
+	}
+
+	public void setFallos(long fallos) {
+		this.fallos = fallos;
+	}
+
+	public long getEscrituras() {
+		return escrituras;
+	}
+
+	public void setEscrituras(long escrituras) {
+		this.escrituras = escrituras;
+	}
+
+	public long getElementos() {
+		return elementos;
+	}
+
+	public void setElementos(long elementos) {
+		this.elementos = elementos;
+	}
+
+	public double getTasaAciertos() {
+		return tasaAciertos;
+	}
+
+	public void setTasaAciertos(double tasaAciertos) {
+		this.tasaAciertos = tasaAciertos;
+	}
+}
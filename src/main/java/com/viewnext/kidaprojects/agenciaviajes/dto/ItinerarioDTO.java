@@ -0,0 +1,73 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * La clase {@code ItinerarioDTO} representa un itinerario con escalas entre dos ciudades.
+ *
+ * <p>
+ * Un objeto {@code ItinerarioDTO} contiene los siguientes atributos:
+ * - {@code escalas}: El número de escalas del itinerario.
+ * - {@code fechaSalida}: La fecha del primer vuelo.
+ * - {@code fechaLlegada}: La fecha del último vuelo.
+ * - {@code vuelos}: Los vuelos del itinerario, en el orden en que se toman.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class ItinerarioDTO {
+
+	private int escalas;
+	private Date fechaSalida;
+	private Date fechaLlegada;
+	private List<VueloDTO> vuelos;
+
+	public ItinerarioDTO(List<VueloDTO> vuelos) {
+		this.escalas = vuelos.size() - 1;
+		this.fechaSalida = vuelos.get(0).getFecha();
+		this.fechaLlegada = vuelos.get(vuelos.size() - 1).getFecha();
+		this.vuelos = vuelos;
+	}
+
+	public ItinerarioDTO() {
+
+	}
+
+	public int getEscalas() {
+		return escalas;
+	}
+
+	public void setEscalas(int escalas) {
+		this.escalas = escalas;
+	}
+
+	public Date getFechaSalida() {
+		return fechaSalida;
+	}
+
+	public void setFechaSalida(Date fechaSalida) {
+		this.fechaSalida = fechaSalida;
+	}
+
+	public Date getFechaLlegada() {
+		return fechaLlegada;
+	}
+
+	public void setFechaLlegada(Date fechaLlegada) {
+		this.fechaLlegada = fechaLlegada;
+	}
+
+	public List<VueloDTO> getVuelos() {
+		return vuelos;
+	}
+
+	public void setVuelos(List<VueloDTO> vuelos) {
+		this.vuelos = vuelos;
+	}
+}
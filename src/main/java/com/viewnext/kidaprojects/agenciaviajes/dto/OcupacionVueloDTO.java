@@ -0,0 +1,70 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+/**
+ * La clase {@code OcupacionVueloDTO} representa la ocupación de un vuelo según su número de reservas.
+ *
+ * <p>
+ * Un objeto {@code OcupacionVueloDTO} contiene los siguientes atributos:
+ * - {@code idVueloDTO}: El identificador único del vuelo.
+ * - {@code capacidad}: El número total de asientos del vuelo.
+ * - {@code reservas}: El número de reservas del vuelo.
+ * - {@code porcentajeOcupacion}: El porcentaje de asientos reservados.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class OcupacionVueloDTO {
+
+	private String idVueloDTO;
+	private int capacidad;
+	private long reservas;
+	private double porcentajeOcupacion;
+
+	public OcupacionVueloDTO(String idVueloDTO, int capacidad, long reservas) {
+		this.idVueloDTO = idVueloDTO;
+		this.capacidad = capacidad;
+		this.reservas = reservas;
+		this.porcentajeOcupacion = capacidad == 0 ? 0 : reservas * 100.0 / capacidad;
+	}
+
+	public OcupacionVueloDTO() {
+
+	}
+
+	public String getIdVueloDTO() {
+		return idVueloDTO;
+	}
+
+	public void setIdVueloDTO(String idVueloDTO) {
+		this.idVueloDTO = idVueloDTO;
+	}
+
+	public int getCapacidad() {
+		return capacidad;
+	}
+
+	public void setCapacidad(int capacidad) {
+		this.capacidad = capacidad;
+	}
+
+	public long getReservas() {
+		return reservas;
+	}
+
+	public void setReservas(long reservas) {
+		this.reservas = reservas;
+	}
+
+	public double getPorcentajeOcupacion() {
+		return porcentajeOcupacion;
+	}
+
+	public void setPorcentajeOcupacion(double porcentajeOcupacion) {
+		this.porcentajeOcupacion = porcentajeOcupacion;
+	}
+}
@@ -0,0 +1,82 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+import java.util.List;
+
+/**
+ * La clase {@code PaginaDTO} representa una página de resultados obtenida mediante paginación por cursor.
+ * 
+ * <p>
+ * Un objeto {@code PaginaDTO} contiene los siguientes atributos:
+ * - {@code contenido}: Los elementos de la página.
+ * - {@code siguienteCursor}: El cursor opaco que permite pedir la página siguiente, o null si no hay más.
+ * - {@code siguiente}: El enlace a la página siguiente, o null si no hay más.
+ * </p>
+ * 
+ * <p>
+ * El tamaño de página solicitado se ajusta siempre al rango [1, {@code LIMITE_MAXIMO}].
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @param <T> El tipo de los elementos de la página.
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class PaginaDTO<T> {
+
+	public static final int LIMITE_POR_DEFECTO = 50;
+	public static final int LIMITE_MAXIMO = 500;
+
+	private List<T> contenido;
+	private String siguienteCursor;
+	private String siguiente;
+
+	public PaginaDTO(List<T> contenido, String siguienteCursor) {
+		this.contenido = contenido;
+		this.siguienteCursor = siguienteCursor;
+	}
+
+	public PaginaDTO() {
+
+	}
+
+	/**
+	 * Ajusta el tamaño de página solicitado al rango admitido.
+	 *
+	 * @param limite El tamaño de página solicitado, o null para usar el valor por
+	 *               defecto.
+	 * @return El tamaño de página a utilizar.
+	 */
+	public static int ajustarLimite(Integer limite) {
+		if (limite == null) {
+			return LIMITE_POR_DEFECTO;
+		}
+		return Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+	}
+
+	public List<T> getContenido() {
+		return contenido;
+	}
+
+	public void setContenido(List<T> contenido) {
+		this.contenido = contenido;
+	}
+
+	public String getSiguienteCursor() {
+		return siguienteCursor;
+	}
+
+	public void setSiguienteCursor(String siguienteCursor) {
+		this.siguienteCursor = siguienteCursor;
+	}
+
+	public String getSiguiente() {
+		return siguiente;
+	}
+
+	public void setSiguiente(String siguiente) {
+		this.siguiente = siguiente;
+	}
+}
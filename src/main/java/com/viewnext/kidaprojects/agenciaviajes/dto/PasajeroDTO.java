@@ -41,6 +41,19 @@ public class PasajeroDTO {
 		this.fechaNacimiento = fechaNacimiento;
 	}
 	
+	/**
+	 * Constructor utilizado por las proyecciones JPQL, que construyen el DTO directamente a partir
+	 * de las columnas de la consulta sin cargar la entidad {@code Pasajero}.
+	 *
+	 * @param idPasajero      El identificador numérico del pasajero.
+	 * @param nombre          El nombre del pasajero.
+	 * @param apellido        El apellido del pasajero.
+	 * @param fechaNacimiento La fecha de nacimiento del pasajero.
+	 */
+	public PasajeroDTO(Integer idPasajero, String nombre, String apellido, Date fechaNacimiento) {
+		this(String.valueOf(idPasajero), nombre, apellido, fechaNacimiento);
+	}
+	
 	public PasajeroDTO(String nombre, String apellido, Date fechaNacimiento) {
 
 		
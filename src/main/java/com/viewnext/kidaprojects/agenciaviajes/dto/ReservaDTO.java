@@ -1,5 +1,7 @@
 package com.viewnext.kidaprojects.agenciaviajes.dto;
 
+import java.sql.Date;
+
 /**
  * La clase {@code ReservaDTO} representa un objeto de transferencia de datos (DTO) que contiene información
  * sobre una reserva de vuelo. Se utiliza para transportar datos relacionados con las reservas entre diferentes
@@ -39,6 +41,30 @@ public class ReservaDTO {
 		this.pasajeroDTO = pasajeroDTO;
 	}
 
+	/**
+	 * Constructor utilizado por las proyecciones JPQL, que construyen la reserva y los DTOs de su
+	 * vuelo y su pasajero directamente a partir de las columnas de la consulta.
+	 *
+	 * @param idReserva       El identificador numérico de la reserva.
+	 * @param asiento         El asiento reservado.
+	 * @param idVuelo         El identificador numérico del vuelo.
+	 * @param origen          El origen del vuelo.
+	 * @param destino         El destino del vuelo.
+	 * @param fecha           La fecha del vuelo.
+	 * @param idPasajero      El identificador numérico del pasajero.
+	 * @param nombre          El nombre del pasajero.
+	 * @param apellido        El apellido del pasajero.
+	 * @param fechaNacimiento La fecha de nacimiento del pasajero.
+	 */
+	public ReservaDTO(Integer idReserva, String asiento, Integer idVuelo, String origen, String destino, Date fecha,
+			Integer idPasajero, String nombre, String apellido, Date fechaNacimiento) {
+
+		this.idReservaDTO = String.valueOf(idReserva);
+		this.asiento = asiento;
+		this.vueloDTO = new VueloDTO(idVuelo, origen, destino, fecha);
+		this.pasajeroDTO = new PasajeroDTO(idPasajero, nombre, apellido, fechaNacimiento);
+	}
+
 	public ReservaDTO() {
 
 	}
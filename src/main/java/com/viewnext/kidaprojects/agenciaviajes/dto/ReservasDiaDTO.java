@@ -0,0 +1,50 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+import java.sql.Date;
+
+/**
+ * La clase {@code ReservasDiaDTO} representa el número de reservas de los vuelos que salen en un mismo día.
+ *
+ * <p>
+ * Un objeto {@code ReservasDiaDTO} contiene los siguientes atributos:
+ * - {@code fecha}: El día de salida de los vuelos.
+ * - {@code reservas}: El número de reservas de los vuelos de ese día.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class ReservasDiaDTO {
+
+	private Date fecha;
+	private long reservas;
+
+	public ReservasDiaDTO(Date fecha, long reservas) {
+		this.fecha = fecha;
+		this.reservas = reservas;
+	}
+
+	public ReservasDiaDTO() {
+
+	}
+
+	public Date getFecha() {
+		return fecha;
+	}
+
+	public void setFecha(Date fecha) {
+		this.fecha = fecha;
+	}
+
+	public long getReservas() {
+		return reservas;
+	}
+
+	public void setReservas(long reservas) {
+		this.reservas = reservas;
+	}
+}
@@ -0,0 +1,48 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+/**
+ * La clase {@code ReservasPasajeroDTO} representa el número de reservas de un pasajero.
+ *
+ * <p>
+ * Un objeto {@code ReservasPasajeroDTO} contiene los siguientes atributos:
+ * - {@code idPasajeroDTO}: El identificador único del pasajero.
+ * - {@code reservas}: El número de reservas del pasajero.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class ReservasPasajeroDTO {
+
+	private String idPasajeroDTO;
+	private long reservas;
+
+	public ReservasPasajeroDTO(String idPasajeroDTO, long reservas) {
+		this.idPasajeroDTO = idPasajeroDTO;
+		this.reservas = reservas;
+	}
+
+	public ReservasPasajeroDTO() {
+
+	}
+
+	public String getIdPasajeroDTO() {
+		return idPasajeroDTO;
+	}
+
+	public void setIdPasajeroDTO(String idPasajeroDTO) {
+		this.idPasajeroDTO = idPasajeroDTO;
+	}
+
+	public long getReservas() {
+		return reservas;
+	}
+
+	public void setReservas(long reservas) {
+		this.reservas = reservas;
+	}
+}
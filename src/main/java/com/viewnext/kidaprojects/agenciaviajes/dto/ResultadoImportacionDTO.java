@@ -0,0 +1,115 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * La clase {@code ResultadoImportacionDTO} resume el resultado de una importación masiva desde CSV.
+ * 
+ * <p>
+ * Un objeto {@code ResultadoImportacionDTO} contiene los siguientes atributos:
+ * - {@code filasLeidas}: El número de filas de datos leídas del fichero.
+ * - {@code filasImportadas}: El número de filas insertadas en la base de datos.
+ * - {@code filasRechazadas}: El número de filas que no se han podido importar.
+ * - {@code errores}: El detalle de las filas rechazadas, limitado a {@code MAXIMO_ERRORES}.
+ * - {@code duracionMilisegundos}: El tiempo total de la importación.
+ * - {@code filasPorSegundo}: El rendimiento de la importación.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class ResultadoImportacionDTO {
+
+	public static final int MAXIMO_ERRORES = 1000;
+
+	private long filasLeidas;
+	private long filasImportadas;
+	private long filasRechazadas;
+	private List<ErrorImportacionDTO> errores = new ArrayList<>();
+	private long duracionMilisegundos;
+	private double filasPorSegundo;
+
+	public ResultadoImportacionDTO() {
+
+	}
+
+	/**
+	 * Registra una fila rechazada. El detalle solo se guarda para los primeros
+	 * {@code MAXIMO_ERRORES} errores, de modo que un fichero con muchas filas
+	 * erróneas no hace crecer la respuesta sin límite.
+	 *
+	 * @param linea   La línea del fichero en la que empieza la fila.
+	 * @param mensaje El motivo del rechazo.
+	 */
+	public void addError(long linea, String mensaje) {
+		filasRechazadas++;
+		if (errores.size() < MAXIMO_ERRORES) {
+			errores.add(new ErrorImportacionDTO(linea, mensaje));
+		}
+	}
+
+	/**
+	 * Calcula la duración y el rendimiento de la importación.
+	 *
+	 * @param inicioNanos El instante de inicio obtenido con {@code System.nanoTime()}.
+	 */
+	public void finalizar(long inicioNanos) {
+		long nanos = System.nanoTime() - inicioNanos;
+
+		duracionMilisegundos = nanos / 1_000_000;
+		filasPorSegundo = nanos > 0 ? filasLeidas * 1_000_000_000.0 / nanos : 0;
+	}
+
+	public long getFilasLeidas() {
+		return filasLeidas;
+	}
+
+	public void setFilasLeidas(long filasLeidas) {
+		this.filasLeidas = filasLeidas;
+	}
+
+	public long getFilasImportadas() {
+		return filasImportadas;
+	}
+
+	public void setFilasImportadas(long filasImportadas) {
+		this.filasImportadas = filasImportadas;
+	}
+
+	public long getFilasRechazadas() {
+		return filasRechazadas;
+	}
+
+	public void setFilasRechazadas(long filasRechazadas) {
+		this.filasRechazadas = filasRechazadas;
+	}
+
+	public List<ErrorImportacionDTO> getErrores() {
+		return errores;
+	}
+
+	public void setErrores(List<ErrorImportacionDTO> errores) {
+		this.errores = errores;
+	}
+
+	public long getDuracionMilisegundos() {
+		return duracionMilisegundos;
+	}
+
+	public void setDuracionMilisegundos(long duracionMilisegundos) {
+		this.duracionMilisegundos = duracionMilisegundos;
+	}
+
+	public double getFilasPorSegundo() {
+		return filasPorSegundo;
+	}
+
+	public void setFilasPorSegundo(double filasPorSegundo) {
+		this.filasPorSegundo = filasPorSegundo;
+	}
+}
@@ -0,0 +1,60 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+/**
+ * La clase {@code RutaReservasDTO} representa una ruta con su número de reservas, dentro de la clasificación de
+ * las rutas más reservadas.
+ *
+ * <p>
+ * Un objeto {@code RutaReservasDTO} contiene los siguientes atributos:
+ * - {@code origen}: El origen de la ruta.
+ * - {@code destino}: El destino de la ruta.
+ * - {@code reservas}: El número de reservas de los vuelos de la ruta.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class RutaReservasDTO {
+
+	private String origen;
+	private String destino;
+	private long reservas;
+
+	public RutaReservasDTO(String origen, String destino, long reservas) {
+		this.origen = origen;
+		this.destino = destino;
+		this.reservas = reservas;
+	}
+
+	public RutaReservasDTO() {
+
+	}
+
+	public String getOrigen() {
+		return origen;
+	}
+
+	public void setOrigen(String origen) {
+		this.origen = origen;
+	}
+
+	public String getDestino() {
+		return destino;
+	}
+
+	public void setDestino(String destino) {
+		this.destino = destino;
+	}
+
+	public long getReservas() {
+		return reservas;
+	}
+
+	public void setReservas(long reservas) {
+		this.reservas = reservas;
+	}
+}
@@ -32,6 +32,22 @@ public class VueloDTO {
 		this.fecha = fecha;
 	}
 
+	/**
+	 * Constructor utilizado por las proyecciones JPQL, que construyen el DTO directamente a partir
+	 * de las columnas de la consulta sin cargar la entidad {@code Vuelo}.
+	 *
+	 * @param idVuelo El identificador numérico del vuelo.
+	 * @param origen  El origen del vuelo.
+	 * @param destino El destino del vuelo.
+	 * @param fecha   La fecha del vuelo.
+	 */
+	public VueloDTO(Integer idVuelo, String origen, String destino, Date fecha) {
+		this.idVueloDTO = String.valueOf(idVuelo);
+		this.origen = origen;
+		this.destino = destino;
+		this.fecha = fecha;
+	}
+
 	public VueloDTO() {
 
 	}
@@ -0,0 +1,49 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+/**
+ * La clase {@code VueloReservasDTO} representa un vuelo con su número de reservas, dentro de la clasificación de
+ * los vuelos más reservados.
+ *
+ * <p>
+ * Un objeto {@code VueloReservasDTO} contiene los siguientes atributos:
+ * - {@code vuelo}: El vuelo.
+ * - {@code reservas}: El número de reservas del vuelo.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class VueloReservasDTO {
+
+	private VueloDTO vuelo;
+	private long reservas;
+
+	public VueloReservasDTO(VueloDTO vuelo, long reservas) {
+		this.vuelo = vuelo;
+		this.reservas = reservas;
+	}
+
+	public VueloReservasDTO() {
+
+	}
+
+	public VueloDTO getVuelo() {
+		return vuelo;
+	}
+
+	public void setVuelo(VueloDTO vuelo) {
+		this.vuelo = vuelo;
+	}
+
+	public long getReservas() {
+		return reservas;
+	}
+
+	public void setReservas(long reservas) {
+		this.reservas = reservas;
+	}
+}
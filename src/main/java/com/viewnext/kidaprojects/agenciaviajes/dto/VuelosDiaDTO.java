@@ -0,0 +1,63 @@
+package com.viewnext.kidaprojects.agenciaviajes.dto;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * La clase {@code VuelosDiaDTO} representa los vuelos de una ruta que salen en un mismo día, dentro del
+ * resultado de una búsqueda por intervalo de fechas.
+ *
+ * <p>
+ * Un objeto {@code VuelosDiaDTO} contiene los siguientes atributos:
+ * - {@code fecha}: El día de salida.
+ * - {@code numeroVuelos}: El número de vuelos que salen ese día.
+ * - {@code vuelos}: Los vuelos que salen ese día, ordenados por identificador.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public class VuelosDiaDTO {
+
+	private Date fecha;
+	private int numeroVuelos;
+	private List<VueloDTO> vuelos;
+
+	public VuelosDiaDTO(Date fecha, List<VueloDTO> vuelos) {
+		this.fecha = fecha;
+		this.numeroVuelos = vuelos.size();
+		this.vuelos = vuelos;
+	}
+
+	public VuelosDiaDTO() {
+
+	}
+
+	public Date getFecha() {
+		return fecha;
+	}
+
+	public void setFecha(Date fecha) {
+		this.fecha = fecha;
+	}
+
+	public int getNumeroVuelos() {
+		return numeroVuelos;
+	}
+
+	public void setNumeroVuelos(int numeroVuelos) {
+		this.numeroVuelos = numeroVuelos;
+	}
+
+	public List<VueloDTO> getVuelos() {
+		return vuelos;
+	}
+
+	public void setVuelos(List<VueloDTO> vuelos) {
+		this.vuelos = vuelos;
+	}
+}
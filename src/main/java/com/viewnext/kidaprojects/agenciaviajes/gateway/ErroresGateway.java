@@ -0,0 +1,55 @@
+package com.viewnext.kidaprojects.agenciaviajes.gateway;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Traduce los errores de las dos implementaciones de los gateways a {@code ResponseStatusException}, para
+ * que los controladores de vistas los traten igual sea cual sea el modo.
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+final class ErroresGateway {
+
+	private ErroresGateway() {
+	}
+
+	/**
+	 * Traduce las excepciones de los servicios al código de estado que devuelven los controladores REST para
+	 * ellas. El resto de excepciones no se modifican.
+	 */
+	static Throwable local(Throwable e) {
+		if (e instanceof EntityNotFoundException) {
+			return new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+		} else if (e instanceof IllegalArgumentException) {
+			// Incluye NumberFormatException, producida por un ID no numérico
+			return new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+		} else if (e instanceof IllegalStateException) {
+			return new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+		}
+
+		return e;
+	}
+
+	/**
+	 * Traduce las respuestas de error de la API REST a su código de estado, y los fallos de conexión a
+	 * Service Unavailable.
+	 */
+	static Throwable remoto(Throwable e) {
+		if (e instanceof WebClientResponseException respuesta) {
+			return new ResponseStatusException(respuesta.getStatusCode(), respuesta.getResponseBodyAsString(), e);
+		} else if (e instanceof WebClientRequestException) {
+			return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+		}
+
+		return e;
+	}
+}
@@ -0,0 +1,35 @@
+package com.viewnext.kidaprojects.agenciaviajes.gateway;
+
+import java.util.List;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTOSinId;
+import reactor.core.publisher.Mono;
+
+/**
+ * Operaciones sobre pasajeros que utilizan los controladores de vistas.
+ *
+ * <p>
+ * Igual que {@code VueloGateway}, tiene una implementación que llama a {@code PasajeroService} dentro del
+ * mismo proceso y otra que llama a la API REST de pasajeros, elegidas con la propiedad
+ * {@code agenciaviajes.gateway.modo}.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta interfaz es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public interface PasajeroGateway {
+
+	Mono<List<PasajeroDTO>> getAllPasajeros();
+
+	Mono<PasajeroDTO> getPasajeroById(String id);
+
+	Mono<PasajeroDTO> createPasajero(PasajeroDTOSinId pasajeroDTOSinId);
+
+	Mono<Void> deletePasajeroById(String id);
+
+	Mono<PasajeroDTO> updatePasajero(PasajeroDTO pasajeroDTO);
+}
@@ -0,0 +1,77 @@
+package com.viewnext.kidaprojects.agenciaviajes.gateway;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import com.viewnext.kidaprojects.agenciaviajes.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.service.PasajeroService;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Implementación de {@code PasajeroGateway} que llama a {@code PasajeroService} dentro del mismo proceso.
+ * Es el modo por defecto.
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Component
+@ConditionalOnProperty(name = "agenciaviajes.gateway.modo", havingValue = "local", matchIfMissing = true)
+public class PasajeroGatewayLocal implements PasajeroGateway {
+
+	@Autowired
+	private PasajeroService pasajeroService;
+
+	@Autowired
+	private Scheduler planificadorGateway;
+
+	@Override
+	public Mono<List<PasajeroDTO>> getAllPasajeros() {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(() -> pasajeroService.getAllPasajeros()))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+
+	@Override
+	public Mono<PasajeroDTO> getPasajeroById(String id) {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(
+				() -> pasajeroService.getPasajeroById(Integer.parseInt(id))))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+
+	@Override
+	public Mono<PasajeroDTO> createPasajero(PasajeroDTOSinId pasajeroDTOSinId) {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(
+				() -> pasajeroService.createPasajero(pasajeroDTOSinId)))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+
+	@Override
+	public Mono<Void> deletePasajeroById(String id) {
+		return Mono.fromRunnable(EnrutadorDataSource.enSesionActual(
+				() -> pasajeroService.deletePasajeroById(Integer.parseInt(id))))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local)
+				.then();
+	}
+
+	@Override
+	public Mono<PasajeroDTO> updatePasajero(PasajeroDTO pasajeroDTO) {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(() -> {
+			pasajeroService.updatePasajeroById(Integer.parseInt(pasajeroDTO.getIdPasajeroDTO()), pasajeroDTO);
+
+			// Igual que la API REST, devuelve los datos recibidos
+			return pasajeroDTO;
+		})).subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+}
@@ -0,0 +1,82 @@
+package com.viewnext.kidaprojects.agenciaviajes.gateway;
+
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTOSinId;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementación de {@code PasajeroGateway} que llama a la API REST de pasajeros con un WebClient. Se
+ * activa con {@code agenciaviajes.gateway.modo=remoto}.
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Component
+@ConditionalOnProperty(name = "agenciaviajes.gateway.modo", havingValue = "remoto")
+public class PasajeroGatewayRemoto implements PasajeroGateway {
+
+	private final WebClient pasajeroWebClient;
+
+	/**
+	 * @param pasajeroWebClient El WebClient configurado para comunicarse con el servicio web de pasajeros.
+	 */
+	public PasajeroGatewayRemoto(WebClient pasajeroWebClient) {
+		this.pasajeroWebClient = pasajeroWebClient;
+	}
+
+	@Override
+	public Mono<List<PasajeroDTO>> getAllPasajeros() {
+		return pasajeroWebClient.get()
+				.retrieve()
+				.bodyToFlux(PasajeroDTO.class)
+				.collectList()
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<PasajeroDTO> getPasajeroById(String id) {
+		return pasajeroWebClient.get()
+				.uri("/{id}", id)
+				.retrieve()
+				.bodyToMono(PasajeroDTO.class)
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<PasajeroDTO> createPasajero(PasajeroDTOSinId pasajeroDTOSinId) {
+		return pasajeroWebClient.post()
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(pasajeroDTOSinId)
+				.retrieve()
+				.bodyToMono(PasajeroDTO.class)
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<Void> deletePasajeroById(String id) {
+		return pasajeroWebClient.delete()
+				.uri("/{id}", id)
+				.retrieve()
+				.bodyToMono(Void.class)
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<PasajeroDTO> updatePasajero(PasajeroDTO pasajeroDTO) {
+		return pasajeroWebClient.put()
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(pasajeroDTO)
+				.retrieve()
+				.bodyToMono(PasajeroDTO.class)
+				.onErrorMap(ErroresGateway::remoto);
+	}
+}
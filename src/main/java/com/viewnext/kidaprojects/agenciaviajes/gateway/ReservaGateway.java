@@ -0,0 +1,39 @@
+package com.viewnext.kidaprojects.agenciaviajes.gateway;
+
+import java.util.List;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaSoloIdDTO;
+import reactor.core.publisher.Mono;
+
+/**
+ * Operaciones sobre reservas que utilizan los controladores de vistas.
+ *
+ * <p>
+ * Igual que {@code VueloGateway}, tiene una implementación que llama a {@code ReservaService} dentro del
+ * mismo proceso y otra que llama a la API REST de reservas, elegidas con la propiedad
+ * {@code agenciaviajes.gateway.modo}.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta interfaz es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public interface ReservaGateway {
+
+	Mono<List<ReservaDTO>> getAllReservas();
+
+	Mono<ReservaDTO> getReservaById(String id);
+
+	Mono<List<ReservaDTO>> getReservasPorPasajero(String idPasajero);
+
+	Mono<List<ReservaDTO>> getReservasPorVuelo(String idVuelo);
+
+	Mono<ReservaDTO> createReserva(ReservaSoloIdDTO reservaSoloIdDTO);
+
+	Mono<Void> deleteReservaById(String id);
+
+	Mono<ReservaDTO> updateReserva(String idReserva, ReservaSoloIdDTO reservaSoloIdDTO);
+}
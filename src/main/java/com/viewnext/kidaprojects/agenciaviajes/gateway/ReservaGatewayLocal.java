@@ -0,0 +1,96 @@
+package com.viewnext.kidaprojects.agenciaviajes.gateway;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import com.viewnext.kidaprojects.agenciaviajes.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaSoloIdDTO;
+import com.viewnext.kidaprojects.agenciaviajes.service.ReservaService;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Implementación de {@code ReservaGateway} que llama a {@code ReservaService} dentro del mismo proceso.
+ * Es el modo por defecto.
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Component
+@ConditionalOnProperty(name = "agenciaviajes.gateway.modo", havingValue = "local", matchIfMissing = true)
+public class ReservaGatewayLocal implements ReservaGateway {
+
+	@Autowired
+	private ReservaService reservaService;
+
+	@Autowired
+	private Scheduler planificadorGateway;
+
+	@Override
+	public Mono<List<ReservaDTO>> getAllReservas() {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(() -> reservaService.getAllReservas()))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+
+	@Override
+	public Mono<ReservaDTO> getReservaById(String id) {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(
+				() -> reservaService.getReservaByid(Integer.parseInt(id))))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+
+	@Override
+	public Mono<List<ReservaDTO>> getReservasPorPasajero(String idPasajero) {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(
+				() -> reservaService.obtenerReservasPorPasajero(Integer.parseInt(idPasajero))))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+
+	@Override
+	public Mono<List<ReservaDTO>> getReservasPorVuelo(String idVuelo) {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(
+				() -> reservaService.obtenerReservasPorVuelo(Integer.parseInt(idVuelo))))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+
+	@Override
+	public Mono<ReservaDTO> createReserva(ReservaSoloIdDTO reservaSoloIdDTO) {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(
+				() -> reservaService.createReservaByIdVueloIdPasajeroAsiento(
+						Integer.parseInt(reservaSoloIdDTO.getIdVueloDTO()),
+						Integer.parseInt(reservaSoloIdDTO.getIdPasajeroDTO()),
+						reservaSoloIdDTO.getAsiento())))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+
+	@Override
+	public Mono<Void> deleteReservaById(String id) {
+		return Mono.fromRunnable(EnrutadorDataSource.enSesionActual(
+				() -> reservaService.deleteReservaById(Integer.parseInt(id))))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local)
+				.then();
+	}
+
+	@Override
+	public Mono<ReservaDTO> updateReserva(String idReserva, ReservaSoloIdDTO reservaSoloIdDTO) {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(
+				() -> reservaService.updateReserva(Integer.parseInt(idReserva),
+						Integer.parseInt(reservaSoloIdDTO.getIdPasajeroDTO()),
+						Integer.parseInt(reservaSoloIdDTO.getIdVueloDTO()),
+						reservaSoloIdDTO.getAsiento())))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+}
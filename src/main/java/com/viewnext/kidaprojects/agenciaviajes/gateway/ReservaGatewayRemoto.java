@@ -0,0 +1,103 @@
+package com.viewnext.kidaprojects.agenciaviajes.gateway;
+
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaSoloIdDTO;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementación de {@code ReservaGateway} que llama a la API REST de reservas con un WebClient. Se
+ * activa con {@code agenciaviajes.gateway.modo=remoto}.
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Component
+@ConditionalOnProperty(name = "agenciaviajes.gateway.modo", havingValue = "remoto")
+public class ReservaGatewayRemoto implements ReservaGateway {
+
+	private final WebClient reservaWebClient;
+
+	/**
+	 * @param reservaWebClient El WebClient configurado para comunicarse con el servicio web de reservas.
+	 */
+	public ReservaGatewayRemoto(WebClient reservaWebClient) {
+		this.reservaWebClient = reservaWebClient;
+	}
+
+	@Override
+	public Mono<List<ReservaDTO>> getAllReservas() {
+		return reservaWebClient.get()
+				.retrieve()
+				.bodyToFlux(ReservaDTO.class)
+				.collectList()
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<ReservaDTO> getReservaById(String id) {
+		return reservaWebClient.get()
+				.uri("/{id}", id)
+				.retrieve()
+				.bodyToMono(ReservaDTO.class)
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<List<ReservaDTO>> getReservasPorPasajero(String idPasajero) {
+		return reservaWebClient.get()
+				.uri("/mostrar/idpasajero/{id}", idPasajero)
+				.retrieve()
+				.bodyToFlux(ReservaDTO.class)
+				.collectList()
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<List<ReservaDTO>> getReservasPorVuelo(String idVuelo) {
+		return reservaWebClient.get()
+				.uri("/mostrar/idvuelo/{id}", idVuelo)
+				.retrieve()
+				.bodyToFlux(ReservaDTO.class)
+				.collectList()
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<ReservaDTO> createReserva(ReservaSoloIdDTO reservaSoloIdDTO) {
+		return reservaWebClient.post()
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(reservaSoloIdDTO)
+				.retrieve()
+				.bodyToMono(ReservaDTO.class)
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<Void> deleteReservaById(String id) {
+		return reservaWebClient.delete()
+				.uri("/{id}", id)
+				.retrieve()
+				.bodyToMono(Void.class)
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<ReservaDTO> updateReserva(String idReserva, ReservaSoloIdDTO reservaSoloIdDTO) {
+		return reservaWebClient.put()
+				.uri("/{idReservaDTO}", idReserva)
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(reservaSoloIdDTO)
+				.retrieve()
+				.bodyToMono(ReservaDTO.class)
+				.onErrorMap(ErroresGateway::remoto);
+	}
+}
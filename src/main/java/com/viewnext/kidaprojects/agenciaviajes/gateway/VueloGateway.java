@@ -0,0 +1,43 @@
+package com.viewnext.kidaprojects.agenciaviajes.gateway;
+
+import java.util.List;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
+import reactor.core.publisher.Mono;
+
+/**
+ * Operaciones sobre vuelos que utilizan los controladores de vistas.
+ *
+ * <p>
+ * La interfaz {@code VueloGateway} abstrae de dónde se obtienen los datos: {@code VueloGatewayLocal} llama
+ * directamente a {@code VueloService} dentro del mismo proceso y {@code VueloGatewayRemoto} llama a la API
+ * REST de vuelos con un WebClient. La propiedad {@code agenciaviajes.gateway.modo} elige la implementación.
+ * </p>
+ *
+ * <p>
+ * Todas las operaciones devuelven un {@code Mono} que no hace nada hasta que se suscribe y que no bloquea el
+ * hilo que se suscribe, por lo que varias llamadas combinadas se ejecutan a la vez. Los errores se
+ * notifican como {@code ResponseStatusException} con el mismo código de estado que devolvería la API REST.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta interfaz es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public interface VueloGateway {
+
+	Mono<List<VueloDTO>> getAllVuelos();
+
+	Mono<VueloDTO> getVueloById(String id);
+
+	Mono<List<VueloDTO>> buscarVuelosPorOrigenDestinoFecha(String origen, String destino, String fecha);
+
+	Mono<VueloDTO> createVuelo(VueloDTOSinId vueloDTOSinId);
+
+	Mono<Void> deleteVueloById(String id);
+
+	Mono<VueloDTO> updateVuelo(VueloDTO vueloDTO);
+}
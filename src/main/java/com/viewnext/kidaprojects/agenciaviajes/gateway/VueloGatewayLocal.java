@@ -0,0 +1,94 @@
+package com.viewnext.kidaprojects.agenciaviajes.gateway;
+
+import java.sql.Date;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import com.viewnext.kidaprojects.agenciaviajes.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.service.VueloService;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Implementación de {@code VueloGateway} que llama a {@code VueloService} dentro del mismo proceso.
+ *
+ * <p>
+ * Es el modo por defecto. Evita la petición HTTP a la propia aplicación y las dos conversiones a y desde
+ * JSON que hace el modo remoto en cada página. Como los servicios son bloqueantes, cada llamada se ejecuta
+ * en el planificador {@code planificadorGateway} y no en el hilo que se suscribe. La llamada se ejecuta con
+ * la sesión de lectura del cliente ({@code EnrutadorDataSource.enSesionActual}), de modo que lee sus
+ * propias escrituras y estas le llegan en la cookie de la respuesta.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Component
+@ConditionalOnProperty(name = "agenciaviajes.gateway.modo", havingValue = "local", matchIfMissing = true)
+public class VueloGatewayLocal implements VueloGateway {
+
+	@Autowired
+	private VueloService vueloService;
+
+	@Autowired
+	private Scheduler planificadorGateway;
+
+	@Override
+	public Mono<List<VueloDTO>> getAllVuelos() {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(() -> vueloService.getAllVuelos()))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+
+	@Override
+	public Mono<VueloDTO> getVueloById(String id) {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(
+				() -> vueloService.getVueloById(Integer.parseInt(id))))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+
+	@Override
+	public Mono<List<VueloDTO>> buscarVuelosPorOrigenDestinoFecha(String origen, String destino, String fecha) {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(
+				() -> vueloService.buscarVuelosPorOrigenDestinoFecha(origen, destino,
+						Date.valueOf(fecha))))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+
+	@Override
+	public Mono<VueloDTO> createVuelo(VueloDTOSinId vueloDTOSinId) {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(
+				() -> vueloService.createVuelo(vueloDTOSinId)))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+
+	@Override
+	public Mono<Void> deleteVueloById(String id) {
+		return Mono.fromRunnable(EnrutadorDataSource.enSesionActual(
+				() -> vueloService.deleteVueloById(Integer.parseInt(id))))
+				.subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local)
+				.then();
+	}
+
+	@Override
+	public Mono<VueloDTO> updateVuelo(VueloDTO vueloDTO) {
+		return Mono.fromCallable(EnrutadorDataSource.enSesionActual(() -> {
+			vueloService.updateVueloById(Integer.parseInt(vueloDTO.getIdVueloDTO()), vueloDTO);
+
+			// Igual que la API REST, devuelve los datos recibidos
+			return vueloDTO;
+		})).subscribeOn(planificadorGateway)
+				.onErrorMap(ErroresGateway::local);
+	}
+}
@@ -0,0 +1,95 @@
+package com.viewnext.kidaprojects.agenciaviajes.gateway;
+
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementación de {@code VueloGateway} que llama a la API REST de vuelos con un WebClient.
+ *
+ * <p>
+ * Se activa con {@code agenciaviajes.gateway.modo=remoto}, para desplegar las vistas separadas de la API.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Component
+@ConditionalOnProperty(name = "agenciaviajes.gateway.modo", havingValue = "remoto")
+public class VueloGatewayRemoto implements VueloGateway {
+
+	private final WebClient vueloWebClient;
+
+	/**
+	 * @param vueloWebClient El WebClient configurado para comunicarse con el servicio web de vuelos.
+	 */
+	public VueloGatewayRemoto(WebClient vueloWebClient) {
+		this.vueloWebClient = vueloWebClient;
+	}
+
+	@Override
+	public Mono<List<VueloDTO>> getAllVuelos() {
+		return vueloWebClient.get()
+				.retrieve()
+				.bodyToFlux(VueloDTO.class)
+				.collectList()
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<VueloDTO> getVueloById(String id) {
+		return vueloWebClient.get()
+				.uri("/{id}", id)
+				.retrieve()
+				.bodyToMono(VueloDTO.class)
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<List<VueloDTO>> buscarVuelosPorOrigenDestinoFecha(String origen, String destino, String fecha) {
+		return vueloWebClient.get()
+				.uri("/buscar?origen={origen}&destino={destino}&fecha={fecha}", origen, destino, fecha)
+				.retrieve()
+				.bodyToFlux(VueloDTO.class)
+				.collectList()
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<VueloDTO> createVuelo(VueloDTOSinId vueloDTOSinId) {
+		return vueloWebClient.post()
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(vueloDTOSinId)
+				.retrieve()
+				.bodyToMono(VueloDTO.class)
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<Void> deleteVueloById(String id) {
+		return vueloWebClient.delete()
+				.uri("/{id}", id)
+				.retrieve()
+				.bodyToMono(Void.class)
+				.onErrorMap(ErroresGateway::remoto);
+	}
+
+	@Override
+	public Mono<VueloDTO> updateVuelo(VueloDTO vueloDTO) {
+		return vueloWebClient.put()
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(vueloDTO)
+				.retrieve()
+				.bodyToMono(VueloDTO.class)
+				.onErrorMap(ErroresGateway::remoto);
+	}
+}
@@ -0,0 +1,53 @@
+package com.viewnext.kidaprojects.agenciaviajes.mappers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.stereotype.Component;
+
+/**
+ * Clase que proporciona métodos para mapear entre identificadores y cursores de paginación.
+ * 
+ * <p>
+ * La clase {@code CursorMapper} convierte el último identificador de una página en un cursor opaco
+ * que el cliente devuelve en el parámetro {@code after} para obtener la página siguiente. Así los
+ * clientes no dependen del formato interno de los identificadores.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Component
+public class CursorMapper {
+
+	private static final String PREFIJO = "id:";
+
+	/**
+	 * Convierte un identificador en un cursor opaco.
+	 *
+	 * @param id El identificador del último elemento de la página.
+	 * @return El cursor codificado en Base64 apto para URLs.
+	 */
+	public String toCursor(int id) {
+		byte[] bytes = (PREFIJO + id).getBytes(StandardCharsets.UTF_8);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	/**
+	 * Convierte un cursor opaco en el identificador que representa.
+	 *
+	 * @param cursor El cursor recibido del cliente.
+	 * @return El identificador a partir del cual continuar.
+	 * @throws IllegalArgumentException Si el cursor no es válido.
+	 */
+	public int toId(String cursor) throws IllegalArgumentException {
+		String decodificado = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		if (!decodificado.startsWith(PREFIJO)) {
+			throw new IllegalArgumentException();
+		}
+		return Integer.parseInt(decodificado.substring(PREFIJO.length()));
+	}
+}
@@ -1,10 +1,12 @@
 package com.viewnext.kidaprojects.agenciaviajes.mappers;
 
+import java.sql.Date;
 import java.util.List;
 import org.springframework.stereotype.Component;
 import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTOSinId;
 import com.viewnext.kidaprojects.agenciaviajes.model.Pasajero;
+import com.viewnext.kidaprojects.agenciaviajes.model.PasajeroR2dbc;
 
 /**
  * La clase {@code PasajeroMapper} proporciona métodos para mapear objetos entre la entidad
@@ -45,6 +47,17 @@ public class PasajeroMapper {
 		return pasajeroDTO;
 	}
 
+	/**
+	 * Convierte una fila de pasajero leída con R2DBC en un objeto PasajeroDTO.
+	 *
+	 * @param pasajero La fila a convertir.
+	 * @return Un objeto PasajeroDTO con los mismos datos que la fila de entrada.
+	 */
+	public PasajeroDTO toPasajeroDTO(PasajeroR2dbc pasajero) {
+		return new PasajeroDTO(pasajero.idPasajero(), pasajero.nombre(), pasajero.apellido(),
+				pasajero.fechaNacimiento() == null ? null : Date.valueOf(pasajero.fechaNacimiento()));
+	}
+
 	/**
 	 * Convierte un objeto PasajeroDTO en un objeto Pasajero.
 	 *
@@ -1,10 +1,12 @@
 package com.viewnext.kidaprojects.agenciaviajes.mappers;
 
+import java.sql.Date;
 import java.util.List;
 import org.springframework.stereotype.Component;
 import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
 import com.viewnext.kidaprojects.agenciaviajes.model.Vuelo;
+import com.viewnext.kidaprojects.agenciaviajes.model.VueloR2dbc;
 
 /**
  * Clase que proporciona métodos para mapear entre objetos Vuelo y VueloDTO.
@@ -42,6 +44,17 @@ public class VueloMapper {
 		return vueloDTO;
 	}
 
+	/**
+	 * Convierte una fila de vuelo leída con R2DBC en un objeto VueloDTO.
+	 *
+	 * @param vuelo La fila a convertir.
+	 * @return Un objeto VueloDTO con los mismos datos que la fila de entrada.
+	 */
+	public VueloDTO toVueloDTO(VueloR2dbc vuelo) {
+		return new VueloDTO(vuelo.idVuelo(), vuelo.origen(), vuelo.destino(),
+				vuelo.fecha() == null ? null : Date.valueOf(vuelo.fecha()));
+	}
+
 	/**
 	 * Convierte un objeto VueloDTO en un objeto Vuelo.
 	 *
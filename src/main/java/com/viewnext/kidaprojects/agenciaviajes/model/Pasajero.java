@@ -3,12 +3,17 @@ package com.viewnext.kidaprojects.agenciaviajes.model;
 import java.sql.Date;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 /**
  * Clase que representa a un pasajero en el sistema de gestión de viajes.
@@ -21,8 +26,15 @@ import jakarta.persistence.Table;
  * 
  * <p>
  * Esta clase es una entidad JPA que se mapea a una tabla llamada "pasajeros" en la base
- * de datos. El identificador del pasajero se genera automáticamente mediante una estrategia
- * de generación de claves primarias.
+ * de datos. El identificador del pasajero se genera automáticamente mediante un generador
+ * de tabla que reserva los identificadores en bloques de 50, lo que permite agrupar las
+ * inserciones en lotes JDBC.
+ * </p>
+ * 
+ * <p>
+ * Los pasajeros se guardan en la caché de segundo nivel de Hibernate (región "pasajeros"), de
+ * modo que las lecturas por identificador no acceden a la base de datos mientras el pasajero siga
+ * en caché.
  * </p>
  * 
   <p>
@@ -33,11 +45,15 @@ import jakarta.persistence.Table;
  * @since 19 de septiembre de 2023
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pasajeros")
 @Table(name = "pasajeros")
 public class Pasajero {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "pasajeros_gen")
+	@TableGenerator(name = "pasajeros_gen", table = "secuencias", pkColumnName = "entidad",
+			valueColumnName = "siguiente_valor", pkColumnValue = "pasajeros", allocationSize = 50)
 	private int idPasajero;
 	private String nombre;
 	private String apellido;
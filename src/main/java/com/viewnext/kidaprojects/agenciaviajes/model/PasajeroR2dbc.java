@@ -0,0 +1,20 @@
+package com.viewnext.kidaprojects.agenciaviajes.model;
+
+import java.time.LocalDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Fila de la tabla "pasajeros" tal como la lee el acceso reactivo con R2DBC. La tabla la define la entidad
+ * JPA {@code Pasajero}.
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Table("pasajeros")
+public record PasajeroR2dbc(@Id Integer idPasajero, String nombre, String apellido, LocalDate fechaNacimiento) {
+}
@@ -1,12 +1,18 @@
 package com.viewnext.kidaprojects.agenciaviajes.model;
 
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.UniqueConstraint;
 
 
 /**
@@ -19,8 +25,19 @@ import jakarta.persistence.Table;
  * 
  * <p>
  * Esta clase es una entidad JPA que se mapea a una tabla llamada "reservas" en la base de
- * datos. El identificador de la reserva se genera automáticamente mediante una estrategia
- * de generación de claves primarias.
+ * datos. El identificador de la reserva se genera automáticamente mediante un generador
+ * de tabla que reserva los identificadores en bloques de 50, lo que permite agrupar las
+ * inserciones en lotes JDBC.
+ * </p>
+ * 
+ * <p>
+ * El grafo {@code Reserva.vueloPasajero} permite recuperar las reservas junto con su vuelo y
+ * su pasajero en una única consulta.
+ * </p>
+ * 
+ * <p>
+ * Las claves ajenas hacia el vuelo y el pasajero se declaran con {@code ON DELETE CASCADE}, igual que en el
+ * script de la base de datos: al borrar un vuelo o un pasajero se borran también sus reservas.
  * </p>
  * 
  * <p>
@@ -31,19 +48,29 @@ import jakarta.persistence.Table;
  * @since 19 de septiembre de 2023
  */
 @Entity
-@Table(name = "reservas")
+@Table(name = "reservas", uniqueConstraints = @UniqueConstraint(name = "uk_reservas_vuelo_asiento",
+		columnNames = { "idVuelo", "asiento" }))
+@NamedEntityGraph(name = Reserva.GRAFO_VUELO_PASAJERO, attributeNodes = { @NamedAttributeNode("vuelo"),
+		@NamedAttributeNode("pasajero") })
 public class Reserva {
+
+	public static final String GRAFO_VUELO_PASAJERO = "Reserva.vueloPasajero";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "reservas_gen")
+	@TableGenerator(name = "reservas_gen", table = "secuencias", pkColumnName = "entidad",
+			valueColumnName = "siguiente_valor", pkColumnValue = "reservas", allocationSize = 50)
 	private int idReserva;
 	private String asiento;
 
 	@ManyToOne
 	@JoinColumn(name = "idVuelo")
+	@OnDelete(action = OnDeleteAction.CASCADE)
 	private Vuelo vuelo;
 
 	@ManyToOne
 	@JoinColumn(name = "idPasajero")
+	@OnDelete(action = OnDeleteAction.CASCADE)
 	private Pasajero pasajero;
 
 	public Reserva(String asiento, Vuelo vuelo, Pasajero pasajero) {
@@ -0,0 +1,19 @@
+package com.viewnext.kidaprojects.agenciaviajes.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Fila de la tabla "reservas" tal como la lee el acceso reactivo con R2DBC. La tabla la define la entidad
+ * JPA {@code Reserva}; el vuelo y el pasajero son solo sus identificadores.
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Table("reservas")
+public record ReservaR2dbc(@Id Integer idReserva, String asiento, Integer idVuelo, Integer idPasajero) {
+}
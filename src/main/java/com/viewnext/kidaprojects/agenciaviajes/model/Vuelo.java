@@ -1,13 +1,23 @@
 package com.viewnext.kidaprojects.agenciaviajes.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.sql.Date;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Clase que representa un vuelo en el sistema de gestión de viajes.
@@ -19,8 +29,19 @@ import java.util.List;
  * 
  * <p>
  * Esta clase es una entidad JPA que se mapea a una tabla llamada "vuelos" en la base de datos.
- * El identificador del vuelo se genera automáticamente mediante una estrategia de generación de
- * claves primarias.
+ * El identificador del vuelo se genera automáticamente mediante un generador de tabla que reserva
+ * los identificadores en bloques de 50, lo que permite agrupar las inserciones en lotes JDBC.
+ * </p>
+ * 
+ * <p>
+ * Para las búsquedas por origen, destino y fecha se guardan además el origen y el destino
+ * normalizados (sin espacios sobrantes y en minúsculas), cubiertos por un índice compuesto
+ * (origen_normalizado, destino_normalizado, fecha).
+ * </p>
+ * 
+ * <p>
+ * Los vuelos se guardan en la caché de segundo nivel de Hibernate (región "vuelos"), de modo
+ * que las lecturas por identificador no acceden a la base de datos mientras el vuelo siga en caché.
  * </p>
  * 
  * <p>
@@ -31,14 +52,25 @@ import java.util.List;
  * @since 19 de septiembre de 2023
  */
 @Entity
-@Table(name = "vuelos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "vuelos")
+@Table(name = "vuelos", indexes = @Index(name = "idx_vuelos_origen_destino_fecha",
+		columnList = "origen_normalizado, destino_normalizado, fecha"))
 public class Vuelo {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "vuelos_gen")
+	@TableGenerator(name = "vuelos_gen", table = "secuencias", pkColumnName = "entidad",
+			valueColumnName = "siguiente_valor", pkColumnValue = "vuelos", allocationSize = 50)
 	private int idVuelo;
 	private String origen;
 	private String destino;
 	private Date fecha;
+
+	@Column(name = "origen_normalizado")
+	private String origenNormalizado;
+
+	@Column(name = "destino_normalizado")
+	private String destinoNormalizado;
 	
 	@OneToMany(mappedBy = "vuelo") // Anotación inversa
     private List<Reserva> reservas;
@@ -88,5 +120,34 @@ public class Vuelo {
 		this.fecha = fecha;
 	}
 
-	
+	public String getOrigenNormalizado() {
+		return origenNormalizado;
+	}
+
+	public String getDestinoNormalizado() {
+		return destinoNormalizado;
+	}
+
+	/**
+	 * Recalcula las claves normalizadas antes de insertar o actualizar el vuelo.
+	 */
+	@PrePersist
+	@PreUpdate
+	void normalizarClaves() {
+		this.origenNormalizado = normalizar(origen);
+		this.destinoNormalizado = normalizar(destino);
+	}
+
+	/**
+	 * Normaliza el nombre de una ciudad para las búsquedas que no distinguen
+	 * mayúsculas de minúsculas.
+	 *
+	 * @param ciudad El nombre de la ciudad.
+	 * @return El nombre sin espacios sobrantes y en minúsculas, o null si la
+	 *         ciudad es null.
+	 */
+	public static String normalizar(String ciudad) {
+		return ciudad == null ? null : ciudad.trim().toLowerCase(Locale.ROOT);
+	}
+
 }
\ No newline at end of file
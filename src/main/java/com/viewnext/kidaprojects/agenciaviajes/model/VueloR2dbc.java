@@ -0,0 +1,26 @@
+package com.viewnext.kidaprojects.agenciaviajes.model;
+
+import java.time.LocalDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Fila de la tabla "vuelos" tal como la lee el acceso reactivo con R2DBC.
+ *
+ * <p>
+ * La tabla la define y la mantiene la entidad JPA {@code Vuelo}; este registro solo se usa para leerla
+ * desde {@code VueloRepositoryReactivo}. Las columnas se corresponden con los atributos por nombre
+ * ({@code idVuelo} con "id_vuelo", {@code origenNormalizado} con "origen_normalizado", etc.).
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Table("vuelos")
+public record VueloR2dbc(@Id Integer idVuelo, String origen, String destino, LocalDate fecha,
+		String origenNormalizado, String destinoNormalizado) {
+}
@@ -0,0 +1,52 @@
+package com.viewnext.kidaprojects.agenciaviajes.repository;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Consultas de {@code ReservaRepositoryReactivo} que devuelven directamente {@code ReservaDTO}, con los
+ * datos del vuelo y del pasajero leídos en la misma consulta. Las implementa
+ * {@code ConsultasReservaReactivasImpl}.
+ * 
+ * <p>
+ * El autor de esta interfaz es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+public interface ConsultasReservaReactivas {
+
+	/**
+	 * Recupera todas las reservas proyectadas sobre {@code ReservaDTO}.
+	 *
+	 * @return Las reservas ordenadas por identificador.
+	 */
+	Flux<ReservaDTO> findAllReservaDTO();
+
+	/**
+	 * Recupera una reserva proyectada sobre {@code ReservaDTO}.
+	 *
+	 * @param idReserva El ID de la reserva.
+	 * @return Un Mono con la reserva, o vacío si no existe.
+	 */
+	Mono<ReservaDTO> findReservaDTOByIdReserva(int idReserva);
+
+	/**
+	 * Recupera las reservas de un vuelo proyectadas sobre {@code ReservaDTO}.
+	 *
+	 * @param idVuelo El ID del vuelo.
+	 * @return Las reservas del vuelo ordenadas por identificador.
+	 */
+	Flux<ReservaDTO> findReservaDTOByIdVuelo(int idVuelo);
+
+	/**
+	 * Recupera las reservas de un pasajero proyectadas sobre {@code ReservaDTO}.
+	 *
+	 * @param idPasajero El ID del pasajero.
+	 * @return Las reservas del pasajero ordenadas por identificador.
+	 */
+	Flux<ReservaDTO> findReservaDTOByIdPasajero(int idPasajero);
+}
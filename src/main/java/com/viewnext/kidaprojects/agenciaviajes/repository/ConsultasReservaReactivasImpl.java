@@ -0,0 +1,91 @@
+package com.viewnext.kidaprojects.agenciaviajes.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementación de {@code ConsultasReservaReactivas} con {@code DatabaseClient}.
+ *
+ * <p>
+ * Igual que las proyecciones {@code SELECT new ReservaDTO(...)} de {@code ReservaRepository}, cada fila se
+ * convierte directamente en un {@code ReservaDTO} leyendo las columnas por posición. Es bastante más rápido
+ * que dejar que Spring Data R2DBC construya un objeto intermedio por reflexión en cada fila, que en los
+ * listados de reservas era la mayor parte del tiempo de la consulta.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+class ConsultasReservaReactivasImpl implements ConsultasReservaReactivas {
+
+	/**
+	 * Consulta base de las proyecciones sobre {@code ReservaDTO}. El orden de las columnas es el que espera
+	 * {@link #toReservaDTO(Readable)}.
+	 */
+	private static final String SELECT_RESERVA_DTO = "SELECT r.id_reserva, r.asiento, v.id_vuelo, v.origen, "
+			+ "v.destino, v.fecha, p.id_pasajero, p.nombre, p.apellido, p.fecha_nacimiento "
+			+ "FROM reservas r JOIN vuelos v ON v.id_vuelo = r.id_vuelo "
+			+ "JOIN pasajeros p ON p.id_pasajero = r.id_pasajero ";
+
+	private final DatabaseClient databaseClient;
+
+	ConsultasReservaReactivasImpl(@Qualifier("plantillaR2dbc") R2dbcEntityTemplate plantillaR2dbc) {
+		this.databaseClient = plantillaR2dbc.getDatabaseClient();
+	}
+
+	@Override
+	public Flux<ReservaDTO> findAllReservaDTO() {
+		return databaseClient.sql(SELECT_RESERVA_DTO + "ORDER BY r.id_reserva")
+				.map(ConsultasReservaReactivasImpl::toReservaDTO)
+				.all();
+	}
+
+	@Override
+	public Mono<ReservaDTO> findReservaDTOByIdReserva(int idReserva) {
+		return databaseClient.sql(SELECT_RESERVA_DTO + "WHERE r.id_reserva = :idReserva")
+				.bind("idReserva", idReserva)
+				.map(ConsultasReservaReactivasImpl::toReservaDTO)
+				.one();
+	}
+
+	@Override
+	public Flux<ReservaDTO> findReservaDTOByIdVuelo(int idVuelo) {
+		return databaseClient.sql(SELECT_RESERVA_DTO + "WHERE r.id_vuelo = :idVuelo ORDER BY r.id_reserva")
+				.bind("idVuelo", idVuelo)
+				.map(ConsultasReservaReactivasImpl::toReservaDTO)
+				.all();
+	}
+
+	@Override
+	public Flux<ReservaDTO> findReservaDTOByIdPasajero(int idPasajero) {
+		return databaseClient.sql(SELECT_RESERVA_DTO + "WHERE r.id_pasajero = :idPasajero ORDER BY r.id_reserva")
+				.bind("idPasajero", idPasajero)
+				.map(ConsultasReservaReactivasImpl::toReservaDTO)
+				.all();
+	}
+
+	private static ReservaDTO toReservaDTO(Readable fila) {
+		return new ReservaDTO(fila.get(0, Integer.class), fila.get(1, String.class), fila.get(2, Integer.class),
+				fila.get(3, String.class), fila.get(4, String.class), toDate(fila.get(5, LocalDate.class)),
+				fila.get(6, Integer.class), fila.get(7, String.class), fila.get(8, String.class),
+				toDate(fila.get(9, LocalDate.class)));
+	}
+
+	private static Date toDate(LocalDate fecha) {
+		return fecha == null ? null : Date.valueOf(fecha);
+	}
+}
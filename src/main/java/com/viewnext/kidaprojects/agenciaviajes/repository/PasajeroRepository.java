@@ -1,9 +1,19 @@
 package com.viewnext.kidaprojects.agenciaviajes.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
 import com.viewnext.kidaprojects.agenciaviajes.model.Pasajero;
 
+import jakarta.persistence.QueryHint;
+
 
 /**
  * Interfaz que define un repositorio para la entidad {@code Pasajero}.
@@ -29,4 +39,35 @@ import com.viewnext.kidaprojects.agenciaviajes.model.Pasajero;
  */
 public interface PasajeroRepository extends JpaRepository<Pasajero, Integer>{
 
+	/**
+	 * Recupera, ordenadas por identificador, las entidades Pasajero con un identificador
+	 * mayor que el indicado (paginación por cursor).
+	 *
+	 * @param idPasajero El último identificador de la página anterior.
+	 * @param pageable   El tamaño de la página a recuperar.
+	 * @return La lista de entidades de la página solicitada.
+	 */
+	List<Pasajero> findByIdPasajeroGreaterThanOrderByIdPasajeroAsc(int idPasajero, Pageable pageable);
+
+	/**
+	 * Recupera todos los pasajeros proyectados directamente sobre {@code PasajeroDTO}, sin
+	 * cargar entidades en el contexto de persistencia.
+	 *
+	 * @return La lista de PasajeroDTO ordenada por identificador.
+	 */
+	@Query("SELECT new com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO(p.idPasajero, p.nombre, p.apellido, p.fechaNacimiento) "
+			+ "FROM Pasajero p ORDER BY p.idPasajero")
+	List<PasajeroDTO> findAllPasajeroDTO();
+
+	/**
+	 * Recorre los pasajeros con las columnas por las que se buscan. Cada elemento es un array con el ID
+	 * del pasajero ({@code Integer}), su nombre y su apellido ({@code String}). Debe consumirse dentro de
+	 * una transacción y cerrarse al terminar.
+	 *
+	 * @return Un Stream con el ID, el nombre y el apellido de todos los pasajeros.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("SELECT p.idPasajero, p.nombre, p.apellido FROM Pasajero p")
+	Stream<Object[]> streamNombresPasajeros();
+
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.viewnext.kidaprojects.agenciaviajes.repository;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+import com.viewnext.kidaprojects.agenciaviajes.model.PasajeroR2dbc;
+
+/**
+ * Repositorio reactivo de solo lectura sobre la tabla "pasajeros". Las modificaciones se siguen haciendo
+ * con {@code PasajeroRepository} a través de {@code PasajeroService}.
+ * 
+ * <p>
+ * El autor de esta interfaz es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@RepositoryRestResource(exported = false)
+public interface PasajeroRepositoryReactivo extends R2dbcRepository<PasajeroR2dbc, Integer> {
+}
@@ -1,9 +1,23 @@
 package com.viewnext.kidaprojects.agenciaviajes.repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
 import com.viewnext.kidaprojects.agenciaviajes.model.Reserva;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Interfaz que define un repositorio para la entidad {@code Reserva}.
  * 
@@ -19,6 +33,12 @@ import com.viewnext.kidaprojects.agenciaviajes.model.Reserva;
  * en la base de datos.
  * </p>
  * 
+ * <p>
+ * Todas las lecturas de reservas cargan el vuelo y el pasajero asociados con el grafo
+ * {@link Reserva#GRAFO_VUELO_PASAJERO}, de modo que un listado de N reservas se resuelve con una
+ * única consulta en lugar de N+1.
+ * </p>
+ * 
  *  <p>
  * El autor de esta clase es Víctor Colorado "Kid A".
  * </p>
@@ -28,4 +48,130 @@ import com.viewnext.kidaprojects.agenciaviajes.model.Reserva;
  */
 public interface ReservaRepository extends JpaRepository<Reserva, Integer>{
 
-}
+	/**
+	 * Consulta base de las proyecciones sobre {@code ReservaDTO}.
+	 */
+	String SELECT_RESERVA_DTO = "SELECT new com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO("
+			+ "r.idReserva, r.asiento, v.idVuelo, v.origen, v.destino, v.fecha, "
+			+ "p.idPasajero, p.nombre, p.apellido, p.fechaNacimiento) "
+			+ "FROM Reserva r JOIN r.vuelo v JOIN r.pasajero p ";
+
+	/**
+	 * Número de filas que se piden a la base de datos en cada lectura del cursor de exportación.
+	 */
+	String TAMANO_FETCH_EXPORTACION = "1000";
+
+	@Override
+	@EntityGraph(Reserva.GRAFO_VUELO_PASAJERO)
+	List<Reserva> findAll();
+
+	@Override
+	@EntityGraph(Reserva.GRAFO_VUELO_PASAJERO)
+	Page<Reserva> findAll(Pageable pageable);
+
+	@Override
+	@EntityGraph(Reserva.GRAFO_VUELO_PASAJERO)
+	Optional<Reserva> findById(Integer id);
+
+	/**
+	 * Recupera, ordenadas por identificador, las entidades Reserva con un identificador
+	 * mayor que el indicado (paginación por cursor).
+	 *
+	 * @param idReserva El último identificador de la página anterior.
+	 * @param pageable  El tamaño de la página a recuperar.
+	 * @return La lista de entidades de la página solicitada.
+	 */
+	@EntityGraph(Reserva.GRAFO_VUELO_PASAJERO)
+	List<Reserva> findByIdReservaGreaterThanOrderByIdReservaAsc(int idReserva, Pageable pageable);
+
+	/**
+	 * Recupera todas las reservas proyectadas directamente sobre {@code ReservaDTO}, junto con
+	 * los datos de su vuelo y su pasajero, en una única consulta y sin cargar entidades.
+	 *
+	 * @return La lista de ReservaDTO ordenada por identificador.
+	 */
+	@Query(SELECT_RESERVA_DTO + "ORDER BY r.idReserva")
+	List<ReservaDTO> findAllReservaDTO();
+
+	/**
+	 * Recupera las reservas de un pasajero proyectadas directamente sobre {@code ReservaDTO}.
+	 *
+	 * @param idPasajero El identificador del pasajero.
+	 * @return La lista de ReservaDTO del pasajero ordenada por identificador.
+	 */
+	@Query(SELECT_RESERVA_DTO + "WHERE p.idPasajero = :idPasajero ORDER BY r.idReserva")
+	List<ReservaDTO> findReservaDTOByIdPasajero(@Param("idPasajero") Integer idPasajero);
+
+	/**
+	 * Recupera las reservas de un vuelo proyectadas directamente sobre {@code ReservaDTO}.
+	 *
+	 * @param idVuelo El identificador del vuelo.
+	 * @return La lista de ReservaDTO del vuelo ordenada por identificador.
+	 */
+	@Query(SELECT_RESERVA_DTO + "WHERE v.idVuelo = :idVuelo ORDER BY r.idReserva")
+	List<ReservaDTO> findReservaDTOByIdVuelo(@Param("idVuelo") Integer idVuelo);
+
+	/**
+	 * Recupera una reserva proyectada sobre {@code ReservaDTO}. Al ser una proyección, los datos se leen
+	 * siempre de la base de datos aunque la reserva ya esté cargada en el contexto de persistencia.
+	 *
+	 * @param idReserva El ID de la reserva.
+	 * @return Un Optional con la ReservaDTO, o vacío si la reserva no existe.
+	 */
+	@Query(SELECT_RESERVA_DTO + "WHERE r.idReserva = :idReserva")
+	Optional<ReservaDTO> findReservaDTOByIdReserva(@Param("idReserva") Integer idReserva);
+
+	/**
+	 * Recorre todas las reservas proyectadas sobre {@code ReservaDTO} sin materializar el resultado.
+	 * Las filas se leen del cursor de la base de datos en bloques de {@code TAMANO_FETCH_EXPORTACION},
+	 * por lo que la memoria utilizada no depende del número de reservas. Debe consumirse dentro de
+	 * una transacción y cerrarse al terminar.
+	 *
+	 * @return Un Stream de ReservaDTO ordenado por identificador.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANO_FETCH_EXPORTACION))
+	@Query(SELECT_RESERVA_DTO + "ORDER BY r.idReserva")
+	Stream<ReservaDTO> streamAllReservaDTO();
+
+	/**
+	 * Recorre los asientos reservados de todos los vuelos. Cada elemento es un array con el ID del vuelo
+	 * ({@code Integer}) y el código del asiento ({@code String}). Debe consumirse dentro de una
+	 * transacción y cerrarse al terminar.
+	 *
+	 * @return Un Stream con los pares (ID de vuelo, asiento) de todas las reservas.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANO_FETCH_EXPORTACION))
+	@Query("SELECT v.idVuelo, r.asiento FROM Reserva r JOIN r.vuelo v")
+	Stream<Object[]> streamAsientosReservados();
+
+	/**
+	 * Cuenta las reservas de cada vuelo. Cada elemento es un array con el ID del vuelo ({@code Integer}) y
+	 * su número de reservas ({@code Long}); los vuelos sin reservas no aparecen.
+	 *
+	 * @return Una lista con los pares (ID de vuelo, número de reservas).
+	 */
+	@Query("SELECT v.idVuelo, COUNT(r) FROM Reserva r JOIN r.vuelo v GROUP BY v.idVuelo")
+	List<Object[]> countReservasPorVuelo();
+
+	/**
+	 * Cuenta las reservas de cada pasajero. Cada elemento es un array con el ID del pasajero
+	 * ({@code Integer}) y su número de reservas ({@code Long}); los pasajeros sin reservas no aparecen.
+	 *
+	 * @return Una lista con los pares (ID de pasajero, número de reservas).
+	 */
+	@Query("SELECT p.idPasajero, COUNT(r) FROM Reserva r JOIN r.pasajero p GROUP BY p.idPasajero")
+	List<Object[]> countReservasPorPasajero();
+
+	/**
+	 * Recorre los vuelos con reservas junto con su número de reservas. Cada elemento es un array con el ID
+	 * del vuelo ({@code Integer}), su origen y su destino ({@code String}), su fecha ({@code Date}) y su
+	 * número de reservas ({@code Long}). Debe consumirse dentro de una transacción y cerrarse al terminar.
+	 *
+	 * @return Un Stream con las reservas agrupadas por vuelo.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANO_FETCH_EXPORTACION))
+	@Query("SELECT v.idVuelo, v.origen, v.destino, v.fecha, COUNT(r) FROM Reserva r JOIN r.vuelo v "
+			+ "GROUP BY v.idVuelo, v.origen, v.destino, v.fecha")
+	Stream<Object[]> streamReservasPorVuelo();
+
+}
\ No newline at end of file
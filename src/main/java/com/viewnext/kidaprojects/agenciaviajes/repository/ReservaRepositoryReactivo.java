@@ -0,0 +1,28 @@
+package com.viewnext.kidaprojects.agenciaviajes.repository;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+import com.viewnext.kidaprojects.agenciaviajes.model.ReservaR2dbc;
+
+/**
+ * Repositorio reactivo de solo lectura sobre la tabla "reservas".
+ *
+ * <p>
+ * Igual que {@code ReservaRepository}, las lecturas de {@code ConsultasReservaReactivas} unen la reserva
+ * con su vuelo y su pasajero en una única consulta, de modo que un listado de N reservas no hace N+1
+ * consultas. Las modificaciones se siguen haciendo con {@code ReservaRepository} a través de
+ * {@code ReservaService}, que es quien mantiene el inventario de asientos, los contadores y las
+ * estadísticas.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta interfaz es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@RepositoryRestResource(exported = false)
+public interface ReservaRepositoryReactivo extends R2dbcRepository<ReservaR2dbc, Integer>, ConsultasReservaReactivas {
+}
@@ -1,9 +1,19 @@
 package com.viewnext.kidaprojects.agenciaviajes.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
 import com.viewnext.kidaprojects.agenciaviajes.model.Vuelo;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Interfaz que define un repositorio para la entidad {@code Vuelo}.
  * 
@@ -28,4 +38,36 @@ import com.viewnext.kidaprojects.agenciaviajes.model.Vuelo;
  */
 public interface VueloRepository extends JpaRepository<Vuelo, Integer>{
 
-}
+	/**
+	 * Recupera, ordenadas por identificador, las entidades Vuelo con un identificador
+	 * mayor que el indicado (paginación por cursor).
+	 *
+	 * @param idVuelo  El último identificador de la página anterior.
+	 * @param pageable El tamaño de la página a recuperar.
+	 * @return La lista de entidades de la página solicitada.
+	 */
+	List<Vuelo> findByIdVueloGreaterThanOrderByIdVueloAsc(int idVuelo, Pageable pageable);
+
+	/**
+	 * Recupera todos los vuelos proyectados directamente sobre {@code VueloDTO}, sin cargar
+	 * entidades en el contexto de persistencia.
+	 *
+	 * @return La lista de VueloDTO ordenada por identificador.
+	 */
+	@Query("SELECT new com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO(v.idVuelo, v.origen, v.destino, v.fecha) "
+			+ "FROM Vuelo v ORDER BY v.idVuelo")
+	List<VueloDTO> findAllVueloDTO();
+
+	/**
+	 * Recorre los vuelos con las columnas que forman su clave de búsqueda. Cada elemento es un array con
+	 * el ID del vuelo ({@code Integer}), el origen y el destino normalizados ({@code String}), la fecha
+	 * ({@code Date}) y el origen y el destino sin normalizar ({@code String}). Debe consumirse dentro de una
+	 * transacción y cerrarse al terminar.
+	 *
+	 * @return Un Stream con la clave de búsqueda de todos los vuelos.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("SELECT v.idVuelo, v.origenNormalizado, v.destinoNormalizado, v.fecha, v.origen, v.destino FROM Vuelo v")
+	Stream<Object[]> streamClavesRuta();
+
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.viewnext.kidaprojects.agenciaviajes.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+
+import com.viewnext.kidaprojects.agenciaviajes.model.VueloR2dbc;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Repositorio reactivo de solo lectura sobre la tabla "vuelos".
+ *
+ * <p>
+ * La interfaz {@code VueloRepositoryReactivo} extiende {@code R2dbcRepository}, por lo que sus consultas
+ * devuelven {@code Flux} y {@code Mono} y no bloquean el hilo que las ejecuta. Las modificaciones de vuelos
+ * se siguen haciendo con {@code VueloRepository} a través de {@code VueloService}, que es quien mantiene el
+ * índice de rutas y las cachés.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta interfaz es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@RepositoryRestResource(exported = false)
+public interface VueloRepositoryReactivo extends R2dbcRepository<VueloR2dbc, Integer> {
+
+	/**
+	 * Busca los vuelos cuyo origen, destino y fecha coinciden con los indicados, con el índice compuesto de
+	 * la tabla "vuelos".
+	 *
+	 * @param origenNormalizado  El origen normalizado con {@code Vuelo.normalizar(String)}.
+	 * @param destinoNormalizado El destino normalizado con {@code Vuelo.normalizar(String)}.
+	 * @param fecha              La fecha del vuelo.
+	 * @return Los vuelos que cumplen los criterios, ordenados por identificador.
+	 */
+	Flux<VueloR2dbc> findByOrigenNormalizadoAndDestinoNormalizadoAndFechaOrderByIdVuelo(String origenNormalizado,
+			String destinoNormalizado, LocalDate fecha);
+}
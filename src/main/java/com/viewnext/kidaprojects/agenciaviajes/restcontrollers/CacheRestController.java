@@ -0,0 +1,61 @@
+package com.viewnext.kidaprojects.agenciaviajes.restcontrollers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.viewnext.kidaprojects.agenciaviajes.dto.EstadisticasCacheDTO;
+import com.viewnext.kidaprojects.agenciaviajes.service.CacheService;
+
+/**
+ * Controlador REST que expone el estado de la caché de segundo nivel.
+ *
+ * <p>
+ * La clase {@code CacheRestController} permite consultar las estadísticas de aciertos y fallos de cada
+ * región de la caché y vaciarla cuando la base de datos se ha modificado fuera de la aplicación.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@RestController
+@RequestMapping("/api/cache/")
+public class CacheRestController {
+
+	@Autowired
+	private CacheService cacheService;
+
+	/**
+	 * Obtiene las estadísticas de cada región de la caché.
+	 *
+	 * @return ResponseEntity con la lista de EstadisticasCacheDTO en el cuerpo de la respuesta.
+	 */
+	@GetMapping
+	public ResponseEntity<List<EstadisticasCacheDTO>> getEstadisticas() {
+		List<EstadisticasCacheDTO> listaEstadisticas;
+
+		listaEstadisticas = cacheService.getEstadisticas();
+
+		return ResponseEntity.ok(listaEstadisticas);
+	}
+
+	/**
+	 * Vacía la caché y pone a cero sus estadísticas.
+	 *
+	 * @return ResponseEntity sin contenido (204 No Content).
+	 */
+	@DeleteMapping
+	public ResponseEntity<Void> vaciarCache() {
+		cacheService.vaciar();
+
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -0,0 +1,95 @@
+package com.viewnext.kidaprojects.agenciaviajes.restcontrollers;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservasDiaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.RutaReservasDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloReservasDTO;
+import com.viewnext.kidaprojects.agenciaviajes.service.EstadisticasService;
+
+/**
+ * Controlador REST que expone las estadísticas de reservas.
+ *
+ * <p>
+ * La clase {@code EstadisticasRestController} permite consultar las rutas y los vuelos con más reservas y
+ * el número de reservas de cada día. Las estadísticas se mantienen agregadas en memoria, por lo que pueden
+ * consultarse con frecuencia sin recorrer la tabla de reservas.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@RestController
+@RequestMapping("/api/stats/")
+public class EstadisticasRestController {
+
+	@Autowired
+	private EstadisticasService estadisticasService;
+
+	private static final String INVALID_RANGE = "Intervalo de fechas inválido";
+
+	/**
+	 * Obtiene las rutas con más reservas.
+	 *
+	 * @param limite El número máximo de rutas a devolver.
+	 * @return ResponseEntity con la lista de RutaReservasDTO, de mayor a menor número de reservas.
+	 */
+	@GetMapping("/rutas")
+	public ResponseEntity<List<RutaReservasDTO>> getRutasMasReservadas(
+			@RequestParam(value = "limite", defaultValue = "10") int limite) {
+		List<RutaReservasDTO> listaRutas;
+
+		listaRutas = estadisticasService.getRutasMasReservadas(limite);
+
+		return ResponseEntity.ok(listaRutas);
+	}
+
+	/**
+	 * Obtiene los vuelos con más reservas.
+	 *
+	 * @param limite El número máximo de vuelos a devolver.
+	 * @return ResponseEntity con la lista de VueloReservasDTO, de mayor a menor número de reservas.
+	 */
+	@GetMapping("/vuelos")
+	public ResponseEntity<List<VueloReservasDTO>> getVuelosMasReservados(
+			@RequestParam(value = "limite", defaultValue = "10") int limite) {
+		List<VueloReservasDTO> listaVuelos;
+
+		listaVuelos = estadisticasService.getVuelosMasReservados(limite);
+
+		return ResponseEntity.ok(listaVuelos);
+	}
+
+	/**
+	 * Obtiene el número de reservas de los vuelos que salen cada día de un intervalo.
+	 *
+	 * @param desde La primera fecha del intervalo.
+	 * @param hasta La última fecha del intervalo.
+	 * @return ResponseEntity con la lista de ReservasDiaDTO ordenada por fecha, o con código de estado Bad
+	 *         Request si el intervalo no es válido.
+	 */
+	@GetMapping("/reservas-dia")
+	public ResponseEntity<?> getReservasPorDia(@RequestParam("desde") Date desde,
+			@RequestParam("hasta") Date hasta) {
+		try {
+			List<ReservasDiaDTO> listaDias = estadisticasService.getReservasPorDia(desde, hasta);
+
+			return ResponseEntity.ok(listaDias);
+
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_RANGE);
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package com.viewnext.kidaprojects.agenciaviajes.restcontrollers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,11 +14,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.viewnext.kidaprojects.agenciaviajes.dto.PaginaDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
 
 import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservasPasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ResultadoImportacionDTO;
+import com.viewnext.kidaprojects.agenciaviajes.service.ImportacionService;
 import com.viewnext.kidaprojects.agenciaviajes.service.PasajeroService;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -51,22 +59,55 @@ public class PasajeroRestController {
 	@Autowired
 	private PasajeroService pasajeroService;
 
+	@Autowired
+	private ImportacionService importacionService;
+
 	private static final String PASAJERO_NOT_FOUND = "El pasajero con el ID introducido no fue encontrado";
 	private static final String INVALID_ID = "Id Proporcionado inválido";
+	private static final String INVALID_CURSOR = "Cursor de paginación inválido";
+	private static final String PASAJEROS_NOT_FOUND = "No se han encontrado pasajeros que coincidan con la búsqueda";
+	private static final String INVALID_QUERY = "Texto de búsqueda vacío";
 
 	/**
-	 * Obtiene todos los pasajeros.
+	 * Obtiene los pasajeros. Si se indica alguno de los parámetros {@code after} o
+	 * {@code limit}, la respuesta se pagina por cursor y devuelve un PaginaDTO con
+	 * el enlace a la página siguiente; en otro caso se devuelve la lista completa.
 	 *
-	 * @return ResponseEntity con la lista de PasajeroDTO en el cuerpo de la
-	 *         respuesta.
+	 * @param after El cursor opaco de la página anterior (opcional).
+	 * @param limit El número máximo de elementos de la página (opcional).
+	 * @return ResponseEntity con la lista o la página de PasajeroDTO en el cuerpo de la
+	 *         respuesta, o ResponseEntity con código de estado Bad Request si el
+	 *         cursor no es válido.
 	 */
 	@GetMapping
-	public ResponseEntity<List<PasajeroDTO>> getAllPasajeros() {
-		List<PasajeroDTO> listaPasajerosDTO;
+	public ResponseEntity<?> getAllPasajeros(@RequestParam(name = "after", required = false) String after,
+			@RequestParam(name = "limit", required = false) Integer limit) {
+		if (after == null && limit == null) {
+			List<PasajeroDTO> listaPasajerosDTO;
+
+			listaPasajerosDTO = pasajeroService.getAllPasajeros();
+
+			return ResponseEntity.ok(listaPasajerosDTO);
+		}
+
+		try {
+			int limite = PaginaDTO.ajustarLimite(limit);
+			PaginaDTO<PasajeroDTO> pagina = pasajeroService.getPaginaPasajeros(after, limite);
 
-		listaPasajerosDTO = pasajeroService.getAllPasajeros();
+			// Enlace a la página siguiente con el mismo tamaño de página
+			if (pagina.getSiguienteCursor() != null) {
+				pagina.setSiguiente(ServletUriComponentsBuilder.fromCurrentRequest()
+						.replaceQueryParam("after", pagina.getSiguienteCursor())
+						.replaceQueryParam("limit", limite)
+						.toUriString());
+			}
 
-		return ResponseEntity.ok(listaPasajerosDTO);
+			return ResponseEntity.ok(pagina);
+
+		} catch (IllegalArgumentException e) {
+			// Cursor manipulado o con un formato desconocido
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_CURSOR);
+		}
 	}
 
 	/**
@@ -96,6 +137,58 @@ public class PasajeroRestController {
 		}
 	}
 
+	/**
+	 * Obtiene el número de reservas de un pasajero. Se sirve de contadores en
+	 * memoria, por lo que puede consultarse con frecuencia.
+	 *
+	 * @param id El ID del pasajero.
+	 * @return ResponseEntity con el objeto ReservasPasajeroDTO si se encuentra el
+	 *         pasajero, o ResponseEntity con código de estado Not Found y un
+	 *         mensaje de error si no se encuentra.
+	 */
+	@GetMapping("/{id}/reservas/count")
+	public ResponseEntity<?> getReservasPasajero(@PathVariable String id) {
+		try {
+			Integer idNumerico = Integer.parseInt(id);
+
+			ReservasPasajeroDTO reservasPasajeroDTO = pasajeroService.getReservasPasajero(idNumerico);
+
+			return ResponseEntity.ok(reservasPasajeroDTO);
+
+		} catch (EntityNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(PASAJERO_NOT_FOUND);
+
+		} catch (NumberFormatException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_ID);
+		}
+	}
+
+	/**
+	 * Busca pasajeros por el principio de su nombre o apellido, sin distinguir
+	 * mayúsculas ni tildes. Pensado para los desplegables con autocompletado.
+	 *
+	 * @param q      El texto de búsqueda.
+	 * @param limite El número máximo de pasajeros a devolver.
+	 * @return ResponseEntity con la lista de PasajeroDTO encontrados, con código de
+	 *         estado Bad Request si el texto está vacío, o Not Found si no hay
+	 *         coincidencias.
+	 */
+	@GetMapping("/buscar")
+	public ResponseEntity<?> buscarPasajeros(@RequestParam("q") String q,
+			@RequestParam(value = "limite", defaultValue = "10") int limite) {
+		try {
+			List<PasajeroDTO> listaPasajerosDTO = pasajeroService.buscarPasajeros(q, limite);
+
+			return ResponseEntity.ok(listaPasajerosDTO);
+
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_QUERY);
+
+		} catch (EntityNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(PASAJEROS_NOT_FOUND);
+		}
+	}
+
 	/**
 	 * Crea un nuevo pasajero con los datos proporcionados.
 	 *
@@ -111,6 +204,47 @@ public class PasajeroRestController {
 		return ResponseEntity.ok(nuevoPasajeroDTO);
 	}
 
+	/**
+	 * Crea un conjunto de pasajeros en una sola petición. Los pasajeros se insertan en
+	 * lotes, por lo que este endpoint está pensado para las cargas masivas.
+	 *
+	 * @param listaPasajerosDTOSinId La lista de pasajeros a crear.
+	 * @return ResponseEntity con la lista de PasajeroDTO creados y código de estado
+	 *         CREATED (201).
+	 */
+	@PostMapping("/bulk")
+	public ResponseEntity<List<PasajeroDTO>> createPasajeros(
+			@RequestBody List<PasajeroDTOSinId> listaPasajerosDTOSinId) {
+		List<PasajeroDTO> nuevosPasajerosDTO;
+
+		nuevosPasajerosDTO = pasajeroService.createPasajeros(listaPasajerosDTOSinId);
+
+		return ResponseEntity.status(HttpStatus.CREATED).body(nuevosPasajerosDTO);
+	}
+
+	/**
+	 * Importa pasajeros desde un fichero CSV enviado como cuerpo de la petición ({@code text/csv}). La
+	 * primera fila debe ser la cabecera con las columnas nombre, apellido y fechaNacimiento. El fichero se procesa
+	 * según llega, por lo que admite cargas de cualquier tamaño.
+	 *
+	 * @param entrada El contenido del fichero CSV.
+	 * @return ResponseEntity con el ResultadoImportacionDTO (filas importadas, errores por fila y
+	 *         rendimiento), o ResponseEntity con código de estado Bad Request si la cabecera no es válida.
+	 * @throws IOException Si se produce un error al leer el cuerpo de la petición.
+	 */
+	@PostMapping(value = "/importar", consumes = "text/csv")
+	public ResponseEntity<?> importarPasajeros(InputStream entrada) throws IOException {
+		try {
+			ResultadoImportacionDTO resultado;
+
+			resultado = importacionService.importarPasajeros(entrada);
+
+			return ResponseEntity.ok(resultado);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+		}
+	}
+
 	/**
 	 * Elimina un pasajero por su ID.
 	 *
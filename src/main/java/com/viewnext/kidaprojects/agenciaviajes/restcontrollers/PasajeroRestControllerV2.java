@@ -0,0 +1,72 @@
+package com.viewnext.kidaprojects.agenciaviajes.restcontrollers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.service.PasajeroServiceReactivo;
+
+import jakarta.persistence.EntityNotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador REST reactivo de solo lectura sobre los pasajeros. Expone bajo {@code /api/v2/pasajero/} las
+ * consultas de {@code PasajeroServiceReactivo} (R2DBC) y atiende las peticiones de forma asíncrona, igual
+ * que {@code VueloRestControllerV2}.
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@RestController
+@RequestMapping("/api/v2/pasajero/")
+public class PasajeroRestControllerV2 {
+
+	@Autowired
+	private PasajeroServiceReactivo pasajeroServiceReactivo;
+
+	private static final String PASAJERO_NOT_FOUND = "El pasajero con el ID introducido no fue encontrado";
+	private static final String INVALID_ID = "Id Proporcionado inválido";
+
+	/**
+	 * Obtiene todos los pasajeros.
+	 *
+	 * @return Los pasajeros ordenados por identificador.
+	 */
+	@GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public Flux<PasajeroDTO> getAllPasajeros() {
+		return pasajeroServiceReactivo.getAllPasajeros();
+	}
+
+	/**
+	 * Obtiene un pasajero por su ID.
+	 *
+	 * @param id El ID del pasajero a buscar.
+	 * @return Un Mono con ResponseEntity con el objeto PasajeroDTO si se encuentra el pasajero, con código
+	 *         de estado Not Found si no se encuentra o con código de estado Bad Request si el ID no es válido.
+	 */
+	@GetMapping("/{id}")
+	public Mono<ResponseEntity<?>> getPasajeroById(@PathVariable String id) {
+		try {
+			int idNumerico = Integer.parseInt(id);
+
+			return pasajeroServiceReactivo.getPasajeroById(idNumerico)
+					.<ResponseEntity<?>>map(ResponseEntity::ok)
+					.onErrorResume(EntityNotFoundException.class,
+							e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(PASAJERO_NOT_FOUND)));
+
+		} catch (NumberFormatException e) {
+			return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_ID));
+		}
+	}
+}
@@ -1,9 +1,14 @@
 package com.viewnext.kidaprojects.agenciaviajes.restcontrollers;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +17,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PaginaDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaSoloIdDTO;
 import com.viewnext.kidaprojects.agenciaviajes.service.ReservaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 
 
 /**
@@ -49,22 +60,84 @@ public class ReservaRestController {
 	@Autowired
 	private ReservaService reservaService;
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	private static final String RESERVA_NOT_FOUND = "Reserva con las características indicadas no encontrada";
 	private static final String INVALID_ID = "Id Proporcionado inválido";
+	private static final String INVALID_CURSOR = "Cursor de paginación inválido";
+	private static final String INVALID_SEAT = "Asiento inválido para el vuelo indicado";
+	private static final String SEAT_TAKEN = "El asiento indicado ya está ocupado";
 
 	/**
-	 * Obtiene todas las reservas.
+	 * Obtiene las reservas. Si se indica alguno de los parámetros {@code after} o
+	 * {@code limit}, la respuesta se pagina por cursor y devuelve un PaginaDTO con
+	 * el enlace a la página siguiente; en otro caso se devuelve la lista completa.
 	 *
-	 * @return ResponseEntity con la lista de ReservaDTO en el cuerpo de la
-	 *         respuesta.
+	 * @param after El cursor opaco de la página anterior (opcional).
+	 * @param limit El número máximo de elementos de la página (opcional).
+	 * @return ResponseEntity con la lista o la página de ReservaDTO en el cuerpo de la
+	 *         respuesta, o ResponseEntity con código de estado Bad Request si el
+	 *         cursor no es válido.
 	 */
 	@GetMapping
-	public ResponseEntity<List<ReservaDTO>> getAllReservas() {
-		List<ReservaDTO> listaReservasDTO;
+	public ResponseEntity<?> getAllReservas(@RequestParam(name = "after", required = false) String after,
+			@RequestParam(name = "limit", required = false) Integer limit) {
+		if (after == null && limit == null) {
+			List<ReservaDTO> listaReservasDTO;
 
-		listaReservasDTO = reservaService.getAllReservas();
+			listaReservasDTO = reservaService.getAllReservas();
 
-		return ResponseEntity.ok(listaReservasDTO);
+			return ResponseEntity.ok(listaReservasDTO);
+		}
+
+		try {
+			int limite = PaginaDTO.ajustarLimite(limit);
+			PaginaDTO<ReservaDTO> pagina = reservaService.getPaginaReservas(after, limite);
+
+			// Enlace a la página siguiente con el mismo tamaño de página
+			if (pagina.getSiguienteCursor() != null) {
+				pagina.setSiguiente(ServletUriComponentsBuilder.fromCurrentRequest()
+						.replaceQueryParam("after", pagina.getSiguienteCursor())
+						.replaceQueryParam("limit", limite)
+						.toUriString());
+			}
+
+			return ResponseEntity.ok(pagina);
+
+		} catch (IllegalArgumentException e) {
+			// Cursor manipulado o con un formato desconocido
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_CURSOR);
+		}
+	}
+
+	/**
+	 * Exporta todas las reservas en formato NDJSON (un ReservaDTO en JSON por línea). Las reservas se
+	 * escriben en la respuesta a medida que se leen de la base de datos, de modo que el cliente recibe
+	 * los primeros datos de inmediato y la memoria utilizada no depende del número de reservas.
+	 *
+	 * @param response La respuesta HTTP sobre la que se escriben las reservas.
+	 * @throws IOException Si se produce un error al escribir en la respuesta.
+	 */
+	@GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public void exportarReservas(HttpServletResponse response) throws IOException {
+		ObjectWriter escritor = objectMapper.writerFor(ReservaDTO.class);
+
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+		OutputStream salida = response.getOutputStream();
+
+		reservaService.exportarReservas(reservaDTO -> {
+			try {
+				salida.write(escritor.writeValueAsBytes(reservaDTO));
+				salida.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+
+		salida.flush();
 	}
 
 	/**
@@ -221,6 +294,12 @@ public class ReservaRestController {
 
 		} catch (NumberFormatException e) {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_ID);
+
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_SEAT);
+
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(SEAT_TAKEN);
 		}
 	}
 
@@ -291,6 +370,12 @@ public class ReservaRestController {
 
 		} catch (NumberFormatException e) {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_ID);
+
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_SEAT);
+
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(SEAT_TAKEN);
 		}
 	}
 
@@ -0,0 +1,117 @@
+package com.viewnext.kidaprojects.agenciaviajes.restcontrollers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.service.ReservaServiceReactivo;
+
+import jakarta.persistence.EntityNotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador REST reactivo de solo lectura sobre las reservas.
+ *
+ * <p>
+ * La clase {@code ReservaRestControllerV2} expone bajo {@code /api/v2/reserva/} las consultas de
+ * {@code ReservaServiceReactivo} (R2DBC), con las mismas rutas que las consultas de
+ * {@code ReservaRestController}. Las peticiones se atienden de forma asíncrona y los listados se pueden
+ * pedir como JSON o como NDJSON. Los listados por vuelo o por pasajero devuelven una lista vacía si no hay
+ * reservas.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@RestController
+@RequestMapping("/api/v2/reserva/")
+public class ReservaRestControllerV2 {
+
+	@Autowired
+	private ReservaServiceReactivo reservaServiceReactivo;
+
+	private static final String RESERVA_NOT_FOUND = "Reserva con las características indicadas no encontrada";
+	private static final String INVALID_ID = "Id Proporcionado inválido";
+
+	/**
+	 * Obtiene todas las reservas.
+	 *
+	 * @return Las reservas ordenadas por identificador.
+	 */
+	@GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public Flux<ReservaDTO> getAllReservas() {
+		return reservaServiceReactivo.getAllReservas();
+	}
+
+	/**
+	 * Obtiene una reserva por su ID.
+	 *
+	 * @param id El ID de la reserva a obtener.
+	 * @return Un Mono con ResponseEntity con el objeto ReservaDTO si se encuentra la reserva, con código de
+	 *         estado Not Found si no se encuentra o con código de estado Bad Request si el ID no es válido.
+	 */
+	@GetMapping("/{id}")
+	public Mono<ResponseEntity<?>> getReservaById(@PathVariable String id) {
+		try {
+			int idNumerico = Integer.parseInt(id);
+
+			return reservaServiceReactivo.getReservaById(idNumerico)
+					.<ResponseEntity<?>>map(ResponseEntity::ok)
+					.onErrorResume(EntityNotFoundException.class,
+							e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(RESERVA_NOT_FOUND)));
+
+		} catch (NumberFormatException e) {
+			return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_ID));
+		}
+	}
+
+	/**
+	 * Obtiene las reservas de un vuelo.
+	 *
+	 * @param id El ID del vuelo.
+	 * @return Las reservas del vuelo ordenadas por identificador.
+	 * @throws ResponseStatusException Con código de estado Bad Request si el ID no es válido.
+	 */
+	@GetMapping(value = "/mostrar/idvuelo/{id}", produces = { MediaType.APPLICATION_JSON_VALUE,
+			MediaType.APPLICATION_NDJSON_VALUE })
+	public Flux<ReservaDTO> getReservasByIdVuelo(@PathVariable String id) {
+		return reservaServiceReactivo.obtenerReservasPorVuelo(parsearId(id));
+	}
+
+	/**
+	 * Obtiene las reservas de un pasajero.
+	 *
+	 * @param id El ID del pasajero.
+	 * @return Las reservas del pasajero ordenadas por identificador.
+	 * @throws ResponseStatusException Con código de estado Bad Request si el ID no es válido.
+	 */
+	@GetMapping(value = "/mostrar/idpasajero/{id}", produces = { MediaType.APPLICATION_JSON_VALUE,
+			MediaType.APPLICATION_NDJSON_VALUE })
+	public Flux<ReservaDTO> getReservasByIdPasajero(@PathVariable String id) {
+		return reservaServiceReactivo.obtenerReservasPorPasajero(parsearId(id));
+	}
+
+	/**
+	 * Convierte el ID de la ruta en un número. Los listados no pueden devolver un cuerpo de error en lugar
+	 * del Flux, por lo que un ID no válido se notifica con una excepción.
+	 */
+	private static int parsearId(String id) {
+		try {
+			return Integer.parseInt(id);
+		} catch (NumberFormatException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, INVALID_ID);
+		}
+	}
+}
@@ -1,6 +1,9 @@
 package com.viewnext.kidaprojects.agenciaviajes.restcontrollers;
 
 import java.sql.Date;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,9 +18,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.viewnext.kidaprojects.agenciaviajes.dto.AsientosVueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.CiudadDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ItinerarioDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.OcupacionVueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PaginaDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VuelosDiaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ResultadoImportacionDTO;
+import com.viewnext.kidaprojects.agenciaviajes.service.ImportacionService;
 import com.viewnext.kidaprojects.agenciaviajes.service.VueloService;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -52,22 +64,58 @@ public class VueloRestController {
 	@Autowired
 	private VueloService vueloService;
 
+	@Autowired
+	private ImportacionService importacionService;
+
 	private static final String VUELO_NOT_FOUND = "Vuelo con las características indicadas no encontrado";
 	private static final String INVALID_ID = "Id Proporcionado inválido";
+	private static final String INVALID_CURSOR = "Cursor de paginación inválido";
+	private static final String INVALID_RANGE = "Intervalo de fechas inválido";
+	private static final String INVALID_CONNECTION = "Parámetros de búsqueda de conexiones inválidos";
+	private static final String CONNECTION_NOT_FOUND = "No se han encontrado conexiones entre las ciudades indicadas";
+	private static final String INVALID_QUERY = "Texto de búsqueda inválido";
+	private static final String CIUDADES_NOT_FOUND = "No se han encontrado ciudades con el texto indicado";
 
 	/**
-	 * Obtiene todos los vuelos disponibles.
+	 * Obtiene los vuelos. Si se indica alguno de los parámetros {@code after} o
+	 * {@code limit}, la respuesta se pagina por cursor y devuelve un PaginaDTO con
+	 * el enlace a la página siguiente; en otro caso se devuelve la lista completa.
 	 *
-	 * @return ResponseEntity con la lista de objetos VueloDTO que representa todos
-	 *         los vuelos, o ResponseEntity vacío si no hay vuelos.
+	 * @param after El cursor opaco de la página anterior (opcional).
+	 * @param limit El número máximo de elementos de la página (opcional).
+	 * @return ResponseEntity con la lista o la página de VueloDTO en el cuerpo de la
+	 *         respuesta, o ResponseEntity con código de estado Bad Request si el
+	 *         cursor no es válido.
 	 */
 	@GetMapping
-	public ResponseEntity<List<VueloDTO>> getAllVuelos() {
-		List<VueloDTO> listaVuelosDTO;
+	public ResponseEntity<?> getAllVuelos(@RequestParam(name = "after", required = false) String after,
+			@RequestParam(name = "limit", required = false) Integer limit) {
+		if (after == null && limit == null) {
+			List<VueloDTO> listaVuelosDTO;
+
+			listaVuelosDTO = vueloService.getAllVuelos();
+
+			return ResponseEntity.ok(listaVuelosDTO);
+		}
+
+		try {
+			int limite = PaginaDTO.ajustarLimite(limit);
+			PaginaDTO<VueloDTO> pagina = vueloService.getPaginaVuelos(after, limite);
 
-		listaVuelosDTO = vueloService.getAllVuelos();
+			// Enlace a la página siguiente con el mismo tamaño de página
+			if (pagina.getSiguienteCursor() != null) {
+				pagina.setSiguiente(ServletUriComponentsBuilder.fromCurrentRequest()
+						.replaceQueryParam("after", pagina.getSiguienteCursor())
+						.replaceQueryParam("limit", limite)
+						.toUriString());
+			}
 
-		return ResponseEntity.ok(listaVuelosDTO);
+			return ResponseEntity.ok(pagina);
+
+		} catch (IllegalArgumentException e) {
+			// Cursor manipulado o con un formato desconocido
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_CURSOR);
+		}
 	}
 
 	/**
@@ -97,6 +145,57 @@ public class VueloRestController {
 		}
 	}
 
+	/**
+	 * Obtiene la disponibilidad de asientos de un vuelo.
+	 *
+	 * @param id El ID del vuelo.
+	 * @return ResponseEntity con el objeto AsientosVueloDTO si se encuentra el
+	 *         vuelo, o ResponseEntity con código de estado Not Found y un mensaje
+	 *         de error si no se encuentra.
+	 */
+	@GetMapping("/{id}/asientos")
+	public ResponseEntity<?> getAsientosVuelo(@PathVariable String id) {
+		try {
+			Integer idNumerico = Integer.parseInt(id);
+
+			AsientosVueloDTO asientosVueloDTO = vueloService.getAsientosVuelo(idNumerico);
+
+			return ResponseEntity.ok(asientosVueloDTO);
+
+		} catch (EntityNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(VUELO_NOT_FOUND);
+
+		} catch (NumberFormatException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_ID);
+		}
+	}
+
+	/**
+	 * Obtiene la ocupación de un vuelo según su número de reservas. Se sirve de
+	 * contadores en memoria, por lo que puede consultarse con frecuencia.
+	 *
+	 * @param id El ID del vuelo.
+	 * @return ResponseEntity con el objeto OcupacionVueloDTO si se encuentra el
+	 *         vuelo, o ResponseEntity con código de estado Not Found y un mensaje
+	 *         de error si no se encuentra.
+	 */
+	@GetMapping("/{id}/ocupacion")
+	public ResponseEntity<?> getOcupacionVuelo(@PathVariable String id) {
+		try {
+			Integer idNumerico = Integer.parseInt(id);
+
+			OcupacionVueloDTO ocupacionVueloDTO = vueloService.getOcupacionVuelo(idNumerico);
+
+			return ResponseEntity.ok(ocupacionVueloDTO);
+
+		} catch (EntityNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(VUELO_NOT_FOUND);
+
+		} catch (NumberFormatException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_ID);
+		}
+	}
+
 	/**
 	 * Busca vuelos por origen, destino y fecha y devuelve una lista de vuelos
 	 * filtrada.
@@ -127,6 +226,125 @@ public class VueloRestController {
 		}
 	}
 
+	/**
+	 * Busca los vuelos de una ruta que salen entre dos fechas, ambas incluidas, y
+	 * los devuelve agrupados por día.
+	 *
+	 * @param origen  El origen del vuelo.
+	 * @param destino El destino del vuelo.
+	 * @param desde   La primera fecha del intervalo.
+	 * @param hasta   La última fecha del intervalo.
+	 * @return ResponseEntity con la lista de días con vuelos, con código de estado
+	 *         Bad Request si el intervalo no es válido, o Not Found si no hay
+	 *         vuelos en el intervalo.
+	 */
+	@GetMapping(value = "/buscar", params = { "desde", "hasta" })
+	public ResponseEntity<?> buscarVuelosPorOrigenDestinoIntervalo(@RequestParam("origen") String origen,
+			@RequestParam("destino") String destino, @RequestParam("desde") Date desde,
+			@RequestParam("hasta") Date hasta) {
+		try {
+			List<VuelosDiaDTO> listaVuelosPorDia = vueloService.buscarVuelosPorOrigenDestinoIntervalo(origen,
+					destino, desde, hasta);
+
+			return ResponseEntity.ok(listaVuelosPorDia);
+
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_RANGE);
+
+		} catch (EntityNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(VUELO_NOT_FOUND);
+		}
+	}
+
+	/**
+	 * Busca los vuelos de una ruta con fecha flexible: los que salen hasta
+	 * {@code margen} días antes o después de la fecha indicada, agrupados por día.
+	 *
+	 * @param origen  El origen del vuelo.
+	 * @param destino El destino del vuelo.
+	 * @param fecha   La fecha central de la búsqueda.
+	 * @param margen  El número de días de margen a cada lado de la fecha.
+	 * @return ResponseEntity con la lista de días con vuelos, con código de estado
+	 *         Bad Request si el margen es negativo o el intervalo supera el
+	 *         máximo de días de búsqueda, o Not Found si no hay vuelos.
+	 */
+	@GetMapping(value = "/buscar", params = { "fecha", "margen" })
+	public ResponseEntity<?> buscarVuelosPorOrigenDestinoFechaFlexible(@RequestParam("origen") String origen,
+			@RequestParam("destino") String destino, @RequestParam("fecha") Date fecha,
+			@RequestParam("margen") int margen) {
+		// El intervalo cubre 2 * margen + 1 días; se comprueba antes de calcular las fechas, que con un margen
+		// muy grande se salen del rango de LocalDate
+		if (margen < 0 || 2L * margen + 1 > vueloService.getMaximoDiasBusqueda()) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_RANGE);
+		}
+
+		LocalDate dia = fecha.toLocalDate();
+
+		return buscarVuelosPorOrigenDestinoIntervalo(origen, destino, Date.valueOf(dia.minusDays(margen)),
+				Date.valueOf(dia.plusDays(margen)));
+	}
+
+	/**
+	 * Busca itinerarios con una o dos escalas entre dos ciudades, ordenados por
+	 * fecha de llegada.
+	 *
+	 * @param origen     La ciudad de origen.
+	 * @param destino    La ciudad de destino.
+	 * @param desde      La fecha mínima de salida.
+	 * @param hasta      La fecha máxima de llegada.
+	 * @param escalas    El número máximo de escalas (1 o 2).
+	 * @param resultados El número máximo de itinerarios.
+	 * @param diasEscala El número mínimo de días entre dos vuelos consecutivos.
+	 * @return ResponseEntity con la lista de ItinerarioDTO, con código de estado
+	 *         Bad Request si algún parámetro no es válido, o Not Found si no hay
+	 *         ningún itinerario.
+	 */
+	@GetMapping("/conexiones")
+	public ResponseEntity<?> buscarConexiones(@RequestParam("origen") String origen,
+			@RequestParam("destino") String destino, @RequestParam("desde") Date desde,
+			@RequestParam("hasta") Date hasta, @RequestParam(value = "escalas", defaultValue = "2") int escalas,
+			@RequestParam(value = "resultados", defaultValue = "10") int resultados,
+			@RequestParam(value = "diasEscala", required = false) Integer diasEscala) {
+		try {
+			List<ItinerarioDTO> listaItinerarios = vueloService.buscarConexiones(origen, destino, desde, hasta,
+					escalas, resultados, diasEscala);
+
+			return ResponseEntity.ok(listaItinerarios);
+
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_CONNECTION);
+
+		} catch (EntityNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(CONNECTION_NOT_FOUND);
+		}
+	}
+
+	/**
+	 * Sugiere ciudades de origen o destino para el autocompletado de los
+	 * formularios de vuelos, ordenadas por número de vuelos.
+	 *
+	 * @param texto  El principio del nombre de la ciudad.
+	 * @param limite El número máximo de ciudades a devolver.
+	 * @return ResponseEntity con la lista de CiudadDTO, con código de estado Bad
+	 *         Request si el texto está vacío, o Not Found si no hay ninguna
+	 *         ciudad.
+	 */
+	@GetMapping("/ciudades")
+	public ResponseEntity<?> buscarCiudades(@RequestParam("q") String texto,
+			@RequestParam(value = "limite", defaultValue = "10") int limite) {
+		try {
+			List<CiudadDTO> listaCiudades = vueloService.buscarCiudades(texto, limite);
+
+			return ResponseEntity.ok(listaCiudades);
+
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_QUERY);
+
+		} catch (EntityNotFoundException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(CIUDADES_NOT_FOUND);
+		}
+	}
+
 	/**
 	 * Crea un nuevo vuelo.
 	 *
@@ -144,6 +362,46 @@ public class VueloRestController {
 				.body(nuevoVueloDTO); // Agrega el objeto DTO como cuerpo de la respuesta
 	}
 
+	/**
+	 * Crea un conjunto de vuelos en una sola petición. Los vuelos se insertan en
+	 * lotes, por lo que este endpoint está pensado para las cargas masivas.
+	 *
+	 * @param listaVuelosDTOSinId La lista de vuelos a crear.
+	 * @return ResponseEntity con la lista de VueloDTO creados y código de estado
+	 *         CREATED (201).
+	 */
+	@PostMapping("/bulk")
+	public ResponseEntity<List<VueloDTO>> createVuelos(@RequestBody List<VueloDTOSinId> listaVuelosDTOSinId) {
+		List<VueloDTO> nuevosVuelosDTO;
+
+		nuevosVuelosDTO = vueloService.createVuelos(listaVuelosDTOSinId);
+
+		return ResponseEntity.status(HttpStatus.CREATED).body(nuevosVuelosDTO);
+	}
+
+	/**
+	 * Importa vuelos desde un fichero CSV enviado como cuerpo de la petición ({@code text/csv}). La
+	 * primera fila debe ser la cabecera con las columnas origen, destino y fecha. El fichero se procesa
+	 * según llega, por lo que admite cargas de cualquier tamaño.
+	 *
+	 * @param entrada El contenido del fichero CSV.
+	 * @return ResponseEntity con el ResultadoImportacionDTO (filas importadas, errores por fila y
+	 *         rendimiento), o ResponseEntity con código de estado Bad Request si la cabecera no es válida.
+	 * @throws IOException Si se produce un error al leer el cuerpo de la petición.
+	 */
+	@PostMapping(value = "/importar", consumes = "text/csv")
+	public ResponseEntity<?> importarVuelos(InputStream entrada) throws IOException {
+		try {
+			ResultadoImportacionDTO resultado;
+
+			resultado = importacionService.importarVuelos(entrada);
+
+			return ResponseEntity.ok(resultado);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+		}
+	}
+
 	/**
 	 * Elimina un vuelo por su ID.
 	 *
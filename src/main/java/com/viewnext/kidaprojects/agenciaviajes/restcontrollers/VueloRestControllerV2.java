@@ -0,0 +1,101 @@
+package com.viewnext.kidaprojects.agenciaviajes.restcontrollers;
+
+import java.sql.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.service.VueloServiceReactivo;
+
+import jakarta.persistence.EntityNotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador REST reactivo de solo lectura sobre los vuelos.
+ *
+ * <p>
+ * La clase {@code VueloRestControllerV2} expone bajo {@code /api/v2/vuelo/} las consultas de vuelos de
+ * {@code VueloServiceReactivo}, que leen con R2DBC. Los métodos devuelven {@code Flux} o {@code Mono}, por
+ * lo que la petición se atiende de forma asíncrona y no ocupa un hilo de Tomcat mientras espera a la base
+ * de datos. Los listados se pueden pedir como JSON o como NDJSON ({@code application/x-ndjson}); en este
+ * último caso cada vuelo se escribe en cuanto se lee.
+ * </p>
+ *
+ * <p>
+ * A diferencia de {@code /api/vuelo/buscar}, una búsqueda sin resultados devuelve una lista vacía y no un
+ * código de estado 404.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@RestController
+@RequestMapping("/api/v2/vuelo/")
+public class VueloRestControllerV2 {
+
+	@Autowired
+	private VueloServiceReactivo vueloServiceReactivo;
+
+	private static final String VUELO_NOT_FOUND = "Vuelo con las características indicadas no encontrado";
+	private static final String INVALID_ID = "Id Proporcionado inválido";
+
+	/**
+	 * Obtiene todos los vuelos.
+	 *
+	 * @return Los vuelos ordenados por identificador.
+	 */
+	@GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	public Flux<VueloDTO> getAllVuelos() {
+		return vueloServiceReactivo.getAllVuelos();
+	}
+
+	/**
+	 * Obtiene un vuelo por su ID.
+	 *
+	 * @param id El ID del vuelo a buscar.
+	 * @return Un Mono con ResponseEntity con el objeto VueloDTO si se encuentra el vuelo, con código de
+	 *         estado Not Found si no se encuentra o con código de estado Bad Request si el ID no es válido.
+	 */
+	@GetMapping("/{id}")
+	public Mono<ResponseEntity<?>> getVueloById(@PathVariable String id) {
+		try {
+			int idNumerico = Integer.parseInt(id);
+
+			return vueloServiceReactivo.getVueloById(idNumerico)
+					.<ResponseEntity<?>>map(ResponseEntity::ok)
+					.onErrorResume(EntityNotFoundException.class,
+							e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(VUELO_NOT_FOUND)));
+
+		} catch (NumberFormatException e) {
+			return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_ID));
+		}
+	}
+
+	/**
+	 * Busca vuelos por origen, destino y fecha.
+	 *
+	 * @param origen  El origen del vuelo.
+	 * @param destino El destino del vuelo.
+	 * @param fecha   La fecha del vuelo.
+	 * @return Los vuelos que cumplen los criterios, ordenados por identificador.
+	 */
+	@GetMapping(value = "/buscar", produces = { MediaType.APPLICATION_JSON_VALUE,
+			MediaType.APPLICATION_NDJSON_VALUE })
+	public Flux<VueloDTO> buscarVuelosPorOrigenDestinoFecha(@RequestParam("origen") String origen,
+			@RequestParam("destino") String destino, @RequestParam("fecha") Date fecha) {
+		return vueloServiceReactivo.buscarVuelosPorOrigenDestinoFecha(origen, destino, fecha);
+	}
+}
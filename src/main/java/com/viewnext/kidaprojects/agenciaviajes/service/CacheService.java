@@ -0,0 +1,408 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.viewnext.kidaprojects.agenciaviajes.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.agenciaviajes.dto.EstadisticasCacheDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+
+/**
+ * Servicio que gestiona las cachés de la aplicación.
+ *
+ * <p>
+ * La clase {@code CacheService} mantiene dos niveles de caché:
+ * - La caché de segundo nivel de Hibernate, con las entidades {@code Vuelo} y {@code Pasajero}. Hibernate
+ * la mantiene al día en cada escritura.
+ * - Una caché de DTOs ya mapeados ({@code VueloDTO}, {@code PasajeroDTO} y {@code ReservaDTO}) por ID, que
+ * evita tanto la consulta como la conversión en las lecturas por ID. Los servicios la actualizan en cada
+ * alta, modificación y borrado.
+ * </p>
+ *
+ * <p>
+ * Las cachés de DTOs son de Caffeine: concurrentes, limitadas en tamaño y con admisión W-TinyLFU, de modo
+ * que las entradas muy leídas se mantienen aunque se recorran muchos IDs distintos una sola vez. Como cada
+ * ReservaDTO incluye su VueloDTO y su PasajeroDTO, al modificar un vuelo o un pasajero se descartan también
+ * las reservas en caché que lo contienen. Los DTOs en caché se comparten entre peticiones y no deben
+ * modificarse.
+ * </p>
+ *
+ * <p>
+ * Las reservas en caché de cada vuelo y de cada pasajero se localizan con un índice inverso, sin recorrer
+ * la caché. Cada modificación de un vuelo o un pasajero incrementa además una versión: una carga de
+ * reserva que se ha solapado con una modificación no se queda en caché, porque puede contener los datos
+ * anteriores del vuelo o del pasajero.
+ * </p>
+ *
+ * <p>
+ * Con réplica de lectura, los DTOs se cargan siempre de la base de datos principal: un DTO leído de una
+ * réplica retrasada se serviría a todos los clientes hasta su caducidad.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Service
+public class CacheService {
+
+	public static final String REGION_VUELOS = "vuelos";
+	public static final String REGION_PASAJEROS = "pasajeros";
+	public static final String CACHE_DTO_VUELOS = "dto-vuelos";
+	public static final String CACHE_DTO_PASAJEROS = "dto-pasajeros";
+	public static final String CACHE_DTO_RESERVAS = "dto-reservas";
+
+	@PersistenceUnit
+	private EntityManagerFactory entityManagerFactory;
+
+	private final Cache<Integer, VueloDTO> cacheVuelos;
+	private final Cache<Integer, PasajeroDTO> cachePasajeros;
+	private final Cache<Integer, ReservaDTO> cacheReservas;
+
+	// Índices inversos de las reservas en caché por ID de vuelo y por ID de pasajero. Cada conjunto solo
+	// se modifica dentro de compute, de modo que el registro y la baja de una reserva son atómicos.
+	private final Map<Integer, Set<Integer>> reservasPorVuelo = new ConcurrentHashMap<>();
+	private final Map<Integer, Set<Integer>> reservasPorPasajero = new ConcurrentHashMap<>();
+
+	// Se incrementa antes de descartar las reservas de un vuelo o un pasajero modificado
+	private final AtomicLong versionReservas = new AtomicLong();
+
+	public CacheService(@Value("${agenciaviajes.cache.dto.maximo:10000}") long maximo,
+			@Value("${agenciaviajes.cache.dto.caducidad:10m}") Duration caducidad) {
+		this.cacheVuelos = crearCache(maximo, caducidad).build();
+		this.cachePasajeros = crearCache(maximo, caducidad).build();
+		// Las reservas expulsadas por tamaño o caducidad se dan de baja en los índices inversos
+		this.cacheReservas = crearCache(maximo, caducidad)
+				.<Integer, ReservaDTO>evictionListener((id, reservaDTO, causa) -> desindexarReserva(id, reservaDTO))
+				.build();
+	}
+
+	private static Caffeine<Object, Object> crearCache(long maximo, Duration caducidad) {
+		return Caffeine.newBuilder()
+				.maximumSize(maximo)
+				.expireAfterWrite(caducidad)
+				.recordStats();
+	}
+
+	// -----------------------------------------------------
+	// ---------------- CACHÉ DE DTOs ----------------------
+	// -----------------------------------------------------
+
+	/**
+	 * Obtiene un VueloDTO de la caché o, si no está, lo carga y lo guarda. Si la carga lanza una
+	 * excepción no se guarda nada y la excepción se propaga.
+	 *
+	 * @param id       El ID del vuelo.
+	 * @param cargador La función que obtiene el vuelo cuando no está en caché.
+	 * @return El VueloDTO del vuelo.
+	 */
+	public VueloDTO getVuelo(Integer id, Function<Integer, VueloDTO> cargador) {
+		return cacheVuelos.get(id, idVuelo -> EnrutadorDataSource.leerDePrimaria(() -> cargador.apply(idVuelo)));
+	}
+
+	/**
+	 * Obtiene varios VueloDTO de la caché. Los que no están se cargan con una sola llamada al cargador y
+	 * se guardan.
+	 *
+	 * @param ids      Los IDs de los vuelos.
+	 * @param cargador La función que obtiene, por ID, los vuelos que no están en caché. Los vuelos que no
+	 *                 devuelva se consideran inexistentes.
+	 * @return La lista de VueloDTO en el orden de los IDs, sin los vuelos inexistentes.
+	 */
+	public List<VueloDTO> getVuelos(List<Integer> ids,
+			Function<Set<? extends Integer>, Map<Integer, VueloDTO>> cargador) {
+		Map<Integer, VueloDTO> vuelos = cacheVuelos.getAll(ids,
+				idsVuelo -> EnrutadorDataSource.leerDePrimaria(() -> cargador.apply(idsVuelo)));
+		List<VueloDTO> listaVuelos = new ArrayList<>(ids.size());
+
+		for (Integer id : ids) {
+			VueloDTO vueloDTO = vuelos.get(id);
+			if (vueloDTO != null) {
+				listaVuelos.add(vueloDTO);
+			}
+		}
+
+		return listaVuelos;
+	}
+
+	/**
+	 * Obtiene varios PasajeroDTO de la caché. Los que no están se cargan con una sola llamada al cargador
+	 * y se guardan.
+	 *
+	 * @param ids      Los IDs de los pasajeros.
+	 * @param cargador La función que obtiene, por ID, los pasajeros que no están en caché. Los pasajeros
+	 *                 que no devuelva se consideran inexistentes.
+	 * @return La lista de PasajeroDTO en el orden de los IDs, sin los pasajeros inexistentes.
+	 */
+	public List<PasajeroDTO> getPasajeros(List<Integer> ids,
+			Function<Set<? extends Integer>, Map<Integer, PasajeroDTO>> cargador) {
+		Map<Integer, PasajeroDTO> pasajeros = cachePasajeros.getAll(ids,
+				idsPasajero -> EnrutadorDataSource.leerDePrimaria(() -> cargador.apply(idsPasajero)));
+		List<PasajeroDTO> listaPasajeros = new ArrayList<>(ids.size());
+
+		for (Integer id : ids) {
+			PasajeroDTO pasajeroDTO = pasajeros.get(id);
+			if (pasajeroDTO != null) {
+				listaPasajeros.add(pasajeroDTO);
+			}
+		}
+
+		return listaPasajeros;
+	}
+
+	/**
+	 * Obtiene un PasajeroDTO de la caché o, si no está, lo carga y lo guarda.
+	 *
+	 * @param id       El ID del pasajero.
+	 * @param cargador La función que obtiene el pasajero cuando no está en caché.
+	 * @return El PasajeroDTO del pasajero.
+	 */
+	public PasajeroDTO getPasajero(Integer id, Function<Integer, PasajeroDTO> cargador) {
+		return cachePasajeros.get(id,
+				idPasajero -> EnrutadorDataSource.leerDePrimaria(() -> cargador.apply(idPasajero)));
+	}
+
+	/**
+	 * Obtiene un ReservaDTO de la caché o, si no está, lo carga y lo guarda. Si durante la carga se ha
+	 * modificado algún vuelo o pasajero, la reserva se devuelve pero se descarta de la caché.
+	 *
+	 * @param id       El ID de la reserva.
+	 * @param cargador La función que obtiene la reserva cuando no está en caché.
+	 * @return El ReservaDTO de la reserva.
+	 */
+	public ReservaDTO getReserva(Integer id, Function<Integer, ReservaDTO> cargador) {
+		long version = versionReservas.get();
+		ReservaDTO reservaDTO = cacheReservas.get(id, idReserva -> {
+			ReservaDTO cargada = EnrutadorDataSource.leerDePrimaria(() -> cargador.apply(idReserva));
+
+			// Se registra antes de guardarla: una invalidación posterior la encuentra en el índice
+			indexarReserva(idReserva, cargada);
+			return cargada;
+		});
+
+		descartarSiHayCambios(id, reservaDTO, version);
+		return reservaDTO;
+	}
+
+	/**
+	 * Guarda en caché el estado actual de un vuelo y descarta las reservas en caché que contienen la
+	 * versión anterior.
+	 *
+	 * @param vueloDTO El vuelo recién creado o modificado.
+	 */
+	public void actualizarVuelo(VueloDTO vueloDTO) {
+		Integer id = Integer.valueOf(vueloDTO.getIdVueloDTO());
+
+		cacheVuelos.put(id, vueloDTO);
+		invalidarReservas(reservasPorVuelo, id);
+	}
+
+	/**
+	 * Descarta de la caché un vuelo y las reservas que lo contienen.
+	 *
+	 * @param id El ID del vuelo.
+	 */
+	public void invalidarVuelo(Integer id) {
+		cacheVuelos.invalidate(id);
+		invalidarReservas(reservasPorVuelo, id);
+	}
+
+	/**
+	 * Guarda en caché el estado actual de un pasajero y descarta las reservas en caché que contienen la
+	 * versión anterior.
+	 *
+	 * @param pasajeroDTO El pasajero recién creado o modificado.
+	 */
+	public void actualizarPasajero(PasajeroDTO pasajeroDTO) {
+		Integer id = Integer.valueOf(pasajeroDTO.getIdPasajeroDTO());
+
+		cachePasajeros.put(id, pasajeroDTO);
+		invalidarReservas(reservasPorPasajero, id);
+	}
+
+	/**
+	 * Descarta de la caché un pasajero y las reservas que lo contienen.
+	 *
+	 * @param id El ID del pasajero.
+	 */
+	public void invalidarPasajero(Integer id) {
+		cachePasajeros.invalidate(id);
+		invalidarReservas(reservasPorPasajero, id);
+	}
+
+	/**
+	 * Guarda en caché el estado actual de una reserva. Si entre tanto se ha modificado algún vuelo o
+	 * pasajero, la reserva se descarta de la caché.
+	 *
+	 * @param reservaDTO La reserva recién creada o modificada.
+	 */
+	public void actualizarReserva(ReservaDTO reservaDTO) {
+		Integer id = Integer.valueOf(reservaDTO.getIdReservaDTO());
+		long version = versionReservas.get();
+
+		// Se registra después de guardarla para que una expulsión del valor anterior no la dé de baja
+		cacheReservas.put(id, reservaDTO);
+		indexarReserva(id, reservaDTO);
+		descartarSiHayCambios(id, reservaDTO, version);
+	}
+
+	/**
+	 * Descarta de la caché una reserva. Su entrada en los índices inversos se mantiene hasta la
+	 * siguiente invalidación de su vuelo o de su pasajero, en la que solo supone una baja innecesaria.
+	 *
+	 * @param id El ID de la reserva.
+	 */
+	public void invalidarReserva(Integer id) {
+		cacheReservas.invalidate(id);
+	}
+
+	/**
+	 * Descarta todos los DTOs en caché. Se usa tras los borrados en lote, que no indican qué filas
+	 * han eliminado.
+	 */
+	public void invalidarDTOs() {
+		versionReservas.incrementAndGet();
+		// Los índices se vacían antes que la caché: una reserva que se registre después se guarda con la
+		// versión nueva y la encontrará la siguiente invalidación
+		reservasPorVuelo.clear();
+		reservasPorPasajero.clear();
+		cacheVuelos.invalidateAll();
+		cachePasajeros.invalidateAll();
+		cacheReservas.invalidateAll();
+	}
+
+	/**
+	 * Descarta las reservas en caché registradas en un índice inverso para un vuelo o un pasajero. La
+	 * versión se incrementa antes, de modo que una carga en curso que todavía no se haya registrado se
+	 * descarta a sí misma al terminar.
+	 */
+	private void invalidarReservas(Map<Integer, Set<Integer>> indice, Integer id) {
+		versionReservas.incrementAndGet();
+
+		Set<Integer> idsReserva = indice.remove(id);
+		if (idsReserva != null) {
+			cacheReservas.invalidateAll(idsReserva);
+		}
+	}
+
+	/**
+	 * Descarta una reserva recién guardada si desde {@code version} se ha modificado algún vuelo o
+	 * pasajero. Solo se descarta si sigue siendo el mismo valor, para no perder uno más reciente.
+	 */
+	private void descartarSiHayCambios(Integer id, ReservaDTO reservaDTO, long version) {
+		if (versionReservas.get() != version) {
+			cacheReservas.asMap().remove(id, reservaDTO);
+		}
+	}
+
+	private void indexarReserva(Integer id, ReservaDTO reservaDTO) {
+		if (reservaDTO.getVueloDTO() != null) {
+			reservasPorVuelo.compute(Integer.valueOf(reservaDTO.getVueloDTO().getIdVueloDTO()),
+					(idVuelo, idsReserva) -> anadir(idsReserva, id));
+		}
+		if (reservaDTO.getPasajeroDTO() != null) {
+			reservasPorPasajero.compute(Integer.valueOf(reservaDTO.getPasajeroDTO().getIdPasajeroDTO()),
+					(idPasajero, idsReserva) -> anadir(idsReserva, id));
+		}
+	}
+
+	private void desindexarReserva(Integer id, ReservaDTO reservaDTO) {
+		if (reservaDTO.getVueloDTO() != null) {
+			reservasPorVuelo.computeIfPresent(Integer.valueOf(reservaDTO.getVueloDTO().getIdVueloDTO()),
+					(idVuelo, idsReserva) -> quitar(idsReserva, id));
+		}
+		if (reservaDTO.getPasajeroDTO() != null) {
+			reservasPorPasajero.computeIfPresent(Integer.valueOf(reservaDTO.getPasajeroDTO().getIdPasajeroDTO()),
+					(idPasajero, idsReserva) -> quitar(idsReserva, id));
+		}
+	}
+
+	private static Set<Integer> anadir(Set<Integer> idsReserva, Integer id) {
+		Set<Integer> conjunto = idsReserva == null ? new HashSet<>() : idsReserva;
+
+		conjunto.add(id);
+		return conjunto;
+	}
+
+	private static Set<Integer> quitar(Set<Integer> idsReserva, Integer id) {
+		idsReserva.remove(id);
+
+		return idsReserva.isEmpty() ? null : idsReserva;
+	}
+
+	// -----------------------------------------------------
+	// ---------------- ESTADÍSTICAS -----------------------
+	// -----------------------------------------------------
+
+	/**
+	 * Obtiene las estadísticas de cada región de la caché de segundo nivel y de cada caché de DTOs.
+	 *
+	 * @return Una lista de EstadisticasCacheDTO con una entrada por región.
+	 */
+	public List<EstadisticasCacheDTO> getEstadisticas() {
+		Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		List<EstadisticasCacheDTO> listaEstadisticas = new ArrayList<>();
+
+		listaEstadisticas.add(toEstadisticasCacheDTO(REGION_VUELOS,
+				estadisticas.getDomainDataRegionStatistics(REGION_VUELOS)));
+		listaEstadisticas.add(toEstadisticasCacheDTO(REGION_PASAJEROS,
+				estadisticas.getDomainDataRegionStatistics(REGION_PASAJEROS)));
+		listaEstadisticas.add(toEstadisticasCacheDTO(CACHE_DTO_VUELOS, cacheVuelos));
+		listaEstadisticas.add(toEstadisticasCacheDTO(CACHE_DTO_PASAJEROS, cachePasajeros));
+		listaEstadisticas.add(toEstadisticasCacheDTO(CACHE_DTO_RESERVAS, cacheReservas));
+
+		return listaEstadisticas;
+	}
+
+	/**
+	 * Vacía todas las regiones de la caché de segundo nivel y las cachés de DTOs, y pone a cero las
+	 * estadísticas de Hibernate.
+	 */
+	public void vaciar() {
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+		sessionFactory.getCache().evictAllRegions();
+		sessionFactory.getStatistics().clear();
+		invalidarDTOs();
+	}
+
+	private EstadisticasCacheDTO toEstadisticasCacheDTO(String region, CacheRegionStatistics estadisticas) {
+		if (estadisticas == null) {
+			return new EstadisticasCacheDTO(region, 0, 0, 0, 0);
+		}
+
+		// JCache no informa del número de elementos y Hibernate lo indica con un valor negativo
+		long elementos = Math.max(-1, estadisticas.getElementCountInMemory());
+
+		return new EstadisticasCacheDTO(region, estadisticas.getHitCount(), estadisticas.getMissCount(),
+				estadisticas.getPutCount(), elementos);
+	}
+
+	private EstadisticasCacheDTO toEstadisticasCacheDTO(String region, Cache<Integer, ?> cache) {
+		CacheStats estadisticas = cache.stats();
+
+		return new EstadisticasCacheDTO(region, estadisticas.hitCount(), estadisticas.missCount(),
+				estadisticas.loadSuccessCount(), cache.estimatedSize());
+	}
+}
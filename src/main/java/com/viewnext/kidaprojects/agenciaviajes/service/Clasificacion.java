@@ -0,0 +1,95 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Contadores por clave ordenados de mayor a menor valor.
+ *
+ * <p>
+ * Además del valor de cada clave, la clase {@code Clasificacion} mantiene las entradas en un
+ * {@code ConcurrentSkipListSet} ordenado por valor descendente, de modo que las {@code K} primeras se
+ * obtienen recorriendo {@code K} elementos. A diferencia de un montículo de tamaño fijo, admite que los
+ * valores bajen (al eliminar una reserva) sin perder exactitud.
+ * </p>
+ *
+ * <p>
+ * Las lecturas no usan bloqueos. Las escrituras deben estar serializadas por quien las invoca.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @param <K> El tipo de las claves.
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+final class Clasificacion<K> {
+
+	/**
+	 * Una clave con su valor.
+	 */
+	record Entrada<K>(K clave, long valor) {
+	}
+
+	private final ConcurrentHashMap<K, Long> valores = new ConcurrentHashMap<>();
+	private final ConcurrentSkipListSet<Entrada<K>> orden;
+
+	/**
+	 * @param ordenClaves El orden de las claves con el mismo valor.
+	 */
+	Clasificacion(Comparator<? super K> ordenClaves) {
+		Comparator<Entrada<K>> porValor = Comparator.comparingLong(Entrada::valor);
+
+		this.orden = new ConcurrentSkipListSet<>(porValor.reversed().thenComparing(Entrada::clave, ordenClaves));
+	}
+
+	/**
+	 * Suma una cantidad, positiva o negativa, al valor de una clave. Las claves que llegan a 0 se quitan.
+	 */
+	void sumar(K clave, long cantidad) {
+		if (cantidad == 0) {
+			return;
+		}
+
+		Long anterior = valores.get(clave);
+		long valor = (anterior == null ? 0 : anterior) + cantidad;
+
+		if (anterior != null) {
+			orden.remove(new Entrada<>(clave, anterior));
+		}
+		if (valor > 0) {
+			valores.put(clave, valor);
+			orden.add(new Entrada<>(clave, valor));
+		} else {
+			valores.remove(clave);
+		}
+	}
+
+	/**
+	 * Devuelve el valor de una clave, 0 si no está.
+	 */
+	long get(K clave) {
+		return valores.getOrDefault(clave, 0L);
+	}
+
+	/**
+	 * Devuelve las entradas con mayor valor, de mayor a menor.
+	 */
+	List<Entrada<K>> primeras(int limite) {
+		List<Entrada<K>> entradas = new ArrayList<>(limite);
+
+		for (Entrada<K> entrada : orden) {
+			if (entradas.size() == limite) {
+				break;
+			}
+			entradas.add(entrada);
+		}
+
+		return entradas;
+	}
+}
@@ -0,0 +1,321 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.viewnext.kidaprojects.agenciaviajes.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.agenciaviajes.repository.PasajeroRepository;
+import com.viewnext.kidaprojects.agenciaviajes.repository.ReservaRepository;
+import com.viewnext.kidaprojects.agenciaviajes.repository.VueloRepository;
+
+/**
+ * Servicio que mantiene en memoria el número de vuelos, pasajeros y reservas.
+ *
+ * <p>
+ * La clase {@code ContadoresService} guarda los totales y el número de reservas de cada vuelo y de cada
+ * pasajero en contadores {@code LongAdder}, que reparten las actualizaciones concurrentes entre varias
+ * celdas en lugar de competir por una sola. Consultar un contador no accede a la base de datos, por lo que
+ * los paneles que los consultan periódicamente no lanzan ningún {@code COUNT(*)}.
+ * </p>
+ *
+ * <p>
+ * Los contadores se cargan al arrancar la aplicación con una consulta por total y una agrupada por vuelo y
+ * por pasajero. Después los actualizan {@code VueloService}, {@code PasajeroService} y
+ * {@code ReservaService} en cada alta y borrado; los borrados en lote los vuelven a cargar, junto con el
+ * inventario de asientos. Al borrar un vuelo o un pasajero, la base de datos borra en cascada sus
+ * reservas, que se restan también del total y de los contadores del pasajero o del vuelo de cada una.
+ * </p>
+ *
+ * <p>
+ * Las actualizaciones y la reconstrucción se excluyen con un cerrojo de lectura y escritura: las
+ * actualizaciones comparten el de lectura y la reconstrucción toma el de escritura. Los servicios ejecutan
+ * cada escritura en la base de datos junto con su actualización de los contadores con
+ * {@link #escribir(Supplier)}, de modo que una reconstrucción cuenta cada escritura exactamente una vez: o
+ * la ve en la base de datos o la recibe después sobre los contadores nuevos.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Service
+public class ContadoresService implements SmartInitializingSingleton {
+
+	@Autowired
+	private VueloRepository vueloRepository;
+
+	@Autowired
+	private PasajeroRepository pasajeroRepository;
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private volatile LongAdder vuelos = new LongAdder();
+	private volatile LongAdder pasajeros = new LongAdder();
+	private volatile LongAdder reservas = new LongAdder();
+	private volatile ConcurrentHashMap<Integer, LongAdder> reservasPorVuelo = new ConcurrentHashMap<>();
+	private volatile ConcurrentHashMap<Integer, LongAdder> reservasPorPasajero = new ConcurrentHashMap<>();
+
+	private final ReentrantReadWriteLock cerrojo = new ReentrantReadWriteLock();
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		reconstruir();
+	}
+
+	/**
+	 * Vuelve a cargar todos los contadores a partir de la base de datos. Los contadores nuevos sustituyen a
+	 * los anteriores al terminar. Espera a que terminen las escrituras en curso y las nuevas esperan a que
+	 * termine.
+	 */
+	public void reconstruir() {
+		reconstruir(() -> {
+		});
+	}
+
+	/**
+	 * Vuelve a cargar todos los contadores y, con el mismo cerrojo, ejecuta antes otra reconstrucción que
+	 * debe ver las mismas escrituras, como la del inventario de asientos tras un borrado en lote.
+	 *
+	 * @param otraReconstruccion La reconstrucción que se ejecuta junto a la de los contadores.
+	 */
+	public void reconstruir(Runnable otraReconstruccion) {
+		cerrojo.writeLock().lock();
+		try {
+			otraReconstruccion.run();
+			reconstruirBloqueado();
+		} finally {
+			cerrojo.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Ejecuta una escritura en la base de datos y la actualización de sus contadores sin que se solape con
+	 * una reconstrucción. Si hay una transacción activa, la reconstrucción espera hasta que se complete,
+	 * porque la escritura no es visible en la base de datos hasta entonces.
+	 *
+	 * @param <T>       El tipo del resultado de la escritura.
+	 * @param escritura La escritura, que incluye la actualización de los contadores.
+	 * @return El resultado de la escritura.
+	 */
+	public <T> T escribir(Supplier<T> escritura) {
+		Lock lectura = cerrojo.readLock();
+
+		lectura.lock();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int estado) {
+					lectura.unlock();
+				}
+			});
+
+			return escritura.get();
+		}
+
+		try {
+			return escritura.get();
+		} finally {
+			lectura.unlock();
+		}
+	}
+
+	private void reconstruirBloqueado() {
+		TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+		LongAdder nuevosVuelos = new LongAdder();
+		LongAdder nuevosPasajeros = new LongAdder();
+		LongAdder nuevasReservas = new LongAdder();
+		ConcurrentHashMap<Integer, LongAdder> nuevasReservasPorVuelo = new ConcurrentHashMap<>();
+		ConcurrentHashMap<Integer, LongAdder> nuevasReservasPorPasajero = new ConcurrentHashMap<>();
+
+		transaccion.setReadOnly(true);
+		EnrutadorDataSource.leerDePrimaria(() -> transaccion.executeWithoutResult(estado -> {
+			nuevosVuelos.add(vueloRepository.count());
+			nuevosPasajeros.add(pasajeroRepository.count());
+			cargar(reservaRepository.countReservasPorVuelo(), nuevasReservasPorVuelo, nuevasReservas);
+			cargar(reservaRepository.countReservasPorPasajero(), nuevasReservasPorPasajero, null);
+		}));
+
+		vuelos = nuevosVuelos;
+		pasajeros = nuevosPasajeros;
+		reservas = nuevasReservas;
+		reservasPorVuelo = nuevasReservasPorVuelo;
+		reservasPorPasajero = nuevasReservasPorPasajero;
+	}
+
+	/**
+	 * Suma vuelos creados al total de vuelos.
+	 *
+	 * @param numeroVuelos El número de vuelos creados.
+	 */
+	public void vuelosCreados(int numeroVuelos) {
+		cerrojo.readLock().lock();
+		try {
+			vuelos.add(numeroVuelos);
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Resta un vuelo eliminado del total de vuelos y descarta su contador de reservas. Sus reservas,
+	 * borradas en cascada, se restan del total y del contador de cada pasajero.
+	 *
+	 * @param idVuelo     El ID del vuelo eliminado.
+	 * @param idsPasajero El ID del pasajero de cada reserva del vuelo, leídas antes de borrarlo.
+	 */
+	public void vueloEliminado(int idVuelo, List<Integer> idsPasajero) {
+		cerrojo.readLock().lock();
+		try {
+			vuelos.decrement();
+			reservasPorVuelo.remove(idVuelo);
+			reservas.add(-idsPasajero.size());
+			for (Integer idPasajero : idsPasajero) {
+				contador(reservasPorPasajero, idPasajero).decrement();
+			}
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Suma pasajeros creados al total de pasajeros.
+	 *
+	 * @param numeroPasajeros El número de pasajeros creados.
+	 */
+	public void pasajerosCreados(int numeroPasajeros) {
+		cerrojo.readLock().lock();
+		try {
+			pasajeros.add(numeroPasajeros);
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Resta un pasajero eliminado del total de pasajeros y descarta su contador de reservas. Sus reservas,
+	 * borradas en cascada, se restan del total y del contador de cada vuelo.
+	 *
+	 * @param idPasajero El ID del pasajero eliminado.
+	 * @param idsVuelo   El ID del vuelo de cada reserva del pasajero, leídas antes de borrarlo.
+	 */
+	public void pasajeroEliminado(int idPasajero, List<Integer> idsVuelo) {
+		cerrojo.readLock().lock();
+		try {
+			pasajeros.decrement();
+			reservasPorPasajero.remove(idPasajero);
+			reservas.add(-idsVuelo.size());
+			for (Integer idVuelo : idsVuelo) {
+				contador(reservasPorVuelo, idVuelo).decrement();
+			}
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Suma una reserva al total y a los contadores de su vuelo y su pasajero.
+	 *
+	 * @param idVuelo    El ID del vuelo de la reserva.
+	 * @param idPasajero El ID del pasajero de la reserva.
+	 */
+	public void reservaCreada(int idVuelo, int idPasajero) {
+		cerrojo.readLock().lock();
+		try {
+			reservas.increment();
+			contador(reservasPorVuelo, idVuelo).increment();
+			contador(reservasPorPasajero, idPasajero).increment();
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Resta una reserva del total y de los contadores de su vuelo y su pasajero.
+	 *
+	 * @param idVuelo    El ID del vuelo de la reserva.
+	 * @param idPasajero El ID del pasajero de la reserva.
+	 */
+	public void reservaEliminada(int idVuelo, int idPasajero) {
+		cerrojo.readLock().lock();
+		try {
+			reservas.decrement();
+			contador(reservasPorVuelo, idVuelo).decrement();
+			contador(reservasPorPasajero, idPasajero).decrement();
+		} finally {
+			cerrojo.readLock().unlock();
+		}
+	}
+
+	public long getVuelos() {
+		return vuelos.sum();
+	}
+
+	public long getPasajeros() {
+		return pasajeros.sum();
+	}
+
+	public long getReservas() {
+		return reservas.sum();
+	}
+
+	/**
+	 * Devuelve el número de reservas de un vuelo.
+	 *
+	 * @param idVuelo El ID del vuelo.
+	 * @return El número de reservas, 0 si el vuelo no tiene ninguna.
+	 */
+	public long getReservasVuelo(int idVuelo) {
+		LongAdder contador = reservasPorVuelo.get(idVuelo);
+
+		return contador == null ? 0 : contador.sum();
+	}
+
+	/**
+	 * Devuelve el número de reservas de un pasajero.
+	 *
+	 * @param idPasajero El ID del pasajero.
+	 * @return El número de reservas, 0 si el pasajero no tiene ninguna.
+	 */
+	public long getReservasPasajero(int idPasajero) {
+		LongAdder contador = reservasPorPasajero.get(idPasajero);
+
+		return contador == null ? 0 : contador.sum();
+	}
+
+	private static LongAdder contador(ConcurrentHashMap<Integer, LongAdder> contadores, int id) {
+		return contadores.computeIfAbsent(id, k -> new LongAdder());
+	}
+
+	/**
+	 * Carga los pares (ID, número de reservas) de una consulta agrupada y, si se indica, suma las reservas
+	 * al total.
+	 */
+	private static void cargar(List<Object[]> filas, ConcurrentHashMap<Integer, LongAdder> contadores,
+			LongAdder total) {
+		for (Object[] fila : filas) {
+			long numeroReservas = (Long) fila[1];
+
+			contador(contadores, (Integer) fila[0]).add(numeroReservas);
+			if (total != null) {
+				total.add(numeroReservas);
+			}
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coordinador que serializa las modificaciones de reservas de un mismo vuelo.
+ *
+ * <p>
+ * La clase {@code CoordinadorReservas} reparte los vuelos entre un número fijo de franjas, cada una con su
+ * propio cerrojo. Dos operaciones sobre el mismo vuelo se ejecutan una detrás de otra, mientras que las
+ * operaciones sobre vuelos de franjas distintas avanzan en paralelo. El número de franjas se configura con
+ * {@code agenciaviajes.reservas.franjas-bloqueo} y se redondea a la siguiente potencia de dos.
+ * </p>
+ *
+ * <p>
+ * Cuando una operación afecta a dos vuelos (por ejemplo, al mover una reserva de un vuelo a otro) los
+ * cerrojos se adquieren siempre en orden creciente de franja, por lo que no pueden producirse interbloqueos.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Component
+public class CoordinadorReservas {
+
+	private final ReentrantLock[] cerrojos;
+	private final int mascara;
+
+	public CoordinadorReservas(@Value("${agenciaviajes.reservas.franjas-bloqueo:256}") int franjas) {
+		int numeroFranjas = franjas <= 1 ? 1 : Integer.highestOneBit(franjas - 1) << 1;
+
+		this.cerrojos = new ReentrantLock[numeroFranjas];
+		this.mascara = numeroFranjas - 1;
+		for (int i = 0; i < numeroFranjas; i++) {
+			cerrojos[i] = new ReentrantLock();
+		}
+	}
+
+	/**
+	 * Ejecuta una operación con el cerrojo del vuelo indicado.
+	 *
+	 * @param <T>       El tipo del resultado de la operación.
+	 * @param idVuelo   El ID del vuelo afectado.
+	 * @param operacion La operación a ejecutar.
+	 * @return El resultado de la operación.
+	 */
+	public <T> T ejecutarEnVuelo(int idVuelo, Supplier<T> operacion) {
+		ReentrantLock cerrojo = cerrojos[franja(idVuelo)];
+
+		cerrojo.lock();
+		try {
+			return operacion.get();
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	/**
+	 * Ejecuta una operación con los cerrojos de dos vuelos. Si ambos vuelos comparten franja solo se
+	 * adquiere un cerrojo.
+	 *
+	 * @param <T>       El tipo del resultado de la operación.
+	 * @param idVuelo   El ID del primer vuelo afectado.
+	 * @param otroVuelo El ID del segundo vuelo afectado.
+	 * @param operacion La operación a ejecutar.
+	 * @return El resultado de la operación.
+	 */
+	public <T> T ejecutarEnVuelos(int idVuelo, int otroVuelo, Supplier<T> operacion) {
+		int franja = franja(idVuelo);
+		int otraFranja = franja(otroVuelo);
+
+		if (franja == otraFranja) {
+			return ejecutarEnVuelo(idVuelo, operacion);
+		}
+
+		ReentrantLock primero = cerrojos[Math.min(franja, otraFranja)];
+		ReentrantLock segundo = cerrojos[Math.max(franja, otraFranja)];
+
+		primero.lock();
+		try {
+			segundo.lock();
+			try {
+				return operacion.get();
+			} finally {
+				segundo.unlock();
+			}
+		} finally {
+			primero.unlock();
+		}
+	}
+
+	/**
+	 * Ejecuta una operación con los cerrojos de varios vuelos, por ejemplo los de todas las reservas de un
+	 * pasajero. Cada franja se bloquea una sola vez aunque contenga varios de los vuelos.
+	 *
+	 * @param <T>       El tipo del resultado de la operación.
+	 * @param idsVuelo  Los IDs de los vuelos afectados.
+	 * @param operacion La operación a ejecutar.
+	 * @return El resultado de la operación.
+	 */
+	public <T> T ejecutarEnVuelos(Collection<Integer> idsVuelo, Supplier<T> operacion) {
+		int[] franjas = idsVuelo.stream().mapToInt(this::franja).distinct().sorted().toArray();
+		int bloqueadas = 0;
+
+		try {
+			for (int franja : franjas) {
+				cerrojos[franja].lock();
+				bloqueadas++;
+			}
+
+			return operacion.get();
+		} finally {
+			for (int i = bloqueadas - 1; i >= 0; i--) {
+				cerrojos[franjas[i]].unlock();
+			}
+		}
+	}
+
+	/**
+	 * Calcula la franja de un vuelo. Se mezclan los bits del ID para que los vuelos con IDs consecutivos
+	 * queden repartidos entre todas las franjas.
+	 */
+	private int franja(int idVuelo) {
+		int mezcla = idVuelo * 0x9E3779B9;
+
+		return (mezcla ^ (mezcla >>> 16)) & mascara;
+	}
+}
@@ -0,0 +1,282 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Service;
+import com.viewnext.kidaprojects.agenciaviajes.dto.CiudadDTO;
+import com.viewnext.kidaprojects.agenciaviajes.model.Vuelo;
+
+/**
+ * Servicio que mantiene en memoria el diccionario de ciudades de los vuelos para el autocompletado.
+ *
+ * <p>
+ * La clase {@code DiccionarioCiudadesService} guarda cada ciudad que aparece como origen o destino de algún
+ * vuelo, con el número de vuelos que la usan, en un {@code ConcurrentSkipListMap} ordenado por el nombre
+ * normalizado. Las ciudades que empiezan por un texto ocupan un tramo contiguo del mapa, de modo que el
+ * autocompletado solo recorre las ciudades con ese prefijo. No lo actualiza {@code VueloService}
+ * directamente sino {@code IndiceRutasService}, que es quien conoce la ruta anterior de un vuelo cuando se
+ * modifica o se elimina.
+ * </p>
+ *
+ * <p>
+ * Para tolerar una errata se usa además un índice de borrados: cada ciudad se registra bajo cada principio
+ * de su nombre y bajo cada variante de esos principios con una letra menos. Dos textos a distancia de
+ * edición 1 comparten siempre alguna de esas variantes, por lo que las ciudades cuyo principio está a una
+ * errata del texto buscado se obtienen consultando solo las variantes del texto, sin recorrer el
+ * diccionario. Como el usuario escribe el principio del nombre, "barz" sugiere "Barcelona" aunque el
+ * nombre completo esté lejos del texto.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Service
+public class DiccionarioCiudadesService {
+
+	/**
+	 * Longitud mínima del texto buscado para sugerir ciudades con erratas.
+	 */
+	private static final int LONGITUD_MINIMA_ERRATAS = 3;
+
+	/**
+	 * Longitud mínima de los principios y variantes registrados en el índice de borrados: las variantes
+	 * del texto buscado tienen al menos una letra menos que {@code LONGITUD_MINIMA_ERRATAS}.
+	 */
+	private static final int LONGITUD_MINIMA_VARIANTE = LONGITUD_MINIMA_ERRATAS - 1;
+
+	private record Ciudad(String nombre, int vuelos) {
+	}
+
+	private volatile ConcurrentSkipListMap<String, Ciudad> ciudades = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Ciudades normalizadas registradas bajo cada principio de su nombre y cada variante de esos principios
+	 * con una letra menos.
+	 */
+	private volatile ConcurrentHashMap<String, Set<String>> variantes = new ConcurrentHashMap<>();
+
+	/**
+	 * Serializa {@code sumarVuelos} y {@code reemplazar}. Con hilos virtuales, esperar un monitor
+	 * {@code synchronized} ocuparía el hilo portador; esperar un {@code ReentrantLock} no.
+	 */
+	private final ReentrantLock cerrojo = new ReentrantLock();
+
+	/**
+	 * Suma o resta vuelos a una ciudad. La ciudad se añade al diccionario con su primer vuelo y se quita
+	 * cuando deja de tener vuelos.
+	 *
+	 * @param nombre     El nombre de la ciudad, sin normalizar, o null si solo se restan vuelos.
+	 * @param normalizada El nombre de la ciudad normalizado con {@link Vuelo#normalizar(String)}.
+	 * @param vuelos     El número de vuelos a sumar (o a restar, si es negativo).
+	 */
+	void sumarVuelos(String nombre, String normalizada, int vuelos) {
+		cerrojo.lock();
+		try {
+			// Las escrituras se serializan para que el alta y la baja de una ciudad en las variantes no se
+			// crucen; las lecturas no usan bloqueos
+			Ciudad anterior = ciudades.get(normalizada);
+			int total = (anterior == null ? 0 : anterior.vuelos()) + vuelos;
+
+			if (total > 0) {
+				String nombreCiudad = nombre != null ? nombre.trim() : anterior != null ? anterior.nombre() : normalizada;
+
+				ciudades.put(normalizada, new Ciudad(nombreCiudad, total));
+				if (anterior == null) {
+					registrarVariantes(normalizada, variantes);
+				}
+			} else if (anterior != null) {
+				ciudades.remove(normalizada);
+				for (String variante : variantesPrincipios(normalizada)) {
+					variantes.computeIfPresent(variante, (clave, ciudadesVariante) -> {
+						ciudadesVariante.remove(normalizada);
+						return ciudadesVariante.isEmpty() ? null : ciudadesVariante;
+					});
+				}
+			}
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	/**
+	 * Sustituye el diccionario completo, tras reconstruir el índice de rutas.
+	 *
+	 * @param vuelosPorCiudad El número de vuelos de cada ciudad, por nombre normalizado.
+	 * @param nombres         El nombre sin normalizar de cada ciudad, por nombre normalizado.
+	 */
+	void reemplazar(Map<String, Integer> vuelosPorCiudad, Map<String, String> nombres) {
+		cerrojo.lock();
+		try {
+			ConcurrentSkipListMap<String, Ciudad> nuevasCiudades = new ConcurrentSkipListMap<>();
+			ConcurrentHashMap<String, Set<String>> nuevasVariantes = new ConcurrentHashMap<>();
+
+			vuelosPorCiudad.forEach((normalizada, vuelos) -> {
+				nuevasCiudades.put(normalizada, new Ciudad(nombres.getOrDefault(normalizada, normalizada), vuelos));
+				registrarVariantes(normalizada, nuevasVariantes);
+			});
+
+			ciudades = nuevasCiudades;
+			variantes = nuevasVariantes;
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	/**
+	 * Sugiere ciudades para un texto. Primero aparecen las ciudades que empiezan por el texto y después, si
+	 * quedan huecos, las que empiezan por un texto a una errata del escrito (una letra de más, de menos,
+	 * cambiada o dos letras contiguas intercambiadas). Dentro de cada grupo se ordenan por número de vuelos.
+	 *
+	 * @param texto  El texto escrito por el usuario.
+	 * @param limite El número máximo de ciudades a devolver.
+	 * @return Las ciudades sugeridas con su número de vuelos.
+	 */
+	public List<CiudadDTO> sugerirCiudades(String texto, int limite) {
+		String prefijo = Vuelo.normalizar(texto);
+		List<CiudadDTO> sugerencias = new ArrayList<>();
+
+		if (prefijo == null || prefijo.isEmpty()) {
+			return sugerencias;
+		}
+
+		Comparator<Ciudad> porVuelos = Comparator.comparingInt(Ciudad::vuelos).reversed()
+				.thenComparing(Ciudad::nombre);
+		ConcurrentSkipListMap<String, Ciudad> ciudadesActuales = ciudades;
+		Set<String> incluidas = new HashSet<>();
+
+		// Las ciudades con más vuelos del prefijo se seleccionan con un montículo de tamaño limite, sin
+		// ordenar todo el tramo
+		PriorityQueue<Map.Entry<String, Ciudad>> mejores = new PriorityQueue<>(
+				Map.Entry.comparingByValue(porVuelos.reversed()));
+
+		for (Map.Entry<String, Ciudad> entrada : ciudadesActuales
+				.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false).entrySet()) {
+			mejores.add(entrada);
+			if (mejores.size() > limite) {
+				mejores.poll();
+			}
+		}
+
+		while (!mejores.isEmpty()) {
+			Map.Entry<String, Ciudad> entrada = mejores.poll();
+
+			incluidas.add(entrada.getKey());
+			sugerencias.add(0, toCiudadDTO(entrada.getValue()));
+		}
+
+		if (sugerencias.size() < limite && prefijo.length() >= LONGITUD_MINIMA_ERRATAS) {
+			Set<String> candidatas = new HashSet<>();
+
+			for (String variante : variantes(prefijo)) {
+				candidatas.addAll(variantes.getOrDefault(variante, Set.of()));
+			}
+
+			candidatas.stream()
+					.filter(candidata -> !incluidas.contains(candidata) && empiezaAUnaErrata(prefijo, candidata))
+					.map(ciudadesActuales::get)
+					.filter(ciudad -> ciudad != null)
+					.sorted(porVuelos)
+					.limit(limite - (long) sugerencias.size())
+					.forEach(ciudad -> sugerencias.add(toCiudadDTO(ciudad)));
+		}
+
+		return sugerencias;
+	}
+
+	private static void registrarVariantes(String normalizada, ConcurrentHashMap<String, Set<String>> destino) {
+		for (String variante : variantesPrincipios(normalizada)) {
+			destino.computeIfAbsent(variante, clave -> ConcurrentHashMap.newKeySet()).add(normalizada);
+		}
+	}
+
+	/**
+	 * Devuelve los principios de un nombre y sus variantes con una letra menos, descartando los más cortos
+	 * que {@code LONGITUD_MINIMA_VARIANTE}, que nunca se consultan.
+	 */
+	private static Set<String> variantesPrincipios(String normalizada) {
+		Set<String> listaVariantes = new HashSet<>();
+
+		for (int longitud = LONGITUD_MINIMA_VARIANTE; longitud <= normalizada.length(); longitud++) {
+			for (String variante : variantes(normalizada.substring(0, longitud))) {
+				if (variante.length() >= LONGITUD_MINIMA_VARIANTE) {
+					listaVariantes.add(variante);
+				}
+			}
+		}
+
+		return listaVariantes;
+	}
+
+	/**
+	 * Devuelve el texto y todas sus variantes con una letra menos.
+	 */
+	private static Set<String> variantes(String texto) {
+		Set<String> listaVariantes = new HashSet<>();
+
+		listaVariantes.add(texto);
+		for (int i = 0; i < texto.length(); i++) {
+			listaVariantes.add(texto.substring(0, i) + texto.substring(i + 1));
+		}
+
+		return listaVariantes;
+	}
+
+	/**
+	 * Indica si el principio de una ciudad, de una letra menos, igual o de una letra más que el texto, está
+	 * a una errata del texto.
+	 */
+	private static boolean empiezaAUnaErrata(String texto, String ciudad) {
+		for (int longitud = texto.length() - 1; longitud <= texto.length() + 1; longitud++) {
+			if (longitud > 0 && longitud <= ciudad.length() && aUnaErrata(texto, ciudad.substring(0, longitud))) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Indica si dos textos distintos están a distancia de edición 1, contando como una sola errata el
+	 * intercambio de dos letras contiguas.
+	 */
+	private static boolean aUnaErrata(String texto, String otro) {
+		int diferencia = texto.length() - otro.length();
+
+		if (Math.abs(diferencia) > 1 || texto.equals(otro)) {
+			return false;
+		}
+
+		int i = 0;
+		while (i < Math.min(texto.length(), otro.length()) && texto.charAt(i) == otro.charAt(i)) {
+			i++;
+		}
+
+		if (diferencia > 0) {
+			return texto.substring(i + 1).equals(otro.substring(i));
+		}
+		if (diferencia < 0) {
+			return texto.substring(i).equals(otro.substring(i + 1));
+		}
+
+		return texto.substring(i + 1).equals(otro.substring(i + 1))
+				|| (i + 1 < texto.length() && texto.charAt(i) == otro.charAt(i + 1)
+						&& texto.charAt(i + 1) == otro.charAt(i)
+						&& texto.substring(i + 2).equals(otro.substring(i + 2)));
+	}
+
+	private static CiudadDTO toCiudadDTO(Ciudad ciudad) {
+		return new CiudadDTO(ciudad.nombre(), ciudad.vuelos());
+	}
+}
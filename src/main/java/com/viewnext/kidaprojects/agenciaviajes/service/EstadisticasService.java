@@ -0,0 +1,317 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.viewnext.kidaprojects.agenciaviajes.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservasDiaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.RutaReservasDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloReservasDTO;
+import com.viewnext.kidaprojects.agenciaviajes.model.Vuelo;
+import com.viewnext.kidaprojects.agenciaviajes.repository.ReservaRepository;
+
+/**
+ * Servicio que mantiene en memoria las estadísticas de reservas por ruta, por día y por vuelo.
+ *
+ * <p>
+ * La clase {@code EstadisticasService} guarda el número de reservas de cada ruta (origen y destino
+ * normalizados), de cada día de salida y de cada vuelo, ya agregados. Las rutas y los vuelos se guardan
+ * además en una {@code Clasificacion}, por lo que las {@code K} rutas o vuelos más reservados se obtienen
+ * recorriendo {@code K} elementos y el número de reservas de un día es un acceso a un mapa ordenado, sin
+ * recorrer la tabla de reservas.
+ * </p>
+ *
+ * <p>
+ * Las estadísticas se calculan al arrancar la aplicación con una única consulta agrupada por vuelo.
+ * Después las actualiza {@code ReservaService} en cada alta, modificación y borrado de una reserva, y
+ * {@code VueloService} cuando un vuelo con reservas cambia de ruta o de fecha. Las escrituras se
+ * serializan; las lecturas no usan bloqueos.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Service
+public class EstadisticasService implements SmartInitializingSingleton {
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	public static final int LIMITE_MAXIMO = 100;
+	public static final int MAXIMO_DIAS = 366;
+
+	private static final char SEPARADOR = '\u0000';
+
+	/**
+	 * Datos de un vuelo con reservas, para sacar sus reservas de la ruta y el día anteriores cuando el vuelo
+	 * se modifica y para construir la clasificación de vuelos sin consultar la base de datos.
+	 */
+	private record EstadoVuelo(String origen, String destino, Date fecha, long reservas) {
+
+		EstadoVuelo conReservas(long numeroReservas) {
+			return new EstadoVuelo(origen, destino, fecha, numeroReservas);
+		}
+	}
+
+	/**
+	 * Conjunto de estadísticas que se sustituye completo al reconstruirlas.
+	 */
+	private static final class Estadisticas {
+		private final ConcurrentHashMap<Integer, EstadoVuelo> vuelos = new ConcurrentHashMap<>();
+		private final Clasificacion<Integer> reservasPorVuelo = new Clasificacion<>(Comparator.naturalOrder());
+		private final Clasificacion<String> reservasPorRuta = new Clasificacion<>(Comparator.naturalOrder());
+		private final ConcurrentHashMap<String, String[]> nombresRutas = new ConcurrentHashMap<>();
+		private final ConcurrentSkipListMap<LocalDate, Long> reservasPorDia = new ConcurrentSkipListMap<>();
+
+		/**
+		 * Suma reservas a un vuelo, a su ruta y a su día de salida.
+		 */
+		void sumar(int idVuelo, EstadoVuelo estado, long cantidad) {
+			long reservas = estado.reservas() + cantidad;
+			String ruta = claveRuta(estado.origen(), estado.destino());
+
+			if (reservas > 0) {
+				vuelos.put(idVuelo, estado.conReservas(reservas));
+			} else {
+				vuelos.remove(idVuelo);
+			}
+
+			reservasPorVuelo.sumar(idVuelo, cantidad);
+			if (ruta != null) {
+				reservasPorRuta.sumar(ruta, cantidad);
+				if (reservasPorRuta.get(ruta) > 0) {
+					nombresRutas.put(ruta, new String[] { estado.origen().trim(), estado.destino().trim() });
+				} else {
+					nombresRutas.remove(ruta);
+				}
+			}
+			if (estado.fecha() != null) {
+				reservasPorDia.compute(estado.fecha().toLocalDate(), (dia, anteriores) -> {
+					long total = (anteriores == null ? 0 : anteriores) + cantidad;
+					return total > 0 ? total : null;
+				});
+			}
+		}
+	}
+
+	private volatile Estadisticas estadisticas = new Estadisticas();
+
+	/**
+	 * Cerrojo de las escrituras. Es un {@code ReentrantLock} y no un bloque {@code synchronized} para que un
+	 * hilo virtual que espera el cerrojo no bloquee su hilo portador.
+	 */
+	private final ReentrantLock cerrojo = new ReentrantLock();
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		reconstruir();
+	}
+
+	/**
+	 * Vuelve a calcular las estadísticas a partir de la tabla de reservas. Las estadísticas nuevas sustituyen
+	 * a las anteriores al terminar.
+	 */
+	public void reconstruir() {
+		TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+		Estadisticas nuevasEstadisticas = new Estadisticas();
+
+		transaccion.setReadOnly(true);
+		EnrutadorDataSource.leerDePrimaria(() -> transaccion.executeWithoutResult(estado -> {
+			try (Stream<Object[]> vuelos = reservaRepository.streamReservasPorVuelo()) {
+				vuelos.forEach(vuelo -> nuevasEstadisticas.sumar((Integer) vuelo[0],
+						new EstadoVuelo((String) vuelo[1], (String) vuelo[2], (Date) vuelo[3], 0), (Long) vuelo[4]));
+			}
+		}));
+
+		cerrojo.lock();
+		try {
+			estadisticas = nuevasEstadisticas;
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	/**
+	 * Registra una reserva nueva de un vuelo.
+	 *
+	 * @param vueloDTO El vuelo de la reserva.
+	 */
+	public void reservaCreada(VueloDTO vueloDTO) {
+		cerrojo.lock();
+		try {
+			int idVuelo = Integer.parseInt(vueloDTO.getIdVueloDTO());
+			EstadoVuelo estado = estadisticas.vuelos.get(idVuelo);
+
+			if (estado == null) {
+				estado = new EstadoVuelo(vueloDTO.getOrigen(), vueloDTO.getDestino(), vueloDTO.getFecha(), 0);
+			}
+
+			estadisticas.sumar(idVuelo, estado, 1);
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	/**
+	 * Registra el borrado de una reserva de un vuelo.
+	 *
+	 * @param idVuelo El ID del vuelo de la reserva.
+	 */
+	public void reservaEliminada(int idVuelo) {
+		cerrojo.lock();
+		try {
+			EstadoVuelo estado = estadisticas.vuelos.get(idVuelo);
+
+			if (estado != null) {
+				estadisticas.sumar(idVuelo, estado, -1);
+			}
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	/**
+	 * Mueve las reservas de un vuelo modificado a su nueva ruta y fecha. Si el vuelo no tiene reservas no
+	 * hace nada.
+	 *
+	 * @param vueloDTO El vuelo con los datos nuevos.
+	 */
+	public void vueloActualizado(VueloDTO vueloDTO) {
+		cerrojo.lock();
+		try {
+			int idVuelo = Integer.parseInt(vueloDTO.getIdVueloDTO());
+			EstadoVuelo estado = estadisticas.vuelos.get(idVuelo);
+
+			if (estado != null) {
+				estadisticas.sumar(idVuelo, estado, -estado.reservas());
+				estadisticas.sumar(idVuelo,
+						new EstadoVuelo(vueloDTO.getOrigen(), vueloDTO.getDestino(), vueloDTO.getFecha(), 0),
+						estado.reservas());
+			}
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	/**
+	 * Quita de las estadísticas las reservas de un vuelo eliminado.
+	 *
+	 * @param idVuelo El ID del vuelo.
+	 */
+	public void vueloEliminado(int idVuelo) {
+		cerrojo.lock();
+		try {
+			EstadoVuelo estado = estadisticas.vuelos.get(idVuelo);
+
+			if (estado != null) {
+				estadisticas.sumar(idVuelo, estado, -estado.reservas());
+			}
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	/**
+	 * Obtiene las rutas con más reservas.
+	 *
+	 * @param limite El número máximo de rutas, que se ajusta al rango entre 1 y {@code LIMITE_MAXIMO}.
+	 * @return Las rutas ordenadas de mayor a menor número de reservas.
+	 */
+	public List<RutaReservasDTO> getRutasMasReservadas(int limite) {
+		Estadisticas actuales = estadisticas;
+		List<RutaReservasDTO> listaRutas = new ArrayList<>();
+
+		for (Clasificacion.Entrada<String> entrada : actuales.reservasPorRuta.primeras(ajustarLimite(limite))) {
+			String[] nombres = actuales.nombresRutas.get(entrada.clave());
+
+			if (nombres != null) {
+				listaRutas.add(new RutaReservasDTO(nombres[0], nombres[1], entrada.valor()));
+			}
+		}
+
+		return listaRutas;
+	}
+
+	/**
+	 * Obtiene los vuelos con más reservas.
+	 *
+	 * @param limite El número máximo de vuelos, que se ajusta al rango entre 1 y {@code LIMITE_MAXIMO}.
+	 * @return Los vuelos ordenados de mayor a menor número de reservas.
+	 */
+	public List<VueloReservasDTO> getVuelosMasReservados(int limite) {
+		Estadisticas actuales = estadisticas;
+		List<VueloReservasDTO> listaVuelos = new ArrayList<>();
+
+		for (Clasificacion.Entrada<Integer> entrada : actuales.reservasPorVuelo.primeras(ajustarLimite(limite))) {
+			EstadoVuelo estado = actuales.vuelos.get(entrada.clave());
+
+			if (estado != null) {
+				VueloDTO vueloDTO = new VueloDTO(entrada.clave(), estado.origen(), estado.destino(), estado.fecha());
+				listaVuelos.add(new VueloReservasDTO(vueloDTO, entrada.valor()));
+			}
+		}
+
+		return listaVuelos;
+	}
+
+	/**
+	 * Obtiene el número de reservas de los vuelos que salen cada día de un intervalo. Los días sin reservas
+	 * no aparecen.
+	 *
+	 * @param desde La primera fecha del intervalo, incluida.
+	 * @param hasta La última fecha del intervalo, incluida.
+	 * @return Las reservas de cada día, ordenadas por fecha.
+	 * @throws IllegalArgumentException Si el intervalo está invertido o supera {@code MAXIMO_DIAS}.
+	 */
+	public List<ReservasDiaDTO> getReservasPorDia(Date desde, Date hasta) throws IllegalArgumentException {
+		long dias = ChronoUnit.DAYS.between(desde.toLocalDate(), hasta.toLocalDate()) + 1;
+		List<ReservasDiaDTO> listaDias = new ArrayList<>();
+
+		if (dias < 1 || dias > MAXIMO_DIAS) {
+			throw new IllegalArgumentException();
+		}
+
+		estadisticas.reservasPorDia.subMap(desde.toLocalDate(), true, hasta.toLocalDate(), true)
+				.forEach((dia, reservas) -> listaDias.add(new ReservasDiaDTO(Date.valueOf(dia), reservas)));
+
+		return listaDias;
+	}
+
+	private static int ajustarLimite(int limite) {
+		return Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+	}
+
+	/**
+	 * Devuelve la clave de una ruta, o null si le falta el origen o el destino.
+	 */
+	private static String claveRuta(String origen, String destino) {
+		String origenNormalizado = Vuelo.normalizar(origen);
+		String destinoNormalizado = Vuelo.normalizar(destino);
+
+		if (origenNormalizado == null || destinoNormalizado == null) {
+			return null;
+		}
+
+		return origenNormalizado + SEPARADOR + destinoNormalizado;
+	}
+}
@@ -0,0 +1,253 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ResultadoImportacionDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Servicio que gestiona la importación masiva de vuelos y pasajeros desde ficheros CSV.
+ *
+ * <p>
+ * La clase {@code ImportacionService} lee el fichero de forma incremental y procesa cada fila en tres pasos:
+ * lectura, validación y conversión al DTO sin identificador. Las filas válidas se acumulan en lotes del
+ * tamaño configurado en {@code hibernate.jdbc.batch_size} y cada lote se inserta en su propia transacción
+ * a través de {@code VueloService} o {@code PasajeroService}, que aplican los mappers correspondientes. En
+ * memoria nunca hay más de un lote, sea cual sea el tamaño del fichero.
+ * </p>
+ *
+ * <p>
+ * La primera fila del fichero debe ser la cabecera con los nombres de las columnas, en cualquier orden.
+ * Las fechas se esperan en formato {@code yyyy-MM-dd}.
+ * </p>
+ *
+ * <p>
+ * La longitud de cada campo y de cada fila está limitada por {@code agenciaviajes.importacion.maximo-campo} y
+ * {@code agenciaviajes.importacion.maximo-fila}. Una fila que los supera se rechaza y la importación sigue en
+ * la línea siguiente, de modo que una comilla sin cerrar no hace que se acumule el resto del fichero.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Service
+public class ImportacionService {
+
+	@Autowired
+	private VueloService vueloService;
+
+	@Autowired
+	private PasajeroService pasajeroService;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int tamanoLote;
+
+	@Value("${agenciaviajes.importacion.maximo-campo:1000}")
+	private int maximoCampo;
+
+	@Value("${agenciaviajes.importacion.maximo-fila:10000}")
+	private int maximoFila;
+
+	private static final String[] COLUMNAS_VUELO = { "origen", "destino", "fecha" };
+	private static final String[] COLUMNAS_PASAJERO = { "nombre", "apellido", "fechaNacimiento" };
+
+	/**
+	 * Importa los vuelos contenidos en un fichero CSV con las columnas origen, destino y fecha.
+	 *
+	 * @param entrada El flujo con el contenido del fichero.
+	 * @return El resultado de la importación, con los errores por fila y el rendimiento.
+	 * @throws IOException              Si se produce un error al leer el fichero.
+	 * @throws IllegalArgumentException Si la cabecera del fichero no es válida.
+	 */
+	public ResultadoImportacionDTO importarVuelos(InputStream entrada) throws IOException, IllegalArgumentException {
+		return importar(entrada, COLUMNAS_VUELO,
+				campos -> new VueloDTOSinId(texto(campos[0], COLUMNAS_VUELO[0]), texto(campos[1], COLUMNAS_VUELO[1]),
+						fecha(campos[2], COLUMNAS_VUELO[2])),
+				lote -> vueloService.createVuelos(lote).size());
+	}
+
+	/**
+	 * Importa los pasajeros contenidos en un fichero CSV con las columnas nombre, apellido y
+	 * fechaNacimiento.
+	 *
+	 * @param entrada El flujo con el contenido del fichero.
+	 * @return El resultado de la importación, con los errores por fila y el rendimiento.
+	 * @throws IOException              Si se produce un error al leer el fichero.
+	 * @throws IllegalArgumentException Si la cabecera del fichero no es válida.
+	 */
+	public ResultadoImportacionDTO importarPasajeros(InputStream entrada) throws IOException, IllegalArgumentException {
+		return importar(entrada, COLUMNAS_PASAJERO,
+				campos -> new PasajeroDTOSinId(texto(campos[0], COLUMNAS_PASAJERO[0]),
+						texto(campos[1], COLUMNAS_PASAJERO[1]), fecha(campos[2], COLUMNAS_PASAJERO[2])),
+				lote -> pasajeroService.createPasajeros(lote).size());
+	}
+
+	/**
+	 * Recorre el fichero fila a fila, convierte las filas válidas y las inserta por lotes.
+	 *
+	 * @param <T>       El tipo del DTO que se crea a partir de cada fila.
+	 * @param entrada   El flujo con el contenido del fichero.
+	 * @param columnas  Las columnas esperadas, en el orden en que las recibe el conversor.
+	 * @param conversor La función que valida los campos de una fila y construye el DTO. Lanza
+	 *                  IllegalArgumentException si la fila no es válida.
+	 * @param insercion La función que inserta un lote y devuelve el número de filas insertadas.
+	 * @return El resultado de la importación.
+	 * @throws IOException Si se produce un error al leer el fichero.
+	 */
+	private <T> ResultadoImportacionDTO importar(InputStream entrada, String[] columnas,
+			Function<String[], T> conversor, ToIntFunction<List<T>> insercion) throws IOException {
+		long inicio = System.nanoTime();
+		ResultadoImportacionDTO resultado = new ResultadoImportacionDTO();
+		List<T> lote = new ArrayList<>(tamanoLote);
+		List<Long> lineasLote = new ArrayList<>(tamanoLote);
+
+		try (LectorCsv lector = new LectorCsv(entrada, maximoCampo, maximoFila)) {
+			int[] posiciones = leerCabecera(lector.leerRegistro(), columnas);
+			String[] registro;
+
+			while (true) {
+				try {
+					registro = lector.leerRegistro();
+				} catch (IllegalArgumentException e) {
+					// La fila supera la longitud máxima: el lector ya ha saltado a la línea siguiente
+					resultado.setFilasLeidas(resultado.getFilasLeidas() + 1);
+					resultado.addError(lector.getLineaRegistro(), e.getMessage());
+					continue;
+				}
+
+				if (registro == null) {
+					break;
+				}
+				if (registro.length == 1 && registro[0].isBlank()) {
+					continue;
+				}
+
+				long linea = lector.getLineaRegistro();
+				resultado.setFilasLeidas(resultado.getFilasLeidas() + 1);
+
+				try {
+					lote.add(conversor.apply(seleccionarCampos(registro, posiciones)));
+					lineasLote.add(linea);
+				} catch (IllegalArgumentException e) {
+					resultado.addError(linea, e.getMessage());
+				}
+
+				if (lote.size() == tamanoLote) {
+					insertarLote(lote, lineasLote, insercion, resultado);
+				}
+			}
+
+			insertarLote(lote, lineasLote, insercion, resultado);
+		}
+
+		resultado.finalizar(inicio);
+
+		return resultado;
+	}
+
+	/**
+	 * Inserta un lote de filas y lo vacía. Si la inserción falla, todas las filas del lote se marcan como
+	 * rechazadas, ya que su transacción se deshace completa.
+	 */
+	private <T> void insertarLote(List<T> lote, List<Long> lineasLote, ToIntFunction<List<T>> insercion,
+			ResultadoImportacionDTO resultado) {
+		if (lote.isEmpty()) {
+			return;
+		}
+
+		try {
+			int insertadas = insercion.applyAsInt(lote);
+			resultado.setFilasImportadas(resultado.getFilasImportadas() + insertadas);
+		} catch (DataAccessException | TransactionException | PersistenceException e) {
+			for (Long linea : lineasLote) {
+				resultado.addError(linea, "Error al guardar el lote: " + e.getMessage());
+			}
+		} finally {
+			lote.clear();
+			lineasLote.clear();
+		}
+	}
+
+	/**
+	 * Localiza en la cabecera la posición de cada columna esperada.
+	 *
+	 * @param cabecera Los campos de la primera fila del fichero.
+	 * @param columnas Las columnas esperadas.
+	 * @return La posición en el fichero de cada columna esperada.
+	 * @throws IllegalArgumentException Si el fichero está vacío o falta alguna columna.
+	 */
+	private int[] leerCabecera(String[] cabecera, String[] columnas) throws IllegalArgumentException {
+		if (cabecera == null) {
+			throw new IllegalArgumentException("El fichero está vacío");
+		}
+
+		int[] posiciones = new int[columnas.length];
+
+		for (int i = 0; i < columnas.length; i++) {
+			posiciones[i] = -1;
+			for (int j = 0; j < cabecera.length; j++) {
+				if (cabecera[j].trim().equalsIgnoreCase(columnas[i])) {
+					posiciones[i] = j;
+					break;
+				}
+			}
+			if (posiciones[i] == -1) {
+				throw new IllegalArgumentException("Falta la columna " + columnas[i] + " en la cabecera");
+			}
+		}
+
+		return posiciones;
+	}
+
+	/**
+	 * Reordena los campos de una fila según las posiciones de la cabecera.
+	 *
+	 * @throws IllegalArgumentException Si la fila no tiene todas las columnas.
+	 */
+	private String[] seleccionarCampos(String[] registro, int[] posiciones) throws IllegalArgumentException {
+		String[] campos = new String[posiciones.length];
+
+		for (int i = 0; i < posiciones.length; i++) {
+			if (posiciones[i] >= registro.length) {
+				throw new IllegalArgumentException("La fila tiene " + registro.length + " columnas");
+			}
+			campos[i] = registro[posiciones[i]];
+		}
+
+		return campos;
+	}
+
+	private String texto(String valor, String columna) throws IllegalArgumentException {
+		if (valor.isBlank()) {
+			throw new IllegalArgumentException("La columna " + columna + " está vacía");
+		}
+		return valor.trim();
+	}
+
+	private Date fecha(String valor, String columna) throws IllegalArgumentException {
+		String texto = texto(valor, columna);
+
+		try {
+			return Date.valueOf(texto);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(
+					"Fecha inválida en la columna " + columna + ": '" + valor + "' (formato yyyy-MM-dd)");
+		}
+	}
+}
@@ -0,0 +1,245 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.viewnext.kidaprojects.agenciaviajes.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.agenciaviajes.repository.PasajeroRepository;
+
+/**
+ * Servicio que mantiene en memoria un índice para buscar pasajeros por el principio de su nombre o apellido.
+ *
+ * <p>
+ * La clase {@code IndicePasajerosService} descompone el nombre y el apellido de cada pasajero en palabras
+ * normalizadas (en minúsculas y sin tildes ni diéresis, de modo que "Pérez" se indexa como "perez") y las
+ * guarda ordenadas en un {@code ConcurrentSkipListMap}. Las palabras que empiezan por un prefijo ocupan un
+ * tramo contiguo del mapa, que se localiza en tiempo logarítmico y se recorre en orden alfabético, igual que
+ * en un trie. Las lecturas no usan bloqueos y las escrituras solo afectan a las palabras del pasajero.
+ * </p>
+ *
+ * <p>
+ * El índice se construye al arrancar la aplicación a partir de la tabla de pasajeros y
+ * {@code PasajeroService} lo actualiza en cada alta, modificación y borrado.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Service
+public class IndicePasajerosService implements SmartInitializingSingleton {
+
+	@Autowired
+	private PasajeroRepository pasajeroRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	/**
+	 * Número máximo de entradas del índice que se examinan en una búsqueda, para acotar su coste cuando el
+	 * prefijo es muy poco selectivo.
+	 */
+	private static final int MAXIMO_CANDIDATOS = 10000;
+
+	private static final char SEPARADOR = '\u0000';
+	private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	/**
+	 * Palabras de todos los pasajeros. La clave es la palabra seguida del separador y del ID del pasajero,
+	 * para que una misma palabra pueda aparecer en varios pasajeros; el valor es el ID.
+	 */
+	private volatile ConcurrentSkipListMap<String, Integer> palabras = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Palabras de cada pasajero, para comprobar el resto de la consulta y para desindexarlo.
+	 */
+	private volatile ConcurrentHashMap<Integer, String[]> palabrasPorPasajero = new ConcurrentHashMap<>();
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		reconstruir();
+	}
+
+	/**
+	 * Vuelve a construir el índice a partir de la tabla de pasajeros. El índice nuevo sustituye al anterior
+	 * al terminar.
+	 */
+	public void reconstruir() {
+		TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+		ConcurrentSkipListMap<String, Integer> nuevasPalabras = new ConcurrentSkipListMap<>();
+		ConcurrentHashMap<Integer, String[]> nuevasPalabrasPorPasajero = new ConcurrentHashMap<>();
+
+		transaccion.setReadOnly(true);
+		EnrutadorDataSource.leerDePrimaria(() -> transaccion.executeWithoutResult(estado -> {
+			try (Stream<Object[]> pasajeros = pasajeroRepository.streamNombresPasajeros()) {
+				pasajeros.forEach(pasajero -> {
+					Integer id = (Integer) pasajero[0];
+					String[] palabrasPasajero = palabrasPasajero((String) pasajero[1], (String) pasajero[2]);
+
+					for (String palabra : palabrasPasajero) {
+						nuevasPalabras.put(clave(palabra, id), id);
+					}
+					nuevasPalabrasPorPasajero.put(id, palabrasPasajero);
+				});
+			}
+		}));
+
+		palabras = nuevasPalabras;
+		palabrasPorPasajero = nuevasPalabrasPorPasajero;
+	}
+
+	/**
+	 * Busca los pasajeros cuyo nombre o apellido contienen palabras que empiezan por las de la consulta. Cada
+	 * palabra de la consulta debe ser el principio de alguna palabra del pasajero, sin distinguir mayúsculas
+	 * ni tildes: "per" encuentra a "Pérez" y "juan pe" a "Juan Pérez".
+	 *
+	 * @param consulta El texto de búsqueda.
+	 * @param limite   El número máximo de pasajeros a devolver.
+	 * @return Los IDs de los pasajeros encontrados, en orden alfabético de la palabra que coincide con la
+	 *         parte más larga de la consulta. Vacío si la consulta no contiene ninguna palabra.
+	 */
+	public List<Integer> buscarPasajeros(String consulta, int limite) {
+		String[] prefijos = palabras(consulta);
+		Set<Integer> ids = new LinkedHashSet<>();
+
+		if (prefijos.length == 0) {
+			return new ArrayList<>();
+		}
+
+		// Se recorre el tramo del prefijo más largo, que suele ser el más selectivo
+		Arrays.sort(prefijos, Comparator.comparingInt(String::length).reversed());
+		String prefijo = prefijos[0];
+		int candidatos = 0;
+
+		for (Integer id : palabras.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false).values()) {
+			if (ids.size() == limite || ++candidatos > MAXIMO_CANDIDATOS) {
+				break;
+			}
+			if (!ids.contains(id) && contieneTodos(palabrasPorPasajero.get(id), prefijos)) {
+				ids.add(id);
+			}
+		}
+
+		return new ArrayList<>(ids);
+	}
+
+	/**
+	 * Añade un pasajero al índice o, si ya estaba indexado, sustituye sus palabras.
+	 *
+	 * @param idPasajero El ID del pasajero.
+	 * @param nombre     El nombre del pasajero.
+	 * @param apellido   El apellido del pasajero.
+	 */
+	public void indexarPasajero(int idPasajero, String nombre, String apellido) {
+		String[] palabrasPasajero = palabrasPasajero(nombre, apellido);
+
+		// compute serializa los cambios de un mismo pasajero
+		palabrasPorPasajero.compute(idPasajero, (id, anteriores) -> {
+			if (anteriores != null) {
+				quitar(id, anteriores);
+			}
+			for (String palabra : palabrasPasajero) {
+				palabras.put(clave(palabra, id), id);
+			}
+
+			return palabrasPasajero;
+		});
+	}
+
+	/**
+	 * Quita un pasajero del índice. Si el pasajero no estaba indexado no hace nada.
+	 *
+	 * @param idPasajero El ID del pasajero.
+	 */
+	public void eliminarPasajero(int idPasajero) {
+		palabrasPorPasajero.computeIfPresent(idPasajero, (id, anteriores) -> {
+			quitar(id, anteriores);
+			return null;
+		});
+	}
+
+	/**
+	 * Normaliza un texto para las búsquedas que no distinguen mayúsculas ni tildes.
+	 *
+	 * @param texto El texto a normalizar.
+	 * @return El texto en minúsculas y sin marcas diacríticas, o null si el texto es null.
+	 */
+	public static String normalizar(String texto) {
+		if (texto == null) {
+			return null;
+		}
+
+		String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+
+		return MARCAS_DIACRITICAS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+
+	private void quitar(Integer id, String[] palabrasPasajero) {
+		for (String palabra : palabrasPasajero) {
+			palabras.remove(clave(palabra, id));
+		}
+	}
+
+	private static boolean contieneTodos(String[] palabrasPasajero, String[] prefijos) {
+		if (palabrasPasajero == null) {
+			return false;
+		}
+
+		for (String prefijo : prefijos) {
+			boolean encontrado = false;
+
+			for (String palabra : palabrasPasajero) {
+				if (palabra.startsWith(prefijo)) {
+					encontrado = true;
+					break;
+				}
+			}
+			if (!encontrado) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static String[] palabrasPasajero(String nombre, String apellido) {
+		return Stream.concat(Arrays.stream(palabras(nombre)), Arrays.stream(palabras(apellido)))
+				.distinct()
+				.toArray(String[]::new);
+	}
+
+	/**
+	 * Divide un texto normalizado en palabras, descartando los signos de puntuación y los espacios.
+	 */
+	private static String[] palabras(String texto) {
+		String normalizado = normalizar(texto);
+
+		if (normalizado == null) {
+			return new String[0];
+		}
+
+		return SEPARADORES.splitAsStream(normalizado).filter(palabra -> !palabra.isEmpty()).toArray(String[]::new);
+	}
+
+	private static String clave(String palabra, Integer idPasajero) {
+		return palabra + SEPARADOR + idPasajero;
+	}
+}
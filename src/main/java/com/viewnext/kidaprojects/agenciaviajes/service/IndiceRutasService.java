@@ -0,0 +1,382 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.viewnext.kidaprojects.agenciaviajes.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.agenciaviajes.model.Vuelo;
+import com.viewnext.kidaprojects.agenciaviajes.repository.VueloRepository;
+
+/**
+ * Servicio que mantiene en memoria un índice de los vuelos por ruta y fecha.
+ *
+ * <p>
+ * La clase {@code IndiceRutasService} organiza los vuelos por origen normalizado, después por destino
+ * normalizado y, dentro de cada ruta, en una {@code RutaIndexada} ordenada por fecha. Una búsqueda por
+ * origen, destino y fecha consiste en dos accesos a tablas hash y una búsqueda binaria, sin consultar la
+ * base de datos; una búsqueda por intervalo de fechas recorre además los vuelos consecutivos de la ruta
+ * hasta la última fecha.
+ * </p>
+ *
+ * <p>
+ * Las lecturas no usan bloqueos: cada ruta es inmutable y las escrituras la sustituyen por una copia con
+ * el cambio aplicado. Las altas en lote se agrupan por ruta, de modo que cada ruta se copia una sola vez
+ * por lote. El índice se construye al arrancar la aplicación a partir de la tabla de vuelos y
+ * {@code VueloService} lo actualiza, una vez confirmada la transacción, en cada alta, modificación y
+ * borrado.
+ * </p>
+ *
+ * <p>
+ * Las escrituras y la reconstrucción se serializan con un mismo cerrojo: un cambio que llega durante una
+ * reconstrucción espera a que termine y se aplica sobre el índice nuevo, en lugar de perderse al
+ * sustituirlo.
+ * </p>
+ *
+ * <p>
+ * Como cada cambio pasa por aquí con la ruta anterior del vuelo, el índice también mantiene al día el número
+ * de vuelos de cada ciudad en {@code DiccionarioCiudadesService}.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Service
+public class IndiceRutasService implements SmartInitializingSingleton {
+
+	@Autowired
+	private VueloRepository vueloRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private DiccionarioCiudadesService diccionarioCiudadesService;
+
+	private volatile Map<String, ConcurrentHashMap<String, RutaIndexada>> rutas = new ConcurrentHashMap<>();
+
+	/**
+	 * Ruta y día de cada vuelo indexado, para localizarlo al modificarlo o eliminarlo.
+	 */
+	private volatile ConcurrentHashMap<Integer, UbicacionVuelo> ubicaciones = new ConcurrentHashMap<>();
+
+	private final ReentrantLock cerrojoEscrituras = new ReentrantLock();
+
+	private record UbicacionVuelo(String origen, String destino, long clave) {
+	}
+
+	/**
+	 * Claves de una ruta acumuladas durante la reconstrucción, antes de ordenarlas.
+	 */
+	private static final class ClavesRuta {
+		private long[] claves = new long[8];
+		private int tamano;
+
+		void anadir(long clave) {
+			if (tamano == claves.length) {
+				claves = Arrays.copyOf(claves, tamano * 2);
+			}
+			claves[tamano++] = clave;
+		}
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		reconstruir();
+	}
+
+	/**
+	 * Vuelve a construir el índice a partir de la tabla de vuelos. Las claves de cada ruta se acumulan y se
+	 * ordenan una sola vez, y el índice nuevo sustituye al anterior al terminar. Las escrituras esperan
+	 * mientras tanto.
+	 */
+	public void reconstruir() {
+		cerrojoEscrituras.lock();
+		try {
+			reconstruirBloqueado();
+		} finally {
+			cerrojoEscrituras.unlock();
+		}
+	}
+
+	private void reconstruirBloqueado() {
+		TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+		Map<String, Map<String, ClavesRuta>> acumuladas = new HashMap<>();
+		ConcurrentHashMap<Integer, UbicacionVuelo> nuevasUbicaciones = new ConcurrentHashMap<>();
+		Map<String, Integer> vuelosPorCiudad = new HashMap<>();
+		Map<String, String> nombresCiudades = new HashMap<>();
+
+		transaccion.setReadOnly(true);
+		EnrutadorDataSource.leerDePrimaria(() -> transaccion.executeWithoutResult(estado -> {
+			try (Stream<Object[]> vuelos = vueloRepository.streamClavesRuta()) {
+				vuelos.forEach(vuelo -> {
+					String origen = (String) vuelo[1];
+					String destino = (String) vuelo[2];
+
+					if (origen == null || destino == null || vuelo[3] == null) {
+						return;
+					}
+
+					long clave = RutaIndexada.clave(dia((Date) vuelo[3]), (Integer) vuelo[0]);
+
+					acumuladas.computeIfAbsent(origen, k -> new HashMap<>())
+							.computeIfAbsent(destino, k -> new ClavesRuta())
+							.anadir(clave);
+					nuevasUbicaciones.put((Integer) vuelo[0], new UbicacionVuelo(origen, destino, clave));
+
+					vuelosPorCiudad.merge(origen, 1, Integer::sum);
+					nombresCiudades.putIfAbsent(origen, ((String) vuelo[4]).trim());
+					if (!destino.equals(origen)) {
+						vuelosPorCiudad.merge(destino, 1, Integer::sum);
+						nombresCiudades.putIfAbsent(destino, ((String) vuelo[5]).trim());
+					}
+				});
+			}
+		}));
+
+		Map<String, ConcurrentHashMap<String, RutaIndexada>> nuevasRutas = new ConcurrentHashMap<>();
+
+		acumuladas.forEach((origen, destinos) -> {
+			ConcurrentHashMap<String, RutaIndexada> rutasOrigen = new ConcurrentHashMap<>();
+
+			destinos.forEach((destino, claves) -> rutasOrigen.put(destino,
+					RutaIndexada.deClaves(claves.claves, claves.tamano)));
+			nuevasRutas.put(origen, rutasOrigen);
+		});
+
+		rutas = nuevasRutas;
+		ubicaciones = nuevasUbicaciones;
+		diccionarioCiudadesService.reemplazar(vuelosPorCiudad, nombresCiudades);
+	}
+
+	/**
+	 * Obtiene los IDs de los vuelos de una ruta que salen en una fecha.
+	 *
+	 * @param origen  El origen del vuelo, sin normalizar.
+	 * @param destino El destino del vuelo, sin normalizar.
+	 * @param fecha   La fecha del vuelo.
+	 * @return La lista de IDs ordenada por ID, vacía si no hay vuelos.
+	 */
+	public List<Integer> buscarVuelos(String origen, String destino, Date fecha) {
+		if (fecha == null) {
+			return new ArrayList<>();
+		}
+
+		return buscarVuelosPorDia(origen, destino, fecha, fecha).getOrDefault(fecha.toLocalDate(),
+				new ArrayList<>());
+	}
+
+	/**
+	 * Obtiene los IDs de los vuelos de una ruta que salen entre dos fechas, agrupados por día. Los vuelos
+	 * se obtienen con una sola búsqueda binaria seguida de un recorrido secuencial de la ruta.
+	 *
+	 * @param origen  El origen del vuelo, sin normalizar.
+	 * @param destino El destino del vuelo, sin normalizar.
+	 * @param desde   La primera fecha del intervalo, incluida.
+	 * @param hasta   La última fecha del intervalo, incluida.
+	 * @return Un mapa ordenado por fecha con los IDs de los vuelos de cada día que tiene vuelos, ordenados
+	 *         por ID. Vacío si no hay vuelos.
+	 */
+	public Map<LocalDate, List<Integer>> buscarVuelosPorDia(String origen, String destino, Date desde, Date hasta) {
+		Map<LocalDate, List<Integer>> vuelosPorDia = new LinkedHashMap<>();
+		RutaIndexada ruta = getRuta(Vuelo.normalizar(origen), Vuelo.normalizar(destino));
+
+		if (ruta == null || desde == null || hasta == null) {
+			return vuelosPorDia;
+		}
+
+		int ultimoDia = dia(hasta);
+		int diaActual = Integer.MIN_VALUE;
+		List<Integer> listaIds = null;
+
+		for (int posicion = ruta.primeraPosicion(dia(desde)); posicion < ruta.tamano(); posicion++) {
+			long clave = ruta.getClave(posicion);
+			int dia = RutaIndexada.dia(clave);
+
+			if (dia > ultimoDia) {
+				break;
+			}
+			if (dia != diaActual) {
+				diaActual = dia;
+				listaIds = new ArrayList<>();
+				vuelosPorDia.put(LocalDate.ofEpochDay(dia), listaIds);
+			}
+			listaIds.add(RutaIndexada.idVuelo(clave));
+		}
+
+		return vuelosPorDia;
+	}
+
+	/**
+	 * Añade un vuelo al índice o, si ya estaba indexado, lo mueve a su nueva ruta y fecha.
+	 *
+	 * @param idVuelo El ID del vuelo.
+	 * @param origen  El origen del vuelo, sin normalizar.
+	 * @param destino El destino del vuelo, sin normalizar.
+	 * @param fecha   La fecha del vuelo.
+	 */
+	public void indexarVuelo(int idVuelo, String origen, String destino, Date fecha) {
+		cerrojoEscrituras.lock();
+		try {
+			UbicacionVuelo ubicacion = ubicar(idVuelo, origen, destino, fecha);
+
+			if (ubicacion != null) {
+				rutas.computeIfAbsent(ubicacion.origen(), k -> new ConcurrentHashMap<>())
+						.compute(ubicacion.destino(), (k, ruta) -> ruta == null
+								? RutaIndexada.deClaves(new long[] { ubicacion.clave() }, 1)
+								: ruta.con(ubicacion.clave()));
+			}
+		} finally {
+			cerrojoEscrituras.unlock();
+		}
+	}
+
+	/**
+	 * Añade un conjunto de vuelos al índice, o los mueve a su nueva ruta y fecha si ya estaban indexados.
+	 * Las claves se agrupan por ruta y cada ruta se mezcla una sola vez con todas sus claves nuevas.
+	 *
+	 * @param vuelos Los vuelos a indexar.
+	 */
+	public void indexarVuelos(List<Vuelo> vuelos) {
+		Map<String, Map<String, ClavesRuta>> nuevas = new HashMap<>();
+
+		cerrojoEscrituras.lock();
+		try {
+			for (Vuelo vuelo : vuelos) {
+				UbicacionVuelo ubicacion = ubicar(vuelo.getIdVuelo(), vuelo.getOrigen(), vuelo.getDestino(),
+						vuelo.getFecha());
+
+				if (ubicacion != null) {
+					nuevas.computeIfAbsent(ubicacion.origen(), k -> new HashMap<>())
+							.computeIfAbsent(ubicacion.destino(), k -> new ClavesRuta())
+							.anadir(ubicacion.clave());
+				}
+			}
+
+			nuevas.forEach((origen, destinos) -> {
+				ConcurrentHashMap<String, RutaIndexada> rutasOrigen = rutas.computeIfAbsent(origen,
+						k -> new ConcurrentHashMap<>());
+
+				destinos.forEach((destino, claves) -> rutasOrigen.compute(destino, (k, ruta) -> ruta == null
+						? RutaIndexada.deClaves(claves.claves, claves.tamano)
+						: ruta.conTodas(claves.claves, claves.tamano)));
+			});
+		} finally {
+			cerrojoEscrituras.unlock();
+		}
+	}
+
+	/**
+	 * Quita un vuelo del índice. Si el vuelo no estaba indexado no hace nada.
+	 *
+	 * @param idVuelo El ID del vuelo.
+	 */
+	public void eliminarVuelo(int idVuelo) {
+		cerrojoEscrituras.lock();
+		try {
+			UbicacionVuelo anterior = ubicaciones.remove(idVuelo);
+
+			if (anterior != null) {
+				quitar(anterior);
+			}
+		} finally {
+			cerrojoEscrituras.unlock();
+		}
+	}
+
+	/**
+	 * Quita un vuelo de su ruta anterior y registra su nueva ubicación y sus ciudades, sin añadirlo
+	 * todavía a la ruta. Se llama con el cerrojo de escrituras tomado.
+	 *
+	 * @return La nueva ubicación, o null si al vuelo le falta el origen, el destino o la fecha y queda
+	 *         fuera del índice.
+	 */
+	private UbicacionVuelo ubicar(int idVuelo, String origen, String destino, Date fecha) {
+		String origenNormalizado = Vuelo.normalizar(origen);
+		String destinoNormalizado = Vuelo.normalizar(destino);
+		UbicacionVuelo anterior = ubicaciones.remove(idVuelo);
+
+		if (anterior != null) {
+			quitar(anterior);
+		}
+		if (origenNormalizado == null || destinoNormalizado == null || fecha == null) {
+			return null;
+		}
+
+		UbicacionVuelo ubicacion = new UbicacionVuelo(origenNormalizado, destinoNormalizado,
+				RutaIndexada.clave(dia(fecha), idVuelo));
+
+		ubicaciones.put(idVuelo, ubicacion);
+		contarCiudades(ubicacion, origen, destino, 1);
+
+		return ubicacion;
+	}
+
+	private void quitar(UbicacionVuelo ubicacion) {
+		ConcurrentHashMap<String, RutaIndexada> destinos = rutas.get(ubicacion.origen());
+
+		if (destinos != null) {
+			destinos.computeIfPresent(ubicacion.destino(), (k, ruta) -> ruta.sin(ubicacion.clave()));
+		}
+		contarCiudades(ubicacion, null, null, -1);
+	}
+
+	/**
+	 * Suma o resta un vuelo al origen y al destino de una ubicación en el diccionario de ciudades.
+	 */
+	private void contarCiudades(UbicacionVuelo ubicacion, String origen, String destino, int vuelos) {
+		diccionarioCiudadesService.sumarVuelos(origen, ubicacion.origen(), vuelos);
+		if (!ubicacion.destino().equals(ubicacion.origen())) {
+			diccionarioCiudadesService.sumarVuelos(destino, ubicacion.destino(), vuelos);
+		}
+	}
+
+	/**
+	 * Devuelve las rutas que salen de una ciudad, por destino normalizado. Es la lista de adyacencia del
+	 * grafo de vuelos que recorre {@code PlanificadorConexionesService}.
+	 *
+	 * @param origenNormalizado El origen normalizado.
+	 * @return Las rutas con salida en el origen, o un mapa vacío si no hay ninguna.
+	 */
+	Map<String, RutaIndexada> getDestinos(String origenNormalizado) {
+		ConcurrentHashMap<String, RutaIndexada> destinos = rutas.get(origenNormalizado);
+
+		return destinos == null ? Map.of() : destinos;
+	}
+
+	/**
+	 * Devuelve la ruta entre dos ciudades normalizadas, o null si no hay vuelos entre ellas.
+	 */
+	RutaIndexada getRuta(String origenNormalizado, String destinoNormalizado) {
+		if (origenNormalizado == null || destinoNormalizado == null) {
+			return null;
+		}
+
+		ConcurrentHashMap<String, RutaIndexada> destinos = rutas.get(origenNormalizado);
+
+		return destinos == null ? null : destinos.get(destinoNormalizado);
+	}
+
+	/**
+	 * Convierte una fecha en el número de días desde 1970-01-01.
+	 */
+	static int dia(Date fecha) {
+		return (int) fecha.toLocalDate().toEpochDay();
+	}
+}
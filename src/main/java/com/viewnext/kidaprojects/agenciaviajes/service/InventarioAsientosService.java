@@ -0,0 +1,262 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.viewnext.kidaprojects.agenciaviajes.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.agenciaviajes.dto.AsientosVueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.repository.ReservaRepository;
+
+/**
+ * Servicio que mantiene en memoria la ocupación de los asientos de cada vuelo.
+ *
+ * <p>
+ * La clase {@code InventarioAsientosService} guarda un {@code MapaAsientos} por vuelo y permite ocupar y
+ * liberar asientos de forma atómica, sin bloqueos en la base de datos. Todos los vuelos comparten la
+ * distribución configurada con {@code agenciaviajes.asientos.filas} y {@code agenciaviajes.asientos.columnas};
+ * los asientos se identifican con la letra de la columna y el número de fila, en cualquier orden y sin
+ * distinguir mayúsculas (por ejemplo, {@code A1}, {@code 12b} o {@code F30}). La forma canónica, que es la
+ * que se guarda en las reservas, lleva la letra en mayúscula delante y la fila sin ceros a la izquierda.
+ * </p>
+ *
+ * <p>
+ * Los mapas se reconstruyen a partir de la tabla de reservas al arrancar la aplicación, antes de que se
+ * empiecen a atender peticiones. Las reservas con un asiento que no pertenece a la distribución no ocupan
+ * ningún asiento del mapa; como la API tampoco permite reservarlos, no pueden venderse dos veces, pero se
+ * avisa de ellas en el log para que se corrijan.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Service
+public class InventarioAsientosService implements SmartInitializingSingleton {
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${agenciaviajes.asientos.filas:30}")
+	private int filas;
+
+	@Value("${agenciaviajes.asientos.columnas:ABCDEF}")
+	private String columnas;
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(InventarioAsientosService.class);
+	private static final int EJEMPLOS_ASIENTOS_INVALIDOS = 10;
+
+	/**
+	 * Letra de la columna y número de fila, en cualquier orden: {@code A12} o {@code 12A}.
+	 */
+	private static final Pattern FORMATO_ASIENTO = Pattern
+			.compile("\\s*(?:([A-Za-z])0*(\\d{1,4})|0*(\\d{1,4})([A-Za-z]))\\s*");
+
+	private final ConcurrentHashMap<Integer, MapaAsientos> mapas = new ConcurrentHashMap<>();
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		reconstruir();
+	}
+
+	/**
+	 * Vuelve a cargar la ocupación de todos los vuelos a partir de la tabla de reservas.
+	 */
+	public void reconstruir() {
+		TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+		transaccion.setReadOnly(true);
+
+		mapas.clear();
+		EnrutadorDataSource.leerDePrimaria(() -> transaccion.executeWithoutResult(estado -> {
+			List<String> ejemplosInvalidos = new ArrayList<>();
+			long[] invalidos = { 0 };
+
+			try (Stream<Object[]> asientos = reservaRepository.streamAsientosReservados()) {
+				asientos.forEach(asiento -> {
+					int indice = indiceAsiento((String) asiento[1]);
+					if (indice >= 0) {
+						mapaVuelo((Integer) asiento[0]).ocupar(indice);
+					} else if (invalidos[0]++ < EJEMPLOS_ASIENTOS_INVALIDOS) {
+						ejemplosInvalidos.add("vuelo " + asiento[0] + ", asiento '" + asiento[1] + "'");
+					}
+				});
+			}
+
+			if (invalidos[0] > 0) {
+				LOGGER.warn("{} reservas tienen un asiento que no pertenece a la distribución y no se han cargado "
+						+ "en el inventario, por ejemplo: {}", invalidos[0], ejemplosInvalidos);
+			}
+		}));
+	}
+
+	/**
+	 * Devuelve el código canónico de un asiento (letra en mayúscula y fila sin ceros a la izquierda).
+	 *
+	 * @param asiento El código del asiento.
+	 * @return El código canónico del asiento.
+	 * @throws IllegalArgumentException Si el asiento no pertenece a la distribución.
+	 */
+	public String normalizarAsiento(String asiento) throws IllegalArgumentException {
+		int indice = indiceAsiento(asiento);
+
+		if (indice < 0) {
+			throw new IllegalArgumentException();
+		}
+
+		return codigoAsiento(indice);
+	}
+
+	/**
+	 * Indica si dos códigos corresponden al mismo asiento de la distribución.
+	 *
+	 * @param asiento     El código del primer asiento.
+	 * @param otroAsiento El código del segundo asiento.
+	 * @return true si ambos códigos son válidos y designan el mismo asiento.
+	 */
+	public boolean esMismoAsiento(String asiento, String otroAsiento) {
+		int indice = indiceAsiento(asiento);
+
+		return indice >= 0 && indice == indiceAsiento(otroAsiento);
+	}
+
+	/**
+	 * Ocupa un asiento de un vuelo si está libre.
+	 *
+	 * @param idVuelo El ID del vuelo.
+	 * @param asiento El código del asiento.
+	 * @throws IllegalArgumentException Si el asiento no pertenece a la distribución.
+	 * @throws IllegalStateException    Si el asiento ya está ocupado.
+	 */
+	public void ocuparAsiento(int idVuelo, String asiento) throws IllegalArgumentException, IllegalStateException {
+		int indice = indiceAsiento(asiento);
+
+		if (indice < 0) {
+			throw new IllegalArgumentException();
+		}
+		if (!mapaVuelo(idVuelo).ocupar(indice)) {
+			throw new IllegalStateException();
+		}
+	}
+
+	/**
+	 * Libera un asiento de un vuelo. Si el asiento no pertenece a la distribución no hace nada.
+	 *
+	 * @param idVuelo El ID del vuelo.
+	 * @param asiento El código del asiento.
+	 */
+	public void liberarAsiento(int idVuelo, String asiento) {
+		int indice = indiceAsiento(asiento);
+		MapaAsientos mapa = mapas.get(idVuelo);
+
+		if (indice >= 0 && mapa != null) {
+			mapa.liberar(indice);
+		}
+	}
+
+	/**
+	 * Indica si un asiento de un vuelo está libre.
+	 *
+	 * @param idVuelo El ID del vuelo.
+	 * @param asiento El código del asiento.
+	 * @return true si el asiento pertenece a la distribución y no está ocupado.
+	 */
+	public boolean estaLibre(int idVuelo, String asiento) {
+		int indice = indiceAsiento(asiento);
+		MapaAsientos mapa = mapas.get(idVuelo);
+
+		return indice >= 0 && (mapa == null || !mapa.estaOcupado(indice));
+	}
+
+	/**
+	 * Obtiene la disponibilidad de asientos de un vuelo.
+	 *
+	 * @param idVuelo El ID del vuelo.
+	 * @return Un AsientosVueloDTO con la capacidad, la ocupación y los asientos libres.
+	 */
+	public AsientosVueloDTO getAsientosVuelo(int idVuelo) {
+		MapaAsientos mapa = mapas.get(idVuelo);
+		int capacidad = getCapacidad();
+		List<String> asientosLibres = new ArrayList<>();
+
+		for (int indice = 0; indice < capacidad; indice++) {
+			if (mapa == null || !mapa.estaOcupado(indice)) {
+				asientosLibres.add(codigoAsiento(indice));
+			}
+		}
+
+		return new AsientosVueloDTO(String.valueOf(idVuelo), capacidad, capacidad - asientosLibres.size(),
+				asientosLibres);
+	}
+
+	/**
+	 * Descarta el mapa de asientos de un vuelo eliminado.
+	 *
+	 * @param idVuelo El ID del vuelo.
+	 */
+	public void eliminarVuelo(int idVuelo) {
+		mapas.remove(idVuelo);
+	}
+
+	/**
+	 * Devuelve el número de asientos de cada vuelo.
+	 *
+	 * @return La capacidad de la distribución configurada.
+	 */
+	public int getCapacidad() {
+		return filas * columnas.length();
+	}
+
+	private MapaAsientos mapaVuelo(int idVuelo) {
+		return mapas.computeIfAbsent(idVuelo, id -> new MapaAsientos(getCapacidad()));
+	}
+
+	/**
+	 * Calcula la posición de un asiento en el mapa: las filas se numeran desde 1 y, dentro de cada fila,
+	 * las columnas siguen el orden configurado.
+	 *
+	 * @return La posición del asiento, o -1 si el código no pertenece a la distribución.
+	 */
+	private int indiceAsiento(String asiento) {
+		if (asiento == null) {
+			return -1;
+		}
+
+		Matcher matcher = FORMATO_ASIENTO.matcher(asiento);
+
+		if (!matcher.matches()) {
+			return -1;
+		}
+
+		boolean letraDelante = matcher.group(1) != null;
+		String letra = letraDelante ? matcher.group(1) : matcher.group(4);
+		int columna = columnas.indexOf(letra.toUpperCase(Locale.ROOT));
+		int fila = Integer.parseInt(letraDelante ? matcher.group(2) : matcher.group(3));
+
+		if (columna < 0 || fila < 1 || fila > filas) {
+			return -1;
+		}
+
+		return (fila - 1) * columnas.length() + columna;
+	}
+
+	private String codigoAsiento(int indice) {
+		return columnas.charAt(indice % columnas.length()) + String.valueOf(indice / columnas.length() + 1);
+	}
+}
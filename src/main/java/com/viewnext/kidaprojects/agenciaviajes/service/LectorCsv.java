@@ -0,0 +1,174 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector incremental de ficheros CSV.
+ *
+ * <p>
+ * La clase {@code LectorCsv} lee los registros de uno en uno a partir de un flujo de entrada, sin cargar
+ * el fichero completo en memoria. Admite campos entre comillas dobles, comillas escapadas ({@code ""}),
+ * separadores y saltos de línea dentro de un campo entrecomillado, y finales de línea {@code \n} o
+ * {@code \r\n}. El flujo se interpreta en UTF-8.
+ * </p>
+ *
+ * <p>
+ * Cada campo y cada registro tienen una longitud máxima en caracteres. Un registro que supera alguno de los
+ * límites (por ejemplo, porque le falta la comilla de cierre y se extendería hasta el final del fichero) se
+ * descarta hasta el siguiente salto de línea y se notifica con una {@code IllegalArgumentException}; la
+ * lectura puede continuar con el registro siguiente.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+class LectorCsv implements Closeable {
+
+	private static final char SEPARADOR = ',';
+	private static final char COMILLAS = '"';
+	private static final char BOM = '\uFEFF';
+
+	private final BufferedReader entrada;
+	private final int maximoCampo;
+	private final int maximoRegistro;
+	private long lineaActual = 1;
+	private long lineaRegistro;
+	private boolean terminado;
+
+	/**
+	 * @param entrada        El flujo con el contenido del fichero.
+	 * @param maximoCampo    La longitud máxima de un campo, en caracteres.
+	 * @param maximoRegistro La longitud máxima de un registro completo, en caracteres.
+	 */
+	LectorCsv(InputStream entrada, int maximoCampo, int maximoRegistro) {
+		this.entrada = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+		this.maximoCampo = maximoCampo;
+		this.maximoRegistro = maximoRegistro;
+	}
+
+	/**
+	 * Lee el siguiente registro del fichero.
+	 *
+	 * @return Los campos del registro, o null si se ha llegado al final del fichero.
+	 * @throws IOException              Si se produce un error al leer el flujo de entrada.
+	 * @throws IllegalArgumentException Si el registro supera la longitud máxima de un campo o de un
+	 *                                  registro. El resto de la línea se descarta, por lo que la siguiente
+	 *                                  llamada lee el registro siguiente.
+	 */
+	String[] leerRegistro() throws IOException, IllegalArgumentException {
+		if (terminado) {
+			return null;
+		}
+
+		List<String> campos = new ArrayList<>();
+		StringBuilder campo = new StringBuilder();
+		boolean entreComillas = false;
+		int longitudRegistro = 0;
+		int leido;
+
+		lineaRegistro = lineaActual;
+
+		while ((leido = entrada.read()) != -1) {
+			char caracter = (char) leido;
+
+			longitudRegistro++;
+
+			if (entreComillas) {
+				if (caracter == COMILLAS) {
+					// Dos comillas seguidas dentro de un campo entrecomillado son una comilla literal
+					entrada.mark(1);
+					if (entrada.read() == COMILLAS) {
+						campo.append(COMILLAS);
+					} else {
+						entreComillas = false;
+						entrada.reset();
+					}
+				} else {
+					if (caracter == '\n') {
+						lineaActual++;
+					}
+					campo.append(caracter);
+				}
+			} else if (caracter == COMILLAS) {
+				entreComillas = true;
+			} else if (caracter == SEPARADOR) {
+				campos.add(campo.toString());
+				campo.setLength(0);
+			} else if (caracter == '\n') {
+				lineaActual++;
+				campos.add(campo.toString());
+				return campos.toArray(new String[0]);
+			} else if (caracter != '\r' && !(caracter == BOM && lineaRegistro == 1 && campos.isEmpty()
+					&& campo.length() == 0)) {
+				campo.append(caracter);
+			}
+
+			if (campo.length() > maximoCampo) {
+				descartarLinea(caracter);
+				throw new IllegalArgumentException("La columna " + (campos.size() + 1)
+						+ " supera la longitud máxima de " + maximoCampo + " caracteres");
+			}
+			if (longitudRegistro > maximoRegistro) {
+				descartarLinea(caracter);
+				throw new IllegalArgumentException(
+						"La fila supera la longitud máxima de " + maximoRegistro + " caracteres");
+			}
+		}
+
+		terminado = true;
+
+		if (campos.isEmpty() && campo.length() == 0) {
+			return null;
+		}
+		campos.add(campo.toString());
+		return campos.toArray(new String[0]);
+	}
+
+	/**
+	 * Descarta lo que queda de la línea actual, incluido su salto de línea.
+	 *
+	 * @param ultimo El último carácter leído. Si es un salto de línea, ya se ha contado y no se descarta nada.
+	 * @throws IOException Si se produce un error al leer el flujo de entrada.
+	 */
+	private void descartarLinea(char ultimo) throws IOException {
+		if (ultimo == '\n') {
+			return;
+		}
+
+		int leido;
+
+		while ((leido = entrada.read()) != '\n') {
+			if (leido == -1) {
+				terminado = true;
+				return;
+			}
+		}
+
+		lineaActual++;
+	}
+
+	/**
+	 * Devuelve la línea del fichero en la que empieza el último registro leído.
+	 *
+	 * @return El número de línea, empezando en 1.
+	 */
+	long getLineaRegistro() {
+		return lineaRegistro;
+	}
+
+	@Override
+	public void close() throws IOException {
+		entrada.close();
+	}
+}
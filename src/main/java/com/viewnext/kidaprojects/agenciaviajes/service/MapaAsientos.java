@@ -0,0 +1,101 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mapa de ocupación de los asientos de un vuelo.
+ *
+ * <p>
+ * La clase {@code MapaAsientos} guarda un bit por asiento en un array de {@code long}. Ocupar y liberar
+ * un asiento son operaciones atómicas sin bloqueo (compare-and-set sobre la palabra que contiene el bit),
+ * por lo que varios hilos pueden reservar asientos del mismo vuelo a la vez sin vender dos veces el mismo.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+class MapaAsientos {
+
+	private final AtomicLongArray palabras;
+	private final int capacidad;
+
+	MapaAsientos(int capacidad) {
+		this.capacidad = capacidad;
+		this.palabras = new AtomicLongArray((capacidad + Long.SIZE - 1) / Long.SIZE);
+	}
+
+	/**
+	 * Marca un asiento como ocupado si estaba libre.
+	 *
+	 * @param indice La posición del asiento.
+	 * @return true si el asiento estaba libre y ahora está ocupado, false si ya estaba ocupado.
+	 */
+	boolean ocupar(int indice) {
+		int palabra = indice >>> 6;
+		long bit = 1L << indice;
+		long actual;
+
+		do {
+			actual = palabras.get(palabra);
+			if ((actual & bit) != 0) {
+				return false;
+			}
+		} while (!palabras.compareAndSet(palabra, actual, actual | bit));
+
+		return true;
+	}
+
+	/**
+	 * Marca un asiento como libre.
+	 *
+	 * @param indice La posición del asiento.
+	 * @return true si el asiento estaba ocupado, false si ya estaba libre.
+	 */
+	boolean liberar(int indice) {
+		int palabra = indice >>> 6;
+		long bit = 1L << indice;
+		long actual;
+
+		do {
+			actual = palabras.get(palabra);
+			if ((actual & bit) == 0) {
+				return false;
+			}
+		} while (!palabras.compareAndSet(palabra, actual, actual & ~bit));
+
+		return true;
+	}
+
+	/**
+	 * Indica si un asiento está ocupado.
+	 *
+	 * @param indice La posición del asiento.
+	 * @return true si el asiento está ocupado.
+	 */
+	boolean estaOcupado(int indice) {
+		return (palabras.get(indice >>> 6) & (1L << indice)) != 0;
+	}
+
+	/**
+	 * Cuenta los asientos ocupados.
+	 *
+	 * @return El número de asientos ocupados.
+	 */
+	int ocupados() {
+		int ocupados = 0;
+
+		for (int i = 0; i < palabras.length(); i++) {
+			ocupados += Long.bitCount(palabras.get(i));
+		}
+
+		return ocupados;
+	}
+
+	int getCapacidad() {
+		return capacidad;
+	}
+}
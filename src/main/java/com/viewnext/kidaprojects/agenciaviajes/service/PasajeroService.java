@@ -1,21 +1,36 @@
 package com.viewnext.kidaprojects.agenciaviajes.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PaginaDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservasPasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.mappers.CursorMapper;
 import com.viewnext.kidaprojects.agenciaviajes.mappers.PasajeroMapper;
 import com.viewnext.kidaprojects.agenciaviajes.model.Pasajero;
 import com.viewnext.kidaprojects.agenciaviajes.repository.PasajeroRepository;
+import com.viewnext.kidaprojects.agenciaviajes.repository.ReservaRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 
 /**
  * Servicio que gestiona las operaciones relacionadas con los pasajeros.
@@ -43,10 +58,41 @@ public class PasajeroService implements PasajeroRepository {
 	@Autowired
 	private PasajeroRepository pasajeroRepository;
 
+	@Autowired
+	private CacheService cacheService;
+
+	@Autowired
+	private IndicePasajerosService indicePasajerosService;
+
+	@Autowired
+	private ContadoresService contadoresService;
+
+	@Autowired
+	private EstadisticasService estadisticasService;
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private InventarioAsientosService inventarioAsientosService;
+
+	@Autowired
+	private CoordinadorReservas coordinadorReservas;
+
+	public static final int LIMITE_BUSQUEDA_MAXIMO = 50;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int tamanoLote;
+
 	private final PasajeroMapper pasajeroMapper;
+	private final CursorMapper cursorMapper;
 
-	public PasajeroService(PasajeroMapper pasajeroMapper) {
+	public PasajeroService(PasajeroMapper pasajeroMapper, CursorMapper cursorMapper) {
 		this.pasajeroMapper = pasajeroMapper;
+		this.cursorMapper = cursorMapper;
 	}
 
 	// -----------------------------------------------------
@@ -73,17 +119,161 @@ public class PasajeroService implements PasajeroRepository {
 	 *
 	 * @return Lista de PasajeroDTO con todos los pasajeros.
 	 */
+	@Transactional(readOnly = true)
 	public List<PasajeroDTO> getAllPasajeros() {
-		List<Pasajero> listaPasajeros;
 		List<PasajeroDTO> listaPasajerosDTO;
 
-		listaPasajeros = findAll();
+		// Proyección directa a DTO: no se cargan entidades en el contexto de persistencia
+		listaPasajerosDTO = findAllPasajeroDTO();
+
+		return listaPasajerosDTO;
+	}
+
+	/**
+	 * Recupera todos los pasajeros proyectados directamente sobre PasajeroDTO.
+	 *
+	 * @return una lista de PasajeroDTO ordenada por identificador.
+	 */
+	@Override
+	public List<PasajeroDTO> findAllPasajeroDTO() {
+
+		return pasajeroRepository.findAllPasajeroDTO();
+	}
 
-		listaPasajerosDTO = pasajeroMapper.toPasajeroDTOList(listaPasajeros);
+	/**
+	 * Devuelve un Stream con el ID, el nombre y el apellido de todos los
+	 * pasajeros.
+	 *
+	 * @return Un Stream con los datos de búsqueda de cada pasajero que debe
+	 *         cerrarse al terminar.
+	 */
+	@Override
+	public Stream<Object[]> streamNombresPasajeros() {
+
+		return pasajeroRepository.streamNombresPasajeros();
+	}
+
+	/**
+	 * Busca los pasajeros con los identificadores indicados.
+	 *
+	 * @param ids los identificadores de los pasajeros.
+	 * @return una lista con los pasajeros encontrados.
+	 */
+	@Override
+	public List<Pasajero> findAllById(Iterable<Integer> ids) {
+
+		return pasajeroRepository.findAllById(ids);
+	}
+
+	/**
+	 * Devuelve el número de pasajeros, a partir de los contadores en memoria y sin
+	 * consultar la base de datos.
+	 *
+	 * @return el número de pasajeros.
+	 */
+	@Override
+	public long count() {
+
+		return contadoresService.getPasajeros();
+	}
+
+	/**
+	 * Busca pasajeros por el principio de su nombre o apellido, sin distinguir
+	 * mayúsculas ni tildes. Los pasajeros se localizan en el índice de pasajeros en
+	 * memoria y sus datos se sirven desde la caché de DTOs.
+	 *
+	 * @param consulta El texto de búsqueda. Cada palabra debe ser el principio de
+	 *                 una palabra del nombre o del apellido.
+	 * @param limite   El número máximo de pasajeros a devolver, que se ajusta al
+	 *                 rango entre 1 y {@code LIMITE_BUSQUEDA_MAXIMO}.
+	 * @return La lista de pasajeros encontrados.
+	 * @throws IllegalArgumentException Si la consulta está vacía.
+	 * @throws EntityNotFoundException  Si no se encuentra ningún pasajero.
+	 */
+	public List<PasajeroDTO> buscarPasajeros(String consulta, int limite)
+			throws IllegalArgumentException, EntityNotFoundException {
+		List<Integer> listaIds;
+		List<PasajeroDTO> listaPasajerosDTO;
+
+		if (consulta == null || consulta.isBlank()) {
+			throw new IllegalArgumentException();
+		}
+
+		listaIds = indicePasajerosService.buscarPasajeros(consulta,
+				Math.max(1, Math.min(limite, LIMITE_BUSQUEDA_MAXIMO)));
+		listaPasajerosDTO = cacheService.getPasajeros(listaIds, this::cargarPasajerosDTO);
+
+		if (listaPasajerosDTO.isEmpty()) {
+			throw new EntityNotFoundException();
+		}
 
 		return listaPasajerosDTO;
 	}
 
+	/**
+	 * Carga de la base de datos los pasajeros indicados y los convierte a DTO.
+	 *
+	 * @param ids Los IDs de los pasajeros.
+	 * @return Un mapa con el PasajeroDTO de cada pasajero encontrado, por ID.
+	 */
+	private Map<Integer, PasajeroDTO> cargarPasajerosDTO(Set<? extends Integer> ids) {
+		return findAllById(List.copyOf(ids)).stream()
+				.collect(Collectors.toMap(Pasajero::getIdPasajero, pasajeroMapper::toPasajeroDTO));
+	}
+
+	/**
+	 * Recupera una página de pasajeros según la paginación indicada.
+	 *
+	 * @param pageable La página a recuperar.
+	 * @return la página de pasajeros solicitada.
+	 */
+	@Override
+	public Page<Pasajero> findAll(Pageable pageable) {
+
+		return pasajeroRepository.findAll(pageable);
+	}
+
+	/**
+	 * Recupera los pasajeros con un identificador mayor que el indicado, ordenados por
+	 * identificador y limitados al tamaño de la página.
+	 *
+	 * @param idPasajero El último identificador de la página anterior.
+	 * @param pageable   El tamaño de la página a recuperar.
+	 * @return una lista con los pasajeros de la página solicitada.
+	 */
+	@Override
+	public List<Pasajero> findByIdPasajeroGreaterThanOrderByIdPasajeroAsc(int idPasajero, Pageable pageable) {
+
+		return pasajeroRepository.findByIdPasajeroGreaterThanOrderByIdPasajeroAsc(idPasajero, pageable);
+	}
+
+	/**
+	 * Obtiene una página de pasajeros mediante paginación por cursor. El coste de cada
+	 * página es el mismo independientemente de su posición.
+	 *
+	 * @param cursor El cursor opaco devuelto en la página anterior, o null para
+	 *               empezar por el principio.
+	 * @param limite El número máximo de pasajeros de la página.
+	 * @return Un PaginaDTO con los pasajeros y el cursor de la página siguiente.
+	 * @throws IllegalArgumentException Si el cursor no es válido.
+	 */
+	public PaginaDTO<PasajeroDTO> getPaginaPasajeros(String cursor, int limite) throws IllegalArgumentException {
+		List<Pasajero> listaPasajeros;
+		String siguienteCursor = null;
+
+		int idDesde = cursor == null ? 0 : cursorMapper.toId(cursor);
+
+		// Se pide un elemento de más para saber si existe una página siguiente
+		listaPasajeros = findByIdPasajeroGreaterThanOrderByIdPasajeroAsc(idDesde, PageRequest.of(0, limite + 1));
+
+		if (listaPasajeros.size() > limite) {
+			listaPasajeros = listaPasajeros.subList(0, limite);
+			siguienteCursor = cursorMapper.toCursor(listaPasajeros.get(limite - 1).getIdPasajero());
+		}
+
+		return new PaginaDTO<>(pasajeroMapper.toPasajeroDTOList(listaPasajeros), siguienteCursor);
+	}
+
 	/**
 	 * Busca y recupera una entidad de tipo Pasajero de la base de datos utilizando
 	 * su identificador (ID).
@@ -99,20 +289,38 @@ public class PasajeroService implements PasajeroRepository {
 	}
 
 	/**
-	 * Obtiene un pasajero por su ID.
+	 * Obtiene un pasajero por su ID. El PasajeroDTO se sirve desde la caché de
+	 * DTOs y solo se consulta la base de datos si no está en ella.
 	 * 
 	 * @param idPasajero ID del pasajero a buscar.
 	 * @return El PasajeroDTO si se encuentra el pasajero.
 	 * @throws EntityNotFoundException Si el pasajero no se encuentra.
 	 */
+	@Transactional(readOnly = true)
 	public PasajeroDTO getPasajeroById(Integer id) throws EntityNotFoundException {
-		Optional<Pasajero> optionalPasajero = findById(id);
+		return cacheService.getPasajero(id, idPasajero -> {
+			Optional<Pasajero> optionalPasajero = findById(idPasajero);
 
-		if (optionalPasajero.isPresent()) {
-			return pasajeroMapper.toPasajeroDTO(optionalPasajero.get());
-		} else {
-			throw new EntityNotFoundException();
-		}
+			if (optionalPasajero.isPresent()) {
+				return pasajeroMapper.toPasajeroDTO(optionalPasajero.get());
+			} else {
+				throw new EntityNotFoundException();
+			}
+		});
+	}
+
+	/**
+	 * Obtiene el número de reservas de un pasajero a partir de los contadores en
+	 * memoria, sin consultar la tabla de reservas.
+	 *
+	 * @param id El ID del pasajero.
+	 * @return Objeto ReservasPasajeroDTO con el número de reservas del pasajero.
+	 * @throws EntityNotFoundException Si el pasajero no se encuentra.
+	 */
+	public ReservasPasajeroDTO getReservasPasajero(Integer id) throws EntityNotFoundException {
+		PasajeroDTO pasajeroDTO = getPasajeroById(id);
+
+		return new ReservasPasajeroDTO(pasajeroDTO.getIdPasajeroDTO(), contadoresService.getReservasPasajero(id));
 	}
 
 	// -----------------------------------------------------
@@ -142,8 +350,53 @@ public class PasajeroService implements PasajeroRepository {
 	public PasajeroDTO createPasajero(PasajeroDTOSinId pasajeroDTOSinID) {
 
 		Pasajero pasajero = pasajeroMapper.toPasajero(pasajeroDTOSinID);
+		PasajeroDTO pasajeroDTO = contadoresService.escribir(() -> {
+			PasajeroDTO guardado = pasajeroMapper.toPasajeroDTO(save(pasajero));
+
+			Transacciones.alConfirmar(() -> contadoresService.pasajerosCreados(1));
+			return guardado;
+		});
 
-		return pasajeroMapper.toPasajeroDTO(save(pasajero));
+		Transacciones.alConfirmar(() -> {
+			indicePasajerosService.indexarPasajero(pasajero.getIdPasajero(), pasajero.getNombre(),
+					pasajero.getApellido());
+			cacheService.actualizarPasajero(pasajeroDTO);
+		});
+
+		return pasajeroDTO;
+	}
+
+	/**
+	 * Crea un conjunto de pasajeros en lotes. Pensado para las cargas masivas, evita
+	 * una llamada a {@code save} por cada pasajero. Los pasajeros se añaden al índice
+	 * solo cuando se confirma la transacción.
+	 *
+	 * @param listaPasajerosDTOSinId Los datos de los pasajeros a crear.
+	 * @return Una lista de PasajeroDTO con los pasajeros creados.
+	 */
+	@Transactional
+	public List<PasajeroDTO> createPasajeros(List<PasajeroDTOSinId> listaPasajerosDTOSinId) {
+		List<Pasajero> listaPasajeros;
+
+		// Se ejecuta dentro de la transacción, que mantiene excluida la reconstrucción de los contadores
+		// hasta que se completa
+		listaPasajeros = contadoresService.escribir(() -> {
+			List<Pasajero> guardados = saveAll(listaPasajerosDTOSinId.stream()
+					.map(pasajeroMapper::toPasajero)
+					.toList());
+
+			Transacciones.alConfirmar(() -> contadoresService.pasajerosCreados(guardados.size()));
+			return guardados;
+		});
+
+		Transacciones.alConfirmar(() -> {
+			for (Pasajero pasajero : listaPasajeros) {
+				indicePasajerosService.indexarPasajero(pasajero.getIdPasajero(), pasajero.getNombre(),
+						pasajero.getApellido());
+			}
+		});
+
+		return pasajeroMapper.toPasajeroDTOList(listaPasajeros);
 	}
 
 	// -----------------------------------------------------
@@ -176,7 +429,10 @@ public class PasajeroService implements PasajeroRepository {
 	}
 
 	/**
-	 * Elimina un pasajero por su ID.
+	 * Elimina un pasajero por su ID. La base de datos borra en cascada sus reservas,
+	 * por lo que sus asientos se liberan también en el inventario y se restan de los
+	 * contadores y de las estadísticas de reservas de cada vuelo. Mientras tanto se
+	 * bloquean los vuelos de esas reservas, igual que al borrar una reserva.
 	 *
 	 * @param idPasajero ID del pasajero a eliminar.
 	 * @throws EntityNotFoundException Si el pasajero no se encuentra.
@@ -186,7 +442,48 @@ public class PasajeroService implements PasajeroRepository {
 			throw new EntityNotFoundException();
 		}
 
-		deleteById(id);
+		Set<Integer> idsVuelo = idsVuelo(reservaRepository.findReservaDTOByIdPasajero(id));
+
+		// Se bloquean los vuelos de sus reservas, que se borran en cascada con el pasajero
+		List<ReservaDTO> reservasEliminadas = coordinadorReservas.ejecutarEnVuelos(idsVuelo,
+				() -> contadoresService.escribir(() -> {
+			// Se vuelven a leer con los cerrojos adquiridos por si otra petición las ha cambiado de vuelo
+			List<ReservaDTO> reservasPasajero = reservaRepository.findReservaDTOByIdPasajero(id);
+
+			if (!idsVuelo.containsAll(idsVuelo(reservasPasajero))) {
+				return null;
+			}
+
+			deleteById(id);
+			for (ReservaDTO reservaDTO : reservasPasajero) {
+				int idVuelo = Integer.parseInt(reservaDTO.getVueloDTO().getIdVueloDTO());
+
+				inventarioAsientosService.liberarAsiento(idVuelo, reservaDTO.getAsiento());
+				estadisticasService.reservaEliminada(idVuelo);
+			}
+			contadoresService.pasajeroEliminado(id, reservasPasajero.stream()
+					.map(reservaDTO -> Integer.valueOf(reservaDTO.getVueloDTO().getIdVueloDTO()))
+					.toList());
+
+			return reservasPasajero;
+		}));
+
+		if (reservasEliminadas == null) {
+			deletePasajeroById(id);
+			return;
+		}
+
+		indicePasajerosService.eliminarPasajero(id);
+		cacheService.invalidarPasajero(id);
+	}
+
+	/**
+	 * Obtiene los IDs de los vuelos de una lista de reservas.
+	 */
+	private Set<Integer> idsVuelo(List<ReservaDTO> reservas) {
+		return reservas.stream()
+				.map(reservaDTO -> Integer.valueOf(reservaDTO.getVueloDTO().getIdVueloDTO()))
+				.collect(Collectors.toSet());
 	}
 
 	/**
@@ -248,48 +545,139 @@ public class PasajeroService implements PasajeroRepository {
 
 		// Mapear el pasajero actualizado a un DTO y devolverlo
 		pasajeroDTOActualizado = pasajeroMapper.toPasajeroDTO(pasajeroActualizado);
+		Transacciones.alConfirmar(() -> {
+			indicePasajerosService.indexarPasajero(id, pasajeroActualizado.getNombre(),
+					pasajeroActualizado.getApellido());
+			cacheService.actualizarPasajero(pasajeroDTOActualizado);
+		});
 
 		return pasajeroDTOActualizado;
 	}
 
-	// MÉTODOS POR IMPLEMENTAR EN UN FÚTURO:
+	// -----------------------------------------------------
+	// ------------ MÉTODOS PARA ESCRITURA EN LOTE ---------
+	// -----------------------------------------------------
 
+	/**
+	 * Guarda un conjunto de pasajeros agrupando las sentencias en lotes JDBC. Cada
+	 * {@code tamanoLote} entidades se sincroniza y se vacía el contexto de
+	 * persistencia para que la memoria utilizada no crezca con el número de pasajeros.
+	 *
+	 * @param entities Los pasajeros a guardar.
+	 * @return una lista con los pasajeros guardados.
+	 */
 	@Override
-	public void flush() {
-		// TODO Auto-generated method stub
+	@Transactional
+	public <S extends Pasajero> List<S> saveAll(Iterable<S> entities) {
+		List<S> listaPasajerosGuardados = new ArrayList<>();
+		int contador = 0;
+
+		for (S entity : entities) {
+			if (entity.getIdPasajero() == 0) {
+				entityManager.persist(entity);
+				listaPasajerosGuardados.add(entity);
+			} else {
+				listaPasajerosGuardados.add(entityManager.merge(entity));
+			}
+
+			// Enviar el lote actual y liberar las entidades ya escritas
+			if (++contador % tamanoLote == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
 
+		entityManager.flush();
+		entityManager.clear();
+
+		return listaPasajerosGuardados;
+	}
+
+	/**
+	 * Guarda un conjunto de pasajeros en lotes y sincroniza los cambios con la base
+	 * de datos.
+	 *
+	 * @param entities Los pasajeros a guardar.
+	 * @return una lista con los pasajeros guardados.
+	 */
+	@Override
+	@Transactional
+	public <S extends Pasajero> List<S> saveAllAndFlush(Iterable<S> entities) {
+
+		return saveAll(entities);
 	}
 
+	/**
+	 * Guarda un pasajero y sincroniza los cambios con la base de datos.
+	 *
+	 * @param entity el pasajero a guardar.
+	 * @return el pasajero guardado.
+	 */
 	@Override
 	public <S extends Pasajero> S saveAndFlush(S entity) {
-		// TODO Auto-generated method stub
-		return null;
+
+		return pasajeroRepository.saveAndFlush(entity);
 	}
 
+	/**
+	 * Sincroniza con la base de datos los cambios pendientes.
+	 */
 	@Override
-	public <S extends Pasajero> List<S> saveAllAndFlush(Iterable<S> entities) {
-		// TODO Auto-generated method stub
-		return null;
+	public void flush() {
+
+		pasajeroRepository.flush();
 	}
 
+	/**
+	 * Elimina los pasajeros indicados con una única sentencia DELETE.
+	 *
+	 * @param entities Los pasajeros a eliminar.
+	 */
 	@Override
 	public void deleteAllInBatch(Iterable<Pasajero> entities) {
-		// TODO Auto-generated method stub
 
+		pasajeroRepository.deleteAllInBatch(entities);
+		for (Pasajero pasajero : entities) {
+			indicePasajerosService.eliminarPasajero(pasajero.getIdPasajero());
+		}
+		cacheService.invalidarDTOs();
+		contadoresService.reconstruir(inventarioAsientosService::reconstruir);
+		estadisticasService.reconstruir();
 	}
 
+	/**
+	 * Elimina los pasajeros con los identificadores indicados con una única sentencia
+	 * DELETE.
+	 *
+	 * @param ids Los identificadores de los pasajeros a eliminar.
+	 */
 	@Override
 	public void deleteAllByIdInBatch(Iterable<Integer> ids) {
-		// TODO Auto-generated method stub
 
+		pasajeroRepository.deleteAllByIdInBatch(ids);
+		for (Integer id : ids) {
+			indicePasajerosService.eliminarPasajero(id);
+		}
+		cacheService.invalidarDTOs();
+		contadoresService.reconstruir(inventarioAsientosService::reconstruir);
+		estadisticasService.reconstruir();
 	}
 
+	/**
+	 * Elimina todos los pasajeros con una única sentencia DELETE.
+	 */
 	@Override
 	public void deleteAllInBatch() {
-		// TODO Auto-generated method stub
 
+		pasajeroRepository.deleteAllInBatch();
+		indicePasajerosService.reconstruir();
+		cacheService.invalidarDTOs();
+		contadoresService.reconstruir(inventarioAsientosService::reconstruir);
+		estadisticasService.reconstruir();
 	}
 
+	// MÉTODOS POR IMPLEMENTAR EN UN FÚTURO:
+
 	@Override
 	public Pasajero getOne(Integer id) {
 		// TODO Auto-generated method stub
@@ -320,24 +708,6 @@ public class PasajeroService implements PasajeroRepository {
 		return null;
 	}
 
-	@Override
-	public <S extends Pasajero> List<S> saveAll(Iterable<S> entities) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public List<Pasajero> findAllById(Iterable<Integer> ids) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public long count() {
-		// TODO Auto-generated method stub
-		return 0;
-	}
-
 	@Override
 	public void deleteAllById(Iterable<? extends Integer> ids) {
 		// TODO Auto-generated method stub
@@ -362,12 +732,6 @@ public class PasajeroService implements PasajeroRepository {
 		return null;
 	}
 
-	@Override
-	public Page<Pasajero> findAll(Pageable pageable) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
 	@Override
 	public <S extends Pasajero> Optional<S> findOne(Example<S> example) {
 		// TODO Auto-generated method stub
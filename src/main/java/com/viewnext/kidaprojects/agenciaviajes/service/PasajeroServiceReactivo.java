@@ -0,0 +1,56 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.mappers.PasajeroMapper;
+import com.viewnext.kidaprojects.agenciaviajes.repository.PasajeroRepositoryReactivo;
+
+import jakarta.persistence.EntityNotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servicio reactivo de solo lectura sobre los pasajeros. Lee con {@code PasajeroRepositoryReactivo} (R2DBC)
+ * sin pasar por las cachés de {@code PasajeroService}, que sigue siendo quien modifica los pasajeros.
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Service
+public class PasajeroServiceReactivo {
+
+	@Autowired
+	private PasajeroRepositoryReactivo pasajeroRepositoryReactivo;
+
+	@Autowired
+	private PasajeroMapper pasajeroMapper;
+
+	/**
+	 * Obtiene todos los pasajeros.
+	 *
+	 * @return Los pasajeros ordenados por identificador.
+	 */
+	public Flux<PasajeroDTO> getAllPasajeros() {
+		return pasajeroRepositoryReactivo.findAll(Sort.by("idPasajero"))
+				.map(pasajeroMapper::toPasajeroDTO);
+	}
+
+	/**
+	 * Obtiene un pasajero por su ID.
+	 *
+	 * @param id El ID del pasajero.
+	 * @return Un Mono con el pasajero, que termina con {@code EntityNotFoundException} si no existe.
+	 */
+	public Mono<PasajeroDTO> getPasajeroById(int id) {
+		return pasajeroRepositoryReactivo.findById(id)
+				.map(pasajeroMapper::toPasajeroDTO)
+				.switchIfEmpty(Mono.error(EntityNotFoundException::new));
+	}
+}
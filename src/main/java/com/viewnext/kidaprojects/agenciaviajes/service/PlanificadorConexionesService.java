@@ -0,0 +1,182 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.viewnext.kidaprojects.agenciaviajes.model.Vuelo;
+
+/**
+ * Servicio que calcula itinerarios con escalas entre dos ciudades.
+ *
+ * <p>
+ * La clase {@code PlanificadorConexionesService} trata las ciudades como nodos y los vuelos como aristas
+ * fechadas, y utiliza como lista de adyacencia el índice de rutas de {@code IndiceRutasService}, que
+ * {@code VueloService} mantiene al día en cada alta, modificación y borrado. No necesita por tanto ninguna
+ * estructura propia ni consultas a la base de datos.
+ * </p>
+ *
+ * <p>
+ * La búsqueda es una búsqueda de mejor primero sobre el grafo expandido en el tiempo, ordenada por la fecha
+ * de llegada: los itinerarios se obtienen de menor a mayor fecha de llegada y la búsqueda termina en cuanto
+ * se tienen los solicitados. De cada ruta solo se encola el primer vuelo utilizable y el siguiente vuelo de
+ * la misma ruta se encola al sacar el anterior, por lo que el número de elementos de la cola depende de los
+ * itinerarios explorados y no del número de vuelos. Además, el penúltimo tramo solo se considera si su
+ * ciudad de llegada tiene vuelos al destino, y el número de nodos expandidos está limitado por
+ * {@code agenciaviajes.conexiones.maximo-expansiones}.
+ * </p>
+ *
+ * <p>
+ * Como los vuelos solo tienen fecha, el tiempo mínimo de escala se expresa en días.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Service
+public class PlanificadorConexionesService {
+
+	@Autowired
+	private IndiceRutasService indiceRutasService;
+
+	@Value("${agenciaviajes.conexiones.maximo-expansiones:100000}")
+	private int maximoExpansiones;
+
+	/**
+	 * Tramo de un itinerario parcial: el vuelo en la posición {@code posicion} de {@code ruta}, que llega
+	 * a {@code ciudad}. Los tramos anteriores se obtienen siguiendo {@code anterior}.
+	 */
+	private record Tramo(Tramo anterior, String ciudad, RutaIndexada ruta, int posicion, int dia, int tramos) {
+	}
+
+	private static final Comparator<Tramo> POR_LLEGADA = Comparator.comparingInt(Tramo::dia)
+			.thenComparingInt(Tramo::tramos);
+
+	/**
+	 * Busca los itinerarios con una o más escalas entre dos ciudades.
+	 *
+	 * @param origen     La ciudad de origen, sin normalizar.
+	 * @param destino    La ciudad de destino, sin normalizar.
+	 * @param desde      La fecha mínima de salida del primer vuelo.
+	 * @param hasta      La fecha máxima de llegada del último vuelo.
+	 * @param escalas    El número máximo de escalas.
+	 * @param resultados El número máximo de itinerarios.
+	 * @param diasEscala El número mínimo de días entre la llegada de un vuelo y la salida del siguiente.
+	 * @return Los itinerarios ordenados por fecha de llegada y, a igual fecha, por número de escalas. Cada
+	 *         itinerario es la lista de IDs de sus vuelos en orden.
+	 */
+	public List<List<Integer>> buscarItinerarios(String origen, String destino, Date desde, Date hasta,
+			int escalas, int resultados, int diasEscala) {
+		List<List<Integer>> itinerarios = new ArrayList<>();
+		String origenNormalizado = Vuelo.normalizar(origen);
+		String destinoNormalizado = Vuelo.normalizar(destino);
+		int maximoTramos = escalas + 1;
+		int ultimoDia = IndiceRutasService.dia(hasta);
+		PriorityQueue<Tramo> pendientes = new PriorityQueue<>(POR_LLEGADA);
+
+		if (origenNormalizado == null || destinoNormalizado == null
+				|| origenNormalizado.equals(destinoNormalizado)) {
+			return itinerarios;
+		}
+
+		encolarSalidas(pendientes, null, origenNormalizado, IndiceRutasService.dia(desde), ultimoDia,
+				origenNormalizado, destinoNormalizado, maximoTramos);
+
+		int expansiones = 0;
+
+		while (!pendientes.isEmpty() && itinerarios.size() < resultados && expansiones++ < maximoExpansiones) {
+			Tramo tramo = pendientes.poll();
+
+			// El siguiente vuelo de la misma ruta sustituye al que se acaba de sacar
+			encolar(pendientes, tramo.anterior(), tramo.ciudad(), tramo.ruta(), tramo.posicion() + 1, ultimoDia,
+					tramo.tramos());
+
+			if (tramo.ciudad().equals(destinoNormalizado)) {
+				itinerarios.add(idsVuelos(tramo));
+			} else if (tramo.tramos() < maximoTramos) {
+				encolarSalidas(pendientes, tramo, tramo.ciudad(), tramo.dia() + diasEscala, ultimoDia,
+						origenNormalizado, destinoNormalizado, maximoTramos);
+			}
+		}
+
+		return itinerarios;
+	}
+
+	/**
+	 * Encola, para cada ruta que sale de una ciudad, su primer vuelo a partir del día indicado.
+	 */
+	private void encolarSalidas(PriorityQueue<Tramo> pendientes, Tramo anterior, String ciudad, int primerDia,
+			int ultimoDia, String origen, String destino, int maximoTramos) {
+		int tramos = anterior == null ? 1 : anterior.tramos() + 1;
+
+		for (Map.Entry<String, RutaIndexada> salida : indiceRutasService.getDestinos(ciudad).entrySet()) {
+			String siguiente = salida.getKey();
+
+			if (!esEscalaValida(anterior, siguiente, origen, destino, tramos, maximoTramos)) {
+				continue;
+			}
+
+			RutaIndexada ruta = salida.getValue();
+			encolar(pendientes, anterior, siguiente, ruta, ruta.primeraPosicion(primerDia), ultimoDia, tramos);
+		}
+	}
+
+	/**
+	 * Indica si se puede volar a una ciudad en el tramo indicado: el destino solo es válido a partir del
+	 * segundo tramo (el vuelo directo no es una conexión), no se repiten ciudades y, si solo queda un tramo
+	 * después de este, la ciudad debe tener vuelos al destino.
+	 */
+	private boolean esEscalaValida(Tramo anterior, String ciudad, String origen, String destino, int tramos,
+			int maximoTramos) {
+		if (ciudad.equals(destino)) {
+			return tramos > 1;
+		}
+		if (tramos >= maximoTramos || visitada(anterior, ciudad, origen)) {
+			return false;
+		}
+
+		return tramos < maximoTramos - 1 || indiceRutasService.getRuta(ciudad, destino) != null;
+	}
+
+	private boolean visitada(Tramo tramo, String ciudad, String origen) {
+		for (Tramo actual = tramo; actual != null; actual = actual.anterior()) {
+			if (actual.ciudad().equals(ciudad)) {
+				return true;
+			}
+		}
+
+		return ciudad.equals(origen);
+	}
+
+	private void encolar(PriorityQueue<Tramo> pendientes, Tramo anterior, String ciudad, RutaIndexada ruta,
+			int posicion, int ultimoDia, int tramos) {
+		if (posicion >= ruta.tamano()) {
+			return;
+		}
+
+		int dia = RutaIndexada.dia(ruta.getClave(posicion));
+
+		if (dia <= ultimoDia) {
+			pendientes.add(new Tramo(anterior, ciudad, ruta, posicion, dia, tramos));
+		}
+	}
+
+	private List<Integer> idsVuelos(Tramo ultimo) {
+		List<Integer> listaIds = new ArrayList<>(ultimo.tramos());
+
+		for (Tramo tramo = ultimo; tramo != null; tramo = tramo.anterior()) {
+			listaIds.add(0, RutaIndexada.idVuelo(tramo.ruta().getClave(tramo.posicion())));
+		}
+
+		return listaIds;
+	}
+}
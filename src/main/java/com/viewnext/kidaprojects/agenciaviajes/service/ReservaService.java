@@ -1,15 +1,24 @@
 package com.viewnext.kidaprojects.agenciaviajes.service;
 
 import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PaginaDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.mappers.CursorMapper;
 import com.viewnext.kidaprojects.agenciaviajes.mappers.PasajeroMapper;
 import com.viewnext.kidaprojects.agenciaviajes.mappers.ReservaMapper;
 import com.viewnext.kidaprojects.agenciaviajes.mappers.VueloMapper;
@@ -21,7 +30,6 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.PersistenceException;
-import jakarta.persistence.TypedQuery;
 
 /**
  * Servicio que gestiona las operaciones relacionadas con las reservas.
@@ -50,18 +58,39 @@ public class ReservaService implements ReservaRepository {
 	@Autowired
 	private ReservaRepository reservaRepository;
 
+	@Autowired
+	private InventarioAsientosService inventarioAsientosService;
+
+	@Autowired
+	private CoordinadorReservas coordinadorReservas;
+
+	@Autowired
+	private CacheService cacheService;
+
+	@Autowired
+	private ContadoresService contadoresService;
+
+	@Autowired
+	private EstadisticasService estadisticasService;
+
 	@PersistenceContext
 	private EntityManager entityManager;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int tamanoLote;
+
 	private final VueloService vueloService;
 	private final PasajeroService pasajeroService;
 	private final ReservaMapper reservaMapper;
+	private final CursorMapper cursorMapper;
 	
 
 	public ReservaService(ReservaMapper reservaMapper, VueloService vueloService, PasajeroService pasajeroService,
-			VueloMapper vueloMapper, PasajeroMapper pasajeroMapper) {
+			VueloMapper vueloMapper, PasajeroMapper pasajeroMapper, CursorMapper cursorMapper) {
 		this.reservaMapper = reservaMapper;
 		this.vueloService = vueloService;
 		this.pasajeroService = pasajeroService;
+		this.cursorMapper = cursorMapper;
 		
 	}
 
@@ -89,15 +118,103 @@ public class ReservaService implements ReservaRepository {
 	 * 
 	 * @return Una lista de ReservaDTO que representa todas las reservas existentes.
 	 */
+	@Transactional(readOnly = true)
 	public List<ReservaDTO> getAllReservas() {
 		List<ReservaDTO> listaReservasDTO;
+
+		// Proyección directa a DTO: una única consulta y sin entidades gestionadas
+		listaReservasDTO = findAllReservaDTO();
+
+		return listaReservasDTO;
+	}
+
+	/**
+	 * Recupera todas las reservas proyectadas directamente sobre ReservaDTO.
+	 *
+	 * @return una lista de ReservaDTO ordenada por identificador.
+	 */
+	@Override
+	public List<ReservaDTO> findAllReservaDTO() {
+
+		return reservaRepository.findAllReservaDTO();
+	}
+
+	/**
+	 * Recupera las reservas de un pasajero proyectadas directamente sobre
+	 * ReservaDTO.
+	 *
+	 * @param idPasajero El ID del pasajero.
+	 * @return una lista de ReservaDTO del pasajero.
+	 */
+	@Override
+	public List<ReservaDTO> findReservaDTOByIdPasajero(Integer idPasajero) {
+
+		return reservaRepository.findReservaDTOByIdPasajero(idPasajero);
+	}
+
+	/**
+	 * Recupera las reservas de un vuelo proyectadas directamente sobre ReservaDTO.
+	 *
+	 * @param idVuelo El ID del vuelo.
+	 * @return una lista de ReservaDTO del vuelo.
+	 */
+	@Override
+	public List<ReservaDTO> findReservaDTOByIdVuelo(Integer idVuelo) {
+
+		return reservaRepository.findReservaDTOByIdVuelo(idVuelo);
+	}
+
+	/**
+	 * Recupera una página de reservas según la paginación indicada.
+	 *
+	 * @param pageable La página a recuperar.
+	 * @return la página de reservas solicitada.
+	 */
+	@Override
+	public Page<Reserva> findAll(Pageable pageable) {
+
+		return reservaRepository.findAll(pageable);
+	}
+
+	/**
+	 * Recupera las reservas con un identificador mayor que el indicado, ordenadas por
+	 * identificador y limitadas al tamaño de la página.
+	 *
+	 * @param idReserva El último identificador de la página anterior.
+	 * @param pageable  El tamaño de la página a recuperar.
+	 * @return una lista con las reservas de la página solicitada.
+	 */
+	@Override
+	public List<Reserva> findByIdReservaGreaterThanOrderByIdReservaAsc(int idReserva, Pageable pageable) {
+
+		return reservaRepository.findByIdReservaGreaterThanOrderByIdReservaAsc(idReserva, pageable);
+	}
+
+	/**
+	 * Obtiene una página de reservas mediante paginación por cursor. El coste de cada
+	 * página es el mismo independientemente de su posición.
+	 *
+	 * @param cursor El cursor opaco devuelto en la página anterior, o null para
+	 *               empezar por el principio.
+	 * @param limite El número máximo de reservas de la página.
+	 * @return Un PaginaDTO con las reservas y el cursor de la página siguiente.
+	 * @throws IllegalArgumentException Si el cursor no es válido.
+	 */
+	public PaginaDTO<ReservaDTO> getPaginaReservas(String cursor, int limite) throws IllegalArgumentException {
 		List<Reserva> listaReservas;
+		String siguienteCursor = null;
 
-		listaReservas = findAll();
+		int idDesde = cursor == null ? 0 : cursorMapper.toId(cursor);
 
-		listaReservasDTO = reservaMapper.toReservaDTOList(listaReservas);
+		// Se pide un elemento de más para saber si existe una página siguiente
+		listaReservas = findByIdReservaGreaterThanOrderByIdReservaAsc(idDesde, PageRequest.of(0, limite + 1));
 
-		return listaReservasDTO;
+		if (listaReservas.size() > limite) {
+			listaReservas = listaReservas.subList(0, limite);
+			siguienteCursor = cursorMapper.toCursor(listaReservas.get(limite - 1).getIdReserva());
+		}
+
+		return new PaginaDTO<>(reservaMapper.toReservaDTOList(listaReservas), siguienteCursor);
 	}
 
 	/**
@@ -115,7 +232,20 @@ public class ReservaService implements ReservaRepository {
 	}
 
 	/**
-	 * Obtiene una reserva por su ID.
+	 * Recupera una reserva proyectada sobre ReservaDTO, leída siempre de la base
+	 * de datos.
+	 *
+	 * @param idReserva El ID de la reserva.
+	 * @return Un Optional con la ReservaDTO, o vacío si la reserva no existe.
+	 */
+	@Override
+	public Optional<ReservaDTO> findReservaDTOByIdReserva(Integer idReserva) {
+		return reservaRepository.findReservaDTOByIdReserva(idReserva);
+	}
+
+	/**
+	 * Obtiene una reserva por su ID. El ReservaDTO se sirve desde la caché de DTOs
+	 * y solo se consulta la base de datos si no está en ella.
 	 * 
 	 * @param id El ID de la reserva a obtener.
 	 * @return El objeto ReservaDTO correspondiente a la reserva encontrada.
@@ -123,13 +253,15 @@ public class ReservaService implements ReservaRepository {
 	 *                                 especificado.
 	 */
 	public ReservaDTO getReservaByid(Integer id) throws EntityNotFoundException {
-		Optional<Reserva> optionalReserva = findById(id);
+		return cacheService.getReserva(id, idReserva -> {
+			Optional<Reserva> optionalReserva = findById(idReserva);
 
-		if (optionalReserva.isPresent()) {
-			return reservaMapper.toReservaDTO(optionalReserva.get());
-		} else {
-			throw new EntityNotFoundException();
-		}
+			if (optionalReserva.isPresent()) {
+				return reservaMapper.toReservaDTO(optionalReserva.get());
+			} else {
+				throw new EntityNotFoundException();
+			}
+		});
 	}
 
 	/**
@@ -139,18 +271,12 @@ public class ReservaService implements ReservaRepository {
 	 * @param id El ID del pasajero para el cual se obtendrán las reservas.
 	 * @return Una lista de ReservaDTO correspondientes a las reservas del pasajero.
 	 */
+	@Transactional(readOnly = true)
 	public List<ReservaDTO> obtenerReservasPorPasajero(Integer id) {
 		try {
-			List<Reserva> listaReservasPorPasajero;
 			List<ReservaDTO> lisRerservaDTOsPorPasajero;
 
-			String jpql = "SELECT r FROM Reserva r INNER JOIN r.pasajero p WHERE p.idPasajero = :id";
-
-			TypedQuery<Reserva> query = entityManager.createQuery(jpql, Reserva.class);
-			query.setParameter("id", id);
-			listaReservasPorPasajero = query.getResultList();
-
-			lisRerservaDTOsPorPasajero = reservaMapper.toReservaDTOList(listaReservasPorPasajero);
+			lisRerservaDTOsPorPasajero = findReservaDTOByIdPasajero(id);
 
 			return lisRerservaDTOsPorPasajero;
 
@@ -170,18 +296,12 @@ public class ReservaService implements ReservaRepository {
 	 * @param id El ID del vuelo para el cual se obtendrán las reservas.
 	 * @return Una lista de ReservaDTO correspondientes a las reservas del vuelo.
 	 */
+	@Transactional(readOnly = true)
 	public List<ReservaDTO> obtenerReservasPorVuelo(Integer id) {
 		try {
-			List<Reserva> listaReservasPorVuelo;
 			List<ReservaDTO> listaReservaDTOsPorVuelo;
 
-			String jpql = "SELECT r FROM Reserva r INNER JOIN r.vuelo v WHERE v.idVuelo = :id";
-
-			TypedQuery<Reserva> query = entityManager.createQuery(jpql, Reserva.class);
-			query.setParameter("id", id);
-			listaReservasPorVuelo = query.getResultList();
-
-			listaReservaDTOsPorVuelo = reservaMapper.toReservaDTOList(listaReservasPorVuelo);
+			listaReservaDTOsPorVuelo = findReservaDTOByIdVuelo(id);
 
 			return listaReservaDTOsPorVuelo;
 
@@ -194,6 +314,91 @@ public class ReservaService implements ReservaRepository {
 		}
 	}
 
+	/**
+	 * Devuelve un Stream con todas las reservas proyectadas sobre ReservaDTO, leídas de la base de datos
+	 * por bloques a medida que se consumen.
+	 *
+	 * @return Un Stream de ReservaDTO que debe cerrarse al terminar.
+	 */
+	@Override
+	public Stream<ReservaDTO> streamAllReservaDTO() {
+		return reservaRepository.streamAllReservaDTO();
+	}
+
+	/**
+	 * Devuelve un Stream con el ID del vuelo y el asiento de todas las reservas.
+	 *
+	 * @return Un Stream de pares (ID de vuelo, asiento) que debe cerrarse al terminar.
+	 */
+	@Override
+	public Stream<Object[]> streamAsientosReservados() {
+		return reservaRepository.streamAsientosReservados();
+	}
+
+	/**
+	 * Cuenta las reservas de cada vuelo con una consulta agrupada.
+	 *
+	 * @return Una lista con los pares (ID de vuelo, número de reservas).
+	 */
+	@Override
+	public List<Object[]> countReservasPorVuelo() {
+		return reservaRepository.countReservasPorVuelo();
+	}
+
+	/**
+	 * Cuenta las reservas de cada pasajero con una consulta agrupada.
+	 *
+	 * @return Una lista con los pares (ID de pasajero, número de reservas).
+	 */
+	@Override
+	public List<Object[]> countReservasPorPasajero() {
+		return reservaRepository.countReservasPorPasajero();
+	}
+
+	/**
+	 * Devuelve un Stream con los vuelos con reservas y su número de reservas.
+	 *
+	 * @return Un Stream de filas (ID, origen, destino, fecha, reservas) que debe
+	 *         cerrarse al terminar.
+	 */
+	@Override
+	public Stream<Object[]> streamReservasPorVuelo() {
+		return reservaRepository.streamReservasPorVuelo();
+	}
+
+	/**
+	 * Devuelve el número de reservas, a partir de los contadores en memoria y sin
+	 * consultar la base de datos.
+	 *
+	 * @return el número de reservas.
+	 */
+	@Override
+	public long count() {
+		return contadoresService.getReservas();
+	}
+
+	/**
+	 * Recorre todas las reservas y entrega cada ReservaDTO al consumidor indicado según se lee de la
+	 * base de datos, sin cargar la lista completa en memoria. La transacción de solo lectura mantiene
+	 * abierto el cursor mientras dura el recorrido.
+	 *
+	 * @param consumidor La operación que se aplica a cada reserva exportada.
+	 * @return El número de reservas exportadas.
+	 */
+	@Transactional(readOnly = true)
+	public long exportarReservas(Consumer<ReservaDTO> consumidor) {
+		long exportadas = 0;
+
+		try (Stream<ReservaDTO> reservas = streamAllReservaDTO()) {
+			for (ReservaDTO reservaDTO : (Iterable<ReservaDTO>) reservas::iterator) {
+				consumidor.accept(reservaDTO);
+				exportadas++;
+			}
+		}
+
+		return exportadas;
+	}
+
 	// -----------------------------------------------------
 	// ---------------- MÉTODOS PARA CREAR -----------------
 	// -----------------------------------------------------
@@ -214,25 +419,45 @@ public class ReservaService implements ReservaRepository {
 
 	/**
 	 * Crea una reserva para un vuelo y pasajero específicos, con el asiento
-	 * especificado.
+	 * especificado. El asiento se ocupa primero en el inventario de asientos, de
+	 * forma atómica, y se libera de nuevo si la reserva no llega a guardarse. Las
+	 * modificaciones de reservas de un mismo vuelo se ejecutan de una en una.
 	 * 
 	 * @param idVuelo    El ID del vuelo para el cual se creará la reserva.
 	 * @param idPasajero El ID del pasajero para el cual se creará la reserva.
 	 * @param asiento    El número de asiento para la reserva.
 	 * @return El objeto ReservaDTO correspondiente a la reserva creada.
-	 * @throws EntityNotFoundException Si el vuelo o el pasajero no se encuentran.
+	 * @throws EntityNotFoundException  Si el vuelo o el pasajero no se encuentran.
+	 * @throws IllegalArgumentException Si el asiento no existe en el vuelo.
+	 * @throws IllegalStateException    Si el asiento ya está ocupado.
 	 */
 	public ReservaDTO createReservaByIdVueloIdPasajeroAsiento(Integer idVuelo, Integer idPasajero, String asiento)
-			throws EntityNotFoundException {
-		Optional<Vuelo> optionalVuelo = vueloService.findById(idPasajero);
+			throws EntityNotFoundException, IllegalArgumentException, IllegalStateException {
+		Optional<Vuelo> optionalVuelo = vueloService.findById(idVuelo);
 		Optional<Pasajero> optionalPasajero = pasajeroService.findById(idPasajero);
 
 		if (optionalPasajero.isPresent() && optionalVuelo.isPresent()) {
 			Pasajero pasajero = optionalPasajero.get();
 			Vuelo vuelo = optionalVuelo.get();
-			Reserva reserva = new Reserva(asiento, vuelo, pasajero);
+			String asientoNormalizado = inventarioAsientosService.normalizarAsiento(asiento);
+
+			return coordinadorReservas.ejecutarEnVuelo(idVuelo, () -> contadoresService.escribir(() -> {
+				inventarioAsientosService.ocuparAsiento(idVuelo, asientoNormalizado);
+
+				try {
+					Reserva reserva = new Reserva(asientoNormalizado, vuelo, pasajero);
+					ReservaDTO reservaDTO = reservaMapper.toReservaDTO(save(reserva));
+
+					cacheService.actualizarReserva(reservaDTO);
+					contadoresService.reservaCreada(idVuelo, idPasajero);
+					estadisticasService.reservaCreada(reservaDTO.getVueloDTO());
 
-			return reservaMapper.toReservaDTO(save(reserva));
+					return reservaDTO;
+				} catch (RuntimeException e) {
+					inventarioAsientosService.liberarAsiento(idVuelo, asientoNormalizado);
+					throw e;
+				}
+			}));
 		} else {
 			throw new EntityNotFoundException();
 		}
@@ -275,11 +500,42 @@ public class ReservaService implements ReservaRepository {
 	 *                                 especificado.
 	 */
 	public void deleteReservaById(Integer id) throws EntityNotFoundException {
-		if (!existsById(id)) {
-			throw new EntityNotFoundException();
+		int idVuelo = idVueloDeReserva(id);
+
+		boolean eliminada = coordinadorReservas.ejecutarEnVuelo(idVuelo, () -> contadoresService.escribir(() -> {
+			// Se vuelve a leer con el cerrojo adquirido por si otra petición la ha cambiado de vuelo
+			ReservaDTO reservaDTO = findReservaDTOByIdReserva(id).orElseThrow(EntityNotFoundException::new);
+
+			if (Integer.parseInt(reservaDTO.getVueloDTO().getIdVueloDTO()) != idVuelo) {
+				return false;
+			}
+
+			deleteById(id);
+			inventarioAsientosService.liberarAsiento(idVuelo, reservaDTO.getAsiento());
+			cacheService.invalidarReserva(id);
+			contadoresService.reservaEliminada(idVuelo,
+					Integer.parseInt(reservaDTO.getPasajeroDTO().getIdPasajeroDTO()));
+			estadisticasService.reservaEliminada(idVuelo);
+
+			return true;
+		}));
+
+		if (!eliminada) {
+			deleteReservaById(id);
 		}
+	}
 
-		deleteById(id);
+	/**
+	 * Obtiene el ID del vuelo de una reserva, leído de la base de datos.
+	 *
+	 * @param idReserva El ID de la reserva.
+	 * @return El ID del vuelo de la reserva.
+	 * @throws EntityNotFoundException si no se encuentra la reserva.
+	 */
+	private int idVueloDeReserva(Integer idReserva) throws EntityNotFoundException {
+		ReservaDTO reservaDTO = findReservaDTOByIdReserva(idReserva).orElseThrow(EntityNotFoundException::new);
+
+		return Integer.parseInt(reservaDTO.getVueloDTO().getIdVueloDTO());
 	}
 
 	/**
@@ -315,69 +571,197 @@ public class ReservaService implements ReservaRepository {
 	 * @param id         El ID de la reserva a actualizar.
 	 * @param reservaDTO El objeto ReservaDTO con los datos actualizados.
 	 * @return El objeto ReservaDTO correspondiente a la reserva actualizada.
-	 * @throws EntityNotFoundException si no se encuentra la reserva con el ID
-	 *                                 especificado.
+	 * @throws EntityNotFoundException  si no se encuentra la reserva con el ID
+	 *                                  especificado.
+	 * @throws IllegalArgumentException si el asiento no existe en el vuelo.
+	 * @throws IllegalStateException    si el nuevo asiento ya está ocupado.
 	 */
-	public ReservaDTO updateReserva(Integer idReserva, Integer idPasajero, Integer idVuelo, String asiento) {
+	public ReservaDTO updateReserva(Integer idReserva, Integer idPasajero, Integer idVuelo, String asiento)
+			throws EntityNotFoundException, IllegalArgumentException, IllegalStateException {
 		
-		Optional<Reserva> optionalReserva = findById(idReserva);
 		Optional<Vuelo> optionalVuelo = vueloService.findById(idVuelo);
 		Optional<Pasajero> optionalPasajero = pasajeroService.findById(idPasajero);
 
-		if (optionalReserva.isEmpty() || optionalPasajero.isEmpty() || optionalVuelo.isEmpty()) {
+		if (optionalPasajero.isEmpty() || optionalVuelo.isEmpty()) {
 			throw new EntityNotFoundException();
 		}
 
 		Pasajero pasajero = optionalPasajero.get();
 		Vuelo vuelo = optionalVuelo.get();
-		
-		Reserva reserva = new Reserva(asiento, vuelo, pasajero);
-		reserva.setIdReserva(idReserva);
-
-		return reservaMapper.toReservaDTO(save(reserva));
+		String asientoNormalizado = inventarioAsientosService.normalizarAsiento(asiento);
+		int idVueloAnterior = idVueloDeReserva(idReserva);
+
+		// Se bloquean el vuelo de origen y el de destino de la reserva
+		ReservaDTO reservaActualizada = coordinadorReservas.ejecutarEnVuelos(idVueloAnterior, idVuelo,
+				() -> contadoresService.escribir(() -> {
+			// Se vuelve a leer con los cerrojos adquiridos por si otra petición la ha cambiado de vuelo
+			ReservaDTO reservaAnterior = findReservaDTOByIdReserva(idReserva)
+					.orElseThrow(EntityNotFoundException::new);
+
+			if (Integer.parseInt(reservaAnterior.getVueloDTO().getIdVueloDTO()) != idVueloAnterior) {
+				return null;
+			}
+
+			String asientoAnterior = reservaAnterior.getAsiento();
+			boolean cambiaAsiento = idVueloAnterior != idVuelo
+					|| !inventarioAsientosService.esMismoAsiento(asientoAnterior, asientoNormalizado);
+
+			// El asiento nuevo se ocupa antes de guardar y el anterior solo se libera si el cambio se guarda
+			if (cambiaAsiento) {
+				inventarioAsientosService.ocuparAsiento(idVuelo, asientoNormalizado);
+			}
+
+			Reserva reserva = new Reserva(asientoNormalizado, vuelo, pasajero);
+			reserva.setIdReserva(idReserva);
+
+			try {
+				ReservaDTO reservaDTO = reservaMapper.toReservaDTO(save(reserva));
+
+				if (cambiaAsiento) {
+					inventarioAsientosService.liberarAsiento(idVueloAnterior, asientoAnterior);
+				}
+				cacheService.actualizarReserva(reservaDTO);
+				contadoresService.reservaEliminada(idVueloAnterior,
+						Integer.parseInt(reservaAnterior.getPasajeroDTO().getIdPasajeroDTO()));
+				contadoresService.reservaCreada(idVuelo, idPasajero);
+				estadisticasService.reservaEliminada(idVueloAnterior);
+				estadisticasService.reservaCreada(reservaDTO.getVueloDTO());
+
+				return reservaDTO;
+			} catch (RuntimeException e) {
+				if (cambiaAsiento) {
+					inventarioAsientosService.liberarAsiento(idVuelo, asientoNormalizado);
+				}
+				throw e;
+			}
+		}));
+
+		if (reservaActualizada == null) {
+			return updateReserva(idReserva, idPasajero, idVuelo, asiento);
+		}
 
+		return reservaActualizada;
 	}
 
 	
 
-	// MÉTODOS POR IMPLEMENTAR EN UN FÚTURO:
+	// -----------------------------------------------------
+	// ------------ MÉTODOS PARA ESCRITURA EN LOTE ---------
+	// -----------------------------------------------------
 
+	/**
+	 * Guarda un conjunto de reservas agrupando las sentencias en lotes JDBC. Cada
+	 * {@code tamanoLote} entidades se sincroniza y se vacía el contexto de
+	 * persistencia para que la memoria utilizada no crezca con el número de reservas.
+	 *
+	 * @param entities Las reservas a guardar.
+	 * @return una lista con las reservas guardadas.
+	 */
 	@Override
-	public void flush() {
-		// TODO Auto-generated method stub
+	@Transactional
+	public <S extends Reserva> List<S> saveAll(Iterable<S> entities) {
+		List<S> listaReservasGuardadas = new ArrayList<>();
+		int contador = 0;
+
+		for (S entity : entities) {
+			if (entity.getIdReserva() == 0) {
+				entityManager.persist(entity);
+				listaReservasGuardadas.add(entity);
+			} else {
+				listaReservasGuardadas.add(entityManager.merge(entity));
+			}
+
+			// Enviar el lote actual y liberar las entidades ya escritas
+			if (++contador % tamanoLote == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+
+		entityManager.flush();
+		entityManager.clear();
 
+		return listaReservasGuardadas;
 	}
 
+	/**
+	 * Guarda un conjunto de reservas en lotes y sincroniza los cambios con la base
+	 * de datos.
+	 *
+	 * @param entities Las reservas a guardar.
+	 * @return una lista con las reservas guardadas.
+	 */
+	@Override
+	@Transactional
+	public <S extends Reserva> List<S> saveAllAndFlush(Iterable<S> entities) {
+
+		return saveAll(entities);
+	}
+
+	/**
+	 * Guarda una reserva y sincroniza los cambios con la base de datos.
+	 *
+	 * @param entity la reserva a guardar.
+	 * @return la reserva guardada.
+	 */
 	@Override
 	public <S extends Reserva> S saveAndFlush(S entity) {
-		// TODO Auto-generated method stub
-		return null;
+
+		return reservaRepository.saveAndFlush(entity);
 	}
 
+	/**
+	 * Sincroniza con la base de datos los cambios pendientes.
+	 */
 	@Override
-	public <S extends Reserva> List<S> saveAllAndFlush(Iterable<S> entities) {
-		// TODO Auto-generated method stub
-		return null;
+	public void flush() {
+
+		reservaRepository.flush();
 	}
 
+	/**
+	 * Elimina las reservas indicadas con una única sentencia DELETE.
+	 *
+	 * @param entities Las reservas a eliminar.
+	 */
 	@Override
 	public void deleteAllInBatch(Iterable<Reserva> entities) {
-		// TODO Auto-generated method stub
 
+		reservaRepository.deleteAllInBatch(entities);
+		cacheService.invalidarDTOs();
+		contadoresService.reconstruir(inventarioAsientosService::reconstruir);
+		estadisticasService.reconstruir();
 	}
 
+	/**
+	 * Elimina las reservas con los identificadores indicados con una única sentencia
+	 * DELETE.
+	 *
+	 * @param ids Los identificadores de las reservas a eliminar.
+	 */
 	@Override
 	public void deleteAllByIdInBatch(Iterable<Integer> ids) {
-		// TODO Auto-generated method stub
 
+		reservaRepository.deleteAllByIdInBatch(ids);
+		cacheService.invalidarDTOs();
+		contadoresService.reconstruir(inventarioAsientosService::reconstruir);
+		estadisticasService.reconstruir();
 	}
 
+	/**
+	 * Elimina todas las reservas con una única sentencia DELETE.
+	 */
 	@Override
 	public void deleteAllInBatch() {
-		// TODO Auto-generated method stub
 
+		reservaRepository.deleteAllInBatch();
+		cacheService.invalidarDTOs();
+		contadoresService.reconstruir(inventarioAsientosService::reconstruir);
+		estadisticasService.reconstruir();
 	}
 
+	// MÉTODOS POR IMPLEMENTAR EN UN FÚTURO:
+
 	@Override
 	public Reserva getOne(Integer id) {
 		// TODO Auto-generated method stub
@@ -408,24 +792,12 @@ public class ReservaService implements ReservaRepository {
 		return null;
 	}
 
-	@Override
-	public <S extends Reserva> List<S> saveAll(Iterable<S> entities) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
 	@Override
 	public List<Reserva> findAllById(Iterable<Integer> ids) {
 		// TODO Auto-generated method stub
 		return null;
 	}
 
-	@Override
-	public long count() {
-		// TODO Auto-generated method stub
-		return 0;
-	}
-
 	@Override
 	public void deleteAllById(Iterable<? extends Integer> ids) {
 		// TODO Auto-generated method stub
@@ -450,12 +822,6 @@ public class ReservaService implements ReservaRepository {
 		return null;
 	}
 
-	@Override
-	public Page<Reserva> findAll(org.springframework.data.domain.Pageable pageable) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
 	@Override
 	public <S extends Reserva> Optional<S> findOne(Example<S> example) {
 		// TODO Auto-generated method stub
@@ -463,7 +829,7 @@ public class ReservaService implements ReservaRepository {
 	}
 
 	@Override
-	public <S extends Reserva> Page<S> findAll(Example<S> example, org.springframework.data.domain.Pageable pageable) {
+	public <S extends Reserva> Page<S> findAll(Example<S> example, Pageable pageable) {
 		// TODO Auto-generated method stub
 		return null;
 	}
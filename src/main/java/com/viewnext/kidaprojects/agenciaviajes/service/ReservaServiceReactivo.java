@@ -0,0 +1,75 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.repository.ReservaRepositoryReactivo;
+
+import jakarta.persistence.EntityNotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servicio reactivo de solo lectura sobre las reservas.
+ *
+ * <p>
+ * La clase {@code ReservaServiceReactivo} lee las reservas, con su vuelo y su pasajero, con
+ * {@code ReservaRepositoryReactivo} (R2DBC). Las reservas se crean, modifican y eliminan solo con
+ * {@code ReservaService}, que mantiene el inventario de asientos, los contadores y las estadísticas; si se
+ * escribiera también por R2DBC esos datos en memoria dejarían de coincidir con la base de datos.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Service
+public class ReservaServiceReactivo {
+
+	@Autowired
+	private ReservaRepositoryReactivo reservaRepositoryReactivo;
+
+	/**
+	 * Obtiene todas las reservas.
+	 *
+	 * @return Las reservas ordenadas por identificador.
+	 */
+	public Flux<ReservaDTO> getAllReservas() {
+		return reservaRepositoryReactivo.findAllReservaDTO();
+	}
+
+	/**
+	 * Obtiene una reserva por su ID.
+	 *
+	 * @param id El ID de la reserva.
+	 * @return Un Mono con la reserva, que termina con {@code EntityNotFoundException} si no existe.
+	 */
+	public Mono<ReservaDTO> getReservaById(int id) {
+		return reservaRepositoryReactivo.findReservaDTOByIdReserva(id)
+				.switchIfEmpty(Mono.error(EntityNotFoundException::new));
+	}
+
+	/**
+	 * Obtiene las reservas de un vuelo.
+	 *
+	 * @param idVuelo El ID del vuelo.
+	 * @return Las reservas del vuelo ordenadas por identificador.
+	 */
+	public Flux<ReservaDTO> obtenerReservasPorVuelo(int idVuelo) {
+		return reservaRepositoryReactivo.findReservaDTOByIdVuelo(idVuelo);
+	}
+
+	/**
+	 * Obtiene las reservas de un pasajero.
+	 *
+	 * @param idPasajero El ID del pasajero.
+	 * @return Las reservas del pasajero ordenadas por identificador.
+	 */
+	public Flux<ReservaDTO> obtenerReservasPorPasajero(int idPasajero) {
+		return reservaRepositoryReactivo.findReservaDTOByIdPasajero(idPasajero);
+	}
+}
@@ -0,0 +1,164 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.util.Arrays;
+
+/**
+ * Vuelos de una ruta (origen y destino) ordenados por fecha.
+ *
+ * <p>
+ * La clase {@code RutaIndexada} guarda cada vuelo como un {@code long} con el día de salida (días desde
+ * 1970-01-01) en los 32 bits altos y el ID del vuelo en los 32 bits bajos, en un array ordenado. Así el
+ * orden del array es el de fecha y, dentro de cada fecha, el de ID, y los vuelos de un intervalo de fechas
+ * se localizan con una búsqueda binaria.
+ * </p>
+ *
+ * <p>
+ * Las instancias son inmutables: añadir o quitar un vuelo devuelve una copia, de modo que los lectores
+ * pueden recorrer una ruta sin bloqueos mientras otro hilo la sustituye.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+final class RutaIndexada {
+
+	private final long[] claves;
+
+	private RutaIndexada(long[] claves) {
+		this.claves = claves;
+	}
+
+	/**
+	 * Crea una ruta a partir de un conjunto de claves sin ordenar. El array pasa a ser propiedad de la ruta.
+	 *
+	 * @param claves Las claves de los vuelos, creadas con {@link #clave(int, int)}.
+	 * @param tamano El número de posiciones ocupadas del array.
+	 * @return La ruta con los vuelos ordenados.
+	 */
+	static RutaIndexada deClaves(long[] claves, int tamano) {
+		long[] ordenadas = tamano == claves.length ? claves : Arrays.copyOf(claves, tamano);
+
+		Arrays.sort(ordenadas);
+
+		return new RutaIndexada(ordenadas);
+	}
+
+	/**
+	 * Construye la clave de un vuelo.
+	 *
+	 * @param dia     El día de salida, en días desde 1970-01-01.
+	 * @param idVuelo El ID del vuelo.
+	 * @return La clave ordenable por día y por ID.
+	 */
+	static long clave(int dia, int idVuelo) {
+		return ((long) dia << 32) | (idVuelo & 0xFFFFFFFFL);
+	}
+
+	static int dia(long clave) {
+		return (int) (clave >> 32);
+	}
+
+	static int idVuelo(long clave) {
+		return (int) clave;
+	}
+
+	/**
+	 * Devuelve una copia de la ruta con el vuelo añadido.
+	 */
+	RutaIndexada con(long clave) {
+		int posicion = Arrays.binarySearch(claves, clave);
+
+		if (posicion >= 0) {
+			return this;
+		}
+
+		int insercion = -posicion - 1;
+		long[] copia = new long[claves.length + 1];
+
+		System.arraycopy(claves, 0, copia, 0, insercion);
+		copia[insercion] = clave;
+		System.arraycopy(claves, insercion, copia, insercion + 1, claves.length - insercion);
+
+		return new RutaIndexada(copia);
+	}
+
+	/**
+	 * Devuelve una copia de la ruta con varios vuelos añadidos. Las claves nuevas se ordenan y se mezclan
+	 * con las de la ruta en un solo recorrido, de modo que una carga masiva copia la ruta una vez y no una
+	 * vez por vuelo. El array de claves nuevas se ordena en el sitio.
+	 *
+	 * @param nuevas Las claves de los vuelos a añadir, sin ordenar.
+	 * @param tamano El número de posiciones ocupadas del array.
+	 * @return La ruta con los vuelos añadidos.
+	 */
+	RutaIndexada conTodas(long[] nuevas, int tamano) {
+		Arrays.sort(nuevas, 0, tamano);
+
+		long[] mezcla = new long[claves.length + tamano];
+		int i = 0;
+		int j = 0;
+		int n = 0;
+
+		while (i < claves.length || j < tamano) {
+			long siguiente;
+
+			if (j == tamano || (i < claves.length && claves[i] <= nuevas[j])) {
+				siguiente = claves[i++];
+			} else {
+				siguiente = nuevas[j++];
+			}
+			// Las claves repetidas, ya sea en la ruta o entre las nuevas, se guardan una sola vez
+			if (n == 0 || mezcla[n - 1] != siguiente) {
+				mezcla[n++] = siguiente;
+			}
+		}
+
+		return n == claves.length ? this : new RutaIndexada(n == mezcla.length ? mezcla : Arrays.copyOf(mezcla, n));
+	}
+
+	/**
+	 * Devuelve una copia de la ruta sin el vuelo indicado, o null si la ruta queda vacía.
+	 */
+	RutaIndexada sin(long clave) {
+		int posicion = Arrays.binarySearch(claves, clave);
+
+		if (posicion < 0) {
+			return this;
+		}
+		if (claves.length == 1) {
+			return null;
+		}
+
+		long[] copia = new long[claves.length - 1];
+
+		System.arraycopy(claves, 0, copia, 0, posicion);
+		System.arraycopy(claves, posicion + 1, copia, posicion, claves.length - posicion - 1);
+
+		return new RutaIndexada(copia);
+	}
+
+	/**
+	 * Calcula la posición del primer vuelo que sale el día indicado o después.
+	 *
+	 * @param dia El día, en días desde 1970-01-01.
+	 * @return La posición del primer vuelo, o {@link #tamano()} si no hay ninguno.
+	 */
+	int primeraPosicion(int dia) {
+		// La clave con ID 0 es la menor del día: si existe es la primera y, si no, se obtiene su punto de inserción
+		int posicion = Arrays.binarySearch(claves, clave(dia, 0));
+
+		return posicion >= 0 ? posicion : -posicion - 1;
+	}
+
+	long getClave(int posicion) {
+		return claves[posicion];
+	}
+
+	int tamano() {
+		return claves.length;
+	}
+}
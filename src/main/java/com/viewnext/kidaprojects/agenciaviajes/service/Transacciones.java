@@ -0,0 +1,46 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidades para coordinar las estructuras en memoria con las transacciones de la base de datos.
+ *
+ * <p>
+ * La clase {@code Transacciones} reúne lo que los servicios necesitan para que los índices, cachés y
+ * contadores en memoria solo reflejen las escrituras que llegan a confirmarse.
+ * </p>
+ *
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+final class Transacciones {
+
+	private Transacciones() {
+	}
+
+	/**
+	 * Aplica a los índices y cachés en memoria el cambio de una escritura. Si hay
+	 * una transacción activa se aplica cuando se confirma, para que ni los lectores
+	 * vean datos que después se deshacen ni una lectura anterior a la confirmación
+	 * vuelva a guardar los datos antiguos; si no la hay, se aplica en el momento.
+	 *
+	 * @param cambio Las actualizaciones de los índices y cachés.
+	 */
+	static void alConfirmar(Runnable cambio) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					cambio.run();
+				}
+			});
+		} else {
+			cambio.run();
+		}
+	}
+}
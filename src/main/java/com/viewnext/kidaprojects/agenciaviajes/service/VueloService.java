@@ -1,21 +1,42 @@
 package com.viewnext.kidaprojects.agenciaviajes.service;
 
 import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.viewnext.kidaprojects.agenciaviajes.dto.AsientosVueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.CiudadDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ItinerarioDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.OcupacionVueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PaginaDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VuelosDiaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.mappers.CursorMapper;
 import com.viewnext.kidaprojects.agenciaviajes.mappers.VueloMapper;
 import com.viewnext.kidaprojects.agenciaviajes.model.Vuelo;
+import com.viewnext.kidaprojects.agenciaviajes.repository.ReservaRepository;
 import com.viewnext.kidaprojects.agenciaviajes.repository.VueloRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 
 /**
  * Servicio que gestiona las operaciones relacionadas con los vuelos.
@@ -39,10 +60,55 @@ public class VueloService implements VueloRepository {
 	@Autowired
 	private VueloRepository vueloRepository;
 
+	@Autowired
+	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private InventarioAsientosService inventarioAsientosService;
+
+	@Autowired
+	private CoordinadorReservas coordinadorReservas;
+
+	@Autowired
+	private CacheService cacheService;
+
+	@Autowired
+	private IndiceRutasService indiceRutasService;
+
+	@Autowired
+	private ContadoresService contadoresService;
+
+	@Autowired
+	private EstadisticasService estadisticasService;
+
+	@Autowired
+	private PlanificadorConexionesService planificadorConexionesService;
+
+	@Autowired
+	private DiccionarioCiudadesService diccionarioCiudadesService;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int tamanoLote;
+
+	@Value("${agenciaviajes.busqueda.maximo-dias:366}")
+	private int maximoDiasBusqueda;
+
+	@Value("${agenciaviajes.conexiones.dias-escala:1}")
+	private int diasEscalaPorDefecto;
+
+	public static final int MAXIMO_ESCALAS = 2;
+	public static final int MAXIMO_ITINERARIOS = 100;
+	public static final int LIMITE_CIUDADES_MAXIMO = 20;
+
 	private final VueloMapper vueloMapper;
+	private final CursorMapper cursorMapper;
 
-	public VueloService(VueloMapper vueloMapper) {
+	public VueloService(VueloMapper vueloMapper, CursorMapper cursorMapper) {
 		this.vueloMapper = vueloMapper;
+		this.cursorMapper = cursorMapper;
 	}
 
 	// -----------------------------------------------------
@@ -68,17 +134,93 @@ public class VueloService implements VueloRepository {
 	 *
 	 * @return Lista de objetos VueloDTO que representa todos los vuelos.
 	 */
+	@Transactional(readOnly = true)
 	public List<VueloDTO> getAllVuelos() {
-		List<Vuelo> listaVuelos;
 		List<VueloDTO> listaVuelosDTO;
 
-		listaVuelos = findAll();
-
-		listaVuelosDTO = vueloMapper.toVueloDTOList(listaVuelos);
+		// Proyección directa a DTO: no se cargan entidades en el contexto de persistencia
+		listaVuelosDTO = findAllVueloDTO();
 
 		return listaVuelosDTO;
 	}
 
+	/**
+	 * Recupera todos los vuelos proyectados directamente sobre VueloDTO.
+	 *
+	 * @return una lista de VueloDTO ordenada por identificador.
+	 */
+	@Override
+	public List<VueloDTO> findAllVueloDTO() {
+
+		return vueloRepository.findAllVueloDTO();
+	}
+
+	/**
+	 * Devuelve un Stream con el ID, el origen y el destino normalizados y la
+	 * fecha de todos los vuelos.
+	 *
+	 * @return Un Stream con la clave de búsqueda de cada vuelo que debe cerrarse
+	 *         al terminar.
+	 */
+	@Override
+	public Stream<Object[]> streamClavesRuta() {
+
+		return vueloRepository.streamClavesRuta();
+	}
+
+	/**
+	 * Recupera una página de vuelos según la paginación indicada.
+	 *
+	 * @param pageable La página a recuperar.
+	 * @return la página de vuelos solicitada.
+	 */
+	@Override
+	public Page<Vuelo> findAll(Pageable pageable) {
+
+		return vueloRepository.findAll(pageable);
+	}
+
+	/**
+	 * Recupera los vuelos con un identificador mayor que el indicado, ordenados por
+	 * identificador y limitados al tamaño de la página.
+	 *
+	 * @param idVuelo  El último identificador de la página anterior.
+	 * @param pageable El tamaño de la página a recuperar.
+	 * @return una lista con los vuelos de la página solicitada.
+	 */
+	@Override
+	public List<Vuelo> findByIdVueloGreaterThanOrderByIdVueloAsc(int idVuelo, Pageable pageable) {
+
+		return vueloRepository.findByIdVueloGreaterThanOrderByIdVueloAsc(idVuelo, pageable);
+	}
+
+	/**
+	 * Obtiene una página de vuelos mediante paginación por cursor. El coste de cada
+	 * página es el mismo independientemente de su posición.
+	 *
+	 * @param cursor El cursor opaco devuelto en la página anterior, o null para
+	 *               empezar por el principio.
+	 * @param limite El número máximo de vuelos de la página.
+	 * @return Un PaginaDTO con los vuelos y el cursor de la página siguiente.
+	 * @throws IllegalArgumentException Si el cursor no es válido.
+	 */
+	public PaginaDTO<VueloDTO> getPaginaVuelos(String cursor, int limite) throws IllegalArgumentException {
+		List<Vuelo> listaVuelos;
+		String siguienteCursor = null;
+
+		int idDesde = cursor == null ? 0 : cursorMapper.toId(cursor);
+
+		// Se pide un elemento de más para saber si existe una página siguiente
+		listaVuelos = findByIdVueloGreaterThanOrderByIdVueloAsc(idDesde, PageRequest.of(0, limite + 1));
+
+		if (listaVuelos.size() > limite) {
+			listaVuelos = listaVuelos.subList(0, limite);
+			siguienteCursor = cursorMapper.toCursor(listaVuelos.get(limite - 1).getIdVuelo());
+		}
+
+		return new PaginaDTO<>(vueloMapper.toVueloDTOList(listaVuelos), siguienteCursor);
+	}
+
 	/**
 	 * Busca un vuelo por su identificador (ID).
 	 *
@@ -93,26 +235,90 @@ public class VueloService implements VueloRepository {
 	}
 
 	/**
-	 * Obtiene un vuelo por su ID.
+	 * Busca los vuelos con los identificadores indicados.
+	 *
+	 * @param ids los identificadores de los vuelos.
+	 * @return una lista con los vuelos encontrados.
+	 */
+	@Override
+	public List<Vuelo> findAllById(Iterable<Integer> ids) {
+
+		return vueloRepository.findAllById(ids);
+	}
+
+	/**
+	 * Devuelve el número de vuelos, a partir de los contadores en memoria y sin
+	 * consultar la base de datos.
+	 *
+	 * @return el número de vuelos.
+	 */
+	@Override
+	public long count() {
+
+		return contadoresService.getVuelos();
+	}
+
+	/**
+	 * Obtiene un vuelo por su ID. El VueloDTO se sirve desde la caché de DTOs y
+	 * solo se consulta la base de datos si no está en ella.
 	 *
 	 * @param id El ID del vuelo a buscar.
 	 * @return Objeto VueloDTO que representa el vuelo encontrado.
 	 * @throws EntityNotFoundException Si no se encuentra el vuelo con el ID
 	 *                                 especificado.
 	 */
+	@Transactional(readOnly = true)
 	public VueloDTO getVueloById(Integer id) throws EntityNotFoundException {
-		Optional<Vuelo> optionalVuelo = findById(id);
+		return cacheService.getVuelo(id, idVuelo -> {
+			Optional<Vuelo> optionalVuelo = findById(idVuelo);
 
-		if (optionalVuelo.isPresent()) {
-			return vueloMapper.toVueloDTO(optionalVuelo.get());
-		} else {
+			if (optionalVuelo.isPresent()) {
+				return vueloMapper.toVueloDTO(optionalVuelo.get());
+			} else {
+				throw new EntityNotFoundException();
+			}
+		});
+	}
+
+	/**
+	 * Obtiene la disponibilidad de asientos de un vuelo a partir del inventario
+	 * de asientos en memoria.
+	 *
+	 * @param id El ID del vuelo.
+	 * @return Objeto AsientosVueloDTO con la ocupación del vuelo.
+	 * @throws EntityNotFoundException Si no se encuentra el vuelo con el ID
+	 *                                 especificado.
+	 */
+	public AsientosVueloDTO getAsientosVuelo(Integer id) throws EntityNotFoundException {
+		if (!existsById(id)) {
 			throw new EntityNotFoundException();
 		}
+
+		return inventarioAsientosService.getAsientosVuelo(id);
+	}
+
+	/**
+	 * Obtiene la ocupación de un vuelo a partir de los contadores de reservas en
+	 * memoria, sin consultar la tabla de reservas.
+	 *
+	 * @param id El ID del vuelo.
+	 * @return Objeto OcupacionVueloDTO con la capacidad y las reservas del vuelo.
+	 * @throws EntityNotFoundException Si no se encuentra el vuelo con el ID
+	 *                                 especificado.
+	 */
+	public OcupacionVueloDTO getOcupacionVuelo(Integer id) throws EntityNotFoundException {
+		VueloDTO vueloDTO = getVueloById(id);
+
+		return new OcupacionVueloDTO(vueloDTO.getIdVueloDTO(), inventarioAsientosService.getCapacidad(),
+				contadoresService.getReservasVuelo(id));
 	}
 
 	/**
 	 * 
-	 * Busca vuelos por origen, destino y fecha.
+	 * Busca vuelos por origen, destino y fecha. Los vuelos se localizan en el
+	 * índice de rutas en memoria y sus datos se sirven desde la caché de DTOs, de
+	 * modo que solo se consulta la base de datos para los vuelos que no están en
+	 * ella.
 	 * 
 	 * @param origen  El origen del vuelo.
 	 * @param destino El destino del vuelo.
@@ -121,20 +327,17 @@ public class VueloService implements VueloRepository {
 	 * @throws EntityNotFoundException Si no se encuentran vuelos con los criterios
 	 *                                 especificados.
 	 */
+	@Transactional(readOnly = true)
 	public List<VueloDTO> buscarVuelosPorOrigenDestinoFecha(String origen, String destino, Date fecha)
 			throws EntityNotFoundException {
-		List<Vuelo> listaVuelosSinFiltrar;
-		List<Vuelo> listaVuelosFiltrada;
+		List<Integer> listaIds;
 		List<VueloDTO> listaVuelosDTOFiltrada;
 
-		// Obtener todos los vuelos
-		listaVuelosSinFiltrar = findAll();
-
-		// Filtrar vuelos por origen, destino y fecha
-		listaVuelosFiltrada = findVuelosByOrigenDestinoFecha(origen, destino, fecha, listaVuelosSinFiltrar);
+		// Filtrar vuelos por origen, destino y fecha en el índice de rutas
+		listaIds = indiceRutasService.buscarVuelos(origen, destino, fecha);
 
-		// Mapeamos a lista de DTOs
-		listaVuelosDTOFiltrada = vueloMapper.toVueloDTOList(listaVuelosFiltrada);
+		// Obtener los DTOs de la caché, cargando de una vez los que falten
+		listaVuelosDTOFiltrada = cacheService.getVuelos(listaIds, this::cargarVuelosDTO);
 
 		// Verificar si se encontraron coincidencias
 		if (listaVuelosDTOFiltrada.isEmpty()) {
@@ -146,24 +349,168 @@ public class VueloService implements VueloRepository {
 	}
 
 	/**
-	 * Filtra una lista de vuelos según el origen, destino y fecha especificados.
+	 * Busca los vuelos de una ruta que salen entre dos fechas, ambas incluidas, y
+	 * los agrupa por día. Todos los días se obtienen con un único recorrido del
+	 * índice de rutas y los DTOs se sirven desde la caché de DTOs.
 	 *
-	 * @param ciudadOrigen  La ciudad de origen de los vuelos a filtrar.
-	 * @param ciudadDestino La ciudad de destino de los vuelos a filtrar.
-	 * @param fecha         La fecha de los vuelos a filtrar.
-	 * @param listaVuelos   La lista de vuelos a filtrar.
-	 * @return Una lista de vuelos filtrados por origen, destino y fecha.
+	 * @param origen  El origen del vuelo.
+	 * @param destino El destino del vuelo.
+	 * @param desde   La primera fecha del intervalo.
+	 * @param hasta   La última fecha del intervalo.
+	 * @return La lista de días con vuelos, ordenada por fecha, con el número de
+	 *         vuelos y los vuelos de cada día.
+	 * @throws IllegalArgumentException Si el intervalo está invertido o supera el
+	 *                                  máximo de días permitido.
+	 * @throws EntityNotFoundException  Si no hay vuelos en el intervalo.
 	 */
-	public List<Vuelo> findVuelosByOrigenDestinoFecha(String ciudadOrigen, String ciudadDestino, Date fecha,
-			List<Vuelo> listaVuelos) {
-		List<Vuelo> listaVuelosFiltradaPorOrigenDestinoFecha;
+	public List<VuelosDiaDTO> buscarVuelosPorOrigenDestinoIntervalo(String origen, String destino, Date desde,
+			Date hasta) throws IllegalArgumentException, EntityNotFoundException {
+		Map<LocalDate, List<Integer>> idsPorDia;
+		List<VuelosDiaDTO> listaVuelosPorDia = new ArrayList<>();
+
+		validarIntervalo(desde, hasta);
+
+		// Filtrar los vuelos de la ruta en el intervalo con un único recorrido del índice
+		idsPorDia = indiceRutasService.buscarVuelosPorDia(origen, destino, desde, hasta);
+
+		// Obtener todos los DTOs de una vez y repartirlos por día
+		List<Integer> listaIds = idsPorDia.values().stream().flatMap(List::stream).toList();
+		Map<Integer, VueloDTO> vuelos = cacheService.getVuelos(listaIds, this::cargarVuelosDTO).stream()
+				.collect(Collectors.toMap(vueloDTO -> Integer.valueOf(vueloDTO.getIdVueloDTO()),
+						Function.identity()));
 
-		listaVuelosFiltradaPorOrigenDestinoFecha = listaVuelos.stream()
-				.filter(vuelo -> vuelo.getOrigen().equalsIgnoreCase(ciudadOrigen))
-				.filter(vuelo -> vuelo.getDestino().equalsIgnoreCase(ciudadDestino))
-				.filter(vuelo -> vuelo.getFecha().equals(fecha)).toList();
+		idsPorDia.forEach((dia, idsDia) -> {
+			List<VueloDTO> vuelosDia = idsDia.stream().map(vuelos::get).filter(Objects::nonNull).toList();
 
-		return listaVuelosFiltradaPorOrigenDestinoFecha;
+			if (!vuelosDia.isEmpty()) {
+				listaVuelosPorDia.add(new VuelosDiaDTO(Date.valueOf(dia), vuelosDia));
+			}
+		});
+
+		if (listaVuelosPorDia.isEmpty()) {
+			throw new EntityNotFoundException();
+		}
+
+		return listaVuelosPorDia;
+	}
+
+	/**
+	 * Busca itinerarios con escalas entre dos ciudades, para cuando no hay vuelo
+	 * directo o se quieren alternativas. Los itinerarios se calculan sobre el
+	 * índice de rutas en memoria y los DTOs se sirven desde la caché de DTOs.
+	 *
+	 * @param origen     La ciudad de origen.
+	 * @param destino    La ciudad de destino.
+	 * @param desde      La fecha mínima de salida.
+	 * @param hasta      La fecha máxima de llegada.
+	 * @param escalas    El número máximo de escalas, entre 1 y
+	 *                   {@code MAXIMO_ESCALAS}.
+	 * @param resultados El número máximo de itinerarios, entre 1 y
+	 *                   {@code MAXIMO_ITINERARIOS}.
+	 * @param diasEscala El número mínimo de días entre dos vuelos consecutivos, o
+	 *                   null para usar {@code agenciaviajes.conexiones.dias-escala}.
+	 * @return La lista de itinerarios ordenada por fecha de llegada.
+	 * @throws IllegalArgumentException Si algún parámetro no es válido.
+	 * @throws EntityNotFoundException  Si no hay ningún itinerario.
+	 */
+	public List<ItinerarioDTO> buscarConexiones(String origen, String destino, Date desde, Date hasta, int escalas,
+			int resultados, Integer diasEscala) throws IllegalArgumentException, EntityNotFoundException {
+		int diasMinimos = diasEscala == null ? diasEscalaPorDefecto : diasEscala;
+		List<ItinerarioDTO> listaItinerarios = new ArrayList<>();
+
+		validarIntervalo(desde, hasta);
+		if (escalas < 1 || escalas > MAXIMO_ESCALAS || resultados < 1 || resultados > MAXIMO_ITINERARIOS
+				|| diasMinimos < 0) {
+			throw new IllegalArgumentException();
+		}
+
+		List<List<Integer>> itinerarios = planificadorConexionesService.buscarItinerarios(origen, destino, desde,
+				hasta, escalas, resultados, diasMinimos);
+
+		// Obtener los DTOs de todos los itinerarios de una vez
+		List<Integer> listaIds = itinerarios.stream().flatMap(List::stream).distinct().toList();
+		Map<Integer, VueloDTO> vuelos = cacheService.getVuelos(listaIds, this::cargarVuelosDTO).stream()
+				.collect(Collectors.toMap(vueloDTO -> Integer.valueOf(vueloDTO.getIdVueloDTO()),
+						Function.identity()));
+
+		for (List<Integer> itinerario : itinerarios) {
+			List<VueloDTO> vuelosItinerario = itinerario.stream().map(vuelos::get).filter(Objects::nonNull).toList();
+
+			// Se descartan los itinerarios con algún vuelo eliminado durante la búsqueda
+			if (vuelosItinerario.size() == itinerario.size()) {
+				listaItinerarios.add(new ItinerarioDTO(vuelosItinerario));
+			}
+		}
+
+		if (listaItinerarios.isEmpty()) {
+			throw new EntityNotFoundException();
+		}
+
+		return listaItinerarios;
+	}
+
+	/**
+	 * Sugiere ciudades de origen o destino para el texto escrito por el usuario,
+	 * ordenadas por número de vuelos. Se sirve del diccionario de ciudades en
+	 * memoria, sin consultar la base de datos, y tolera una errata en el texto.
+	 *
+	 * @param texto  El principio del nombre de la ciudad.
+	 * @param limite El número máximo de ciudades a devolver, que se ajusta al
+	 *               rango entre 1 y {@code LIMITE_CIUDADES_MAXIMO}.
+	 * @return La lista de ciudades sugeridas.
+	 * @throws IllegalArgumentException Si el texto está vacío.
+	 * @throws EntityNotFoundException  Si no se encuentra ninguna ciudad.
+	 */
+	public List<CiudadDTO> buscarCiudades(String texto, int limite)
+			throws IllegalArgumentException, EntityNotFoundException {
+		List<CiudadDTO> listaCiudades;
+
+		if (texto == null || texto.isBlank()) {
+			throw new IllegalArgumentException();
+		}
+
+		listaCiudades = diccionarioCiudadesService.sugerirCiudades(texto,
+				Math.max(1, Math.min(limite, LIMITE_CIUDADES_MAXIMO)));
+
+		if (listaCiudades.isEmpty()) {
+			throw new EntityNotFoundException();
+		}
+
+		return listaCiudades;
+	}
+
+	/**
+	 * Devuelve el número máximo de días de una búsqueda por intervalo de fechas.
+	 *
+	 * @return El valor de {@code agenciaviajes.busqueda.maximo-dias}.
+	 */
+	public int getMaximoDiasBusqueda() {
+		return maximoDiasBusqueda;
+	}
+
+	/**
+	 * Comprueba que un intervalo de fechas no está invertido ni supera el máximo
+	 * de días configurado en {@code agenciaviajes.busqueda.maximo-dias}.
+	 *
+	 * @throws IllegalArgumentException Si el intervalo no es válido.
+	 */
+	private void validarIntervalo(Date desde, Date hasta) throws IllegalArgumentException {
+		long dias = ChronoUnit.DAYS.between(desde.toLocalDate(), hasta.toLocalDate()) + 1;
+
+		if (dias < 1 || dias > maximoDiasBusqueda) {
+			throw new IllegalArgumentException();
+		}
+	}
+
+	/**
+	 * Carga de la base de datos los vuelos indicados y los convierte a DTO.
+	 *
+	 * @param ids Los IDs de los vuelos.
+	 * @return Un mapa con el VueloDTO de cada vuelo encontrado, por ID.
+	 */
+	private Map<Integer, VueloDTO> cargarVuelosDTO(Set<? extends Integer> ids) {
+		return findAllById(List.copyOf(ids)).stream()
+				.collect(Collectors.toMap(Vuelo::getIdVuelo, vueloMapper::toVueloDTO));
 	}
 
 	// -----------------------------------------------------
@@ -195,8 +542,46 @@ public class VueloService implements VueloRepository {
 	public VueloDTO createVuelo(VueloDTOSinId vueloDTOSinId) {
 
 		Vuelo vuelo = vueloMapper.toVuelo(vueloDTOSinId);
+		VueloDTO vueloDTO = contadoresService.escribir(() -> {
+			VueloDTO guardado = vueloMapper.toVueloDTO(save(vuelo));
+
+			Transacciones.alConfirmar(() -> contadoresService.vuelosCreados(1));
+			return guardado;
+		});
+
+		Transacciones.alConfirmar(() -> {
+			indiceRutasService.indexarVuelo(vuelo.getIdVuelo(), vuelo.getOrigen(), vuelo.getDestino(),
+					vuelo.getFecha());
+			cacheService.actualizarVuelo(vueloDTO);
+		});
+
+		return vueloDTO;
+	}
+
+	/**
+	 * Crea un conjunto de vuelos en lotes. Pensado para las cargas masivas, evita
+	 * una llamada a {@code save} por cada vuelo. Los vuelos se añaden al índice de
+	 * rutas de una vez y solo cuando se confirma la transacción.
+	 *
+	 * @param listaVuelosDTOSinId Los datos de los vuelos a crear.
+	 * @return Una lista de VueloDTO con los vuelos creados.
+	 */
+	@Transactional
+	public List<VueloDTO> createVuelos(List<VueloDTOSinId> listaVuelosDTOSinId) {
+		List<Vuelo> listaVuelos;
+
+		listaVuelos = contadoresService.escribir(() -> {
+			List<Vuelo> guardados = saveAll(listaVuelosDTOSinId.stream()
+					.map(vueloMapper::toVuelo)
+					.toList());
+
+			Transacciones.alConfirmar(() -> contadoresService.vuelosCreados(guardados.size()));
+			return guardados;
+		});
+
+		Transacciones.alConfirmar(() -> indiceRutasService.indexarVuelos(listaVuelos));
 
-		return vueloMapper.toVueloDTO(save(vuelo));
+		return vueloMapper.toVueloDTOList(listaVuelos);
 	}
 
 	// -----------------------------------------------------
@@ -228,7 +613,10 @@ public class VueloService implements VueloRepository {
 	}
 
 	/**
-	 * Elimina un vuelo por su ID.
+	 * Elimina un vuelo por su ID. La base de datos borra en cascada sus reservas,
+	 * que se leen antes del borrado para restarlas de los contadores de reservas de
+	 * cada pasajero. Mientras tanto se bloquea el vuelo, para que no se le añadan
+	 * reservas entre la lectura y el borrado.
 	 *
 	 * @param id El ID del vuelo a eliminar.
 	 * @throws EntityNotFoundException Si no se encuentra el vuelo con el ID
@@ -239,7 +627,21 @@ public class VueloService implements VueloRepository {
 			throw new EntityNotFoundException();
 		}
 
-		deleteById(id);
+		coordinadorReservas.ejecutarEnVuelo(id, () -> contadoresService.escribir(() -> {
+			List<Integer> idsPasajero = reservaRepository.findReservaDTOByIdVuelo(id).stream()
+					.map(reservaDTO -> Integer.valueOf(reservaDTO.getPasajeroDTO().getIdPasajeroDTO()))
+					.toList();
+
+			deleteById(id);
+			Transacciones.alConfirmar(() -> contadoresService.vueloEliminado(id, idsPasajero));
+			return idsPasajero;
+		}));
+		Transacciones.alConfirmar(() -> {
+			inventarioAsientosService.eliminarVuelo(id);
+			indiceRutasService.eliminarVuelo(id);
+			cacheService.invalidarVuelo(id);
+			estadisticasService.vueloEliminado(id);
+		});
 	}
 
 	/**
@@ -300,48 +702,140 @@ public class VueloService implements VueloRepository {
 
 		// Mapear el vuelo actualizado a un DTO y devolverlo en la respuesta
 		vueloDTOActualizado = vueloMapper.toVueloDTO(vueloActualizado);
+		Transacciones.alConfirmar(() -> {
+			indiceRutasService.indexarVuelo(id, vueloActualizado.getOrigen(), vueloActualizado.getDestino(),
+					vueloActualizado.getFecha());
+			cacheService.actualizarVuelo(vueloDTOActualizado);
+			estadisticasService.vueloActualizado(vueloDTOActualizado);
+		});
 
 		return vueloDTOActualizado;
 	}
 
-	// MÉTODOS POR IMPLEMENTAR EN UN FÚTURO:
+	// -----------------------------------------------------
+	// ------------ MÉTODOS PARA ESCRITURA EN LOTE ---------
+	// -----------------------------------------------------
 
+	/**
+	 * Guarda un conjunto de vuelos agrupando las sentencias en lotes JDBC. Cada
+	 * {@code tamanoLote} entidades se sincroniza y se vacía el contexto de
+	 * persistencia para que la memoria utilizada no crezca con el número de vuelos.
+	 *
+	 * @param entities Los vuelos a guardar.
+	 * @return una lista con los vuelos guardados.
+	 */
 	@Override
-	public void flush() {
-		// TODO Auto-generated method stub
+	@Transactional
+	public <S extends Vuelo> List<S> saveAll(Iterable<S> entities) {
+		List<S> listaVuelosGuardados = new ArrayList<>();
+		int contador = 0;
+
+		for (S entity : entities) {
+			if (entity.getIdVuelo() == 0) {
+				entityManager.persist(entity);
+				listaVuelosGuardados.add(entity);
+			} else {
+				listaVuelosGuardados.add(entityManager.merge(entity));
+			}
+
+			// Enviar el lote actual y liberar las entidades ya escritas
+			if (++contador % tamanoLote == 0) {
+				entityManager.flush();
+				entityManager.clear();
+			}
+		}
+
+		entityManager.flush();
+		entityManager.clear();
 
+		return listaVuelosGuardados;
 	}
 
+	/**
+	 * Guarda un conjunto de vuelos en lotes y sincroniza los cambios con la base
+	 * de datos.
+	 *
+	 * @param entities Los vuelos a guardar.
+	 * @return una lista con los vuelos guardados.
+	 */
+	@Override
+	@Transactional
+	public <S extends Vuelo> List<S> saveAllAndFlush(Iterable<S> entities) {
+
+		return saveAll(entities);
+	}
+
+	/**
+	 * Guarda un vuelo y sincroniza los cambios con la base de datos.
+	 *
+	 * @param entity el vuelo a guardar.
+	 * @return el vuelo guardado.
+	 */
 	@Override
 	public <S extends Vuelo> S saveAndFlush(S entity) {
-		// TODO Auto-generated method stub
-		return null;
+
+		return vueloRepository.saveAndFlush(entity);
 	}
 
+	/**
+	 * Sincroniza con la base de datos los cambios pendientes.
+	 */
 	@Override
-	public <S extends Vuelo> List<S> saveAllAndFlush(Iterable<S> entities) {
-		// TODO Auto-generated method stub
-		return null;
+	public void flush() {
+
+		vueloRepository.flush();
 	}
 
+	/**
+	 * Elimina los vuelos indicados con una única sentencia DELETE.
+	 *
+	 * @param entities Los vuelos a eliminar.
+	 */
 	@Override
 	public void deleteAllInBatch(Iterable<Vuelo> entities) {
-		// TODO Auto-generated method stub
 
+		vueloRepository.deleteAllInBatch(entities);
+		for (Vuelo vuelo : entities) {
+			indiceRutasService.eliminarVuelo(vuelo.getIdVuelo());
+			estadisticasService.vueloEliminado(vuelo.getIdVuelo());
+		}
+		cacheService.invalidarDTOs();
+		contadoresService.reconstruir(inventarioAsientosService::reconstruir);
 	}
 
+	/**
+	 * Elimina los vuelos con los identificadores indicados con una única sentencia
+	 * DELETE.
+	 *
+	 * @param ids Los identificadores de los vuelos a eliminar.
+	 */
 	@Override
 	public void deleteAllByIdInBatch(Iterable<Integer> ids) {
-		// TODO Auto-generated method stub
 
+		vueloRepository.deleteAllByIdInBatch(ids);
+		for (Integer id : ids) {
+			indiceRutasService.eliminarVuelo(id);
+			estadisticasService.vueloEliminado(id);
+		}
+		cacheService.invalidarDTOs();
+		contadoresService.reconstruir(inventarioAsientosService::reconstruir);
 	}
 
+	/**
+	 * Elimina todos los vuelos con una única sentencia DELETE.
+	 */
 	@Override
 	public void deleteAllInBatch() {
-		// TODO Auto-generated method stub
 
+		vueloRepository.deleteAllInBatch();
+		indiceRutasService.reconstruir();
+		estadisticasService.reconstruir();
+		cacheService.invalidarDTOs();
+		contadoresService.reconstruir(inventarioAsientosService::reconstruir);
 	}
 
+	// MÉTODOS POR IMPLEMENTAR EN UN FÚTURO:
+
 	@Override
 	public Vuelo getOne(Integer id) {
 		// TODO Auto-generated method stub
@@ -372,24 +866,6 @@ public class VueloService implements VueloRepository {
 		return null;
 	}
 
-	@Override
-	public <S extends Vuelo> List<S> saveAll(Iterable<S> entities) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public List<Vuelo> findAllById(Iterable<Integer> ids) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public long count() {
-		// TODO Auto-generated method stub
-		return 0;
-	}
-
 	@Override
 	public void deleteAllById(Iterable<? extends Integer> ids) {
 		// TODO Auto-generated method stub
@@ -414,12 +890,6 @@ public class VueloService implements VueloRepository {
 		return null;
 	}
 
-	@Override
-	public Page<Vuelo> findAll(Pageable pageable) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
 	@Override
 	public <S extends Vuelo> Optional<S> findOne(Example<S> example) {
 		// TODO Auto-generated method stub
@@ -0,0 +1,80 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import java.sql.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.mappers.VueloMapper;
+import com.viewnext.kidaprojects.agenciaviajes.model.Vuelo;
+import com.viewnext.kidaprojects.agenciaviajes.repository.VueloRepositoryReactivo;
+
+import jakarta.persistence.EntityNotFoundException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servicio reactivo de solo lectura sobre los vuelos.
+ *
+ * <p>
+ * La clase {@code VueloServiceReactivo} lee los vuelos con {@code VueloRepositoryReactivo} (R2DBC), sin
+ * bloquear ningún hilo mientras espera a la base de datos. A diferencia de {@code VueloService}, no usa el
+ * índice de rutas ni las cachés en memoria: cada llamada consulta la base de datos. Las altas, bajas y
+ * modificaciones de vuelos siguen en {@code VueloService}.
+ * </p>
+ * 
+ * <p>
+ * El autor de esta clase es Víctor Colorado "Kid A".
+ * </p>
+ *
+ * @version 1.0
+ * @since 19 de septiembre de 2023
+ */
+@Service
+public class VueloServiceReactivo {
+
+	@Autowired
+	private VueloRepositoryReactivo vueloRepositoryReactivo;
+
+	@Autowired
+	private VueloMapper vueloMapper;
+
+	/**
+	 * Obtiene todos los vuelos.
+	 *
+	 * @return Los vuelos ordenados por identificador.
+	 */
+	public Flux<VueloDTO> getAllVuelos() {
+		return vueloRepositoryReactivo.findAll(Sort.by("idVuelo"))
+				.map(vueloMapper::toVueloDTO);
+	}
+
+	/**
+	 * Obtiene un vuelo por su ID.
+	 *
+	 * @param id El ID del vuelo.
+	 * @return Un Mono con el vuelo, que termina con {@code EntityNotFoundException} si no existe.
+	 */
+	public Mono<VueloDTO> getVueloById(int id) {
+		return vueloRepositoryReactivo.findById(id)
+				.map(vueloMapper::toVueloDTO)
+				.switchIfEmpty(Mono.error(EntityNotFoundException::new));
+	}
+
+	/**
+	 * Busca los vuelos por origen, destino y fecha. El origen y el destino no distinguen mayúsculas ni
+	 * espacios sobrantes, igual que en {@code VueloService}.
+	 *
+	 * @param origen  El origen del vuelo.
+	 * @param destino El destino del vuelo.
+	 * @param fecha   La fecha del vuelo.
+	 * @return Los vuelos que cumplen los criterios, ordenados por identificador.
+	 */
+	public Flux<VueloDTO> buscarVuelosPorOrigenDestinoFecha(String origen, String destino, Date fecha) {
+		return vueloRepositoryReactivo.findByOrigenNormalizadoAndDestinoNormalizadoAndFechaOrderByIdVuelo(
+				Vuelo.normalizar(origen), Vuelo.normalizar(destino), fecha.toLocalDate())
+				.map(vueloMapper::toVueloDTO);
+	}
+}
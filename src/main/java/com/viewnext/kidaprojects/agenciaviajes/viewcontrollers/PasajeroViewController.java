@@ -1,9 +1,6 @@
 package com.viewnext.kidaprojects.agenciaviajes.viewcontrollers;
 
-import java.util.List;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,10 +8,11 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
 import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.gateway.PasajeroGateway;
+import reactor.core.publisher.Mono;
 
 
 /**
@@ -24,7 +22,14 @@ import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTOSinId;
  * Este controlador se encarga de gestionar las solicitudes relacionadas con los pasajeros
  * en el sistema. Proporciona métodos para mostrar formularios, obtener y mostrar información
  * sobre pasajeros, crear nuevos pasajeros, actualizar información de pasajeros y eliminar pasajeros
- * utilizando el servicio web de pasajeros.
+ * utilizando el {@code PasajeroGateway}, que llama al servicio de pasajeros dentro del mismo proceso
+ * o a través de la API REST según la configuración.
+ * </p>
+ * 
+ * <p>
+ * Los métodos que consultan el servicio devuelven un {@code Mono} con el nombre de la vista. Spring MVC
+ * los atiende como peticiones asíncronas, por lo que el hilo de Tomcat queda libre mientras se espera la
+ * respuesta del servicio y solo se ocupa de nuevo para generar la página.
  * </p>
  * 
  * <p>
@@ -57,18 +62,18 @@ public class PasajeroViewController {
 	private static final String FALLO_CONEXION_WEBCLIENT = "Error al comunicarse con el servicio";
 	private static final String FALLO_NULL = "La respuesta del servidor es nula o no se pudo mapear al tipo esperado.";
 
-	private final WebClient pasajeroWebClient;
+	private final PasajeroGateway pasajeroGateway;
 
 
     /**
-     * Constructor que recibe un WebClient para realizar peticiones al servicio web
-     * de pasajeros.
+     * Constructor que recibe el gateway con el que se realizan las operaciones
+     * sobre pasajeros.
      *
-     * @param pasajeroWebClient El WebClient configurado para comunicarse con el
-     *                          servicio web de pasajeros.
+     * @param pasajeroGateway El gateway configurado para acceder al servicio de
+     *                        pasajeros.
      */
-    public PasajeroViewController(WebClient pasajeroWebClient) {
-        this.pasajeroWebClient = pasajeroWebClient;
+    public PasajeroViewController(PasajeroGateway pasajeroGateway) {
+        this.pasajeroGateway = pasajeroGateway;
     }
 
     /**
@@ -97,118 +102,65 @@ public class PasajeroViewController {
     }
 
     /**
-     * Obtiene una lista de pasajeros desde el servicio web y muestra la vista que
+     * Obtiene una lista de pasajeros desde el servicio y muestra la vista que
      * lista todos los pasajeros.
      *
      * @param model El modelo utilizado para pasar la lista de pasajeros a la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @GetMapping
-    public String mostrarVistaListaPasajeros(Model model) {
-        try {
-            // Realiza una solicitud GET al servicio web para obtener una lista de pasajeros
-            ResponseEntity<List<PasajeroDTO>> response = pasajeroWebClient.get()
-            		.retrieve()
-                    .toEntityList(PasajeroDTO.class)
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                model.addAttribute("pasajeros", response.getBody());
-                return "vistaMostrarPasajeros";
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL);
-                return VISTA_ERROR;
-            }
-        } catch (WebClientResponseException e) {
-            // En caso de un error al comunicarse con el servicio web, agrega un mensaje de
-            // error al modelo y retorna una vista de error
-            model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-            return VISTA_ERROR;
-        }
+    public Mono<String> mostrarVistaListaPasajeros(Model model) {
+        // Obtiene la lista de pasajeros a través del gateway
+        return pasajeroGateway.getAllPasajeros()
+                .map(pasajeros -> {
+                    model.addAttribute("pasajeros", pasajeros);
+                    return "vistaMostrarPasajeros";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
     /**
-     * Obtiene un pasajero por su ID desde el servicio web y muestra la vista de un
+     * Obtiene un pasajero por su ID desde el servicio y muestra la vista de un
      * pasajero por su ID.
      *
      * @param id    El ID del pasajero a mostrar.
      * @param model El modelo utilizado para pasar el pasajero a la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @GetMapping("/id")
-    public String mostrarVistaPasajeroById(@RequestParam(name = "id") String id, Model model) {
-        try {
-            // Realiza una solicitud GET al servicio web para obtener los detalles del
-            // pasajero por su ID
-            ResponseEntity<PasajeroDTO> response = pasajeroWebClient.get()
-            		.uri("/{id}", id)
-            		.retrieve()
-                    .toEntity(PasajeroDTO.class)
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                // Agrega el objeto PasajeroDTO al modelo para que esté disponible en la vista
-                model.addAttribute("pasajero", response.getBody());
-                return "vistaMostrarPasajeroById"; // Retorna el nombre de la vista de detalles del pasajero
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL); // Agrega un mensaje de error al modelo
-                return VISTA_ERROR; // Retorna la vista de error en caso de una respuesta nula
-            }
-
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                model.addAttribute(MENSAJE, PASAJERO_NOT_FOUND);
-                return VISTA_NOT_FOUND;
-            } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                model.addAttribute(MENSAJE, PASAJERO_BAD_REQUEST);
-                return VISTA_BAD_REQUEST;
-            } else {
-                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-                return VISTA_ERROR;
-            }
-        }
+    public Mono<String> mostrarVistaPasajeroById(@RequestParam(name = "id") String id, Model model) {
+        // Obtiene los detalles del pasajero por su ID a través del gateway
+        return pasajeroGateway.getPasajeroById(id)
+                .map(pasajero -> {
+                    // Agrega el objeto PasajeroDTO al modelo para que esté disponible en la vista
+                    model.addAttribute("pasajero", pasajero);
+                    return "vistaMostrarPasajeroById"; // Retorna el nombre de la vista de detalles del pasajero
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
     /**
-     * Crea un nuevo pasajero utilizando el servicio web de pasajeros.
+     * Crea un nuevo pasajero utilizando el servicio de pasajeros.
      *
      * @param pasajeroDTOSinId El objeto PasajeroDTO con los datos del nuevo
      *                         pasajero a crear.
      * @param model            El modelo utilizado para pasar mensajes y objetos a
      *                         la vista.
-     * @return El nombre de la vista a mostrar después de la creación.
+     * @return Un Mono con el nombre de la vista a mostrar después de la creación.
      */
     @PostMapping("/crear/")
-    public String createPasajero(@ModelAttribute("pasajeroDTOSinId") PasajeroDTOSinId pasajeroDTOSinId, Model model) {
-        try {
-            // Realiza una solicitud POST al servicio web para crear un nuevo pasajero
-            ResponseEntity<PasajeroDTO> response = pasajeroWebClient.post()
-            		.contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(pasajeroDTOSinId)
-                    .retrieve()
-                    .toEntity(PasajeroDTO.class)
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                model.addAttribute(MENSAJE, PASAJERO_CREATED);
-                model.addAttribute("nuevoPasajero", response.getBody());
-                return "vistaCrearPasajero";
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL);
-                return VISTA_ERROR;
-            }
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                model.addAttribute(MENSAJE, PASAJERO_NOT_FOUND);
-                return VISTA_NOT_FOUND;
-            } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                model.addAttribute(MENSAJE, PASAJERO_BAD_REQUEST);
-                return VISTA_BAD_REQUEST;
-            } else {
-                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-                return VISTA_ERROR;
-            }
-        }
+    public Mono<String> createPasajero(@ModelAttribute("pasajeroDTOSinId") PasajeroDTOSinId pasajeroDTOSinId, Model model) {
+        // Crea el nuevo pasajero a través del gateway
+        return pasajeroGateway.createPasajero(pasajeroDTOSinId)
+                .map(nuevoPasajero -> {
+                    model.addAttribute(MENSAJE, PASAJERO_CREATED);
+                    model.addAttribute("nuevoPasajero", nuevoPasajero);
+                    return "vistaCrearPasajero";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
     /**
@@ -217,36 +169,16 @@ public class PasajeroViewController {
      * @param id    El ID del pasajero a eliminar.
      * @param model El modelo utilizado para pasar mensajes de éxito o error a la
      *              vista.
-     * @return El nombre de la vista a mostrar después de la eliminación.
+     * @return Un Mono con el nombre de la vista a mostrar después de la eliminación.
      */
     @PostMapping("/borrar/")
-    public String borrarPasajero(@RequestParam("idPasajeroDTO") String idPasajeroDTO, Model model) {
-        try {
-            ResponseEntity<Void> response = pasajeroWebClient.delete()
-            		.uri("/{id}", idPasajeroDTO)
-            		.retrieve()
-                    .toBodilessEntity()
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                model.addAttribute(MENSAJE, PASAJERO_DELETED);
-                return "VistaBorrar";
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL);
-                return VISTA_ERROR; // Maneja otros errores posibles
-            }
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                model.addAttribute(MENSAJE, PASAJERO_NOT_FOUND);
-                return VISTA_NOT_FOUND;
-            } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                model.addAttribute(MENSAJE, PASAJERO_BAD_REQUEST);
-                return VISTA_BAD_REQUEST;
-            } else {
-                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-                return VISTA_ERROR;
-            }
-        }
+    public Mono<String> borrarPasajero(@RequestParam("idPasajeroDTO") String idPasajeroDTO, Model model) {
+        return pasajeroGateway.deletePasajeroById(idPasajeroDTO)
+                .then(Mono.fromSupplier(() -> {
+                    model.addAttribute(MENSAJE, PASAJERO_DELETED);
+                    return "VistaBorrar";
+                }))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
     /**
@@ -256,39 +188,42 @@ public class PasajeroViewController {
      *                    pasajero.
      * @param model       El modelo utilizado para pasar mensajes de éxito o error a
      *                    la vista.
-     * @return El nombre de la vista a mostrar después de la actualización.
+     * @return Un Mono con el nombre de la vista a mostrar después de la actualización.
      */
     @PostMapping("/actualizar/")
-    public String actualizarPasajero(@ModelAttribute("pasajeroDTO") PasajeroDTO pasajeroDTO, Model model) {
-        try {
-            // Realiza una solicitud PUT al servicio web para actualizar los datos de un
-            // pasajero
-            ResponseEntity<PasajeroDTO> response = pasajeroWebClient.put()
-            		.contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(pasajeroDTO)
-                    .retrieve()
-                    .toEntity(PasajeroDTO.class)
-                    .block();
+    public Mono<String> actualizarPasajero(@ModelAttribute("pasajeroDTO") PasajeroDTO pasajeroDTO, Model model) {
+        // Actualiza los datos del pasajero a través del gateway
+        return pasajeroGateway.updatePasajero(pasajeroDTO)
+                .map(pasajeroActualizado -> {
+                    model.addAttribute(MENSAJE, PASAJERO_UPDATED);
+                    model.addAttribute("pasajero", pasajeroActualizado);
+                    return "vistaActualizarPasajero";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
+    }
+
+    /**
+     * Agrega al modelo el mensaje de respuesta vacía y devuelve la vista de error.
+     */
+    private static String mostrarFalloNull(Model model) {
+        model.addAttribute(MENSAJE, FALLO_NULL);
+        return VISTA_ERROR;
+    }
 
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                model.addAttribute(MENSAJE, PASAJERO_UPDATED);
-                model.addAttribute("pasajero", response.getBody());
-                return "vistaActualizarPasajero";
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL);
-                return VISTA_ERROR;
-            }
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                model.addAttribute(MENSAJE, PASAJERO_NOT_FOUND);
-                return VISTA_NOT_FOUND;
-            } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                model.addAttribute(MENSAJE, PASAJERO_BAD_REQUEST);
-                return VISTA_BAD_REQUEST;
-            } else {
-                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-                return VISTA_ERROR;
-            }
+    /**
+     * Agrega al modelo el mensaje correspondiente a un error del servicio y devuelve la vista a mostrar.
+     */
+    private static String mostrarError(ResponseStatusException e, Model model) {
+        if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+            model.addAttribute(MENSAJE, PASAJERO_NOT_FOUND);
+            return VISTA_NOT_FOUND;
+        } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
+            model.addAttribute(MENSAJE, PASAJERO_BAD_REQUEST);
+            return VISTA_BAD_REQUEST;
+        } else {
+            model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
+            return VISTA_ERROR;
         }
     }
-}
\ No newline at end of file
+}
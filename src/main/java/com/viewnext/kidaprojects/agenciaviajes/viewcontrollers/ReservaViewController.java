@@ -1,9 +1,9 @@
 package com.viewnext.kidaprojects.agenciaviajes.viewcontrollers;
 
+import java.time.Duration;
 import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,12 +11,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
-import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
+import org.springframework.web.server.ResponseStatusException;
 import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaSoloIdDTO;
-import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.gateway.PasajeroGateway;
+import com.viewnext.kidaprojects.agenciaviajes.gateway.ReservaGateway;
+import com.viewnext.kidaprojects.agenciaviajes.gateway.VueloGateway;
+import reactor.core.publisher.Mono;
 
 
 /**
@@ -26,7 +27,21 @@ import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
  * Este controlador se encarga de gestionar las solicitudes relacionadas con las operaciones de reserva
  * en el sistema. Proporciona métodos para mostrar formularios, obtener y mostrar información
  * sobre reservas, crear nuevas reservas, actualizar información de reservas y eliminar reservas
- * utilizando el servicio web de reservas.
+ * utilizando el {@code ReservaGateway}, que llama al servicio de reservas dentro del mismo proceso
+ * o a través de la API REST según la configuración.
+ * </p>
+ * 
+ * <p>
+ * Los métodos que consultan el servicio devuelven un {@code Mono} con el nombre de la vista. Spring MVC
+ * los atiende como peticiones asíncronas, por lo que el hilo de Tomcat queda libre mientras se espera la
+ * respuesta del servicio y solo se ocupa de nuevo para generar la página.
+ * </p>
+ * 
+ * <p>
+ * Los formularios que necesitan datos de varios servicios lanzan todas las llamadas a la vez y esperan
+ * a que terminen en un único punto, con un tiempo máximo para el conjunto
+ * ({@code agenciaviajes.vistas.tiempo-maximo}); así la página tarda lo que la llamada más lenta y no la
+ * suma de todas.
  * </p>
  * 
  * <p>
@@ -53,27 +68,33 @@ public class ReservaViewController {
     
     private static final String RESERVA_NOT_FOUND = "Reserva no encontrada";
     private static final String RESERVA_BAD_REQUEST = "Se esperaban unos argumentos distintos en la solictud";
+    private static final String ASIENTO_OCUPADO = "El asiento indicado ya está ocupado, elija otro";
     private static final String RESERVA_CREATED = "La reserva, con los datos que se muestran a continuación, fue creada exitosamente";
     private static final String RESERVA_UPDATED = "Datos de la Reserva actualizados con éxito";
     private static final String RESERVA_DELETED = "Reserva eliminada con éxito";
     private static final String FALLO_CONEXION_WEBCLIENT = "Error al comunicarse con el servicio";
+    private static final String FALLO_TIEMPO_MAXIMO = "El servicio ha tardado demasiado en responder";
     private static final String FALLO_NULL = "La respuesta del servidor es nula o no se pudo mapear al tipo esperado.";
 
-	private final WebClient reservaWebClient;
-	private final WebClient vueloWebClient;
-	private final WebClient pasajeroWebClient;
+	private final ReservaGateway reservaGateway;
+	private final VueloGateway vueloGateway;
+	private final PasajeroGateway pasajeroGateway;
+	private final Duration tiempoMaximo;
 
 	 /**
-     * Constructor que recibe WebClients para realizar peticiones al servicio web de vuelos, pasajeros y reservas.
+     * Constructor que recibe los gateways con los que se realizan las operaciones sobre vuelos, pasajeros y reservas.
      *
-     * @param vueloWebClient    El WebClient configurado para comunicarse con el servicio web de vuelos.
-     * @param pasajeroWebClient El WebClient configurado para comunicarse con el servicio web de pasajeros.
-     * @param reservaWebClient  El WebClient configurado para comunicarse con el servicio web de reservas.
+     * @param vueloGateway    El gateway configurado para acceder al servicio de vuelos.
+     * @param pasajeroGateway El gateway configurado para acceder al servicio de pasajeros.
+     * @param reservaGateway  El gateway configurado para acceder al servicio de reservas.
+     * @param tiempoMaximo    El tiempo máximo para obtener todos los datos de un formulario.
      */
-    public ReservaViewController(WebClient vueloWebClient, WebClient pasajeroWebClient, WebClient reservaWebClient) {
-        this.vueloWebClient = vueloWebClient;
-        this.pasajeroWebClient = pasajeroWebClient;
-        this.reservaWebClient = reservaWebClient;
+    public ReservaViewController(VueloGateway vueloGateway, PasajeroGateway pasajeroGateway, ReservaGateway reservaGateway,
+    		@Value("${agenciaviajes.vistas.tiempo-maximo:5s}") Duration tiempoMaximo) {
+        this.vueloGateway = vueloGateway;
+        this.pasajeroGateway = pasajeroGateway;
+        this.reservaGateway = reservaGateway;
+        this.tiempoMaximo = tiempoMaximo;
     }
 
     /**
@@ -91,27 +112,21 @@ public class ReservaViewController {
      * Muestra la vista del formulario para crear una nueva reserva.
      *
      * @param model El modelo utilizado para pasar listas de vuelos y pasajeros a la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @GetMapping("/formcrear")
-    public String mostrarFormularioCrearReserva(Model model) {
-        // Obtener lista de vuelos y pasajeros desde los servicios web
-        List<VueloDTO> listaVuelos = vueloWebClient.get()
-                .retrieve()
-                .bodyToFlux(VueloDTO.class)
-                .collectList()
-                .block();
-
-        List<PasajeroDTO> listaPasajeros = pasajeroWebClient.get()
-                .retrieve()
-                .bodyToFlux(PasajeroDTO.class)
-                .collectList()
-                .block();
-
-        model.addAttribute("listaVuelos", listaVuelos);
-        model.addAttribute("listaPasajeros", listaPasajeros);
-
-        return "formularioCrearReserva";
+    public Mono<String> mostrarFormularioCrearReserva(Model model) {
+        // Obtener a la vez la lista de vuelos y la de pasajeros
+        return Mono.zip(vueloGateway.getAllVuelos(), pasajeroGateway.getAllPasajeros())
+                .timeout(tiempoMaximo, tiempoMaximoSuperado())
+                .map(datos -> {
+                    model.addAttribute("listaVuelos", datos.getT1());
+                    model.addAttribute("listaPasajeros", datos.getT2());
+
+                    return "formularioCrearReserva";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
     /**
@@ -119,387 +134,259 @@ public class ReservaViewController {
      *
      * @param idReservaDTO El ID de la reserva a actualizar.
      * @param model        El modelo utilizado para pasar listas de vuelos y pasajeros, y los datos de la reserva a la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @GetMapping("/formActualizar")
-    public String mostrarFormularioActualizarReserva(@RequestParam("idReservaDTO") String idReservaDTO, Model model) {
-        // Obtener datos de la reserva desde el servicio web de reservas
-        ReservaDTO reserva = reservaWebClient.get()
-                .uri("/{id}", idReservaDTO)
-                .retrieve()
-                .bodyToMono(ReservaDTO.class)
-                .block();
-
-        // Obtener listas de vuelos y pasajeros desde los servicios web
-        List<VueloDTO> listaVuelos = vueloWebClient.get()
-                .retrieve()
-                .bodyToFlux(VueloDTO.class)
-                .collectList()
-                .block();
-
-        List<PasajeroDTO> listaPasajeros = pasajeroWebClient.get()
-                .retrieve()
-                .bodyToFlux(PasajeroDTO.class)
-                .collectList()
-                .block();
-
-        // Agregar listas al modelo
-        model.addAttribute("listaVuelos", listaVuelos);
-        model.addAttribute("listaPasajeros", listaPasajeros);
-
-        // Verificar que los datos de la reserva no sean nulos antes de agregarlos al modelo
-        if (reserva.getIdReservaDTO() != null
-                && reserva.getAsiento() != null
-                && reserva.getVueloDTO().getIdVueloDTO() != null
-                && reserva.getPasajeroDTO().getIdPasajeroDTO() != null) {
-        	
-            model.addAttribute("idReservaDTO", reserva.getIdReservaDTO());
-            model.addAttribute("asiento", reserva.getAsiento());
-            model.addAttribute("idVueloDTO", reserva.getVueloDTO().getIdVueloDTO());
-            model.addAttribute("idPasajeroDTO", reserva.getPasajeroDTO().getIdPasajeroDTO());
-        } else {
-            model.addAttribute(MENSAJE, FALLO_NULL);
-            return VISTA_ERROR;
-        }
-
-        return "formularioActualizarReserva";
+    public Mono<String> mostrarFormularioActualizarReserva(@RequestParam("idReservaDTO") String idReservaDTO, Model model) {
+        // Obtener a la vez los datos de la reserva y las listas de vuelos y pasajeros
+        return Mono.zip(reservaGateway.getReservaById(idReservaDTO), vueloGateway.getAllVuelos(),
+                pasajeroGateway.getAllPasajeros())
+                .timeout(tiempoMaximo, tiempoMaximoSuperado())
+                .map(datos -> {
+                    ReservaDTO reserva = datos.getT1();
+
+                    // Agregar listas al modelo
+                    model.addAttribute("listaVuelos", datos.getT2());
+                    model.addAttribute("listaPasajeros", datos.getT3());
+
+                    // Verificar que los datos de la reserva no sean nulos antes de agregarlos al modelo
+                    if (reserva.getIdReservaDTO() != null
+                            && reserva.getAsiento() != null
+                            && reserva.getVueloDTO().getIdVueloDTO() != null
+                            && reserva.getPasajeroDTO().getIdPasajeroDTO() != null) {
+
+                        model.addAttribute("idReservaDTO", reserva.getIdReservaDTO());
+                        model.addAttribute("asiento", reserva.getAsiento());
+                        model.addAttribute("idVueloDTO", reserva.getVueloDTO().getIdVueloDTO());
+                        model.addAttribute("idPasajeroDTO", reserva.getPasajeroDTO().getIdPasajeroDTO());
+                    } else {
+                        return mostrarFalloNull(model);
+                    }
+
+                    return "formularioActualizarReserva";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
     /**
-     * Muestra la vista que lista todas las reservas obtenidas desde el servicio web.
+     * Muestra la vista que lista todas las reservas obtenidas desde el servicio.
      *
      * @param model El modelo utilizado para pasar la lista de reservas a la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @GetMapping
-    public String mostrarVistaListaReservas(Model model) {
-        try {
-            // Realiza una solicitud GET al servicio web para obtener una lista de reservas
-            ResponseEntity<List<ReservaDTO>> response = reservaWebClient.get()
-                    .retrieve()
-                    .toEntityList(ReservaDTO.class)
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                // Agrega la lista de reservas al modelo para que esté disponible en la vista
-                model.addAttribute("reservas", response.getBody());
-                return "vistaMostrarReservas";
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL);
-                return VISTA_ERROR;
-            }
-        } catch (WebClientResponseException e) {
-            // En caso de una excepción al comunicarse con el servicio web, agrega un mensaje de error al modelo y retorna una vista de error
-            model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-            return VISTA_ERROR;
-        }
+    public Mono<String> mostrarVistaListaReservas(Model model) {
+        // Obtiene la lista de reservas a través del gateway
+        return reservaGateway.getAllReservas()
+                .map(reservas -> {
+                    // Agrega la lista de reservas al modelo para que esté disponible en la vista
+                    model.addAttribute("reservas", reservas);
+                    return "vistaMostrarReservas";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
 
     /**
-     * Muestra la vista de una reserva por su ID obtenida desde el servicio web.
+     * Muestra la vista de una reserva por su ID obtenida desde el servicio.
      *
      * @param id    El ID de la reserva a mostrar.
      * @param model El modelo utilizado para pasar la reserva a la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @GetMapping("/id")
-    public String mostrarVistaReservaById(@RequestParam(name = "id") String id, Model model) {
-        try {
-            // Realiza una solicitud GET al servicio web para obtener los detalles de la reserva por su ID
-            ResponseEntity<ReservaDTO> response = reservaWebClient.get()
-                    .uri("/{id}", id)
-                    .retrieve()
-                    .toEntity(ReservaDTO.class)
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                // Agrega el objeto ReservaDTO al modelo para que esté disponible en la vista
-                model.addAttribute("reserva", response.getBody());
-                return "vistaMostrarReservaById"; // Retorna el nombre de la vista de detalles de la reserva
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL); // Agrega un mensaje de error al modelo
-                return VISTA_ERROR; // Retorna la vista de error en caso de una respuesta nula
-            }
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                model.addAttribute(MENSAJE, RESERVA_NOT_FOUND);
-                return VISTA_NOT_FOUND;
-            } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                model.addAttribute(MENSAJE, RESERVA_BAD_REQUEST);
-                return VISTA_BAD_REQUEST;
-            } else {
-                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-                return VISTA_ERROR;
-            }
-        }
+    public Mono<String> mostrarVistaReservaById(@RequestParam(name = "id") String id, Model model) {
+        // Obtiene los detalles de la reserva por su ID a través del gateway
+        return reservaGateway.getReservaById(id)
+                .map(reserva -> {
+                    // Agrega el objeto ReservaDTO al modelo para que esté disponible en la vista
+                    model.addAttribute("reserva", reserva);
+                    return "vistaMostrarReservaById"; // Retorna el nombre de la vista de detalles de la reserva
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
 
     /**
-     * Muestra la vista de la lista de reservas por ID de reserva obtenida desde el servicio web.
+     * Muestra la vista de la lista de reservas por ID de reserva obtenida desde el servicio.
      *
      * @param id    El ID de reserva para filtrar las reservas.
      * @param model El modelo utilizado para pasar la lista de reservas a la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @GetMapping("/mostrar/idreserva/{id}")
-    public String mostrarVistaListaReservasPorIdReserva(@PathVariable String id, Model model) {
-        try {
-            ResponseEntity<List<ReservaDTO>> response = reservaWebClient.get()
-                    .uri("/mostrar/idreserva/{id}", id)
-                    .retrieve()
-                    .toEntityList(ReservaDTO.class)
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                model.addAttribute("reservas", response.getBody());
-                return "vistaMostrarReservas";
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL);
-                return VISTA_ERROR;
-            }
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                model.addAttribute(MENSAJE, RESERVA_NOT_FOUND);
-                return VISTA_NOT_FOUND;
-            } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                model.addAttribute(MENSAJE, RESERVA_BAD_REQUEST);
-                return VISTA_BAD_REQUEST;
-            } else {
-                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-                return VISTA_ERROR;
-            }
-        }
+    public Mono<String> mostrarVistaListaReservasPorIdReserva(@PathVariable String id, Model model) {
+        return reservaGateway.getReservaById(id)
+                .map(reserva -> {
+                    model.addAttribute("reservas", List.of(reserva));
+                    return "vistaMostrarReservas";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
 
     /**
-     * Muestra la vista de la lista de reservas por ID de pasajero obtenida desde el servicio web.
+     * Muestra la vista de la lista de reservas por ID de pasajero obtenida desde el servicio.
      *
      * @param id    El ID de pasajero para filtrar las reservas.
      * @param model El modelo utilizado para pasar la lista de reservas a la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @GetMapping("/mostrar/idpasajero/{id}")
-    public String mostrarVistaListaReservasPorIdPasajero(@PathVariable String id, Model model) {
-        try {
-            ResponseEntity<List<ReservaDTO>> response = reservaWebClient.get()
-                    .uri("/mostrar/idpasajero/{id}", id)
-                    .retrieve()
-                    .toEntityList(ReservaDTO.class)
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-            	if (!response.getBody().isEmpty()) {
-                    model.addAttribute("reservas", response.getBody());
-                    return "vistaMostrarReservas";
-                } else {
-                    // Si la respuesta está vacía, puedes manejarlo como una respuesta NOT FOUND
-                    model.addAttribute(MENSAJE, RESERVA_NOT_FOUND);
-                    return VISTA_NOT_FOUND;
-                }
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL);
-                return VISTA_ERROR;
-            }
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                model.addAttribute(MENSAJE, RESERVA_NOT_FOUND);
-                return VISTA_NOT_FOUND;
-            } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                model.addAttribute(MENSAJE, RESERVA_BAD_REQUEST);
-                return VISTA_BAD_REQUEST;
-            } else {
-                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-                return VISTA_ERROR;
-            }
-        }
+    public Mono<String> mostrarVistaListaReservasPorIdPasajero(@PathVariable String id, Model model) {
+        return reservaGateway.getReservasPorPasajero(id)
+                .map(reservas -> mostrarListaReservas(reservas, model))
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
 
 
     /**
-     * Muestra la vista de la lista de reservas por ID de vuelo obtenida desde el servicio web.
+     * Muestra la vista de la lista de reservas por ID de vuelo obtenida desde el servicio.
      *
      * @param id    El ID de vuelo para filtrar las reservas.
      * @param model El modelo utilizado para pasar la lista de reservas a la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @GetMapping("/mostrar/idvuelo/{id}")
-    public String mostrarVistaListaReservasPorIdVuelo(@PathVariable String id, Model model) {
-        try {
-            ResponseEntity<List<ReservaDTO>> response = reservaWebClient.get()
-                    .uri("/mostrar/idvuelo/{id}", id)
-                    .retrieve()
-                    .toEntityList(ReservaDTO.class)
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-            	if (!response.getBody().isEmpty()) {
-                    model.addAttribute("reservas", response.getBody());
-                    return "vistaMostrarReservas";
-                } else {
-                    // Si la respuesta está vacía, puedes manejarlo como una respuesta NOT FOUND
-                    model.addAttribute(MENSAJE, RESERVA_NOT_FOUND);
-                    return VISTA_NOT_FOUND;
-                }
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL);
-                return VISTA_ERROR;
-            }
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                model.addAttribute(MENSAJE, RESERVA_NOT_FOUND);
-                return VISTA_NOT_FOUND;
-            } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                model.addAttribute(MENSAJE, RESERVA_BAD_REQUEST);
-                return VISTA_BAD_REQUEST;
-            } else {
-                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-                return VISTA_ERROR;
-            }
-        }
+    public Mono<String> mostrarVistaListaReservasPorIdVuelo(@PathVariable String id, Model model) {
+        return reservaGateway.getReservasPorVuelo(id)
+                .map(reservas -> mostrarListaReservas(reservas, model))
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
 
 
     /**
-     * Crea una reserva utilizando el servicio web y muestra la vista correspondiente.
+     * Crea una reserva utilizando el servicio de reservas y muestra la vista correspondiente.
      *
      * @param idVueloDTO    El ID del vuelo asociado a la reserva.
      * @param idPasajeroDTO El ID del pasajero asociado a la reserva.
      * @param asiento       El asiento reservado.
      * @param model         El modelo utilizado para mostrar mensajes y datos en la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @PostMapping("/crear/")
-    public String createReserva(@RequestParam("idVueloDTO") String idVueloDTO,
+    public Mono<String> createReserva(@RequestParam("idVueloDTO") String idVueloDTO,
                                 @RequestParam("idPasajeroDTO") String idPasajeroDTO,
                                 @RequestParam("asiento") String asiento, Model model) {
-        try {
-            ReservaSoloIdDTO reservaSoloIdDTO = new ReservaSoloIdDTO(idVueloDTO, idPasajeroDTO, asiento);
-
-            ResponseEntity<ReservaDTO> response = reservaWebClient.post()
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(reservaSoloIdDTO)
-                    .retrieve()
-                    .toEntity(ReservaDTO.class)
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                model.addAttribute(MENSAJE, RESERVA_CREATED);
-                model.addAttribute("reservaDTO", response.getBody());
-                return "VistaCrearReserva";
-            } else {
-            	 model.addAttribute(MENSAJE, FALLO_NULL);
-                 return VISTA_ERROR;
-            }
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                model.addAttribute(MENSAJE, RESERVA_NOT_FOUND);
-                return VISTA_NOT_FOUND;
-            } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                model.addAttribute(MENSAJE, RESERVA_BAD_REQUEST);
-                return VISTA_BAD_REQUEST;
-            } else {
-                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-                return VISTA_ERROR;
-            }
-        }
+        ReservaSoloIdDTO reservaSoloIdDTO = new ReservaSoloIdDTO(idVueloDTO, idPasajeroDTO, asiento);
+
+        return reservaGateway.createReserva(reservaSoloIdDTO)
+                .map(nuevaReserva -> {
+                    model.addAttribute(MENSAJE, RESERVA_CREATED);
+                    model.addAttribute("reservaDTO", nuevaReserva);
+                    return "VistaCrearReserva";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
     /**
-     * Borra una reserva utilizando el servicio web y muestra la vista correspondiente.
+     * Borra una reserva utilizando el servicio de reservas y muestra la vista correspondiente.
      *
      * @param idReservaDTO El ID de la reserva que se va a borrar.
      * @param model        El modelo utilizado para mostrar mensajes en la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
 	@PostMapping("/borrar/")
-	public String borrarReserva(@RequestParam("idReservaDTO") String idReservaDTO, Model model) {
-		try {
-
-			ResponseEntity<Void> response = reservaWebClient.delete()
-					.uri("/{id}", idReservaDTO)
-					.retrieve()
-					.toBodilessEntity()
-					.block();
-
-			if (response != null && response.getStatusCode().is2xxSuccessful()) {
-				model.addAttribute(MENSAJE, RESERVA_DELETED);
-
-				return "VistaBorrar";
-			} else {
-				model.addAttribute(MENSAJE, FALLO_NULL);
-				return VISTA_ERROR; // Maneja otros errores posibles
-			}
-	
-		 } catch (WebClientResponseException e) {
-	            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-	                model.addAttribute(MENSAJE, RESERVA_NOT_FOUND);
-	                return VISTA_NOT_FOUND;
-	            } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-	                model.addAttribute(MENSAJE, RESERVA_BAD_REQUEST);
-	                return VISTA_BAD_REQUEST;
-	            } else {
-	                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-	                return VISTA_ERROR;
-	            }
-	        }
+	public Mono<String> borrarReserva(@RequestParam("idReservaDTO") String idReservaDTO, Model model) {
+		return reservaGateway.deleteReservaById(idReservaDTO)
+				.then(Mono.fromSupplier(() -> {
+					model.addAttribute(MENSAJE, RESERVA_DELETED);
+
+					return "VistaBorrar";
+				}))
+				.onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
 	}
 
 	/**
-	 * Actualiza una reserva utilizando el servicio web y muestra la vista correspondiente.
+	 * Actualiza una reserva utilizando el servicio de reservas y muestra la vista correspondiente.
 	 *
 	 * @param idReservaDTO  El ID de la reserva que se va a actualizar.
 	 * @param idVueloDTO    El nuevo ID del vuelo para la reserva.
 	 * @param idPasajeroDTO El nuevo ID del pasajero para la reserva.
 	 * @param asiento       El nuevo asiento para la reserva.
 	 * @param model         El modelo utilizado para mostrar mensajes en la vista.
-	 * @return El nombre de la vista a mostrar.
+	 * @return Un Mono con el nombre de la vista a mostrar.
 	 */
 	@PostMapping("/actualizar/")
-	public String updateReserva(@RequestParam("idReservaDTO") String idReservaDTO,
+	public Mono<String> updateReserva(@RequestParam("idReservaDTO") String idReservaDTO,
 	                            @RequestParam("idVueloDTO") String idVueloDTO,
 	                            @RequestParam("idPasajeroDTO") String idPasajeroDTO,
 	                            @RequestParam("asiento") String asiento, Model model) {
-	    try {
-	        // Crear un objeto ReservaSoloIdDTO con los nuevos datos
-	        ReservaSoloIdDTO reservaSoloIdDTO = new ReservaSoloIdDTO(idVueloDTO, idPasajeroDTO, asiento);
-
-	        // Realizar una solicitud PUT al servicio web para actualizar la reserva
-	        ResponseEntity<ReservaDTO> response = reservaWebClient.put()
-	                .uri("/{idReservaDTO}", idReservaDTO)
-	                .contentType(MediaType.APPLICATION_JSON)
-	                .bodyValue(reservaSoloIdDTO)
-	                .retrieve()
-	                .toEntity(ReservaDTO.class)
-	                .block();
-	        
-	        if (response != null && response.getStatusCode().is2xxSuccessful()) {
-	            model.addAttribute(MENSAJE, RESERVA_UPDATED);
-	            model.addAttribute("reservaDTO", response.getBody());
-	            
-	            return "VistaActualizarReserva";
-	        } else {
-	        	model.addAttribute(MENSAJE, FALLO_NULL);
-                return VISTA_ERROR;
-	        }
-	    } catch (WebClientResponseException e) {
-	        // Manejar diferentes tipos de errores de respuesta del servicio web
-	        if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-	            model.addAttribute(MENSAJE, RESERVA_NOT_FOUND);
-	            return VISTA_NOT_FOUND;
-	        } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-	            model.addAttribute(MENSAJE, RESERVA_BAD_REQUEST);
-	            return VISTA_BAD_REQUEST;
-	        } else {
-	            model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-	            return VISTA_ERROR;
-	        }
-	    }
+	    // Crear un objeto ReservaSoloIdDTO con los nuevos datos
+	    ReservaSoloIdDTO reservaSoloIdDTO = new ReservaSoloIdDTO(idVueloDTO, idPasajeroDTO, asiento);
+
+	    // Actualizar la reserva a través del gateway
+	    return reservaGateway.updateReserva(idReservaDTO, reservaSoloIdDTO)
+	            .map(reservaActualizada -> {
+	                model.addAttribute(MENSAJE, RESERVA_UPDATED);
+	                model.addAttribute("reservaDTO", reservaActualizada);
+
+	                return "VistaActualizarReserva";
+	            })
+	            .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+	            .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
+	}
+
+	/**
+	 * Agrega una lista de reservas al modelo y devuelve la vista que la muestra, o la vista de no
+	 * encontrado si la lista está vacía.
+	 */
+	private static String mostrarListaReservas(List<ReservaDTO> reservas, Model model) {
+		if (!reservas.isEmpty()) {
+			model.addAttribute("reservas", reservas);
+			return "vistaMostrarReservas";
+		} else {
+			// Si la respuesta está vacía, se maneja como una respuesta NOT FOUND
+			model.addAttribute(MENSAJE, RESERVA_NOT_FOUND);
+			return VISTA_NOT_FOUND;
+		}
+	}
+
+	/**
+	 * Devuelve el error con el que termina una carga que supera el tiempo máximo. Al producirse se cancelan
+	 * las llamadas que siguen en curso.
+	 */
+	private static <T> Mono<T> tiempoMaximoSuperado() {
+		return Mono.error(() -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT));
 	}
 
+	/**
+	 * Agrega al modelo el mensaje de respuesta vacía y devuelve la vista de error.
+	 */
+	private static String mostrarFalloNull(Model model) {
+		model.addAttribute(MENSAJE, FALLO_NULL);
+		return VISTA_ERROR;
+	}
 
+	/**
+	 * Agrega al modelo el mensaje correspondiente a un error de los servicios y devuelve la vista a mostrar.
+	 */
+	private static String mostrarError(ResponseStatusException e, Model model) {
+		if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+			model.addAttribute(MENSAJE, RESERVA_NOT_FOUND);
+			return VISTA_NOT_FOUND;
+		} else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
+			model.addAttribute(MENSAJE, RESERVA_BAD_REQUEST);
+			return VISTA_BAD_REQUEST;
+		} else if (e.getStatusCode() == HttpStatus.CONFLICT) {
+			// El asiento se ha ocupado entre que se mostró el formulario y se envió
+			model.addAttribute(MENSAJE, ASIENTO_OCUPADO);
+			return VISTA_BAD_REQUEST;
+		} else if (e.getStatusCode() == HttpStatus.GATEWAY_TIMEOUT) {
+			model.addAttribute(MENSAJE, FALLO_TIEMPO_MAXIMO);
+			return VISTA_ERROR;
+		} else {
+			model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
+			return VISTA_ERROR;
+		}
+	}
 }
@@ -3,8 +3,6 @@ package com.viewnext.kidaprojects.agenciaviajes.viewcontrollers;
 
 
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,12 +10,12 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
 import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
 import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.gateway.VueloGateway;
+import reactor.core.publisher.Mono;
 
-import java.util.List;
 
 /**
  * Clase que representa un controlador para las vistas relacionadas con las operaciones de vuelo.
@@ -26,7 +24,14 @@ import java.util.List;
  * Este controlador se encarga de gestionar las solicitudes relacionadas con las operaciones de vuelo
  * en el sistema. Proporciona métodos para mostrar formularios, obtener y mostrar información
  * sobre vuelos, crear nuevos vuelos, actualizar información de vuelos y eliminar vuelos
- * utilizando el servicio web de vuelos.
+ * utilizando el {@code VueloGateway}, que llama al servicio de vuelos dentro del mismo proceso o a
+ * través de la API REST según la configuración.
+ * </p>
+ * 
+ * <p>
+ * Los métodos que consultan el servicio devuelven un {@code Mono} con el nombre de la vista. Spring MVC
+ * los atiende como peticiones asíncronas, por lo que el hilo de Tomcat queda libre mientras se espera la
+ * respuesta del servicio y solo se ocupa de nuevo para generar la página.
  * </p>
  * 
  * <p>
@@ -58,17 +63,17 @@ public class VueloViewController {
     private static final String FALLO_CONEXION_WEBCLIENT = "Error al comunicarse con el servicio";
     private static final String FALLO_NULL = "La respuesta del servidor es nula o no se pudo mapear al tipo esperado.";
 
-    private final WebClient vueloWebClient;
+    private final VueloGateway vueloGateway;
 
     /**
-     * Constructor que recibe un WebClient para realizar peticiones al servicio web
-     * de vuelos.
+     * Constructor que recibe el gateway con el que se realizan las operaciones
+     * sobre vuelos.
      *
-     * @param vueloWebClient El WebClient configurado para comunicarse con el
-     *                       servicio web de vuelos.
+     * @param vueloGateway El gateway configurado para acceder al servicio de
+     *                     vuelos.
      */
-    public VueloViewController(WebClient vueloWebClient) {
-        this.vueloWebClient = vueloWebClient;
+    public VueloViewController(VueloGateway vueloGateway) {
+        this.vueloGateway = vueloGateway;
     }
     
    
@@ -99,72 +104,42 @@ public class VueloViewController {
     }
 
     /**
-     * Obtiene una lista de vuelos desde el servicio web y muestra la vista que
+     * Obtiene una lista de vuelos desde el servicio y muestra la vista que
      * lista todos los vuelos.
      *
      * @param model El modelo utilizado para pasar la lista de vuelos a la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @GetMapping
-    public String mostrarVistaListaVuelos(Model model) {
-        try {
-            // Realiza una solicitud GET al servicio web para obtener una lista de vuelos
-           ResponseEntity<List<VueloDTO>>  response = vueloWebClient.get()
-                    .retrieve()
-                    .toEntityList(VueloDTO.class)
-                    .block();
-
-           if (response != null && response.getStatusCode().is2xxSuccessful()) {
-               
-               model.addAttribute("vuelos", response.getBody());
-               return "vistaMostrarVuelos";
-           } else {
-               model.addAttribute(MENSAJE, FALLO_NULL);
-               return VISTA_ERROR;
-           }
-        } catch (WebClientResponseException e) {
-            model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-            return VISTA_ERROR;
-        }
+    public Mono<String> mostrarVistaListaVuelos(Model model) {
+        // Obtiene la lista de vuelos a través del gateway
+        return vueloGateway.getAllVuelos()
+                .map(vuelos -> {
+                    model.addAttribute("vuelos", vuelos);
+                    return "vistaMostrarVuelos";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
     /**
-     * Obtiene un vuelo por su ID desde el servicio web y muestra la vista de un vuelo por su ID.
+     * Obtiene un vuelo por su ID desde el servicio y muestra la vista de un vuelo por su ID.
      *
      * @param id    El ID del vuelo a mostrar.
      * @param model El modelo utilizado para pasar el vuelo a la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @GetMapping("/id")
-    public String mostrarVistaVueloById(@RequestParam(name = "id") String id, Model model) {
-        try {
-            // Realiza una solicitud GET al servicio web para obtener los detalles del vuelo por su ID
-            ResponseEntity<VueloDTO> response = vueloWebClient.get()
-                    .uri("/{id}", id)
-                    .retrieve()
-                    .toEntity(VueloDTO.class)
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                // Agrega el objeto VueloDTO al modelo para que esté disponible en la vista
-                model.addAttribute("vuelo", response.getBody());
-                return "vistaMostrarVueloById"; // Retorna el nombre de la vista de detalles del vuelo
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL); // Agrega un mensaje de error al modelo
-                return VISTA_ERROR; // Retorna la vista de error en caso de una respuesta nula
-            }
-        } catch (WebClientResponseException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                model.addAttribute(MENSAJE, VUELO_NOT_FOUND);
-                return VISTA_NOT_FOUND;
-            } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-                model.addAttribute(MENSAJE, VUELO_BAD_REQUEST);
-                return VISTA_BAD_REQUEST;
-            } else {
-                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-                return VISTA_ERROR;
-            }
-        }
+    public Mono<String> mostrarVistaVueloById(@RequestParam(name = "id") String id, Model model) {
+        // Obtiene los detalles del vuelo por su ID a través del gateway
+        return vueloGateway.getVueloById(id)
+                .map(vuelo -> {
+                    // Agrega el objeto VueloDTO al modelo para que esté disponible en la vista
+                    model.addAttribute("vuelo", vuelo);
+                    return "vistaMostrarVueloById"; // Retorna el nombre de la vista de detalles del vuelo
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
 
@@ -176,82 +151,40 @@ public class VueloViewController {
      * @param destino El destino de los vuelos a buscar.
      * @param fecha La fecha de los vuelos a buscar.
      * @param model El modelo utilizado para pasar la lista de vuelos filtrados a la vista.
-     * @return El nombre de la vista a mostrar.
+     * @return Un Mono con el nombre de la vista a mostrar.
      */
     @GetMapping("/params")
-	public String mostrarVistaVueloByOrigenDestinoFecha(@RequestParam String origen, @RequestParam String destino, @RequestParam String fecha, Model model) {
-	    try {
-	        // Realizar la solicitud utilizando WebClient y los parámetros de origen, destino y fecha
-	    	String url = "/buscar?origen={origen}&destino={destino}&fecha={fecha}";
-	    	 ResponseEntity<List<VueloDTO>> response = vueloWebClient.get()
-	                 .uri(url, origen, destino, fecha)
-	                 .retrieve()
-	                 .toEntityList(VueloDTO.class)
-	                 .block();
-
-	         if (response != null && response.getStatusCode() .is2xxSuccessful()){
-	             // Obtener la lista de VueloDTO de la respuesta
-	             model.addAttribute("vuelos", response.getBody());
-
-	             return "vistaMostrarVuelos"; // Redireccionar a la vista adecuada
-	         } else {
-	        	 model.addAttribute(MENSAJE, FALLO_NULL);
-	             
-	             return VISTA_ERROR; // Manejar otros errores posibles
-	         }
-	    } catch (WebClientResponseException e) {
-            if(e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                model.addAttribute(MENSAJE, VUELO_NOT_FOUND);
-                return VISTA_NOT_FOUND;
-            } else if(e.getStatusCode() == HttpStatus.BAD_REQUEST){
-                model.addAttribute(MENSAJE, VUELO_BAD_REQUEST);
-                return VISTA_BAD_REQUEST;
-            } else {
-                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-                return VISTA_ERROR;
-            }
-        }
+	public Mono<String> mostrarVistaVueloByOrigenDestinoFecha(@RequestParam String origen, @RequestParam String destino, @RequestParam String fecha, Model model) {
+        // Realizar la búsqueda a través del gateway con los parámetros de origen, destino y fecha
+        return vueloGateway.buscarVuelosPorOrigenDestinoFecha(origen, destino, fecha)
+                .map(vuelos -> {
+                    // Agregar la lista de VueloDTO al modelo
+                    model.addAttribute("vuelos", vuelos);
+                    return "vistaMostrarVuelos";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
 	 }
 
    
 
     /**
-     * Crea un nuevo vuelo utilizando el servicio web de vuelos.
+     * Crea un nuevo vuelo utilizando el servicio de vuelos.
      *
      * @param vueloDTO El objeto VueloDTO con los datos del nuevo vuelo a crear.
      * @param model    El modelo utilizado para pasar mensajes y objetos a la vista.
-     * @return El nombre de la vista a mostrar después de la creación.
+     * @return Un Mono con el nombre de la vista a mostrar después de la creación.
      */
     @PostMapping("/crear/")
-    public String createVuelo(@ModelAttribute("vueloDTOSinId") VueloDTOSinId vueloDTOSinId, Model model) {
-        try {
-            ResponseEntity<VueloDTO> response = vueloWebClient.post()
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(vueloDTOSinId)
-                    .retrieve()
-                    .toEntity(VueloDTO.class)
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                model.addAttribute(MENSAJE, VUELO_CREATED);
-                model.addAttribute("nuevoVuelo", response.getBody());
-                return "VistaCrearVuelo"; // Redireccionar a la lista de vuelos
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL);
-                return VISTA_ERROR;
-            }
-        } catch (WebClientResponseException e) {
-            if(e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                model.addAttribute(MENSAJE, VUELO_NOT_FOUND);
-                return VISTA_NOT_FOUND;
-            } else if(e.getStatusCode() == HttpStatus.BAD_REQUEST){
-                model.addAttribute(MENSAJE, VUELO_BAD_REQUEST);
-                return VISTA_BAD_REQUEST;
-            } else {
-                model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-                return VISTA_ERROR;
-            }
-        }
+    public Mono<String> createVuelo(@ModelAttribute("vueloDTOSinId") VueloDTOSinId vueloDTOSinId, Model model) {
+        return vueloGateway.createVuelo(vueloDTOSinId)
+                .map(nuevoVuelo -> {
+                    model.addAttribute(MENSAJE, VUELO_CREATED);
+                    model.addAttribute("nuevoVuelo", nuevoVuelo);
+                    return "VistaCrearVuelo";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
     /**
@@ -259,37 +192,16 @@ public class VueloViewController {
      *
      * @param vueloDTO El objeto VueloDTO con el ID del vuelo a eliminar.
      * @param model    El modelo utilizado para pasar mensajes de éxito o error a la vista.
-     * @return El nombre de la vista a mostrar después de la eliminación.
+     * @return Un Mono con el nombre de la vista a mostrar después de la eliminación.
      */
     @PostMapping("/borrar/")
-    public String borrarVuelo(@RequestParam("idVueloDTO") String idVueloDTO, Model model) {
-        try {
-            
-        	ResponseEntity<Void> response = vueloWebClient.delete()
-                    .uri("/{id}", idVueloDTO)
-                    .retrieve()
-                    .toBodilessEntity()
-                    .block();
-
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                model.addAttribute(MENSAJE, VUELO_DELETED);
-                return "VistaBorrar";
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL);
-                return VISTA_ERROR; // Maneja otros errores posibles
-            }
-        } catch (WebClientResponseException e) {
-			if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-				model.addAttribute(MENSAJE, VUELO_NOT_FOUND);
-				return VISTA_NOT_FOUND;
-			} else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-				model.addAttribute(MENSAJE, VUELO_BAD_REQUEST);
-				return VISTA_BAD_REQUEST;
-			} else {
-				model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-				return VISTA_ERROR;
-			}
-		}
+    public Mono<String> borrarVuelo(@RequestParam("idVueloDTO") String idVueloDTO, Model model) {
+        return vueloGateway.deleteVueloById(idVueloDTO)
+                .then(Mono.fromSupplier(() -> {
+                    model.addAttribute(MENSAJE, VUELO_DELETED);
+                    return "VistaBorrar";
+                }))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
     }
 
     /**
@@ -297,43 +209,42 @@ public class VueloViewController {
      *
      * @param vueloDTO El objeto VueloDTO con los datos actualizados del vuelo.
      * @param model    El modelo utilizado para pasar mensajes de éxito o error a la vista.
-     * @return El nombre de la vista a mostrar después de la actualización.
+     * @return Un Mono con el nombre de la vista a mostrar después de la actualización.
      */
     @PostMapping("/actualizar/")
-    public String actualizarVuelo(@ModelAttribute VueloDTO vueloDTO, Model model) {
-        try {
-            
+    public Mono<String> actualizarVuelo(@ModelAttribute VueloDTO vueloDTO, Model model) {
+        return vueloGateway.updateVuelo(vueloDTO)
+                .map(vueloActualizado -> {
+                    model.addAttribute(MENSAJE, VUELO_UPDATED);
+                    // Asigna el objeto VueloDTO actualizado al modelo
+                    model.addAttribute("vuelo", vueloActualizado);
+                    return "VistaActualizarVuelo";
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> mostrarFalloNull(model)))
+                .onErrorResume(ResponseStatusException.class, e -> Mono.just(mostrarError(e, model)));
+    }
 
-            ResponseEntity<VueloDTO> response = vueloWebClient.put()
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(vueloDTO)
-                    .retrieve()
-                    .toEntity(VueloDTO.class)
-                    .block();
+    /**
+     * Agrega al modelo el mensaje de respuesta vacía y devuelve la vista de error.
+     */
+    private static String mostrarFalloNull(Model model) {
+        model.addAttribute(MENSAJE, FALLO_NULL);
+        return VISTA_ERROR;
+    }
 
-            if (response != null && response.getStatusCode().is2xxSuccessful()) {
-                model.addAttribute(MENSAJE, VUELO_UPDATED);
-                // Asigna el objeto VueloDTO actualizado al modelo
-                model.addAttribute("vuelo", response.getBody());
-                
-                
-                return "VistaActualizarVuelo";
-            } else {
-                model.addAttribute(MENSAJE, FALLO_NULL);
-                return VISTA_ERROR;
-            }
-        } catch (WebClientResponseException e) {
-			if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-				model.addAttribute(MENSAJE, VUELO_NOT_FOUND);
-				return VISTA_NOT_FOUND;
-			} else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
-				model.addAttribute(MENSAJE, VUELO_BAD_REQUEST);
-				return VISTA_BAD_REQUEST;
-			} else {
-				model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
-				return VISTA_ERROR;
-			}
-		}
+    /**
+     * Agrega al modelo el mensaje correspondiente a un error del servicio y devuelve la vista a mostrar.
+     */
+    private static String mostrarError(ResponseStatusException e, Model model) {
+        if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+            model.addAttribute(MENSAJE, VUELO_NOT_FOUND);
+            return VISTA_NOT_FOUND;
+        } else if (e.getStatusCode() == HttpStatus.BAD_REQUEST) {
+            model.addAttribute(MENSAJE, VUELO_BAD_REQUEST);
+            return VISTA_BAD_REQUEST;
+        } else {
+            model.addAttribute(MENSAJE, FALLO_CONEXION_WEBCLIENT);
+            return VISTA_ERROR;
+        }
     }
 }
-
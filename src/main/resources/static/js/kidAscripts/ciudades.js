@@ -0,0 +1,38 @@
+/**
+ * Autocompletado de ciudades para los campos con el atributo list="ciudades".
+ * Las sugerencias se piden a /api/vuelo/ciudades mientras se escribe.
+ */
+
+	var listaCiudades = document.getElementById("ciudades");
+	var temporizadorCiudades;
+
+	document.querySelectorAll('input[list="ciudades"]').forEach(function(campo) {
+		campo.setAttribute("autocomplete", "off");
+		campo.addEventListener("input", function() {
+			var texto = this.value.trim();
+
+			clearTimeout(temporizadorCiudades);
+			if (texto.length === 0) {
+				return;
+			}
+
+			// Espera a que el usuario deje de escribir para no lanzar una petición por tecla
+			temporizadorCiudades = setTimeout(function() {
+				fetch("/api/vuelo/ciudades?limite=8&q=" + encodeURIComponent(texto))
+						.then(function(respuesta) {
+							return respuesta.ok ? respuesta.json() : [];
+						})
+						.then(function(ciudades) {
+							listaCiudades.innerHTML = "";
+							ciudades.forEach(function(ciudad) {
+								var opcion = document.createElement("option");
+								opcion.value = ciudad.nombre;
+								listaCiudades.appendChild(opcion);
+							});
+						})
+						.catch(function() {
+							listaCiudades.innerHTML = "";
+						});
+			}, 150);
+		});
+	});
@@ -0,0 +1,234 @@
+package com.viewnext.kidaprojects.agenciaviajes.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.model.Vuelo;
+import com.viewnext.kidaprojects.agenciaviajes.service.VueloService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Comprueba con dos bases de datos H2, una como principal y otra como réplica, que las lecturas van a la
+ * réplica salvo durante la ventana que sigue a una escritura del mismo cliente, también cuando las vistas
+ * las ejecutan en el planificador de los gateways locales.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=" + DataSourceConfigTests.URL_PRIMARIA,
+		"agenciaviajes.datasource.replica.url=" + DataSourceConfigTests.URL_REPLICA,
+		"agenciaviajes.datasource.replica.ventana-escritura=500ms",
+		// Las pruebas de las vistas comprueban el modelo, no la página generada
+		"spring.thymeleaf.enabled=false" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DataSourceConfigTests {
+
+	static final String URL_PRIMARIA = "jdbc:h2:mem:primaria;MODE=MySQL;DB_CLOSE_DELAY=-1";
+	static final String URL_REPLICA = "jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+	private static final String PRIMARIA = "PRIMARIA";
+	private static final String REPLICA = "REPLICA";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private FiltroLecturasReplica filtroLecturasReplica;
+
+	@Autowired
+	private VueloService vueloService;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void abrirSesion() {
+		EnrutadorDataSource.abrirSesion(0, null);
+	}
+
+	@AfterEach
+	void cerrarSesion() {
+		EnrutadorDataSource.cerrarSesion();
+	}
+
+	private String baseDeDatos() {
+		return (String) entityManager.createNativeQuery("SELECT DATABASE()").getSingleResult();
+	}
+
+	private String leer() {
+		TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+
+		transaccion.setReadOnly(true);
+		return transaccion.execute(estado -> baseDeDatos());
+	}
+
+	private String escribir() {
+		return new TransactionTemplate(transactionManager).execute(estado -> baseDeDatos());
+	}
+
+	/**
+	 * Copia en la réplica el contenido actual de la principal. Como la réplica no recibe las escrituras
+	 * posteriores, a partir de aquí se comporta como una réplica retrasada.
+	 */
+	private void replicar() throws Exception {
+		Path copia = Files.createTempFile("primaria", ".sql");
+
+		try (Connection primaria = DriverManager.getConnection(URL_PRIMARIA, "sa", "");
+				Connection replica = DriverManager.getConnection(URL_REPLICA, "sa", "");
+				Statement sentenciaPrimaria = primaria.createStatement();
+				Statement sentenciaReplica = replica.createStatement()) {
+			sentenciaPrimaria.execute("SCRIPT TO '" + copia + "'");
+			sentenciaReplica.execute("DROP ALL OBJECTS");
+			sentenciaReplica.execute("RUNSCRIPT FROM '" + copia + "'");
+		} finally {
+			Files.delete(copia);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<String> idsPasajerosListados(Cookie... cookies) throws Exception {
+		MockHttpServletRequestBuilder peticion = get("/pasajero/");
+
+		if (cookies.length > 0) {
+			peticion.cookie(cookies);
+		}
+
+		MvcResult lista = mockMvc.perform(peticion).andExpect(request().asyncStarted()).andReturn();
+		List<PasajeroDTO> pasajeros = (List<PasajeroDTO>) mockMvc.perform(asyncDispatch(lista)).andReturn()
+				.getModelAndView().getModel().get("pasajeros");
+
+		return pasajeros.stream().map(PasajeroDTO::getIdPasajeroDTO).toList();
+	}
+
+	@Test
+	void lasLecturasVanALaReplicaYLasEscriturasALaPrincipal() {
+		assertEquals(REPLICA, leer());
+		assertEquals(PRIMARIA, escribir());
+	}
+
+	@Test
+	void trasUnaEscrituraSeLeeDeLaPrincipalHastaQuePasaLaVentana() throws InterruptedException {
+		escribir();
+
+		assertEquals(PRIMARIA, leer());
+
+		Thread.sleep(700);
+		assertEquals(REPLICA, leer());
+	}
+
+	@Test
+	void lasEscriturasDeUnClienteNoDesvianLasLecturasDeOtro() {
+		escribir();
+
+		EnrutadorDataSource.abrirSesion(0, null);
+		assertEquals(REPLICA, leer());
+	}
+
+	@Test
+	void lasCargasDeCachesEIndicesSeLeenDeLaPrincipal() {
+		assertEquals(PRIMARIA, EnrutadorDataSource.leerDePrimaria(this::leer));
+		assertEquals(REPLICA, leer());
+	}
+
+	@Test
+	void laCookieLlevaLaUltimaEscrituraALasPeticionesSiguientes() throws Exception {
+		AtomicReference<String> leida = new AtomicReference<>();
+		EnrutadorDataSource.cerrarSesion();
+
+		MockHttpServletResponse respuestaEscritura = new MockHttpServletResponse();
+		filtroLecturasReplica.doFilter(new MockHttpServletRequest(), respuestaEscritura,
+				(request, response) -> escribir());
+		Cookie cookie = respuestaEscritura.getCookie(FiltroLecturasReplica.COOKIE);
+		assertNotNull(cookie);
+
+		MockHttpServletRequest peticionConCookie = new MockHttpServletRequest();
+		peticionConCookie.setCookies(cookie);
+		filtroLecturasReplica.doFilter(peticionConCookie, new MockHttpServletResponse(),
+				(request, response) -> leida.set(leer()));
+		assertEquals(PRIMARIA, leida.get());
+
+		filtroLecturasReplica.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+				(request, response) -> leida.set(leer()));
+		assertEquals(REPLICA, leida.get());
+	}
+
+	@Test
+	void lasVistasLeenLasEscriturasDelClienteAunqueSeEjecutenEnElPlanificador() throws Exception {
+		EnrutadorDataSource.cerrarSesion();
+		replicar();
+
+		MvcResult alta = mockMvc.perform(post("/pasajero/crear/")
+				.param("nombre", "Nora")
+				.param("apellido", "Vidal")
+				.param("fechaNacimiento", "1988-02-03"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		PasajeroDTO pasajero = (PasajeroDTO) mockMvc.perform(asyncDispatch(alta)).andReturn()
+				.getModelAndView().getModel().get("nuevoPasajero");
+
+		// La escritura se hace en un hilo del planificador y llega a la cookie de la respuesta
+		Cookie cookie = alta.getResponse().getCookie(FiltroLecturasReplica.COOKIE);
+		assertNotNull(cookie);
+
+		// Con la cookie se lee de la principal; otro cliente lee de la réplica, que aún no tiene el pasajero
+		assertTrue(idsPasajerosListados(cookie).contains(pasajero.getIdPasajeroDTO()));
+		assertFalse(idsPasajerosListados().contains(pasajero.getIdPasajeroDTO()));
+	}
+
+	@Test
+	void lasLecturasNoLlenanLaCacheDeSegundoNivel() {
+		int id = Integer.parseInt(vueloService.createVuelos(
+				List.of(new VueloDTOSinId("Lugo", "Oslo", Date.valueOf("2024-09-01")))).get(0).getIdVueloDTO());
+		entityManagerFactory.getCache().evictAll();
+
+		EnrutadorDataSource.leerDePrimaria(() -> {
+			TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+
+			transaccion.setReadOnly(true);
+			assertNotNull(transaccion.execute(estado -> entityManager.find(Vuelo.class, id)));
+		});
+
+		assertFalse(entityManagerFactory.getCache().contains(Vuelo.class, id));
+	}
+}
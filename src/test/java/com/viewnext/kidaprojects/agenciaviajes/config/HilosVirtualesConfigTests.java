@@ -0,0 +1,50 @@
+package com.viewnext.kidaprojects.agenciaviajes.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+/**
+ * Comprueba que el modo de hilos virtuales solo se activa con su propiedad y que, con una versión de Java
+ * que no los tiene, el arranque falla indicando la versión necesaria.
+ */
+class HilosVirtualesConfigTests {
+
+	private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+			.withUserConfiguration(HilosVirtualesConfig.class);
+
+	@Test
+	void sinLaPropiedadNoSeCreaElEjecutor() {
+		contexto.run(ctx -> {
+			assertNull(ctx.getStartupFailure());
+			assertTrue(ctx.getBeansOfType(ExecutorService.class).isEmpty());
+		});
+	}
+
+	@Test
+	void conLaPropiedadNecesitaJava21() {
+		contexto.withPropertyValues("agenciaviajes.hilos-virtuales=true").run(ctx -> {
+			if (Runtime.version().feature() >= 21) {
+				assertNull(ctx.getStartupFailure());
+				assertEquals(1, ctx.getBeansOfType(ExecutorService.class).size());
+				return;
+			}
+
+			// El error de la configuración llega envuelto en las excepciones de creación del bean
+			Throwable error = ctx.getStartupFailure();
+			while (error != null && !(error instanceof IllegalStateException)) {
+				error = error.getCause();
+			}
+
+			assertNotNull(error);
+			assertEquals("agenciaviajes.hilos-virtuales necesita Java 21 o superior (versión actual: "
+					+ Runtime.version() + ")", error.getMessage());
+		});
+	}
+}
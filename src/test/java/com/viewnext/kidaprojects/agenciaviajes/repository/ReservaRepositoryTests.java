@@ -0,0 +1,109 @@
+package com.viewnext.kidaprojects.agenciaviajes.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.model.Pasajero;
+import com.viewnext.kidaprojects.agenciaviajes.model.Reserva;
+import com.viewnext.kidaprojects.agenciaviajes.model.Vuelo;
+
+/**
+ * Comprueba que los listados de reservas se resuelven con una única sentencia SQL, sin consultas
+ * adicionales por cada vuelo o pasajero (N+1). Cuenta las sentencias con las estadísticas de Hibernate.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ReservaRepositoryTests {
+
+	@Autowired
+	private ReservaRepository reservaRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Statistics estadisticas;
+
+	private int idVuelo;
+	private int idPasajero;
+
+	@BeforeEach
+	void crearReservas() {
+		Vuelo[] vuelos = new Vuelo[3];
+		Pasajero[] pasajeros = new Pasajero[3];
+
+		for (int i = 0; i < 3; i++) {
+			vuelos[i] = entityManager.persist(new Vuelo("Madrid", "Destino " + i, Date.valueOf("2024-01-0" + (i + 1))));
+			pasajeros[i] = entityManager.persist(new Pasajero("Nombre " + i, "Apellido " + i,
+					Date.valueOf("1990-01-01")));
+		}
+
+		// Cada vuelo tiene una reserva de cada pasajero
+		for (int i = 0; i < 3; i++) {
+			for (int j = 0; j < 3; j++) {
+				entityManager.persist(new Reserva("A" + (j + 1), vuelos[i], pasajeros[j]));
+			}
+		}
+
+		idVuelo = vuelos[0].getIdVuelo();
+		idPasajero = pasajeros[0].getIdPasajero();
+
+		// Ni el contexto de persistencia ni la caché de segundo nivel deben ocultar consultas
+		entityManager.flush();
+		entityManager.clear();
+		entityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+
+		estadisticas = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+				.getStatistics();
+		estadisticas.clear();
+	}
+
+	@Test
+	void getAllReservasEjecutaUnaSentencia() {
+		List<ReservaDTO> reservas = reservaRepository.findAllReservaDTO();
+
+		assertEquals(9, reservas.size());
+		assertEquals(1, estadisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	void obtenerReservasPorVueloEjecutaUnaSentencia() {
+		List<ReservaDTO> reservas = reservaRepository.findReservaDTOByIdVuelo(idVuelo);
+
+		assertEquals(3, reservas.size());
+		assertEquals(1, estadisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	void obtenerReservasPorPasajeroEjecutaUnaSentencia() {
+		List<ReservaDTO> reservas = reservaRepository.findReservaDTOByIdPasajero(idPasajero);
+
+		assertEquals(3, reservas.size());
+		assertEquals(1, estadisticas.getPrepareStatementCount());
+	}
+
+	@Test
+	void findAllCargaVueloYPasajeroEnLaMismaSentencia() {
+		List<Reserva> reservas = reservaRepository.findAll();
+
+		// Recorrer las asociaciones no debe lanzar más consultas
+		for (Reserva reserva : reservas) {
+			reserva.getVuelo().getOrigen();
+			reserva.getPasajero().getNombre();
+		}
+
+		assertEquals(9, reservas.size());
+		assertEquals(1, estadisticas.getPrepareStatementCount());
+	}
+}
@@ -0,0 +1,134 @@
+package com.viewnext.kidaprojects.agenciaviajes.restcontrollers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.service.PasajeroService;
+import com.viewnext.kidaprojects.agenciaviajes.service.ReservaService;
+import com.viewnext.kidaprojects.agenciaviajes.service.VueloService;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+/**
+ * Comprueba las consultas de {@code /api/v2/}, que leen con R2DBC los datos escritos con JPA en la misma
+ * base de datos H2 en memoria, incluidas las respuestas de ID inexistente y de ID no válido.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class RestControllersV2Tests {
+
+	private static final int ID_INEXISTENTE = Integer.MAX_VALUE;
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private VueloService vueloService;
+
+	@Autowired
+	private PasajeroService pasajeroService;
+
+	@Autowired
+	private ReservaService reservaService;
+
+	private String idVuelo;
+	private String idPasajero;
+	private String idReserva;
+
+	@BeforeEach
+	void crearReserva() {
+		idVuelo = vueloService.createVuelos(List.of(
+				new VueloDTOSinId("Vigo", "Dublín", Date.valueOf("2024-10-05")))).get(0).getIdVueloDTO();
+		idPasajero = pasajeroService.createPasajeros(List.of(
+				new PasajeroDTOSinId("Irene", "Soto", Date.valueOf("1992-04-20")))).get(0).getIdPasajeroDTO();
+		idReserva = reservaService.createReservaByIdVueloIdPasajeroAsiento(Integer.valueOf(idVuelo),
+				Integer.valueOf(idPasajero), "C7").getIdReservaDTO();
+	}
+
+	private <T> Flux<T> listar(String uri, Class<T> tipo) {
+		return webTestClient.get().uri(uri)
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(tipo)
+				.getResponseBody();
+	}
+
+	private void comprobarError(String uri, int estado) {
+		webTestClient.get().uri(uri).exchange().expectStatus().isEqualTo(estado);
+	}
+
+	@Test
+	void vueloPorIdBusquedaYErrores() {
+		webTestClient.get().uri("/api/v2/vuelo/{id}", idVuelo)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.idVueloDTO").isEqualTo(idVuelo)
+				.jsonPath("$.destino").isEqualTo("Dublín");
+
+		StepVerifier.create(listar("/api/v2/vuelo/buscar?origen=Vigo&destino=Dublín&fecha=2024-10-05", VueloDTO.class))
+				.assertNext(vuelo -> assertEquals(idVuelo, vuelo.getIdVueloDTO()))
+				.verifyComplete();
+
+		comprobarError("/api/v2/vuelo/" + ID_INEXISTENTE, 404);
+		comprobarError("/api/v2/vuelo/abc", 400);
+	}
+
+	@Test
+	void pasajeroPorIdListadoYErrores() {
+		webTestClient.get().uri("/api/v2/pasajero/{id}", idPasajero)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.idPasajeroDTO").isEqualTo(idPasajero)
+				.jsonPath("$.apellido").isEqualTo("Soto");
+
+		StepVerifier.create(listar("/api/v2/pasajero/", PasajeroDTO.class)
+				.filter(pasajero -> idPasajero.equals(pasajero.getIdPasajeroDTO())))
+				.assertNext(pasajero -> assertEquals("Irene", pasajero.getNombre()))
+				.verifyComplete();
+
+		comprobarError("/api/v2/pasajero/" + ID_INEXISTENTE, 404);
+		comprobarError("/api/v2/pasajero/abc", 400);
+	}
+
+	@Test
+	void reservaPorIdPorVueloPorPasajeroYErrores() {
+		webTestClient.get().uri("/api/v2/reserva/{id}", idReserva)
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.asiento").isEqualTo("C7")
+				.jsonPath("$.vueloDTO.idVueloDTO").isEqualTo(idVuelo)
+				.jsonPath("$.pasajeroDTO.idPasajeroDTO").isEqualTo(idPasajero);
+
+		StepVerifier.create(listar("/api/v2/reserva/mostrar/idvuelo/" + idVuelo, ReservaDTO.class))
+				.assertNext(reserva -> assertEquals(idReserva, reserva.getIdReservaDTO()))
+				.verifyComplete();
+		StepVerifier.create(listar("/api/v2/reserva/mostrar/idpasajero/" + idPasajero, ReservaDTO.class))
+				.assertNext(reserva -> assertEquals(idVuelo, reserva.getVueloDTO().getIdVueloDTO()))
+				.verifyComplete();
+
+		comprobarError("/api/v2/reserva/" + ID_INEXISTENTE, 404);
+		comprobarError("/api/v2/reserva/abc", 400);
+		comprobarError("/api/v2/reserva/mostrar/idvuelo/abc", 400);
+	}
+}
@@ -0,0 +1,108 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
+
+class CacheServiceTests {
+
+	private static final Date FECHA = Date.valueOf("2024-05-01");
+
+	private CacheService cacheService;
+	private AtomicInteger cargas;
+
+	@BeforeEach
+	void crearCache() {
+		cacheService = new CacheService(1000, Duration.ofMinutes(10));
+		cargas = new AtomicInteger();
+	}
+
+	private static ReservaDTO reserva(int idReserva, int idVuelo, int idPasajero) {
+		return new ReservaDTO(idReserva, "A1", idVuelo, "Madrid", "Roma", FECHA, idPasajero, "Ana", "Gil", FECHA);
+	}
+
+	private ReservaDTO leer(int idReserva, int idVuelo, int idPasajero) {
+		return cacheService.getReserva(idReserva, id -> {
+			cargas.incrementAndGet();
+			return reserva(idReserva, idVuelo, idPasajero);
+		});
+	}
+
+	@Test
+	void modificarUnVueloDescartaSoloSusReservas() {
+		leer(1, 10, 100);
+		leer(2, 10, 200);
+		leer(3, 20, 100);
+
+		cacheService.actualizarVuelo(new VueloDTO(10, "Madrid", "Lisboa", FECHA));
+
+		leer(1, 10, 100);
+		leer(2, 10, 200);
+		leer(3, 20, 100);
+		assertEquals(5, cargas.get());
+	}
+
+	@Test
+	void eliminarUnPasajeroDescartaSoloSusReservas() {
+		leer(1, 10, 100);
+		leer(2, 10, 200);
+		leer(3, 20, 100);
+
+		cacheService.invalidarPasajero(100);
+
+		leer(1, 10, 100);
+		leer(2, 10, 200);
+		leer(3, 20, 100);
+		assertEquals(5, cargas.get());
+	}
+
+	@Test
+	void unaReservaActualizadaSeDescartaConSuNuevoVuelo() {
+		leer(1, 10, 100);
+		cacheService.actualizarReserva(reserva(1, 20, 100));
+
+		cacheService.invalidarVuelo(20);
+
+		leer(1, 20, 100);
+		assertEquals(2, cargas.get());
+	}
+
+	@Test
+	void unaCargaSolapadaConUnaModificacionNoSeGuarda() {
+		ReservaDTO cargada = cacheService.getReserva(1, id -> {
+			cargas.incrementAndGet();
+			// El vuelo se modifica mientras se lee la reserva con sus datos anteriores
+			cacheService.actualizarVuelo(new VueloDTO(10, "Madrid", "Lisboa", FECHA));
+			return reserva(1, 10, 100);
+		});
+
+		assertEquals("Roma", cargada.getVueloDTO().getDestino());
+
+		ReservaDTO releida = leer(1, 10, 100);
+		assertEquals(2, cargas.get());
+		assertSame(releida, leer(1, 10, 100));
+		assertEquals(2, cargas.get());
+	}
+
+	@Test
+	void invalidarLosDTOsVaciaTambienLosIndices() {
+		leer(1, 10, 100);
+		cacheService.invalidarDTOs();
+		leer(1, 10, 100);
+
+		cacheService.invalidarVuelo(10);
+		leer(1, 10, 100);
+
+		assertEquals(3, cargas.get());
+	}
+}
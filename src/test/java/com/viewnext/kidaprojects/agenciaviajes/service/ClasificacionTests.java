@@ -0,0 +1,61 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClasificacionTests {
+
+	private Clasificacion<String> clasificacion;
+
+	@BeforeEach
+	void crearClasificacion() {
+		clasificacion = new Clasificacion<>(Comparator.naturalOrder());
+	}
+
+	private List<String> claves(int limite) {
+		return clasificacion.primeras(limite).stream().map(Clasificacion.Entrada::clave).toList();
+	}
+
+	@Test
+	void ordenaDeMayorAMenorValorYDespuesPorClave() {
+		clasificacion.sumar("b", 2);
+		clasificacion.sumar("a", 2);
+		clasificacion.sumar("c", 5);
+		clasificacion.sumar("d", 1);
+
+		assertEquals(List.of("c", "a", "b", "d"), claves(10));
+		assertEquals(List.of("c", "a"), claves(2));
+		assertEquals(new Clasificacion.Entrada<>("c", 5), clasificacion.primeras(1).get(0));
+	}
+
+	@Test
+	void losValoresPuedenBajarSinPerderExactitud() {
+		clasificacion.sumar("a", 3);
+		clasificacion.sumar("b", 2);
+
+		clasificacion.sumar("a", -2);
+
+		assertEquals(List.of("b", "a"), claves(10));
+		assertEquals(1, clasificacion.get("a"));
+	}
+
+	@Test
+	void lasClavesQueLleganACeroSeQuitan() {
+		clasificacion.sumar("a", 1);
+		clasificacion.sumar("b", 4);
+		clasificacion.sumar("a", -1);
+		clasificacion.sumar("b", 0);
+
+		assertEquals(List.of("b"), claves(10));
+		assertEquals(0, clasificacion.get("a"));
+
+		clasificacion.sumar("b", -4);
+		assertTrue(claves(10).isEmpty());
+	}
+}
@@ -0,0 +1,161 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class CoordinadorReservasTests {
+
+	private final ExecutorService ejecutor = Executors.newFixedThreadPool(8);
+
+	@AfterEach
+	void detenerEjecutor() {
+		ejecutor.shutdownNow();
+	}
+
+	private static int franja(CoordinadorReservas coordinador, int idVuelo) {
+		return ReflectionTestUtils.invokeMethod(coordinador, "franja", idVuelo);
+	}
+
+	/**
+	 * Busca un vuelo que caiga en una franja distinta de la del vuelo indicado.
+	 */
+	private static int vueloDeOtraFranja(CoordinadorReservas coordinador, int idVuelo) {
+		int otroVuelo = idVuelo + 1;
+
+		while (franja(coordinador, otroVuelo) == franja(coordinador, idVuelo)) {
+			otroVuelo++;
+		}
+
+		return otroVuelo;
+	}
+
+	@Test
+	void lasOperacionesDeUnMismoVueloSeEjecutanDeUnaEnUna() throws Exception {
+		CoordinadorReservas coordinador = new CoordinadorReservas(256);
+		int[] contador = { 0 };
+		List<Future<?>> tareas = new ArrayList<>();
+
+		for (int h = 0; h < 8; h++) {
+			tareas.add(ejecutor.submit(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					// Incremento no atómico: solo da el total exacto si nunca hay dos hilos dentro a la vez
+					coordinador.ejecutarEnVuelo(7, () -> contador[0]++);
+				}
+			}));
+		}
+		for (Future<?> tarea : tareas) {
+			tarea.get(30, TimeUnit.SECONDS);
+		}
+
+		assertEquals(80_000, contador[0]);
+	}
+
+	@Test
+	void lasOperacionesDeVuelosDeFranjasDistintasAvanzanALaVez() throws Exception {
+		CoordinadorReservas coordinador = new CoordinadorReservas(256);
+		int otroVuelo = vueloDeOtraFranja(coordinador, 1);
+		CountDownLatch dentro = new CountDownLatch(1);
+		CountDownLatch salir = new CountDownLatch(1);
+
+		// La primera operación no termina hasta que la segunda se haya ejecutado
+		Future<Boolean> primera = ejecutor.submit(() -> coordinador.ejecutarEnVuelo(1, () -> {
+			dentro.countDown();
+			try {
+				return salir.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}));
+
+		assertTrue(dentro.await(10, TimeUnit.SECONDS));
+		ejecutor.submit(() -> coordinador.ejecutarEnVuelo(otroVuelo, () -> {
+			salir.countDown();
+			return null;
+		})).get(10, TimeUnit.SECONDS);
+
+		assertTrue(primera.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void bloquearDosVuelosEnOrdenesOpuestosNoProduceInterbloqueos() throws Exception {
+		CoordinadorReservas coordinador = new CoordinadorReservas(256);
+		int vuelo = 3;
+		int otroVuelo = vueloDeOtraFranja(coordinador, vuelo);
+		int[] contador = { 0 };
+		List<Future<?>> tareas = new ArrayList<>();
+
+		for (int h = 0; h < 8; h++) {
+			boolean alReves = h % 2 == 0;
+			tareas.add(ejecutor.submit(() -> {
+				for (int i = 0; i < 5_000; i++) {
+					if (alReves) {
+						coordinador.ejecutarEnVuelos(otroVuelo, vuelo, () -> contador[0]++);
+					} else {
+						coordinador.ejecutarEnVuelos(vuelo, otroVuelo, () -> contador[0]++);
+					}
+				}
+			}));
+		}
+		for (Future<?> tarea : tareas) {
+			tarea.get(30, TimeUnit.SECONDS);
+		}
+
+		assertEquals(40_000, contador[0]);
+	}
+
+	@Test
+	void bloquearVariosVuelosExcluyeLasOperacionesDeCadaUnoDeEllos() throws Exception {
+		CoordinadorReservas coordinador = new CoordinadorReservas(4);
+		Set<Integer> vuelos = Set.of(1, 2, 3, 4, 5, 6, 7, 8);
+		int[] reservasPorVuelo = new int[9];
+		List<Future<?>> tareas = new ArrayList<>();
+
+		// Cada contador solo se modifica con el cerrojo de su vuelo: las operaciones de varios vuelos
+		// incrementan todos y las de un vuelo solo el suyo
+		for (int h = 0; h < 8; h++) {
+			int vuelo = h + 1;
+			tareas.add(ejecutor.submit(() -> {
+				for (int i = 0; i < 5_000; i++) {
+					if (i % 2 == 0) {
+						coordinador.ejecutarEnVuelos(vuelos, () -> {
+							for (int idVuelo : vuelos) {
+								reservasPorVuelo[idVuelo]++;
+							}
+							return null;
+						});
+					} else {
+						coordinador.ejecutarEnVuelo(vuelo, () -> reservasPorVuelo[vuelo]++);
+					}
+				}
+			}));
+		}
+		for (Future<?> tarea : tareas) {
+			tarea.get(30, TimeUnit.SECONDS);
+		}
+
+		for (int idVuelo : vuelos) {
+			assertEquals(8 * 2_500 + 2_500, reservasPorVuelo[idVuelo]);
+		}
+	}
+
+	@Test
+	void elNumeroDeFranjasSeRedondeaALaSiguientePotenciaDeDos() {
+		assertEquals(128, ((Object[]) ReflectionTestUtils.getField(new CoordinadorReservas(100), "cerrojos")).length);
+		assertEquals(256, ((Object[]) ReflectionTestUtils.getField(new CoordinadorReservas(256), "cerrojos")).length);
+		assertEquals(1, ((Object[]) ReflectionTestUtils.getField(new CoordinadorReservas(0), "cerrojos")).length);
+	}
+}
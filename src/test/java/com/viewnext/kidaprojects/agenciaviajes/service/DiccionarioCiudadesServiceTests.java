@@ -0,0 +1,74 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.CiudadDTO;
+
+class DiccionarioCiudadesServiceTests {
+
+	private DiccionarioCiudadesService diccionario;
+
+	@BeforeEach
+	void crearDiccionario() {
+		diccionario = new DiccionarioCiudadesService();
+		diccionario.sumarVuelos("Barcelona", "barcelona", 5);
+		diccionario.sumarVuelos("Bari", "bari", 2);
+		diccionario.sumarVuelos("Madrid", "madrid", 7);
+		diccionario.sumarVuelos("Málaga", "málaga", 3);
+	}
+
+	private List<String> nombres(String texto, int limite) {
+		return diccionario.sugerirCiudades(texto, limite).stream().map(CiudadDTO::getNombre).toList();
+	}
+
+	@Test
+	void sugiereLasCiudadesDelPrefijoPorNumeroDeVuelos() {
+		List<CiudadDTO> ciudades = diccionario.sugerirCiudades(" BAR", 10);
+
+		assertEquals(List.of("Barcelona", "Bari"), ciudades.stream().map(CiudadDTO::getNombre).toList());
+		assertEquals(5, ciudades.get(0).getNumeroVuelos());
+		assertEquals(List.of("Madrid"), nombres("ma", 1));
+	}
+
+	@Test
+	void toleraUnaErrataEnElPrincipioDelNombre() {
+		// Letra cambiada, de más, de menos e intercambiada respecto al principio de "barcelona"
+		assertEquals(List.of("Barcelona", "Bari"), nombres("barz", 10));
+		assertEquals(List.of("Barcelona"), nombres("barcxel", 10));
+		assertEquals(List.of("Barcelona"), nombres("brcelo", 10));
+		assertEquals(List.of("Barcelona"), nombres("abrcel", 10));
+		assertEquals(List.of("Madrid"), nombres("mafri", 10));
+	}
+
+	@Test
+	void lasCiudadesDelPrefijoVanAntesQueLasErratas() {
+		// "Bari" empieza por el texto y va antes que "Barcelona", que tiene más vuelos pero está a una errata
+		assertEquals(List.of("Bari", "Barcelona"), nombres("bari", 10));
+		assertEquals(List.of("Madrid", "Málaga"), nombres("mal", 10));
+		assertTrue(nombres("xyzw", 10).isEmpty());
+		assertTrue(nombres("bq", 10).isEmpty());
+	}
+
+	@Test
+	void unaCiudadSinVuelosDejaDeSugerirse() {
+		diccionario.sumarVuelos(null, "bari", -2);
+
+		assertEquals(List.of("Barcelona"), nombres("bar", 10));
+		assertEquals(List.of("Barcelona"), nombres("bsr", 10));
+	}
+
+	@Test
+	void reemplazarSustituyeElDiccionario() {
+		diccionario.reemplazar(Map.of("sevilla", 4), Map.of("sevilla", "Sevilla"));
+
+		assertEquals(List.of("Sevilla"), nombres("sebi", 10));
+		assertTrue(nombres("barc", 10).isEmpty());
+	}
+}
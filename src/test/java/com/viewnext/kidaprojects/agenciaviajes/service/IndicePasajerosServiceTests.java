@@ -0,0 +1,64 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IndicePasajerosServiceTests {
+
+	private IndicePasajerosService indice;
+
+	@BeforeEach
+	void crearIndice() {
+		indice = new IndicePasajerosService();
+		indice.indexarPasajero(1, "Juan", "Pérez");
+		indice.indexarPasajero(2, "Juana", "Peña Ruiz");
+		indice.indexarPasajero(3, "Pedro", "Juárez");
+	}
+
+	@Test
+	void normalizaMayusculasYTildes() {
+		assertEquals("perez munoz", IndicePasajerosService.normalizar("PÉREZ Muñoz"));
+		assertEquals("nunez", IndicePasajerosService.normalizar("Núñez"));
+		assertNull(IndicePasajerosService.normalizar(null));
+	}
+
+	@Test
+	void encuentraPorElPrincipioDeCualquierPalabra() {
+		assertEquals(List.of(1, 2), indice.buscarPasajeros("juan", 10));
+		assertEquals(List.of(1), indice.buscarPasajeros("PER", 10));
+		assertEquals(List.of(3), indice.buscarPasajeros("juar", 10));
+		assertEquals(List.of(2), indice.buscarPasajeros("ruiz", 10));
+	}
+
+	@Test
+	void cadaPalabraDeLaConsultaDebeCoincidir() {
+		assertEquals(List.of(1), indice.buscarPasajeros("juan per", 10));
+		assertEquals(List.of(2), indice.buscarPasajeros("pe, juana", 10));
+		assertTrue(indice.buscarPasajeros("juan garcía", 10).isEmpty());
+		assertTrue(indice.buscarPasajeros(" ,. ", 10).isEmpty());
+	}
+
+	@Test
+	void respetaElLimite() {
+		assertEquals(1, indice.buscarPasajeros("p", 1).size());
+	}
+
+	@Test
+	void reindexarSustituyeLasPalabrasYEliminarLasQuita() {
+		indice.indexarPasajero(1, "Juan", "Gómez");
+
+		assertEquals(List.of(1), indice.buscarPasajeros("gomez", 10));
+		assertTrue(indice.buscarPasajeros("perez", 10).isEmpty());
+
+		indice.eliminarPasajero(1);
+		indice.eliminarPasajero(99);
+
+		assertEquals(List.of(2), indice.buscarPasajeros("juan", 10));
+	}
+}
@@ -0,0 +1,67 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class InventarioAsientosServiceTests {
+
+	private InventarioAsientosService inventario;
+
+	@BeforeEach
+	void crearInventario() {
+		inventario = new InventarioAsientosService();
+		ReflectionTestUtils.setField(inventario, "filas", 30);
+		ReflectionTestUtils.setField(inventario, "columnas", "ABCDEF");
+	}
+
+	@Test
+	void normalizaLosAsientosConLaLetraDelanteODetras() {
+		assertEquals("A12", inventario.normalizarAsiento("A12"));
+		assertEquals("A12", inventario.normalizarAsiento("12A"));
+		assertEquals("B7", inventario.normalizarAsiento(" b07 "));
+		assertEquals("B7", inventario.normalizarAsiento("07b"));
+		assertEquals("F30", inventario.normalizarAsiento("30F"));
+	}
+
+	@Test
+	void rechazaLosAsientosFueraDeLaDistribucion() {
+		for (String asiento : new String[] { "G1", "A31", "A0", "0A", "AA1", "1A2", "", "A" }) {
+			assertThrows(IllegalArgumentException.class, () -> inventario.normalizarAsiento(asiento), asiento);
+		}
+	}
+
+	@Test
+	void reconoceElMismoAsientoEscritoDeFormasDistintas() {
+		assertTrue(inventario.esMismoAsiento("B07", "7b"));
+		assertFalse(inventario.esMismoAsiento("B7", "7C"));
+		assertFalse(inventario.esMismoAsiento("Z1", "Z1"));
+	}
+
+	@Test
+	void unAsientoOcupadoConUnaFormaNoPuedeOcuparseConOtra() {
+		inventario.ocuparAsiento(1, "12A");
+
+		assertThrows(IllegalStateException.class, () -> inventario.ocuparAsiento(1, "A12"));
+		assertFalse(inventario.estaLibre(1, "a12"));
+		assertTrue(inventario.estaLibre(2, "A12"));
+
+		inventario.liberarAsiento(1, "A12");
+		assertTrue(inventario.estaLibre(1, "12A"));
+	}
+
+	@Test
+	void laDisponibilidadCuentaLosAsientosOcupados() {
+		inventario.ocuparAsiento(1, "A1");
+		inventario.ocuparAsiento(1, "F30");
+
+		assertEquals(180, inventario.getAsientosVuelo(1).getCapacidad());
+		assertEquals(2, inventario.getAsientosVuelo(1).getOcupados());
+		assertFalse(inventario.getAsientosVuelo(1).getAsientosLibres().contains("A1"));
+	}
+}
@@ -0,0 +1,113 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class LectorCsvTests {
+
+	private static LectorCsv lector(String contenido, int maximoCampo, int maximoRegistro) {
+		return new LectorCsv(new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)), maximoCampo,
+				maximoRegistro);
+	}
+
+	private static LectorCsv lector(String contenido) {
+		return lector(contenido, 1000, 10000);
+	}
+
+	@Test
+	void leeCamposSimplesYFinalesDeLineaWindows() throws IOException {
+		LectorCsv lector = lector("origen,destino,fecha\r\nMadrid,Roma,2024-01-01\r\n");
+
+		assertArrayEquals(new String[] { "origen", "destino", "fecha" }, lector.leerRegistro());
+		assertArrayEquals(new String[] { "Madrid", "Roma", "2024-01-01" }, lector.leerRegistro());
+		assertNull(lector.leerRegistro());
+	}
+
+	@Test
+	void leeCamposEntrecomilladosConSeparadoresComillasYSaltosDeLinea() throws IOException {
+		LectorCsv lector = lector("\"Nueva York, NY\",\"dice \"\"hola\"\"\",\"dos\nlíneas\"\nfin,b,c");
+
+		assertArrayEquals(new String[] { "Nueva York, NY", "dice \"hola\"", "dos\nlíneas" }, lector.leerRegistro());
+		assertEquals(1, lector.getLineaRegistro());
+
+		// El salto de línea dentro de las comillas cuenta para la línea del registro siguiente
+		assertArrayEquals(new String[] { "fin", "b", "c" }, lector.leerRegistro());
+		assertEquals(3, lector.getLineaRegistro());
+		assertNull(lector.leerRegistro());
+	}
+
+	@Test
+	void ignoraLaMarcaDeOrdenDeBytesInicial() throws IOException {
+		LectorCsv lector = lector("﻿nombre,apellido\n");
+
+		assertArrayEquals(new String[] { "nombre", "apellido" }, lector.leerRegistro());
+	}
+
+	@Test
+	void leeElUltimoRegistroSinSaltoDeLineaYCamposVacios() throws IOException {
+		LectorCsv lector = lector("a,,\n,b");
+
+		assertArrayEquals(new String[] { "a", "", "" }, lector.leerRegistro());
+		assertArrayEquals(new String[] { "", "b" }, lector.leerRegistro());
+		assertNull(lector.leerRegistro());
+	}
+
+	@Test
+	void rechazaUnCampoDemasiadoLargoYSigueEnLaLineaSiguiente() throws IOException {
+		LectorCsv lector = lector("corto,muy largo,x\nsig,fila\n", 5, 10000);
+
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, lector::leerRegistro);
+		assertEquals("La columna 2 supera la longitud máxima de 5 caracteres", e.getMessage());
+		assertEquals(1, lector.getLineaRegistro());
+
+		assertArrayEquals(new String[] { "sig", "fila" }, lector.leerRegistro());
+		assertEquals(2, lector.getLineaRegistro());
+	}
+
+	@Test
+	void rechazaUnaFilaDemasiadoLargaYSigueEnLaLineaSiguiente() throws IOException {
+		LectorCsv lector = lector("a,b,c,d,e,f,g,h\nuno,dos\n", 100, 8);
+
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, lector::leerRegistro);
+		assertEquals("La fila supera la longitud máxima de 8 caracteres", e.getMessage());
+
+		assertArrayEquals(new String[] { "uno", "dos" }, lector.leerRegistro());
+		assertNull(lector.leerRegistro());
+	}
+
+	@Test
+	void unaComillaSinCerrarNoAcumulaElRestoDelFichero() throws IOException {
+		StringBuilder contenido = new StringBuilder("\"sin cerrar,a\n");
+		for (int i = 0; i < 1000; i++) {
+			contenido.append("fila ").append(i).append(",b\n");
+		}
+
+		LectorCsv lector = lector(contenido.toString(), 50, 100);
+
+		// El campo entrecomillado se corta al superar el máximo y la lectura continúa en la línea siguiente
+		assertThrows(IllegalArgumentException.class, lector::leerRegistro);
+		assertEquals(1, lector.getLineaRegistro());
+
+		String[] registro = lector.leerRegistro();
+		assertEquals("b", registro[registro.length - 1]);
+		assertTrue(registro[0].startsWith("fila "));
+	}
+
+	@Test
+	void unaFilaDemasiadoLargaAlFinalDelFicheroTerminaLaLectura() throws IOException {
+		LectorCsv lector = lector("a\n\"abierta hasta el final", 5, 10000);
+
+		assertArrayEquals(new String[] { "a" }, lector.leerRegistro());
+		assertThrows(IllegalArgumentException.class, lector::leerRegistro);
+		assertNull(lector.leerRegistro());
+	}
+}
@@ -0,0 +1,119 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class MapaAsientosTests {
+
+	@Test
+	void ocuparYLiberarCambianElEstadoSoloUnaVez() {
+		MapaAsientos mapa = new MapaAsientos(180);
+
+		assertTrue(mapa.ocupar(5));
+		assertFalse(mapa.ocupar(5));
+		assertTrue(mapa.estaOcupado(5));
+		assertEquals(1, mapa.ocupados());
+
+		assertTrue(mapa.liberar(5));
+		assertFalse(mapa.liberar(5));
+		assertFalse(mapa.estaOcupado(5));
+		assertEquals(0, mapa.ocupados());
+	}
+
+	@Test
+	void losAsientosDePalabrasDistintasSonIndependientes() {
+		MapaAsientos mapa = new MapaAsientos(180);
+
+		// 63 y 64 están en palabras distintas; 0 y 64 comparten bit dentro de su palabra
+		assertTrue(mapa.ocupar(63));
+		assertTrue(mapa.ocupar(64));
+		assertFalse(mapa.estaOcupado(0));
+		assertTrue(mapa.ocupar(179));
+
+		assertEquals(3, mapa.ocupados());
+		assertTrue(mapa.liberar(64));
+		assertTrue(mapa.estaOcupado(63));
+		assertFalse(mapa.estaOcupado(64));
+	}
+
+	@Test
+	void soloUnHiloOcupaCadaAsientoAunqueCompitanPorEl() throws Exception {
+		int hilos = 8;
+		int capacidad = 180;
+		MapaAsientos mapa = new MapaAsientos(capacidad);
+		ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+		CountDownLatch salida = new CountDownLatch(1);
+		List<Future<Integer>> resultados = new ArrayList<>();
+
+		// Todos los hilos intentan ocupar todos los asientos a la vez
+		for (int h = 0; h < hilos; h++) {
+			resultados.add(ejecutor.submit(() -> {
+				salida.await();
+				int conseguidos = 0;
+				for (int indice = 0; indice < capacidad; indice++) {
+					if (mapa.ocupar(indice)) {
+						conseguidos++;
+					}
+				}
+				return conseguidos;
+			}));
+		}
+
+		salida.countDown();
+		int total = 0;
+		for (Future<Integer> resultado : resultados) {
+			total += resultado.get(10, TimeUnit.SECONDS);
+		}
+		ejecutor.shutdown();
+
+		assertEquals(capacidad, total);
+		assertEquals(capacidad, mapa.ocupados());
+	}
+
+	@Test
+	void ocuparYLiberarALaVezNoPierdenActualizaciones() throws Exception {
+		int hilos = 4;
+		MapaAsientos mapa = new MapaAsientos(64);
+		ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+		List<Future<?>> tareas = new ArrayList<>();
+
+		// Cada hilo trabaja con sus propios asientos de la misma palabra
+		for (int h = 0; h < hilos; h++) {
+			int primero = h * 16;
+			tareas.add(ejecutor.submit(() -> {
+				for (int vuelta = 0; vuelta < 10_000; vuelta++) {
+					for (int indice = primero; indice < primero + 16; indice++) {
+						assertTrue(mapa.ocupar(indice));
+					}
+					for (int indice = primero; indice < primero + 8; indice++) {
+						assertTrue(mapa.liberar(indice));
+					}
+					for (int indice = primero + 8; indice < primero + 16; indice++) {
+						assertTrue(mapa.liberar(indice));
+					}
+				}
+				for (int indice = primero; indice < primero + 8; indice++) {
+					assertTrue(mapa.ocupar(indice));
+				}
+			}));
+		}
+
+		for (Future<?> tarea : tareas) {
+			tarea.get(30, TimeUnit.SECONDS);
+		}
+		ejecutor.shutdown();
+
+		assertEquals(hilos * 8, mapa.ocupados());
+	}
+}
@@ -0,0 +1,190 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.dto.ReservasDiaDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Comprueba que al eliminar un pasajero o un vuelo se actualiza el estado en memoria que dependía de sus
+ * reservas, que la base de datos borra en cascada, que los borrados en lote liberan los asientos y que los
+ * pasajeros de una transacción deshecha no llegan al índice ni a los contadores.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PasajeroServiceTests {
+
+	@Autowired
+	private VueloService vueloService;
+
+	@Autowired
+	private PasajeroService pasajeroService;
+
+	@Autowired
+	private ReservaService reservaService;
+
+	@Autowired
+	private InventarioAsientosService inventarioAsientosService;
+
+	@Autowired
+	private ContadoresService contadoresService;
+
+	@Autowired
+	private EstadisticasService estadisticasService;
+
+	@Autowired
+	private IndicePasajerosService indicePasajerosService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private int idVuelo;
+	private int idOtroVuelo;
+	private int idPasajero;
+	private int idOtroPasajero;
+
+	@BeforeEach
+	void crearReservas() {
+		List<VueloDTO> vuelos = vueloService.createVuelos(List.of(
+				new VueloDTOSinId("Sevilla", "Oporto", Date.valueOf("2024-03-01")),
+				new VueloDTOSinId("Oporto", "Sevilla", Date.valueOf("2024-03-08"))));
+		List<PasajeroDTO> pasajeros = pasajeroService.createPasajeros(List.of(
+				new PasajeroDTOSinId("Lucía", "Prieto", Date.valueOf("1990-01-01")),
+				new PasajeroDTOSinId("Mario", "Ruiz", Date.valueOf("1985-06-15"))));
+
+		idVuelo = Integer.parseInt(vuelos.get(0).getIdVueloDTO());
+		idOtroVuelo = Integer.parseInt(vuelos.get(1).getIdVueloDTO());
+		idPasajero = Integer.parseInt(pasajeros.get(0).getIdPasajeroDTO());
+		idOtroPasajero = Integer.parseInt(pasajeros.get(1).getIdPasajeroDTO());
+
+		reservaService.createReservaByIdVueloIdPasajeroAsiento(idVuelo, idPasajero, "12A");
+		reservaService.createReservaByIdVueloIdPasajeroAsiento(idOtroVuelo, idPasajero, "B3");
+		reservaService.createReservaByIdVueloIdPasajeroAsiento(idVuelo, idOtroPasajero, "C1");
+	}
+
+	@Test
+	void eliminarUnPasajeroLiberaLosAsientosDeSusReservas() {
+		pasajeroService.deletePasajeroById(idPasajero);
+
+		assertTrue(inventarioAsientosService.estaLibre(idVuelo, "A12"));
+		assertTrue(inventarioAsientosService.estaLibre(idOtroVuelo, "B3"));
+		assertFalse(inventarioAsientosService.estaLibre(idVuelo, "C1"));
+
+		// Los asientos liberados se pueden volver a reservar
+		reservaService.createReservaByIdVueloIdPasajeroAsiento(idVuelo, idOtroPasajero, "A12");
+		assertEquals(2, reservaService.obtenerReservasPorVuelo(idVuelo).size());
+
+		assertThrows(EntityNotFoundException.class, () -> pasajeroService.getPasajeroById(idPasajero));
+	}
+
+	@Test
+	void eliminarUnPasajeroRestaSusReservasDeLosContadores() {
+		long reservas = contadoresService.getReservas();
+
+		pasajeroService.deletePasajeroById(idPasajero);
+
+		assertEquals(reservas - 2, contadoresService.getReservas());
+		assertEquals(1, contadoresService.getReservasVuelo(idVuelo));
+		assertEquals(0, contadoresService.getReservasVuelo(idOtroVuelo));
+		assertEquals(0, contadoresService.getReservasPasajero(idPasajero));
+		assertEquals(1, contadoresService.getReservasPasajero(idOtroPasajero));
+
+		// Los contadores coinciden con los que se obtienen de la base de datos
+		contadoresService.reconstruir();
+		assertEquals(reservas - 2, contadoresService.getReservas());
+		assertEquals(1, contadoresService.getReservasVuelo(idVuelo));
+	}
+
+	@Test
+	void eliminarUnPasajeroRestaSusReservasDeLasEstadisticas() {
+		Date marzo = Date.valueOf("2024-03-01");
+		Date finMarzo = Date.valueOf("2024-03-31");
+		long reservasMarzo = reservasEntre(marzo, finMarzo);
+
+		pasajeroService.deletePasajeroById(idPasajero);
+
+		assertEquals(reservasMarzo - 2, reservasEntre(marzo, finMarzo));
+
+		// Las estadísticas coinciden con las que se obtienen de la base de datos
+		estadisticasService.reconstruir();
+		assertEquals(reservasMarzo - 2, reservasEntre(marzo, finMarzo));
+	}
+
+	private long reservasEntre(Date desde, Date hasta) {
+		return estadisticasService.getReservasPorDia(desde, hasta).stream()
+				.mapToLong(ReservasDiaDTO::getReservas)
+				.sum();
+	}
+
+	@Test
+	void eliminarUnVueloRestaSusReservasDeLosPasajeros() {
+		long reservas = contadoresService.getReservas();
+		long vuelos = contadoresService.getVuelos();
+
+		vueloService.deleteVueloById(idVuelo);
+
+		assertEquals(vuelos - 1, contadoresService.getVuelos());
+		assertEquals(reservas - 2, contadoresService.getReservas());
+		assertEquals(0, contadoresService.getReservasVuelo(idVuelo));
+		assertEquals(1, contadoresService.getReservasPasajero(idPasajero));
+		assertEquals(0, contadoresService.getReservasPasajero(idOtroPasajero));
+
+		contadoresService.reconstruir();
+		assertEquals(reservas - 2, contadoresService.getReservas());
+		assertEquals(1, contadoresService.getReservasPasajero(idPasajero));
+	}
+
+	@Test
+	void losBorradosEnLoteLiberanLosAsientos() {
+		List<Integer> reservasVuelo = reservaService.obtenerReservasPorVuelo(idVuelo).stream()
+				.map(reserva -> Integer.valueOf(reserva.getIdReservaDTO()))
+				.toList();
+
+		reservaService.deleteAllByIdInBatch(reservasVuelo);
+
+		assertTrue(inventarioAsientosService.estaLibre(idVuelo, "A12"));
+		assertTrue(inventarioAsientosService.estaLibre(idVuelo, "C1"));
+		assertFalse(inventarioAsientosService.estaLibre(idOtroVuelo, "B3"));
+		reservaService.createReservaByIdVueloIdPasajeroAsiento(idVuelo, idOtroPasajero, "A12");
+
+		pasajeroService.deleteAllByIdInBatch(List.of(idPasajero));
+		assertTrue(inventarioAsientosService.estaLibre(idOtroVuelo, "B3"));
+		assertFalse(inventarioAsientosService.estaLibre(idVuelo, "A12"));
+
+		vueloService.deleteAllByIdInBatch(List.of(idVuelo));
+		assertTrue(inventarioAsientosService.estaLibre(idVuelo, "A12"));
+	}
+
+	@Test
+	void unLoteDeshechoNoSeIndexaNiSeCuenta() {
+		long pasajeros = contadoresService.getPasajeros();
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+			pasajeroService.createPasajeros(List.of(
+					new PasajeroDTOSinId("Zacarías", "Olmedo", Date.valueOf("1979-11-30"))));
+			estado.setRollbackOnly();
+		});
+
+		assertTrue(indicePasajerosService.buscarPasajeros("zacarias olmedo", 10).isEmpty());
+		assertEquals(pasajeros, contadoresService.getPasajeros());
+	}
+}
@@ -0,0 +1,70 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class RutaIndexadaTests {
+
+	private static long[] claves(RutaIndexada ruta) {
+		long[] claves = new long[ruta.tamano()];
+
+		for (int i = 0; i < claves.length; i++) {
+			claves[i] = ruta.getClave(i);
+		}
+		return claves;
+	}
+
+	@Test
+	void laClaveOrdenaPorDiaYDespuesPorId() {
+		long clave = RutaIndexada.clave(19000, 7);
+
+		assertEquals(19000, RutaIndexada.dia(clave));
+		assertEquals(7, RutaIndexada.idVuelo(clave));
+
+		// Un ID grande de un día no supera a ningún vuelo del día siguiente
+		RutaIndexada ruta = RutaIndexada.deClaves(new long[] { RutaIndexada.clave(19001, 1),
+				RutaIndexada.clave(19000, Integer.MAX_VALUE) }, 2);
+		assertEquals(19000, RutaIndexada.dia(ruta.getClave(0)));
+	}
+
+	@Test
+	void conYSinDevuelvenCopiasSinModificarLaOriginal() {
+		RutaIndexada ruta = RutaIndexada.deClaves(new long[] { 30, 10 }, 2);
+
+		RutaIndexada conVuelo = ruta.con(20);
+		assertArrayEquals(new long[] { 10, 30 }, claves(ruta));
+		assertArrayEquals(new long[] { 10, 20, 30 }, claves(conVuelo));
+		assertSame(conVuelo, conVuelo.con(20));
+
+		assertArrayEquals(new long[] { 10, 30 }, claves(conVuelo.sin(20)));
+		assertSame(ruta, ruta.sin(99));
+		assertNull(RutaIndexada.deClaves(new long[] { 10 }, 1).sin(10));
+	}
+
+	@Test
+	void conTodasMezclaLasClavesNuevasSinRepetidas() {
+		RutaIndexada ruta = RutaIndexada.deClaves(new long[] { 10, 30, 50 }, 3);
+
+		RutaIndexada mezclada = ruta.conTodas(new long[] { 60, 30, 5, 40, 5, 0 }, 5);
+
+		assertArrayEquals(new long[] { 5, 10, 30, 40, 50, 60 }, claves(mezclada));
+		assertArrayEquals(new long[] { 10, 30, 50 }, claves(ruta));
+		assertSame(ruta, ruta.conTodas(new long[] { 50, 10 }, 2));
+	}
+
+	@Test
+	void primeraPosicionLocalizaElPrimerVueloDelDia() {
+		RutaIndexada ruta = RutaIndexada.deClaves(new long[] { RutaIndexada.clave(100, 5),
+				RutaIndexada.clave(102, 1), RutaIndexada.clave(102, 3), RutaIndexada.clave(104, 2) }, 4);
+
+		assertEquals(0, ruta.primeraPosicion(99));
+		assertEquals(1, ruta.primeraPosicion(101));
+		assertEquals(1, ruta.primeraPosicion(102));
+		assertEquals(3, ruta.primeraPosicion(103));
+		assertEquals(4, ruta.primeraPosicion(105));
+	}
+}
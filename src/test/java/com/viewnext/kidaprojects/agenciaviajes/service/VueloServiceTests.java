@@ -0,0 +1,58 @@
+package com.viewnext.kidaprojects.agenciaviajes.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Comprueba que las altas en lote y las modificaciones de vuelos se reflejan en el índice de rutas una vez
+ * confirmadas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class VueloServiceTests {
+
+	@Autowired
+	private VueloService vueloService;
+
+	@Test
+	void losVuelosCreadosEnLoteSeEncuentranPorRutaYFecha() {
+		Date fecha = Date.valueOf("2024-07-10");
+
+		List<VueloDTO> vuelos = vueloService.createVuelos(List.of(
+				new VueloDTOSinId("Bilbao", "Atenas", fecha),
+				new VueloDTOSinId("Bilbao", "Atenas", fecha),
+				new VueloDTOSinId("Bilbao", "Atenas", Date.valueOf("2024-07-11")),
+				new VueloDTOSinId("Atenas", "Bilbao", fecha)));
+
+		List<VueloDTO> encontrados = vueloService.buscarVuelosPorOrigenDestinoFecha("bilbao", "ATENAS", fecha);
+
+		assertEquals(List.of(vuelos.get(0).getIdVueloDTO(), vuelos.get(1).getIdVueloDTO()),
+				encontrados.stream().map(VueloDTO::getIdVueloDTO).toList());
+	}
+
+	@Test
+	void unVueloModificadoSeMueveDeRuta() {
+		Date fecha = Date.valueOf("2024-08-20");
+		VueloDTO vuelo = vueloService.createVuelos(List.of(new VueloDTOSinId("Cádiz", "Praga", fecha))).get(0);
+		int id = Integer.parseInt(vuelo.getIdVueloDTO());
+
+		vueloService.updateVueloById(id, new VueloDTO(id, "Cádiz", "Viena", fecha));
+
+		assertThrows(EntityNotFoundException.class,
+				() -> vueloService.buscarVuelosPorOrigenDestinoFecha("Cádiz", "Praga", fecha));
+		assertEquals(1, vueloService.buscarVuelosPorOrigenDestinoFecha("Cádiz", "Viena", fecha).size());
+	}
+}
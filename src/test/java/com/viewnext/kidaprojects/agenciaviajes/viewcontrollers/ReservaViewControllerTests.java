@@ -0,0 +1,80 @@
+package com.viewnext.kidaprojects.agenciaviajes.viewcontrollers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.sql.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.ModelAndView;
+
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTO;
+import com.viewnext.kidaprojects.agenciaviajes.dto.PasajeroDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.dto.VueloDTOSinId;
+import com.viewnext.kidaprojects.agenciaviajes.service.PasajeroService;
+import com.viewnext.kidaprojects.agenciaviajes.service.ReservaService;
+import com.viewnext.kidaprojects.agenciaviajes.service.VueloService;
+
+/**
+ * Comprueba, a través de los gateways locales, que el formulario de reservas informa de que el asiento
+ * elegido ya está ocupado en lugar de mostrar un error de comunicación.
+ */
+@SpringBootTest(properties = {
+		// Las pruebas de las vistas comprueban el modelo, no la página generada
+		"spring.thymeleaf.enabled=false" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReservaViewControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private VueloService vueloService;
+
+	@Autowired
+	private PasajeroService pasajeroService;
+
+	@Autowired
+	private ReservaService reservaService;
+
+	private String idVuelo;
+	private String idOtroPasajero;
+
+	@BeforeEach
+	void ocuparAsiento() {
+		idVuelo = vueloService.createVuelos(List.of(
+				new VueloDTOSinId("Burgos", "Praga", Date.valueOf("2024-05-20")))).get(0).getIdVueloDTO();
+		List<PasajeroDTO> pasajeros = pasajeroService.createPasajeros(List.of(
+				new PasajeroDTOSinId("Elena", "Gil", Date.valueOf("1991-07-12")),
+				new PasajeroDTOSinId("Hugo", "Marín", Date.valueOf("1987-03-25"))));
+		idOtroPasajero = pasajeros.get(1).getIdPasajeroDTO();
+
+		reservaService.createReservaByIdVueloIdPasajeroAsiento(Integer.valueOf(idVuelo),
+				Integer.valueOf(pasajeros.get(0).getIdPasajeroDTO()), "C7");
+	}
+
+	@Test
+	void reservarUnAsientoOcupadoMuestraElAviso() throws Exception {
+		MvcResult alta = mockMvc.perform(post("/reserva/crear/")
+				.param("idVueloDTO", idVuelo)
+				.param("idPasajeroDTO", idOtroPasajero)
+				.param("asiento", "C7"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		ModelAndView vista = mockMvc.perform(asyncDispatch(alta)).andReturn().getModelAndView();
+
+		assertEquals("vistaBadRequest", vista.getViewName());
+		assertEquals("El asiento indicado ya está ocupado, elija otro", vista.getModel().get("mensaje"));
+	}
+}